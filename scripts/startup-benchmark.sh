@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# ==================== AÇILIŞ SÜRESİ ÖLÇÜMÜ ====================
+#
+# Uygulamanın başlatılmasından ilk başarılı HTTP yanıtına kadar geçen süreyi ölçer.
+# Normal JAR ile hızlı açılış (AOT + CDS) çıktısını karşılaştırır.
+#
+# Hazırlık:
+#   mvn -Pfast-startup package -DskipTests
+#
+# Kullanım:
+#   scripts/startup-benchmark.sh [tekrar sayısı]
+#
+# Ortam değişkenleri:
+#   BENCH_PORT  Uygulama portu (varsayılan 18080)
+#   BENCH_PATH  İlk istek yolu (varsayılan Elasticsearch'e gitmeyen /api/admin/traces?limit=1)
+#   BENCH_ARGS  Uygulamaya verilecek ek argümanlar (örn. --spring.elasticsearch.uris=http://es:9200)
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+REQUEST_PATH="${BENCH_PATH:-/api/admin/traces?limit=1}"
+EXTRA_ARGS="${BENCH_ARGS:-}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+FAT_JAR="$(ls "$TARGET"/Elastic-Search-*.jar 2>/dev/null | grep -v -- '-fast-startup' | head -1 || true)"
+FAST_DIR="$TARGET/fast-startup"
+FAST_JAR="$(ls "$FAST_DIR"/*-fast-startup.jar 2>/dev/null | head -1 || true)"
+
+if [[ -z "$FAT_JAR" || -z "$FAST_JAR" ]]; then
+    echo "JAR bulunamadı, önce: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Tek ölçüm: uygulamayı başlatır, ilk 200 yanıtını bekler, süreyi (ms) yazar ve uygulamayı kapatır
+measure() {
+    local dir="$1"
+    shift
+    local start pid elapsed
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" -jar "$JAR" --server.port="$PORT" --product.data-initializer.enabled=false \
+        --product.index.bootstrap-on-startup=false --product.price-migration.on-startup=false $EXTRA_ARGS \
+        > "$TARGET/startup-benchmark.log" 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT$REQUEST_PATH"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Uygulama başlatılamadı, bkz. $TARGET/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+# Ölçümleri çalıştırır ve medyanı yazar
+run() {
+    local label="$1"
+    shift
+    local results=()
+    for ((i = 1; i <= RUNS; i++)); do
+        results+=("$(measure "$@")")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    printf '%-28s medyan %6d ms   (%s)\n' "$label" "${sorted[$((RUNS / 2))]}" "${results[*]}"
+}
+
+echo "İlk yanıt: GET $REQUEST_PATH, $RUNS tekrar"
+
+JAR="$(basename "$FAT_JAR")"
+run "Normal JAR" "$TARGET"
+
+JAR="$(basename "$FAST_JAR")"
+run "AOT" "$FAST_DIR" -Dspring.aot.enabled=true
+
+if [[ -f "$FAST_DIR/application.jsa" ]]; then
+    run "AOT + CDS" "$FAST_DIR" -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa -Xlog:cds=off
+else
+    echo "CDS arşivi bulunamadı ($FAST_DIR/application.jsa), AOT + CDS ölçümü atlandı"
+fi
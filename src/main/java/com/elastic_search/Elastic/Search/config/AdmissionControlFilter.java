@@ -0,0 +1,184 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.util.GradientLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AdmissionControlFilter - Uyarlanabilir Yük Atma
+ * 
+ * /api/products isteklerini eşzamanlılık sınırından geçirir. Sınır, kabul edilen
+ * isteklerin gecikmesine (ağırlıklı olarak Elasticsearch süresi) göre GradientLimiter
+ * tarafından ayarlanır. Sınır dolduğunda istek kuyruğa alınmaz, hemen
+ * 503 ve Retry-After ile reddedilir; böylece kabul edilen trafiğin p99'u sabit kalır.
+ * 
+ * Öncelik sırası: tekil okumalar > arama/yazma > toplu içe aktarma > dışa aktarma ve değişiklik akışı
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // Spring: Diğer filtrelerden önce, mümkün olan en erken noktada reddet
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    
+    private static final String PRODUCTS_PATH = "/api/products";
+    
+    /**
+     * /api/products/{segment} şeklinde olup tekil ürün olmayan GET yolları
+     */
+    private static final Set<String> NON_ID_SEGMENTS = Set.of("search", "price-range", "price-stats", "facets", "top", "changes");
+
+    /**
+     * Değişiklik akışı (SSE); katalog senkronizasyonu gibi dışa aktarma önceliğindedir
+     * Açık akış sayısı ChangeFeedService tarafından ayrıca sınırlanır
+     */
+    private static final String CHANGE_STREAM_SEGMENT = "changes/stream";
+    
+    /**
+     * İstek öncelik sınıfları
+     */
+    public enum Priority {
+        CRITICAL, STANDARD, BULK, EXPORT
+    }
+    
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GradientLimiter limiter;
+    private final Map<Priority, AtomicLong> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> rejected = new EnumMap<>(Priority.class);
+    
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.limiter = new GradientLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getWindow().toNanos(),
+                properties.getMinWindowSamples(),
+                System::nanoTime);
+        for (Priority priority : Priority.values()) {
+            admitted.put(priority, new AtomicLong());
+            rejected.put(priority, new AtomicLong());
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !properties.isEnabled() || !(path.equals(PRODUCTS_PATH) || path.startsWith(PRODUCTS_PATH + "/"));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = classify(request);
+        if (!limiter.tryAcquire(share(priority))) {
+            rejected.get(priority).incrementAndGet();
+            reject(response, priority);
+            return;
+        }
+        admitted.get(priority).incrementAndGet();
+        
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Hızlı başarısız olan (5xx) veya uzun soluklu (async) istekler gecikme ölçümünü bozar
+            sample = !request.isAsyncStarted() && response.getStatus() < 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, sample);
+        }
+    }
+    
+    /**
+     * İsteğin öncelik sınıfını belirler
+     */
+    static Priority classify(String method, String path) {
+        String rest = path.length() > PRODUCTS_PATH.length() ? path.substring(PRODUCTS_PATH.length() + 1) : "";
+        if ("GET".equals(method)) {
+            if (rest.isEmpty() || rest.equals(CHANGE_STREAM_SEGMENT)) {
+                return Priority.EXPORT;
+            }
+            if (!rest.contains("/") && !NON_ID_SEGMENTS.contains(rest)) {
+                return Priority.CRITICAL;
+            }
+        }
+        if ("POST".equals(method) && rest.equals("bulk")) {
+            return Priority.BULK;
+        }
+        return Priority.STANDARD;
+    }
+    
+    private static Priority classify(HttpServletRequest request) {
+        return classify(request.getMethod(), request.getRequestURI());
+    }
+    
+    private double share(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> properties.getCriticalShare();
+            case STANDARD -> properties.getStandardShare();
+            case BULK -> properties.getBulkShare();
+            case EXPORT -> properties.getExportShare();
+        };
+    }
+    
+    private void reject(HttpServletResponse response, Priority priority) throws IOException {
+        long retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Sunucu yoğun, " + priority + " öncelikli istek reddedildi");
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+    
+    /**
+     * Kabul kontrolü istatistikleri
+     * 
+     * @return Map<String, Object> - Güncel sınır, kullanımdaki izinler, gecikme ve öncelik bazında sayaçlar
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("limit", limiter.getLimit());
+        stats.put("inFlight", limiter.getInFlight());
+        stats.put("longRttMs", limiter.getLongRttNanos() / 1_000_000.0);
+        Map<String, Object> byPriority = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("share", share(priority));
+            counters.put("admitted", admitted.get(priority).get());
+            counters.put("rejected", rejected.get(priority).get());
+            byPriority.put(priority.name(), counters);
+        }
+        stats.put("priorities", byPriority);
+        return stats;
+    }
+}
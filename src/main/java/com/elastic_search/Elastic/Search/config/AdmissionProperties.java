@@ -0,0 +1,84 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * AdmissionProperties - REST Katmanı Kabul Kontrolü Ayarları
+ * 
+ * Eşzamanlı istek sınırı gecikmeye göre uyarlanır; öncelik sınıfları
+ * sınırın belirli bir oranına kadar kabul edilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.admission") // Spring: product.admission.* ayarlarını bağlar
+public class AdmissionProperties {
+    
+    /**
+     * Kabul kontrolü açık mı?
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Başlangıç eşzamanlılık sınırı
+     */
+    private int initialLimit = 100;
+    
+    /**
+     * En düşük eşzamanlılık sınırı
+     */
+    private int minLimit = 20;
+    
+    /**
+     * En yüksek eşzamanlılık sınırı
+     */
+    private int maxLimit = 800;
+    
+    /**
+     * Yeni sınıra geçiş oranı (0-1), küçük değer daha yavaş uyum sağlar
+     */
+    private double smoothing = 0.2;
+    
+    /**
+     * Sınırın yeniden hesaplandığı pencere
+     */
+    private Duration window = Duration.ofMillis(500);
+    
+    /**
+     * Pencere başına gereken en az ölçüm
+     */
+    private int minWindowSamples = 10;
+    
+    /**
+     * Reddedilen isteklere dönülecek Retry-After süresi
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    
+    // ==================== ÖNCELİK PAYLARI ====================
+    
+    /**
+     * ID ile tekil okuma (GET /api/products/{id}) - sınırın tamamını kullanabilir
+     */
+    private double criticalShare = 1.0;
+    
+    /**
+     * Arama, filtreleme ve tekil yazma işlemleri
+     */
+    private double standardShare = 0.9;
+    
+    /**
+     * Toplu içe aktarma (POST /api/products/bulk)
+     */
+    private double bulkShare = 0.6;
+    
+    /**
+     * Tüm kataloğu dönen dışa aktarma istekleri (GET /api/products)
+     */
+    private double exportShare = 0.4;
+}
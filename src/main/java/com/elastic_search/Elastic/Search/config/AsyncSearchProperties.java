@@ -0,0 +1,45 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * AsyncSearchProperties - Asenkron Rapor Sorgusu Ayarları
+ * 
+ * Katalog geneli raporlar Elasticsearch _async_search ile çalıştırılır:
+ * istek kısa bir süre bekler, bitmediyse kimlik döner ve sonuç daha sonra sorgulanır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.async-search") // Spring: product.async-search.* ayarlarını bağlar
+public class AsyncSearchProperties {
+    
+    /**
+     * Gönderimde sonucun beklenebileceği süre
+     * Bu sürede biten raporlar doğrudan döner; bitmeyenler için sadece kimlik döner
+     */
+    private Duration waitForCompletion = Duration.ofSeconds(1);
+    
+    /**
+     * Sorgulamada (GET) en fazla bekleme süresi
+     * 0: mevcut durum hemen döner
+     */
+    private Duration pollWait = Duration.ZERO;
+    
+    /**
+     * Sonuçların Elasticsearch'te saklanma süresi
+     * Her sorgulamada yenilenmez; süre dolunca rapor kimliği 404 döner
+     */
+    private Duration keepAlive = Duration.ofMinutes(10);
+    
+    /**
+     * Raporda en fazla kategori ve tag sayısı
+     */
+    private int maxBuckets = 1000;
+}
@@ -0,0 +1,88 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ChangeFeedProperties - Ürün Değişiklik Akışı Ayarları
+ *
+ * Ürün yazmaları sıra numarasıyla kaydedilir; istemciler tüm kataloğu tekrar çekmek
+ * yerine son gördükleri sıradan sonraki değişiklikleri alır. Son değişiklikler bellekte,
+ * daha eskileri yerel kayıt dosyasında tutulur.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.change-feed") // Spring: product.change-feed.* ayarlarını bağlar
+public class ChangeFeedProperties {
+
+    /**
+     * Değişiklikler kaydedilsin mi?
+     */
+    private boolean enabled = true;
+
+    /**
+     * Bellekte tutulan son değişiklik sayısı
+     * Daha eski sıralar kayıt dosyasından okunur
+     */
+    private int bufferSize = 10_000;
+
+    /**
+     * Kayıt dosyası (dolunca ".1" uzantılı dosyaya döndürülür)
+     */
+    private String logFile = "data/change-feed.log";
+
+    /**
+     * Kayıt dosyasının döndürülmeden önceki en büyük boyutu (bayt)
+     * Disk kullanımı bunun en fazla iki katıdır
+     */
+    private long maxLogBytes = 64L * 1024 * 1024;
+
+    /**
+     * Kayıt dosyasının diske yazılma aralığı
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Sıra numaraları bu büyüklükte bloklar halinde diske ayrılır (fsync ile).
+     * Dosyaya henüz yazılmamış sıralar istemcilere verilmiş olabilir; çökmeden sonra
+     * numaralandırma ayrılan bloğun sonundan devam eder, aynı sıra iki farklı değişikliğe verilmez
+     */
+    private int sequenceReserve = 10_000;
+
+    /**
+     * Tek yanıttaki / tek seferde gönderilen en fazla değişiklik
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Long-poll isteğinde yeni değişiklik için en fazla bekleme
+     */
+    private Duration pollTimeout = Duration.ofSeconds(30);
+
+    /**
+     * SSE akışının açık kalma süresi (istemci Last-Event-ID ile kaldığı yerden bağlanır)
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Aynı anda açık olabilecek en fazla akış ve bekleyen long-poll isteği
+     */
+    private int maxStreams = 1000;
+
+    /**
+     * SSE akışlarına gönderim yapan thread sayısı
+     * Her akışa aynı anda tek gönderim yapılır; yavaş bir akış diğerlerini bekletmez
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Tek bir gönderimin en uzun süresi; aşan (okumayan) akış kapatılır
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -4,6 +4,7 @@ import com.elastic_search.Elastic.Search.model.Product;
 import com.elastic_search.Elastic.Search.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -19,8 +20,24 @@ public class DataInitializer implements CommandLineRunner {
     
     private final ProductService productService;
     
+    @Value("${product.data-initializer.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * Test verilerini arka planda yükler
+     * Elasticsearch yavaş veya erişilemez olsa bile açılış (ve ilk istek) yazmayı beklemez
+     */
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::loadSampleProducts, "data-initializer");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    private void loadSampleProducts() {
         log.info("Test verileri yükleniyor...");
         
         // Örnek ürünler
@@ -0,0 +1,73 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ElasticsearchClientProperties - Elasticsearch HTTP Transport Ayarları
+ * 
+ * Düşük seviye RestClient'ın bağlantı havuzu, keep-alive, I/O thread
+ * ve sıkıştırma ayarları. Bağlantı adresi, zaman aşımları, kimlik bilgileri
+ * ve SSL (spring.elasticsearch.restclient.ssl.bundle) spring.elasticsearch.* altında kalır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.es-client") // Spring: product.es-client.* ayarlarını bağlar
+public class ElasticsearchClientProperties {
+    
+    /**
+     * Havuzdaki toplam bağlantı sınırı (RestClient varsayılanı 30)
+     * 0 = product.resilience.max-concurrent-calls + %25 (bulkhead dışındaki toplu yükleme ve indeks yönetimi için)
+     */
+    private int maxConnTotal = 0;
+    
+    /**
+     * Node (route) başına bağlantı sınırı (RestClient varsayılanı 10)
+     * 0 = maxConnTotal (tek node'lu kurulumda tüm havuz kullanılabilir)
+     */
+    private int maxConnPerRoute = 0;
+    
+    /**
+     * Sunucu Keep-Alive başlığı göndermezse bağlantının açık tutulacağı süre
+     * Sunucunun gönderdiği değer bundan uzunsa bu değer kullanılır
+     */
+    private Duration keepAlive = Duration.ofMinutes(1);
+    
+    /**
+     * Bu süreden uzun boşta kalan bağlantılar kapatılır
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    
+    /**
+     * Süresi dolmuş ve boşta kalan bağlantıların temizlenme aralığı
+     */
+    private Duration evictionInterval = Duration.ofSeconds(10);
+    
+    /**
+     * Havuzdan bağlantı almak için en uzun bekleme (connection request timeout)
+     * Havuz doluyken isteklerin socket-timeout kadar beklemesini önler
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(1);
+    
+    /**
+     * I/O reactor thread sayısı (0 = işlemci sayısı)
+     */
+    private int ioThreadCount = 0;
+    
+    /**
+     * İstek gövdelerini gzip ile sıkıştır ve sıkıştırılmış cevap kabul et
+     * Düşük seviye client'ta bu ayar tüm istekler için geçerlidir; kazancın büyük kısmı _bulk isteklerindedir
+     */
+    private boolean compressionEnabled = true;
+    
+    /**
+     * Havuz doluluk oranı bu değeri aşınca uyarı loglanır (0-1)
+     */
+    private double saturationWarningThreshold = 0.9;
+}
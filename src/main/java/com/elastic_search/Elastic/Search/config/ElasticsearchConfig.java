@@ -1,10 +1,103 @@
 package com.elastic_search.Elastic.Search.config;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.boot.autoconfigure.elasticsearch.RestClientBuilderCustomizer;
+import org.springframework.boot.ssl.SslBundle;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.boot.ssl.SslOptions;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
+import org.springframework.util.StringUtils;
 
+import javax.net.ssl.HostnameVerifier;
+
+/**
+ * ElasticsearchConfig - Elasticsearch Client Konfigürasyonu
+ * 
+ * Spring Boot'un oluşturduğu RestClient'ı product.es-client.* ayarlarıyla özelleştirir:
+ * bağlantı havuzu boyutları, keep-alive, boşta bağlantı temizliği,
+ * I/O reactor thread sayısı ve gzip sıkıştırma. Kimlik bilgileri, zaman aşımları ve
+ * SSL bundle'ı Spring Boot'un spring.elasticsearch.* ayarlarından gelmeye devam eder.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
 @Configuration
 @EnableElasticsearchRepositories(basePackages = "com.elastic_search.Elastic.Search.repository")
 public class ElasticsearchConfig {
-    // Basit konfigürasyon - application.properties'den ayarları alacak
-} 
\ No newline at end of file
+    
+    /**
+     * Ölçümlü bağlantı havuzu
+     * RestClient kapatılırken havuz da kapatılır
+     * 
+     * Havuz boyutu verilmezse bulkhead'den hesaplanır: guard üzerinden giden her çağrı
+     * en fazla bir bağlantı tutar, kalan pay guard dışındaki işler içindir.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public InstrumentedConnectionManager elasticsearchConnectionManager(ElasticsearchClientProperties properties,
+                                                                       ResilienceProperties resilienceProperties,
+                                                                       ElasticsearchProperties elasticsearchProperties,
+                                                                       ObjectProvider<SslBundles> sslBundles) throws IOReactorException {
+        int maxTotal = properties.getMaxConnTotal() > 0
+                ? properties.getMaxConnTotal()
+                : resilienceProperties.getMaxConcurrentCalls() + Math.max(1, resilienceProperties.getMaxConcurrentCalls() / 4);
+        int maxPerRoute = properties.getMaxConnPerRoute() > 0 ? properties.getMaxConnPerRoute() : maxTotal;
+        return new InstrumentedConnectionManager(properties, sslStrategy(elasticsearchProperties, sslBundles),
+                maxTotal, maxPerRoute);
+    }
+    
+    /**
+     * https stratejisi: Spring Boot'un spring.elasticsearch.restclient.ssl.bundle için
+     * yaptığı gibi bundle'dan oluşturulur, bundle yoksa sistem varsayılanı (javax.net.ssl.*) kullanılır
+     */
+    private static SchemeIOSessionStrategy sslStrategy(ElasticsearchProperties elasticsearchProperties,
+                                                       ObjectProvider<SslBundles> sslBundles) {
+        String bundleName = elasticsearchProperties.getRestclient().getSsl().getBundle();
+        if (!StringUtils.hasText(bundleName)) {
+            return SSLIOSessionStrategy.getSystemDefaultStrategy();
+        }
+        SslBundle bundle = sslBundles.getObject().getBundle(bundleName);
+        SslOptions options = bundle.getOptions();
+        return new SSLIOSessionStrategy(bundle.createSslContext(), options.getEnabledProtocols(), options.getCiphers(),
+                (HostnameVerifier) null);
+    }
+    
+    /**
+     * RestClient özelleştirmesi
+     */
+    @Bean
+    public RestClientBuilderCustomizer elasticsearchTransportCustomizer(ElasticsearchClientProperties properties,
+                                                                       InstrumentedConnectionManager connectionManager) {
+        return new RestClientBuilderCustomizer() {
+            @Override
+            public void customize(RestClientBuilder builder) {
+                builder.setCompressionEnabled(properties.isCompressionEnabled());
+            }
+            
+            @Override
+            public void customize(HttpAsyncClientBuilder builder) {
+                long maxKeepAlive = properties.getKeepAlive().toMillis();
+                builder.setConnectionManager(connectionManager)
+                        // Sunucunun Keep-Alive başlığına uy, ama yapılandırılan süreyi aşma
+                        .setKeepAliveStrategy((response, context) -> {
+                            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAlive) : maxKeepAlive;
+                        });
+            }
+            
+            @Override
+            public void customize(RequestConfig.Builder builder) {
+                builder.setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis());
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * FuzzySearchProperties - Bulanık Arama Maliyet Sınırları
+ * 
+ * Bulanık sorgu her terimi, düzenleme mesafesi içindeki indeks terimlerine genişletir.
+ * Kısa ön ek ve sınırsız genişleme büyük katalogda binlerce terime yol açar;
+ * bu ayarlar terim ve sorgu başına genişlemeyi sınırlar.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.fuzzy") // Spring: product.fuzzy.* ayarlarını bağlar
+public class FuzzySearchProperties {
+    
+    /**
+     * Düzenleme mesafesi: AUTO (1-2 karakter: 0, 3-5: 1, daha uzun: 2) veya 0, 1, 2
+     */
+    private String fuzziness = "AUTO";
+    
+    /**
+     * Değişmeden eşleşmesi gereken ön ek uzunluğu
+     * Genişletilecek aday terim sayısını en çok azaltan ayardır
+     */
+    private int prefixLength = 1;
+    
+    /**
+     * Terim başına en fazla genişleme sayısı
+     */
+    private int maxExpansions = 50;
+    
+    /**
+     * Yer değiştirmiş iki harf (ab -> ba) tek düzenleme sayılsın mı?
+     */
+    private boolean transpositions = true;
+    
+    /**
+     * Sorgudaki en fazla terim sayısı - fazlası 400 ile reddedilir
+     */
+    private int maxTerms = 5;
+    
+    /**
+     * Sorgu başına toplam genişleme tavanı (terim x alan x genişleme)
+     * Aşılırsa terim başına genişleme sayısı düşürülür
+     */
+    private int maxTotalExpansions = 200;
+    
+    /**
+     * Shard başına arama süresi sınırı - aşılırsa o ana kadarki sonuçlar döner
+     */
+    private Duration timeout = Duration.ofMillis(500);
+    
+    /**
+     * Döndürülecek en fazla ürün ve öneri sayısı
+     */
+    private int maxResults = 20;
+    private int suggestionSize = 3;
+}
@@ -0,0 +1,67 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * HotKeyProperties - En Sık Erişilen Ürün ve Sorgu Takibi Ayarları
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.hot-keys") // Spring: product.hot-keys.* ayarlarını bağlar
+public class HotKeyProperties {
+    
+    /**
+     * Erişimler kaydedilsin mi?
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Takip edilecek en sık ürün/sorgu sayısı
+     */
+    private int topK = 100;
+    
+    /**
+     * Count-min sketch boyutları (depth x width sayaç)
+     */
+    private int sketchDepth = 4;
+    private int sketchWidth = 4096;
+    
+    /**
+     * Sayaçların yarıya indirilme aralığı - eski trafiğin etkisini azaltır
+     */
+    private Duration decayInterval = Duration.ofMinutes(10);
+    
+    /**
+     * Kapanışta en sık anahtarların yazılacağı dosya
+     */
+    private String snapshotFile = "data/hot-keys.json";
+    
+    /**
+     * Açılışta snapshot'taki ürün ve sorgular önceden yüklensin mi?
+     */
+    private boolean preloadOnStartup = true;
+    
+    /**
+     * Önceden yüklenecek snapshot'ın en fazla yaşı
+     * Daha eski snapshot'taki ürünler silinmiş, sorgular gözden düşmüş olabilir; yüklenmez
+     */
+    private Duration snapshotMaxAge = Duration.ofDays(1);
+    
+    /**
+     * Önceden yükleme için paralel istek sayısı
+     */
+    private int preloadParallelism = 8;
+    
+    /**
+     * Önceden yükleme için beklenecek en uzun süre
+     * Süre dolarsa uygulama yine de hazır olur
+     */
+    private Duration preloadTimeout = Duration.ofSeconds(30);
+}
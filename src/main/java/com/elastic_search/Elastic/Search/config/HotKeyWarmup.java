@@ -0,0 +1,133 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.dto.HotKeySnapshot;
+import com.elastic_search.Elastic.Search.service.HotKeyTracker;
+import com.elastic_search.Elastic.Search.service.ProductService;
+import com.elastic_search.Elastic.Search.service.Tracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HotKeyWarmup - Açılışta sık erişilen ürün ve sorguları önceden yükler
+ * 
+ * Önceki çalışmanın kapanışta kaydettiği snapshot'taki ürünleri ve sorguları
+ * paralel olarak çalıştırır; Elasticsearch'in dosya sistemi/sorgu önbellekleri
+ * ve dayanıklılık katmanının son sonuç önbelleği ısınmış olur.
+ * 
+ * CommandLineRunner'lar bitmeden Spring Boot ReadinessState.ACCEPTING_TRAFFIC
+ * yayınlamaz, bu yüzden uygulama ön yükleme bitince (veya süre dolunca) hazır olur.
+ * DataInitializer'ın test verileri ayrı bir thread'de yüklenir ve ön yükleme onları beklemez;
+ * snapshot'taki ürünler önceki çalışmadan zaten indekste olan ürünlerdir.
+ * snapshotMaxAge'den eski (veya zamanı bilinmeyen) snapshot yüklenmez.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE) // Spring: İndeks hazırlığından sonra çalışır; test verileri arka planda yüklendiği için beklenmez
+@RequiredArgsConstructor
+@Slf4j
+public class HotKeyWarmup implements CommandLineRunner {
+    
+    private final HotKeyProperties properties;
+    private final HotKeyTracker hotKeyTracker;
+    private final ProductService productService;
+    private final Tracer tracer;
+    
+    @Override
+    public void run(String... args) {
+        if (!properties.isPreloadOnStartup()) {
+            return;
+        }
+        hotKeyTracker.loadSnapshot().filter(this::isFresh).ifPresent(this::preload);
+    }
+    
+    private boolean isFresh(HotKeySnapshot snapshot) {
+        Instant savedAt = snapshot.getSavedAt();
+        if (savedAt == null || savedAt.plus(properties.getSnapshotMaxAge()).isBefore(Instant.now())) {
+            log.info("Sık erişilen anahtar snapshot'ı eski ({}), önceden yükleme atlanıyor", savedAt);
+            return false;
+        }
+        return true;
+    }
+    
+    private void preload(HotKeySnapshot snapshot) {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        if (snapshot.getProducts() != null) {
+            snapshot.getProducts().forEach(id -> tasks.add(() -> productService.getProductById(id)));
+        }
+        if (snapshot.getQueries() != null) {
+            snapshot.getQueries().forEach(key -> {
+                int separator = key.indexOf(':');
+                String kind = separator < 0 ? "" : key.substring(0, separator);
+                String query = key.substring(separator + 1);
+                if (HotKeyTracker.SEARCH.equals(kind)) {
+                    tasks.add(() -> productService.searchProducts(query));
+                } else if (HotKeyTracker.FUZZY.equals(kind)) {
+                    tasks.add(() -> productService.fuzzySearch(query));
+                }
+            });
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        
+        // Ön yükleme görevleri tek bir trace altında toplanır
+        try (Tracer.Scope scope = tracer.trace("hot-key.preload")) {
+            scope.span().attribute("tasks", tasks.size());
+            run(snapshot, tasks);
+        }
+    }
+    
+    private void run(HotKeySnapshot snapshot, List<Callable<Object>> tasks) {
+        long start = System.currentTimeMillis();
+        int loaded = 0;
+        int failed = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getPreloadParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Süre dolduğunda bitmeyen görevler iptal edilir
+            for (Future<Object> future : executor.invokeAll(tasks.stream().map(tracer::wrap).toList(), properties.getPreloadTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                try {
+                    future.get();
+                    loaded++;
+                } catch (Exception e) {
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        long tookMs = System.currentTimeMillis() - start;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("snapshotSavedAt", snapshot.getSavedAt());
+        result.put("completedAt", Instant.now());
+        result.put("tasks", tasks.size());
+        result.put("loaded", loaded);
+        result.put("failed", failed);
+        result.put("tookMs", tookMs);
+        hotKeyTracker.recordPreload(result);
+        log.info("Sık erişilen anahtarlar önceden yüklendi: {}/{} ({} ms)", loaded, tasks.size(), tookMs);
+    }
+}
@@ -0,0 +1,54 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * IdempotencyProperties - Idempotency-Key Ayarları
+ *
+ * Ürün oluşturma ve toplu ekleme istekleri Idempotency-Key başlığı ile tekrar gönderildiğinde
+ * tekrar yazılmaz; ilk isteğin sonucu döndürülür. Anahtarlar bellekte (LRU) ve yerel kayıt
+ * dosyasında tutulur, doküman ID'leri anahtardan türetilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.idempotency") // Spring: product.idempotency.* ayarlarını bağlar
+public class IdempotencyProperties {
+
+    /**
+     * Idempotency-Key başlığı dikkate alınsın mı? (false ise başlık yok sayılır)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Bellekte tutulan en fazla anahtar sayısı
+     * Her anahtar için sadece parmak izi ve ürün ID'leri tutulur; tekrarlar ürünleri ID ile okur
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Anahtar kayıt dosyası - yeniden başlatmada anahtarlar buradan yüklenir
+     */
+    private String journalFile = "data/idempotency.log";
+
+    /**
+     * Kayıt dosyasının döndürülmeden önceki en büyük boyutu (bayt)
+     */
+    private long maxJournalBytes = 16L * 1024 * 1024;
+
+    /**
+     * Anahtarın geçerlilik süresi; daha eski anahtarla gelen istek yeni istek sayılır
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Kabul edilen en uzun anahtar
+     */
+    private int maxKeyLength = 255;
+}
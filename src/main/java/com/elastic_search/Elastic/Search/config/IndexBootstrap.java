@@ -0,0 +1,39 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.service.IndexManagementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * IndexBootstrap - Açılışta indeks alias'larını hazırlar
+ * 
+ * DataInitializer'dan önce çalışır, böylece ilk yazma işlemi
+ * yazma alias'ı üzerinden doğru fiziksel indekse gider.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Spring: Diğer CommandLineRunner'lardan önce çalışır
+@RequiredArgsConstructor
+@Slf4j
+public class IndexBootstrap implements CommandLineRunner {
+    
+    private final IndexProperties indexProperties;
+    private final IndexManagementService indexManagementService;
+    
+    @Override
+    public void run(String... args) {
+        if (!indexProperties.isBootstrapOnStartup()) {
+            return;
+        }
+        try {
+            indexManagementService.ensureAliases();
+            indexManagementService.resumePendingReindex();
+        } catch (Exception e) {
+            // Elasticsearch erişilemezse alias'lar ilk yazma işleminde hazırlanır
+            log.warn("İndeks alias'ları hazırlanamadı: {}", e.getMessage());
+        }
+    }
+}
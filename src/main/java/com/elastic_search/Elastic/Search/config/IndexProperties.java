@@ -0,0 +1,65 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * IndexProperties - Ürün İndeksi Yönetim Ayarları
+ * 
+ * Fiziksel indeksler products_v1, products_v2 ... şeklinde versiyonlanır.
+ * Uygulama okumaları readAlias, yazmaları writeAlias üzerinden yapar;
+ * böylece yeniden indeksleme sırasında kesinti olmaz.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.index") // Spring: product.index.* ayarlarını bağlar
+public class IndexProperties {
+    
+    /**
+     * Okuma alias'ı - @Document(indexName) ile aynı olmalıdır
+     * Fiziksel indeks adları bu değere _vN eklenerek üretilir
+     */
+    private String readAlias = "products";
+    
+    /**
+     * Yazma alias'ı - her zaman tek bir fiziksel indekse işaret eder
+     */
+    private String writeAlias = "products-write";
+    
+    /**
+     * Primary shard sayısı (sadece yeni oluşturulan indekslere uygulanır)
+     */
+    private int shards = 1;
+    
+    /**
+     * Replica sayısı
+     */
+    private int replicas = 0;
+    
+    /**
+     * Refresh aralığı (örn. 1s, 30s)
+     */
+    private String refreshInterval = "1s";
+    
+    /**
+     * Yeniden indeksleme durumunun saklandığı checkpoint dosyası
+     * Uygulama yarıda kapanırsa işlem bu dosyadan devam eder
+     */
+    private String checkpointFile = "data/reindex-checkpoint.json";
+    
+    /**
+     * Reindex task'ının durumunun sorgulanma aralığı
+     */
+    private Duration taskPollInterval = Duration.ofSeconds(2);
+    
+    /**
+     * Açılışta alias'ları kontrol et ve gerekirse oluştur
+     */
+    private boolean bootstrapOnStartup = true;
+}
@@ -0,0 +1,177 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.util.LatencyWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.NHttpClientConnection;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InstrumentedConnectionManager - Ölçümlü Elasticsearch Bağlantı Havuzu
+ * 
+ * RestClient'ın kullandığı async bağlantı havuzu. Varsayılan havuzdan farkları:
+ * - Toplam ve node başına bağlantı sınırları ayarlanabilir
+ * - Boşta kalan ve süresi dolan bağlantılar periyodik olarak kapatılır
+ * - Bağlantı bekleme süresi (lease wait) ve havuz doluluğu ölçülür
+ * 
+ * Özel bir havuz verildiğinde HttpAsyncClientBuilder'ın SSL ayarları yok sayılır;
+ * bu yüzden https stratejisi (Spring Boot SSL bundle'ı veya sistem varsayılanı)
+ * ElasticsearchConfig tarafından oluşturulup havuza verilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class InstrumentedConnectionManager extends PoolingNHttpClientConnectionManager {
+    
+    private final ElasticsearchClientProperties properties;
+    private final LatencyWindow leaseWaits = new LatencyWindow(1024);
+    private final AtomicLong leaseRequests = new AtomicLong();
+    private final AtomicLong leaseFailures = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private volatile long lastSaturationWarning;
+    
+    /**
+     * @param properties Havuz ayarları
+     * @param sslStrategy https bağlantıları için SSL stratejisi
+     * @param maxTotal Toplam bağlantı sınırı
+     * @param maxPerRoute Node başına bağlantı sınırı
+     */
+    public InstrumentedConnectionManager(ElasticsearchClientProperties properties, SchemeIOSessionStrategy sslStrategy,
+                                         int maxTotal, int maxPerRoute) throws IOReactorException {
+        super(new DefaultConnectingIOReactor(ioReactorConfig(properties)),
+                RegistryBuilder.<SchemeIOSessionStrategy>create()
+                        .register("http", NoopIOSessionStrategy.INSTANCE)
+                        .register("https", sslStrategy)
+                        .build());
+        this.properties = properties;
+        setMaxTotal(maxTotal);
+        setDefaultMaxPerRoute(maxPerRoute);
+        
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "es-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getEvictionInterval().toMillis();
+        evictor.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    private static IOReactorConfig ioReactorConfig(ElasticsearchClientProperties properties) {
+        int threads = properties.getIoThreadCount() > 0
+                ? properties.getIoThreadCount()
+                : Runtime.getRuntime().availableProcessors();
+        return IOReactorConfig.custom()
+                .setIoThreadCount(threads)
+                .setSoKeepAlive(true) // TCP keep-alive: ölü bağlantılar işletim sistemi seviyesinde de tespit edilir
+                .setTcpNoDelay(true)
+                .build();
+    }
+    
+    /**
+     * Bağlantı talebini ölçer: talepten bağlantının verilmesine kadar geçen süre
+     * (havuzda bekleme + gerekiyorsa yeni bağlantı kurma)
+     */
+    @Override
+    public Future<NHttpClientConnection> requestConnection(HttpRoute route, Object state, long connectTimeout,
+                                                           long leaseTimeout, TimeUnit timeUnit,
+                                                           FutureCallback<NHttpClientConnection> callback) {
+        leaseRequests.incrementAndGet();
+        long start = System.nanoTime();
+        return super.requestConnection(route, state, connectTimeout, leaseTimeout, timeUnit,
+                new FutureCallback<>() {
+                    @Override
+                    public void completed(NHttpClientConnection connection) {
+                        leaseWaits.record(System.nanoTime() - start);
+                        if (callback != null) {
+                            callback.completed(connection);
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        leaseFailures.incrementAndGet();
+                        if (callback != null) {
+                            callback.failed(e);
+                        }
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        if (callback != null) {
+                            callback.cancelled();
+                        }
+                    }
+                });
+    }
+    
+    /**
+     * Periyodik bakım: süresi dolan ve boşta kalan bağlantıları kapatır, doluluğu kontrol eder
+     */
+    private void maintain() {
+        try {
+            closeExpiredConnections();
+            closeIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            
+            PoolStats total = getTotalStats();
+            double saturation = (double) total.getLeased() / total.getMax();
+            long now = System.currentTimeMillis();
+            if (saturation >= properties.getSaturationWarningThreshold() && now - lastSaturationWarning > 60_000) {
+                lastSaturationWarning = now;
+                log.warn("Elasticsearch bağlantı havuzu dolmak üzere: {}/{} kullanımda, {} bekleyen istek",
+                        total.getLeased(), total.getMax(), total.getPending());
+            }
+        } catch (Exception e) {
+            log.debug("Bağlantı havuzu bakımı başarısız: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Havuz istatistikleri
+     * 
+     * @return Map<String, Object> - Kullanımda/boşta/bekleyen bağlantılar, doluluk ve bekleme süreleri (ms)
+     */
+    public Map<String, Object> stats() {
+        PoolStats total = getTotalStats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxTotal", total.getMax());
+        stats.put("maxPerRoute", getDefaultMaxPerRoute());
+        stats.put("leased", total.getLeased());
+        stats.put("available", total.getAvailable());
+        stats.put("pending", total.getPending());
+        stats.put("saturation", total.getMax() == 0 ? 0 : (double) total.getLeased() / total.getMax());
+        stats.put("leaseRequests", leaseRequests.get());
+        stats.put("leaseFailures", leaseFailures.get());
+        if (leaseWaits.count() > 0) {
+            Map<String, Object> waits = new LinkedHashMap<>();
+            waits.put("p50", leaseWaits.percentile(50) / 1_000_000.0);
+            waits.put("p95", leaseWaits.percentile(95) / 1_000_000.0);
+            waits.put("p99", leaseWaits.percentile(99) / 1_000_000.0);
+            stats.put("leaseWaitMs", waits);
+        }
+        return stats;
+    }
+    
+    @Override
+    public void shutdown() throws IOException {
+        evictor.shutdownNow();
+        super.shutdown();
+    }
+}
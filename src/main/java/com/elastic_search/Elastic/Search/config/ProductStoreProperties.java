@@ -0,0 +1,71 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ProductStoreProperties - PostgreSQL Ürün Deposu Ayarları
+ *
+ * Açıkken ürünlerin asıl kaydı PostgreSQL'dedir; Elasticsearch outbox tablosundan
+ * beslenen bir arama kopyası olur.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.store") // Spring: product.store.* ayarlarını bağlar
+public class ProductStoreProperties {
+
+    /**
+     * PostgreSQL asıl kayıt olarak kullanılsın mı? Kapalıyken yazmalar doğrudan Elasticsearch'e gider
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC bağlantı adresi (docker-compose'daki postgres servisi)
+     */
+    private String url = "jdbc:postgresql://localhost:5433/elasticsearch_demo";
+
+    private String username = "elastic_user";
+
+    private String password = "elastic_pass";
+
+    /**
+     * Açık tutulabilecek en fazla bağlantı sayısı
+     */
+    private int poolSize = 10;
+
+    /**
+     * Havuzdan bağlantı almak için beklenecek en uzun süre
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Outbox tablosunun kontrol aralığı (yazmalar indeksleyiciyi ayrıca hemen uyandırır)
+     */
+    private Duration outboxPollInterval = Duration.ofMillis(500);
+
+    /**
+     * Tek bir _bulk isteğine alınacak en fazla outbox kaydı
+     */
+    private int outboxBatchSize = 500;
+
+    /**
+     * Başarısız kaydın tekrar denenmesi için temel bekleme (deneme sayısıyla çarpılır)
+     */
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    /**
+     * Tekrar deneme beklemesinin üst sınırı
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    /**
+     * PostgreSQL'den yeniden inşada tek seferde okunup yazılan ürün sayısı
+     */
+    private int rebuildBatchSize = 1000;
+}
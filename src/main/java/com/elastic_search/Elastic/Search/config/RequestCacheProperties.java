@@ -0,0 +1,50 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RequestCacheProperties - Shard İstek Önbelleği Ayarları
+ * 
+ * Shard request cache anahtarı istek gövdesinin kendisidir ve her shard kopyası
+ * kendi önbelleğini tutar. Aynı sorgunun aynı gövdeyle aynı kopyaya gitmesi için
+ * gövde kanonik hale getirilir ve preference ile kopya seçimi sabitlenir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.request-cache") // Spring: product.request-cache.* ayarlarını bağlar
+public class RequestCacheProperties {
+    
+    /**
+     * Önbelleklenebilir aramalarda request_cache=true ve preference gönderilsin mi?
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Kopya seçimi: QUERY (sorgu gövdesinin hash'i), SESSION (oturum başlığı, yoksa sorgu hash'i) veya NONE
+     */
+    private PreferenceMode preference = PreferenceMode.QUERY;
+    
+    /**
+     * SESSION modunda oturumu taşıyan istek başlığı
+     */
+    private String sessionHeader = "X-Session-Id";
+    
+    /**
+     * Tekrar oranı için hatırlanan son kanonik gövde sayısı
+     */
+    private int recentKeys = 10_000;
+    
+    /**
+     * Metrik tutulacak en fazla sorgu şekli
+     */
+    private int maxShapes = 50;
+    
+    public enum PreferenceMode {
+        QUERY, SESSION, NONE
+    }
+}
@@ -0,0 +1,130 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ResilienceProperties - Elasticsearch Çağrıları İçin Dayanıklılık Ayarları
+ * 
+ * İşlem türüne göre gecikme bütçeleri, devre kesici, hedge (yedek istek)
+ * ve bayat sonuç önbelleği ayarlarını içerir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.resilience") // Spring: product.resilience.* ayarlarını bağlar
+public class ResilienceProperties {
+    
+    /**
+     * Dayanıklılık katmanı açık mı? Kapalıysa çağrılar doğrudan yapılır
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Aynı anda Elasticsearch'e yapılabilecek en fazla çağrı (bulkhead)
+     * Dolu olduğunda yeni çağrılar beklemeden 503 alır
+     * Her eşzamanlı çağrı bir platform thread'i tutar; değer thread bütçesine göre artırılmalıdır
+     * Elasticsearch bağlantı havuzu varsayılan olarak bu değerden boyutlanır
+     */
+    private int maxConcurrentCalls = 64;
+    
+    // ==================== GECİKME BÜTÇELERİ ====================
+    
+    /**
+     * ID ile tekil ürün okuma
+     */
+    private Duration pointReadBudget = Duration.ofMillis(500);
+    
+    /**
+     * Arama ve listeleme
+     */
+    private Duration searchBudget = Duration.ofSeconds(2);
+    
+    /**
+     * Aggregation sorguları
+     */
+    private Duration aggregationBudget = Duration.ofSeconds(3);
+    
+    /**
+     * Tekil yazma işlemleri (wait_for refresh süresini de kapsamalı)
+     */
+    private Duration writeBudget = Duration.ofSeconds(5);
+    
+    /**
+     * Toplu yazma işlemleri
+     */
+    private Duration bulkWriteBudget = Duration.ofSeconds(60);
+    
+    /**
+     * Yavaş sorguların profile=true ile tekrar çalıştırılması (düşük öncelikli)
+     */
+    private Duration profileBudget = Duration.ofSeconds(5);
+    
+    /**
+     * Düşük öncelikli çağrıların (profil) kabul edildiği en yüksek havuz doluluk oranı (0-1)
+     * Havuzun bu oranından fazlası kullanılıyorsa düşük öncelikli çağrı hemen reddedilir
+     */
+    private double lowPriorityPoolShare = 0.5;
+    
+    // ==================== HEDGE ====================
+    
+    /**
+     * Okumalarda yedek istek gönderilsin mi?
+     * İlk istek gecikme yüzdeliğini aşarsa aynı istek tekrar gönderilir, ilk cevap kullanılır
+     */
+    private boolean hedgeEnabled = true;
+    
+    /**
+     * Hedge gecikmesi olarak kullanılacak gecikme yüzdeliği
+     */
+    private double hedgePercentile = 95;
+    
+    /**
+     * En kısa hedge gecikmesi (az ölçüm varken veya çok hızlı işlemlerde)
+     */
+    private Duration hedgeMinDelay = Duration.ofMillis(50);
+    
+    // ==================== DEVRE KESİCİ ====================
+    
+    /**
+     * Hata oranının hesaplandığı son çağrı sayısı
+     */
+    private int breakerWindowSize = 50;
+    
+    /**
+     * Devrenin açılabilmesi için gereken en az çağrı sayısı
+     */
+    private int breakerMinimumCalls = 20;
+    
+    /**
+     * Devreyi açan hata oranı (0-1)
+     */
+    private double breakerFailureRateThreshold = 0.5;
+    
+    /**
+     * Devrenin açık kalma süresi
+     */
+    private Duration breakerOpenDuration = Duration.ofSeconds(10);
+    
+    /**
+     * Yarı açık durumda izin verilen deneme çağrısı sayısı
+     */
+    private int breakerHalfOpenCalls = 3;
+    
+    // ==================== BAYAT SONUÇLAR ====================
+    
+    /**
+     * Son başarılı sonuçların tutulacağı kayıt sayısı (tekil okumalar ve aramalar)
+     */
+    private int staleCacheSize = 1000;
+    
+    /**
+     * Bayat bir sonucun hâlâ sunulabileceği en uzun süre
+     */
+    private Duration staleMaxAge = Duration.ofMinutes(10);
+}
@@ -0,0 +1,33 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RoutingProperties - Kategori Bazlı Routing Ayarları
+ * 
+ * Açıkken ürünler _id yerine kategoriye göre shard'lara dağıtılır;
+ * kategoriyle sınırlı sorgular tüm shard'lara değil tek shard'a (veya bölüme) gider.
+ * Routing indeks oluşturulurken sabitlenir: ayar değiştiğinde yeniden indeksleme gerekir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.routing") // Spring: product.routing.* ayarlarını bağlar
+public class RoutingProperties {
+    
+    /**
+     * Yeni indeksler kategori routing'i ile oluşturulsun mu?
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Bir kategorinin dağıtılacağı shard sayısı (index.routing_partition_size)
+     * 1: her kategori tek shard'da; büyük kategoriler sıcak shard oluşturuyorsa artırılır.
+     * Shard sayısından küçük olmalıdır.
+     */
+    private int partitionSize = 1;
+}
@@ -0,0 +1,74 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * SavedSearchProperties - Kayıtlı Arama (Fiyat/Stok Alarmı) Ayarları
+ *
+ * Kayıtlı aramalar percolator sorgusu olarak ayrı bir indekste saklanır;
+ * ürün yazmaları bu indekse karşı eşleştirilir ve abonelere bildirim gönderilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.saved-search") // Spring: product.saved-search.* ayarlarını bağlar
+public class SavedSearchProperties {
+
+    /**
+     * Ürün yazmaları kayıtlı aramalarla eşleştirilsin mi?
+     */
+    private boolean enabled = true;
+
+    /**
+     * Percolator sorgularının saklandığı indeks
+     */
+    private String index = "product-alerts";
+
+    /**
+     * Eşleştirme penceresi - bekleyen ürünler bu aralıkla toplu eşleştirilir
+     */
+    private Duration window = Duration.ofMillis(200);
+
+    /**
+     * Tek bir percolate isteğindeki en fazla ürün sayısı
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Eşleştirilmeyi bekleyebilecek en fazla farklı ürün sayısı (aşılırsa yeni ürünler atlanır)
+     */
+    private int maxPending = 10_000;
+
+    /**
+     * Percolate sonuçlarının sayfa boyutu
+     * Eşleşmeler bir sayfayı aşarsa tümü point-in-time ve search_after ile sayfa sayfa okunur
+     */
+    private int matchPageSize = 1000;
+
+    /**
+     * Ürün başına en son eşleşen aramaların hatırlandığı ürün sayısı
+     * Bildirim sadece ürün aramaya yeni girdiğinde gönderilir
+     */
+    private int matchMemorySize = 100_000;
+
+    /**
+     * Bir abonenin en fazla kayıtlı arama sayısı
+     */
+    private int maxPerSubscriber = 100;
+
+    /**
+     * SSE bağlantısının zaman aşımı (istemci sonra yeniden bağlanır)
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Aynı anda açık tutulabilecek en fazla SSE bağlantısı
+     */
+    private int maxStreams = 1000;
+}
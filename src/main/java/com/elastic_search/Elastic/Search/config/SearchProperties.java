@@ -0,0 +1,49 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * SearchProperties - Gelişmiş Arama Sayfa ve Sayım Ayarları
+ * 
+ * Sonuç sayfası boyutu ve toplam hit sayımının sınırı.
+ * Kesin toplam için her eşleşme sayılmak zorundadır; sınır aşıldığında
+ * toplam "en az N" (gte) olarak döner ve sıralı sorgular erken sonlanabilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.search") // Spring: product.search.* ayarlarını bağlar
+public class SearchProperties {
+    
+    /**
+     * İstekte size verilmediğinde döndürülecek sonuç sayısı
+     */
+    private int defaultSize = 10;
+    
+    /**
+     * İstekte izin verilen en büyük size
+     */
+    private int maxSize = 100;
+    
+    /**
+     * Toplam hit sayımının kesin tutulacağı üst sınır
+     * Arayüz bu sayının üzerini "10.000+" gibi gösterir
+     */
+    private int trackTotalHitsUpTo = 10_000;
+    
+    /**
+     * Filtre panelinde döndürülecek en fazla kategori/tag sayısı
+     */
+    private int facetSize = 20;
+    
+    /**
+     * Filtre panelindeki fiyat aralıklarının genişliği (TL)
+     */
+    private BigDecimal facetPriceInterval = new BigDecimal("1000");
+}
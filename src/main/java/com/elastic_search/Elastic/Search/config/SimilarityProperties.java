@@ -0,0 +1,57 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SimilarityProperties - Benzer Ürün (kNN) Ayarları
+ *
+ * Ürün vektörleri HNSW grafiğiyle indekslenir; quantized açıkken vektörler
+ * bellekte int8 tutulur (float32'ye göre ~4 kat az bellek). HNSW ayarları
+ * sadece yeni oluşturulan indekslere uygulanır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.similar") // Spring: product.similar.* ayarlarını bağlar
+public class SimilarityProperties {
+
+    /**
+     * Varsayılan benzer ürün sayısı
+     */
+    private int defaultSize = 10;
+
+    /**
+     * İstenebilecek en fazla benzer ürün sayısı
+     */
+    private int maxSize = 50;
+
+    /**
+     * Shard başına değerlendirilen aday sayısı (en az istenen sayı kadar)
+     * Büyüdükçe isabet artar, gecikme de artar
+     */
+    private int numCandidates = 100;
+
+    /**
+     * Vektörler int8 quantize edilsin mi? (int8_hnsw, kapalıysa hnsw)
+     */
+    private boolean quantized = true;
+
+    /**
+     * HNSW grafiğinde düğüm başına bağlantı sayısı
+     */
+    private int hnswM = 16;
+
+    /**
+     * HNSW grafiği oluşturulurken değerlendirilen aday sayısı
+     */
+    private int hnswEfConstruction = 100;
+
+    /**
+     * Vektörü olmayan ürünler doldurulurken tek _bulk isteğindeki ürün sayısı
+     */
+    private int backfillBatchSize = 500;
+}
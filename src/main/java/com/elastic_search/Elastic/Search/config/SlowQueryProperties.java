@@ -0,0 +1,50 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * SlowQueryProperties - Yavaş Sorgu Kaydı Ayarları
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.slow-query") // Spring: product.slow-query.* ayarlarını bağlar
+public class SlowQueryProperties {
+    
+    /**
+     * Yavaş sorgular kaydedilsin mi?
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Bu süreden uzun süren aramalar yavaş kabul edilir
+     */
+    private Duration threshold = Duration.ofMillis(500);
+    
+    /**
+     * Yavaş sorguların ne kadarı profile API ile tekrar çalıştırılsın (0.0 - 1.0)
+     */
+    private double profileSampleRate = 0.2;
+    
+    /**
+     * Aynı sorgu şekli en fazla bu aralıkla bir kez profile edilir
+     */
+    private Duration profileInterval = Duration.ofMinutes(1);
+    
+    /**
+     * Son yavaş sorguların tutulduğu halka tamponun boyutu
+     */
+    private int recentSize = 100;
+    
+    /**
+     * Takip edilecek en fazla farklı sorgu şekli sayısı
+     * Dolduğunda en hızlı şekil çıkarılır
+     */
+    private int maxShapes = 20;
+}
@@ -0,0 +1,75 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * TieringProperties - Sıcak/Soğuk İndeks Katmanları Ayarları
+ *
+ * Aktif ürünler sıcak indekste (products alias'ları) kalır; isActive=false olan ürünler
+ * daha az replica ile tutulan, sıkıştırılmış ve force-merge edilen soğuk indekse taşınır.
+ * Müşteri aramaları sadece sıcak katmana gider; ID ile okuma iki katmana da bakar.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.tiering") // Spring: product.tiering.* ayarlarını bağlar
+public class TieringProperties {
+
+    /**
+     * Pasif ürünler soğuk indekse taşınsın mı?
+     */
+    private boolean enabled = true;
+
+    /**
+     * Soğuk indeksin adı
+     */
+    private String coldIndex = "products-cold";
+
+    /**
+     * Soğuk indeksin shard sayısı (sadece oluştururken uygulanır)
+     */
+    private int coldShards = 1;
+
+    /**
+     * Soğuk indeksin replica sayısı
+     */
+    private int coldReplicas = 0;
+
+    /**
+     * Soğuk indeksin refresh aralığı - yazmalar seyrek, aramalar yok
+     */
+    private String coldRefreshInterval = "30s";
+
+    /**
+     * isActive değişen ürünlerin toplanıp taşındığı aralık
+     */
+    private Duration moveDelay = Duration.ofSeconds(1);
+
+    /**
+     * Tek taşıma turundaki en fazla ürün sayısı
+     */
+    private int batchSize = 500;
+
+    /**
+     * Taşınmayı bekleyebilecek en fazla ürün (aşılırsa periyodik tarama yakalar)
+     */
+    private int maxPending = 100_000;
+
+    /**
+     * Sıcak indeksteki pasif ürünlerin tamamının tarandığı aralık
+     * Olay yayınlanmadan yazılan (ör. yeniden indeksleme) ürünleri yakalar
+     */
+    private Duration sweepInterval = Duration.ofMinutes(15);
+
+    /**
+     * Soğuk indeksin en fazla hangi sıklıkla tek segmente force-merge edileceği
+     * Sadece son birleştirmeden sonra ürün taşındıysa çalışır
+     */
+    private Duration forceMergeInterval = Duration.ofHours(6);
+}
@@ -0,0 +1,63 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.model.SearchSort;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * TopListingsProperties - Kategori Vitrin Listeleri Ayarları
+ *
+ * Her kategori (ve tüm katalog) için en ucuz, en yeni ve stoğu en çok olan
+ * aktif ürünlerin ilk N'i bellekte hazır tutulur; ürün yazmalarıyla artımlı güncellenir,
+ * periyodik olarak Elasticsearch'e karşı doğrulanır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.top-listings") // Spring: product.top-listings.* ayarlarını bağlar
+public class TopListingsProperties {
+
+    /**
+     * Vitrin listeleri tutulsun mu?
+     */
+    private boolean enabled = true;
+
+    /**
+     * Liste başına sunulabilecek en fazla ürün sayısı (N)
+     */
+    private int size = 20;
+
+    /**
+     * N'in üzerinde tutulan yedek ürün sayısı
+     * Listeden çıkan ürünlerin yeri Elasticsearch'e gitmeden yedeklerden dolar
+     */
+    private int slack = 10;
+
+    /**
+     * Tutulan sıralamalar
+     */
+    private Set<SearchSort> sorts = EnumSet.of(SearchSort.PRICE_ASC, SearchSort.NEWEST, SearchSort.STOCK_DESC);
+
+    /**
+     * Listelerin Elasticsearch'e karşı yeniden oluşturulma aralığı
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    /**
+     * Doğrulamada yeniden uygulanan son yazmaların penceresi
+     * Refresh aralığından (ve outbox gecikmesinden) büyük olmalı; aramada henüz görünmeyen yazmalar kaybolmaz
+     */
+    private Duration replayWindow = Duration.ofSeconds(10);
+
+    /**
+     * Liste tutulan en fazla kategori sayısı (en çok aktif ürünü olanlar)
+     */
+    private int maxCategories = 500;
+}
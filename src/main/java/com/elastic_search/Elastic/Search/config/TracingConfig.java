@@ -0,0 +1,179 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.service.ProductService;
+import com.elastic_search.Elastic.Search.service.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.elasticsearch.RestClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * TracingConfig - İzleme Noktaları
+ * 
+ * Span'ler şu katmanlarda açılır:
+ * - HTTP isteği (TracingFilter - kök span)
+ * - JSON okuma/yazma (Jackson message converter)
+ * - Controller metodları ve ProductService metodları (proxy)
+ * - Elasticsearch çağrıları (ElasticsearchGuard) ve HTTP istekleri (RestClient interceptor)
+ * 
+ * product.tracing.enabled=false ise proxy ve interceptor'lar eklenmez.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Configuration
+public class TracingConfig {
+    
+    private static final String SPAN_ATTRIBUTE = "tracing.span";
+    
+    /**
+     * Controller ve ProductService bean'lerini span açan proxy ile sarar
+     * Static: BeanPostProcessor'lar diğer bean'lerden önce oluşturulur
+     */
+    @Bean
+    public static BeanPostProcessor tracingBeanPostProcessor(ObjectProvider<Tracer> tracer,
+                                                             ObjectProvider<TracingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> type = ClassUtils.getUserClass(bean);
+                boolean traced = AnnotationUtils.findAnnotation(type, RestController.class) != null
+                        || ProductService.class.isAssignableFrom(type);
+                if (!traced || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                String prefix = type.getSimpleName() + ".";
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.setProxyTargetClass(true);
+                factory.addAdvice((MethodInterceptor) invocation -> {
+                    try (Tracer.Scope scope = tracer.getObject().trace(prefix + invocation.getMethod().getName())) {
+                        try {
+                            return invocation.proceed();
+                        } catch (Throwable e) {
+                            scope.span().attribute("error", e.getClass().getSimpleName());
+                            throw e;
+                        }
+                    }
+                });
+                return factory.getProxy(type.getClassLoader());
+            }
+        };
+    }
+    
+    /**
+     * Jackson converter'ını okuma/yazma süresini ölçen sürümüyle değiştirir
+     */
+    @Bean
+    public WebMvcConfigurer tracingMessageConverters(Tracer tracer, TracingProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                if (!properties.isEnabled()) {
+                    return;
+                }
+                converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                        ? new TracingJacksonConverter(((MappingJackson2HttpMessageConverter) converter).getObjectMapper(), tracer)
+                        : converter);
+            }
+        };
+    }
+    
+    /**
+     * Elasticsearch HTTP isteklerine span ve traceparent başlığı ekler
+     * 
+     * İstek interceptor'ı çağıran thread'de çalışır; cevap interceptor'ı I/O thread'inde,
+     * cevap başlıkları geldiğinde çalışır. Span süresi böylece küme + ağ süresini
+     * (ilk bayta kadar geçen süre) gösterir; ElasticsearchGuard span'i ise
+     * sonuç nesnesine dönüştürme dahil toplam süreyi gösterir.
+     */
+    @Bean
+    public RestClientBuilderCustomizer tracingRestClientCustomizer(Tracer tracer, TracingProperties properties) {
+        return new RestClientBuilderCustomizer() {
+            @Override
+            public void customize(RestClientBuilder builder) {
+                // Sadece HTTP client özelleştirilir
+            }
+            
+            @Override
+            public void customize(HttpAsyncClientBuilder builder) {
+                if (!properties.isEnabled()) {
+                    return;
+                }
+                builder.addInterceptorLast((HttpRequestInterceptor) (request, context) -> {
+                    if (!tracer.current().isSampled()) {
+                        return;
+                    }
+                    String uri = request.getRequestLine().getUri();
+                    int queryStart = uri.indexOf('?');
+                    Tracer.Span span = tracer.startSpan("es.http " + request.getRequestLine().getMethod() + " "
+                            + (queryStart < 0 ? uri : uri.substring(0, queryStart)));
+                    request.setHeader("traceparent", span.traceparent());
+                    context.setAttribute(SPAN_ATTRIBUTE, span);
+                });
+                builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+                    if (context.getAttribute(SPAN_ATTRIBUTE) instanceof Tracer.Span span) {
+                        span.attribute("status", response.getStatusLine().getStatusCode());
+                        if (response.getEntity() != null && response.getEntity().getContentLength() >= 0) {
+                            span.attribute("responseBytes", response.getEntity().getContentLength());
+                        }
+                        span.end();
+                        context.removeAttribute(SPAN_ATTRIBUTE);
+                    }
+                });
+            }
+        };
+    }
+    
+    /**
+     * İstek gövdesini okuma (binding) ve cevabı yazma (serileştirme) süresini ölçen converter
+     */
+    static final class TracingJacksonConverter extends MappingJackson2HttpMessageConverter {
+        
+        private final Tracer tracer;
+        
+        TracingJacksonConverter(ObjectMapper objectMapper, Tracer tracer) {
+            super(objectMapper);
+            this.tracer = tracer;
+        }
+        
+        @Override
+        public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            try (Tracer.Scope scope = tracer.trace("json.read")) {
+                scope.span().attribute("type", type.getTypeName());
+                return super.read(type, contextClass, inputMessage);
+            }
+        }
+        
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            try (Tracer.Scope scope = tracer.trace("json.write")) {
+                scope.span().attribute("type", object == null ? null : object.getClass().getSimpleName());
+                super.writeInternal(object, type, outputMessage);
+            }
+        }
+    }
+}
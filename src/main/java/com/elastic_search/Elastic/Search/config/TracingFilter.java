@@ -0,0 +1,91 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.service.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * TracingFilter - Her API isteği için kök span açar
+ * 
+ * Gelen W3C traceparent başlığı varsa trace ona bağlanır; örneklenen
+ * isteklerde cevaba traceparent başlığı eklenir, böylece trace
+ * /api/admin/traces/{traceId} üzerinden bulunabilir.
+ * 
+ * Kabul kontrolünden önce çalışır, reddedilen istekler de izlenir.
+ * Sorgu dizesinin sadece parametre adları kaydedilir; değerler (arama
+ * metni, kimlikler) trace'lere yazılmaz.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Spring: AdmissionControlFilter dahil tüm filtreleri kapsar
+public class TracingFilter extends OncePerRequestFilter {
+    
+    private static final String TRACEPARENT = "traceparent";
+    
+    private final Tracer tracer;
+    
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    @SuppressWarnings("try")
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getRequestURI().startsWith("/api/admin/traces")) {
+            // Trace görüntüleme istekleri kendilerini izlemesin
+            try (Tracer.Scope ignored = tracer.suppress()) {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+        String name = "HTTP " + request.getMethod() + " " + request.getRequestURI();
+        try (Tracer.Scope scope = tracer.traceRoot(name, request.getHeader(TRACEPARENT))) {
+            Tracer.Span span = scope.span();
+            if (span.isSampled()) {
+                response.setHeader(TRACEPARENT, span.traceparent());
+                span.attribute("queryParams", parameterNames(request.getQueryString()));
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                span.attribute("status", response.getStatus());
+            }
+        }
+    }
+    
+    /**
+     * Sorgu dizesindeki parametre adlarını değerleri olmadan döner
+     * Gövde okunmasın diye request.getParameterNames() kullanılmaz
+     * 
+     * @param queryString Ham sorgu dizesi (null olabilir)
+     * @return "q,page,size" gibi adlar veya null
+     */
+    static String parameterNames(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(queryString.split("&"))
+                .map(pair -> pair.split("=", 2)[0])
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,51 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * TracingProperties - İstek İzleme (Tracing) Ayarları
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.tracing") // Spring: product.tracing.* ayarlarını bağlar
+public class TracingProperties {
+    
+    /**
+     * İzleme açık mı? Kapalıyken span oluşturulmaz, proxy'ler eklenmez
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Kök isteklerin ne kadarı izlensin (0.0 - 1.0)
+     * Örneklenmeyen isteklerde maliyet bir ThreadLocal okumasıdır
+     */
+    private double sampleRate = 0.01;
+    
+    /**
+     * Gelen traceparent başlığındaki örnekleme kararına uyulsun mu?
+     * true ise "-01" bayraklı istekler maxIncomingSampledPerSecond sınırına kadar izlenir
+     */
+    private boolean honorIncomingSampling = true;
+    
+    /**
+     * Saniyede en fazla kaç "-01" bayraklı istek zorla izlensin?
+     * Sınır aşılınca yerel sampleRate uygulanır; istemci bayrağı her istekte
+     * göndererek izleme belleğini ve maliyetini şişiremez
+     */
+    private int maxIncomingSampledPerSecond = 10;
+    
+    /**
+     * Bellekte tutulacak en fazla trace sayısı (en eskiler çıkarılır)
+     */
+    private int maxTraces = 200;
+    
+    /**
+     * Bir trace'te tutulacak en fazla span sayısı (toplu işlemler için sınır)
+     */
+    private int maxSpansPerTrace = 500;
+}
@@ -0,0 +1,48 @@
+package com.elastic_search.Elastic.Search.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * WriteBehindProperties - Asenkron Güncelleme Tamponu Ayarları
+ * 
+ * PUT /api/products/{id}?async=true istekleri bu tampona alınır;
+ * aynı ürüne gelen güncellemeler pencere boyunca birleştirilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.write-behind") // Spring: product.write-behind.* ayarlarını bağlar
+public class WriteBehindProperties {
+    
+    /**
+     * async=true parametresi dikkate alınsın mı? Kapalıysa güncellemeler senkron yapılır
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Birleştirme penceresi - tampon bu aralıkla boşaltılır
+     */
+    private Duration window = Duration.ofSeconds(1);
+    
+    /**
+     * Tamponda bekleyebilecek en fazla farklı ürün sayısı
+     * Dolu olduğunda yeni ürünler için 503 dönülür (aynı ürünün güncellemesi her zaman kabul edilir)
+     */
+    private int maxPending = 10_000;
+    
+    /**
+     * Tek bir _bulk isteğindeki en fazla ürün sayısı
+     */
+    private int maxBatchSize = 500;
+    
+    /**
+     * Kapanışta tamponun boşaltılması için beklenecek en uzun süre
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,40 @@
+package com.elastic_search.Elastic.Search.config;
+
+import com.elastic_search.Elastic.Search.model.WriteMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * WriteModeProperties - Endpoint Bazında Varsayılan Yazma Modları
+ * 
+ * İstekte ?refresh= parametresi verilmezse bu değerler kullanılır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@Configuration // Spring: Bu sınıfın bir konfigürasyon bean'i olduğunu belirtir
+@ConfigurationProperties(prefix = "product.write") // Spring: product.write.* ayarlarını bağlar
+public class WriteModeProperties {
+    
+    /**
+     * Tekil ürün oluşturma (POST /api/products)
+     */
+    private WriteMode create = WriteMode.WAIT_FOR;
+    
+    /**
+     * Ürün güncelleme (PUT /api/products/{id})
+     */
+    private WriteMode update = WriteMode.WAIT_FOR;
+    
+    /**
+     * Ürün silme (DELETE /api/products/{id})
+     */
+    private WriteMode delete = WriteMode.WAIT_FOR;
+    
+    /**
+     * Toplu ürün ekleme (POST /api/products/bulk)
+     */
+    private WriteMode bulk = WriteMode.NONE;
+}
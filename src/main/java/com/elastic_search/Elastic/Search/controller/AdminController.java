@@ -0,0 +1,632 @@
+package com.elastic_search.Elastic.Search.controller;
+
+import com.elastic_search.Elastic.Search.config.AdmissionControlFilter;
+import com.elastic_search.Elastic.Search.config.InstrumentedConnectionManager;
+import com.elastic_search.Elastic.Search.service.CacheableSearchExecutor;
+import com.elastic_search.Elastic.Search.service.CategoryTopListings;
+import com.elastic_search.Elastic.Search.service.ChangeFeedService;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard;
+import com.elastic_search.Elastic.Search.service.HotKeyTracker;
+import com.elastic_search.Elastic.Search.service.IdempotencyService;
+import com.elastic_search.Elastic.Search.service.InMemorySpanExporter;
+import com.elastic_search.Elastic.Search.service.IndexManagementService;
+import com.elastic_search.Elastic.Search.service.OutboxIndexer;
+import com.elastic_search.Elastic.Search.service.PriceMigrationService;
+import com.elastic_search.Elastic.Search.service.ProductFilterIndex;
+import com.elastic_search.Elastic.Search.service.ProductService;
+import com.elastic_search.Elastic.Search.service.ProductStore;
+import com.elastic_search.Elastic.Search.service.ProductTieringService;
+import com.elastic_search.Elastic.Search.service.SavedSearchNotifier;
+import com.elastic_search.Elastic.Search.service.SavedSearchService;
+import com.elastic_search.Elastic.Search.service.SlowQueryRecorder;
+import com.elastic_search.Elastic.Search.service.WriteBehindBuffer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AdminController - Yönetim ve İzleme API Kontrolcüsü
+ *
+ * Uygulama içi bileşenlerin (bellek içi indeksler vb.) durumunu izlemek
+ * ve bakım işlemlerini tetiklemek için kullanılır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@RestController // Spring: Bu sınıfın REST controller olduğunu belirtir
+@RequestMapping("/api/admin") // Tüm endpoint'lerin base path'i
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Tag(name = "Administration", description = "Yönetim ve izleme API'leri") // Swagger: API grubu açıklaması
+public class AdminController {
+    private final ProductFilterIndex productFilterIndex;
+    private final CategoryTopListings categoryTopListings;
+    private final ChangeFeedService changeFeedService;
+    private final PriceMigrationService priceMigrationService;
+    private final IndexManagementService indexManagementService;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final InstrumentedConnectionManager elasticsearchConnectionManager;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final HotKeyTracker hotKeyTracker;
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final InMemorySpanExporter spanExporter;
+    private final CacheableSearchExecutor cacheableSearchExecutor;
+    private final ProductStore productStore;
+    private final OutboxIndexer outboxIndexer;
+    private final SavedSearchService savedSearchService;
+    private final SavedSearchNotifier savedSearchNotifier;
+    private final ProductService productService;
+    private final ProductTieringService productTieringService;
+    private final IdempotencyService idempotencyService;
+
+    // ==================== FİLTRE İNDEKSİ ====================
+
+    /**
+     * Filtre indeksi istatistikleri endpoint'i
+     * GET /api/admin/filter-index
+     *
+     * @return ResponseEntity<Map<String, Object>> - Ürün sayısı ve bellek kullanımı (200 OK)
+     */
+    @GetMapping("/filter-index")
+    @Operation(summary = "Filtre indeksi istatistikleri", description = "Bellek içi filtre indeksinin durumunu ve bellek kullanımını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getFilterIndexStats() {
+        return ResponseEntity.ok(productFilterIndex.stats());
+    }
+
+    /**
+     * Filtre indeksini yeniden yükleme endpoint'i
+     * POST /api/admin/filter-index/rebuild
+     *
+     * İndeks her uygulama örneğinde ayrı tutulur ve sadece o örneğin yazmalarını görür;
+     * diğer örneklerin yazmalarını yansıtmak için her örnekte çağrılmalıdır.
+     *
+     * @return ResponseEntity<Map<String, Object>> - Yükleme sonrası istatistikler (200 OK)
+     */
+    @PostMapping("/filter-index/rebuild")
+    @Operation(summary = "Filtre indeksini yeniden yükle", description = "Tüm ürünleri Elasticsearch'ten boş bir indekse okur ve bitince mevcut indeksin yerine koyar. Sadece isteği alan uygulama örneğinin indeksi yenilenir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İndeks yeniden yüklendi")
+    })
+    public ResponseEntity<Map<String, Object>> rebuildFilterIndex() {
+        productFilterIndex.rebuild();
+        return ResponseEntity.ok(productFilterIndex.stats());
+    }
+
+    // ==================== VİTRİN LİSTELERİ ====================
+
+    /**
+     * Vitrin listeleri istatistikleri endpoint'i
+     * GET /api/admin/top-listings
+     *
+     * @return ResponseEntity<Map<String, Object>> - Liste sayıları, isabet ve doğrulama sayaçları (200 OK)
+     */
+    @GetMapping("/top-listings")
+    @Operation(summary = "Vitrin listeleri istatistikleri", description = "Bellekte tutulan kategori vitrin listelerinin durumunu getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getTopListingStats() {
+        return ResponseEntity.ok(categoryTopListings.stats());
+    }
+
+    /**
+     * Vitrin listelerini doğrulama endpoint'i
+     * POST /api/admin/top-listings/reconcile
+     *
+     * @return ResponseEntity<Map<String, Object>> - Yeniden oluşturma sonrası istatistikler (200 OK)
+     */
+    @PostMapping("/top-listings/reconcile")
+    @Operation(summary = "Vitrin listelerini yeniden oluştur", description = "Tüm listeleri Elasticsearch'ten tekrar okur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Listeler yeniden oluşturuldu"),
+        @ApiResponse(responseCode = "503", description = "Elasticsearch erişilemiyor")
+    })
+    public ResponseEntity<Map<String, Object>> reconcileTopListings() {
+        categoryTopListings.reconcile();
+        return ResponseEntity.ok(categoryTopListings.stats());
+    }
+
+    // ==================== VERİ GEÇİŞLERİ ====================
+
+    /**
+     * Kuruş cinsinden fiyat alanı geçişi endpoint'i
+     * POST /api/admin/migrations/price-minor
+     *
+     * @return ResponseEntity<Map<String, Object>> - Güncellenen doküman sayıları (200 OK)
+     */
+    @PostMapping("/migrations/price-minor")
+    @Operation(summary = "priceMinor geçişi", description = "priceMinor mapping'ini ekler ve eksik dokümanları price alanından doldurur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Geçiş tamamlandı")
+    })
+    public ResponseEntity<Map<String, Object>> migratePriceMinor() {
+        return ResponseEntity.ok(priceMigrationService.migrate());
+    }
+
+    // ==================== İNDEKS YÖNETİMİ ====================
+
+    /**
+     * İndeks durumu endpoint'i
+     * GET /api/admin/index
+     *
+     * @return ResponseEntity<Map<String, Object>> - Alias'lar, bulk load durumu ve son reindex (200 OK)
+     */
+    @GetMapping("/index")
+    @Operation(summary = "İndeks durumu", description = "Okuma/yazma alias'larının işaret ettiği indeksleri ve son yeniden indeksleme durumunu getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İndeks durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getIndexStatus() {
+        return ResponseEntity.ok(indexManagementService.status());
+    }
+
+    /**
+     * Kesintisiz yeniden indeksleme endpoint'i
+     * POST /api/admin/index/reindex
+     *
+     * @return ResponseEntity<Map<String, Object>> - Başlatıldıysa 202 ACCEPTED, zaten çalışıyorsa 409 CONFLICT
+     */
+    @PostMapping("/index/reindex")
+    @Operation(summary = "Yeniden indeksle", description = "Güncel mapping ve ayarlarla yeni bir indeks oluşturur, verileri kopyalar ve alias'ları atomik olarak taşır. Ürün deposu açıksa veriler Elasticsearch yerine PostgreSQL'den okunur")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Yeniden indeksleme başlatıldı"),
+        @ApiResponse(responseCode = "409", description = "Yeniden indeksleme zaten çalışıyor")
+    })
+    public ResponseEntity<Map<String, Object>> reindex() {
+        boolean started = productStore.isEnabled() ? outboxIndexer.startRebuild() : indexManagementService.startReindex();
+        HttpStatus status = started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(indexManagementService.status());
+    }
+
+    /**
+     * Bulk load modunu açma endpoint'i
+     * POST /api/admin/index/bulk-load/start
+     *
+     * @return ResponseEntity<Map<String, Object>> - İndeks durumu (200 OK), yazma indeksi aramalara açıksa 409 CONFLICT
+     */
+    @PostMapping("/index/bulk-load/start")
+    @Operation(summary = "Bulk load modunu aç", description = "Harici toplu yükleme öncesi refresh'i kapatır ve replica sayısını 0'a çeker. Sadece yazma alias'ı okuma alias'ından farklı, trafik almayan bir indekse işaret ederken (ör. depodan yeniden inşa) uygulanır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk load modu açıldı"),
+        @ApiResponse(responseCode = "409", description = "Yazma indeksi okuma trafiği alıyor")
+    })
+    public ResponseEntity<Map<String, Object>> beginBulkLoad() {
+        HttpStatus status = indexManagementService.beginBulkLoad() ? HttpStatus.OK : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(indexManagementService.status());
+    }
+
+    /**
+     * Bulk load modunu kapatma endpoint'i
+     * POST /api/admin/index/bulk-load/finish
+     *
+     * @return ResponseEntity<Map<String, Object>> - İndeks durumu (200 OK)
+     */
+    @PostMapping("/index/bulk-load/finish")
+    @Operation(summary = "Bulk load modunu kapat", description = "Yapılandırılmış refresh ve replica ayarlarını geri yükler ve indeksi refresh eder")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk load modu kapatıldı")
+    })
+    public ResponseEntity<Map<String, Object>> endBulkLoad() {
+        indexManagementService.endBulkLoad();
+        return ResponseEntity.ok(indexManagementService.status());
+    }
+
+    /**
+     * İndeks ayarlarını uygulama endpoint'i
+     * POST /api/admin/index/settings/apply
+     *
+     * @return ResponseEntity<Map<String, Object>> - İndeks durumu (200 OK)
+     */
+    @PostMapping("/index/settings/apply")
+    @Operation(summary = "İndeks ayarlarını uygula", description = "product.index.replicas ve refresh-interval değerlerini yazma indeksine uygular")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ayarlar uygulandı")
+    })
+    public ResponseEntity<Map<String, Object>> applyIndexSettings() {
+        indexManagementService.applyConfiguredSettings();
+        return ResponseEntity.ok(indexManagementService.status());
+    }
+
+    // ==================== DAYANIKLILIK ====================
+
+    /**
+     * Elasticsearch dayanıklılık katmanı istatistikleri endpoint'i
+     * GET /api/admin/resilience
+     *
+     * @return ResponseEntity<Map<String, Object>> - Devre kesici durumu, sayaçlar ve gecikmeler (200 OK)
+     */
+    @GetMapping("/resilience")
+    @Operation(summary = "Dayanıklılık istatistikleri", description = "Devre kesici durumunu, zaman aşımı/hedge/bayat sonuç sayaçlarını ve işlem gecikmelerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        return ResponseEntity.ok(elasticsearchGuard.stats());
+    }
+
+    /**
+     * Elasticsearch bağlantı havuzu istatistikleri endpoint'i
+     * GET /api/admin/es-client
+     *
+     * @return ResponseEntity<Map<String, Object>> - Havuz doluluğu ve bağlantı bekleme süreleri (200 OK)
+     */
+    @GetMapping("/es-client")
+    @Operation(summary = "Bağlantı havuzu istatistikleri", description = "Elasticsearch HTTP bağlantı havuzunun doluluğunu ve bağlantı bekleme sürelerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getClientPoolStats() {
+        return ResponseEntity.ok(elasticsearchConnectionManager.stats());
+    }
+
+    /**
+     * Kabul kontrolü istatistikleri endpoint'i
+     * GET /api/admin/admission
+     *
+     * @return ResponseEntity<Map<String, Object>> - Uyarlanan sınır ve öncelik bazında kabul/red sayıları (200 OK)
+     */
+    @GetMapping("/admission")
+    @Operation(summary = "Kabul kontrolü istatistikleri", description = "Gecikmeye göre uyarlanan eşzamanlılık sınırını ve öncelik sınıflarına göre kabul/red sayılarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getAdmissionStats() {
+        return ResponseEntity.ok(admissionControlFilter.stats());
+    }
+
+    // ==================== ASENKRON YAZMA ====================
+
+    /**
+     * Asenkron güncelleme tamponu istatistikleri endpoint'i
+     * GET /api/admin/write-behind
+     *
+     * @return ResponseEntity<Map<String, Object>> - Kuyruk derinliği ve birleştirme oranı (200 OK)
+     */
+    @GetMapping("/write-behind")
+    @Operation(summary = "Asenkron güncelleme istatistikleri", description = "Tampondaki bekleyen ürün sayısını, birleştirme oranını ve yazma sayaçlarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İstatistikler")
+    })
+    public ResponseEntity<Map<String, Object>> getWriteBehindStats() {
+        return ResponseEntity.ok(writeBehindBuffer.stats());
+    }
+
+    /**
+     * Asenkron güncelleme tamponunu hemen boşaltma endpoint'i
+     * POST /api/admin/write-behind/flush
+     *
+     * @return ResponseEntity<Map<String, Object>> - Boşaltma sonrası istatistikler (200 OK)
+     */
+    @PostMapping("/write-behind/flush")
+    @Operation(summary = "Tamponu boşalt", description = "Bekleyen asenkron güncellemeleri pencereyi beklemeden yazar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tampon boşaltıldı")
+    })
+    public ResponseEntity<Map<String, Object>> flushWriteBehind() {
+        writeBehindBuffer.flush();
+        return ResponseEntity.ok(writeBehindBuffer.stats());
+    }
+
+    // ==================== SIK ERİŞİLEN ANAHTARLAR ====================
+
+    /**
+     * En sık okunan ürünler ve sorgular endpoint'i
+     * GET /api/admin/hot-keys?limit=20
+     *
+     * @param limit Tür başına döndürülecek anahtar sayısı
+     * @return ResponseEntity<Map<String, Object>> - Tahmini erişim sayılarıyla en sık anahtarlar (200 OK)
+     */
+    @GetMapping("/hot-keys")
+    @Operation(summary = "Sık erişilen anahtarlar", description = "Count-min sketch ile sayılan en sık okunan ürünleri ve arama sorgularını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "En sık anahtarlar")
+    })
+    public ResponseEntity<Map<String, Object>> getHotKeys(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(hotKeyTracker.stats(limit));
+    }
+
+    /**
+     * Sık erişilen anahtarları diske yazma endpoint'i
+     * POST /api/admin/hot-keys/snapshot
+     *
+     * @return ResponseEntity<Map<String, Object>> - Güncel istatistikler (200 OK)
+     */
+    @PostMapping("/hot-keys/snapshot")
+    @Operation(summary = "Snapshot al", description = "En sık anahtarları kapanışı beklemeden diske yazar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot yazıldı")
+    })
+    public ResponseEntity<Map<String, Object>> saveHotKeySnapshot() {
+        hotKeyTracker.writeSnapshot();
+        return ResponseEntity.ok(hotKeyTracker.stats(20));
+    }
+
+    // ==================== YAVAŞ SORGULAR ====================
+
+    /**
+     * Yavaş sorgu raporu endpoint'i
+     * GET /api/admin/slow-queries?limit=20
+     *
+     * @param limit Döndürülecek en yavaş şekil ve son sorgu sayısı
+     * @return ResponseEntity<Map<String, Object>> - En yavaş sorgu şekilleri, profilleri ve son yavaş sorgular (200 OK)
+     */
+    @GetMapping("/slow-queries")
+    @Operation(summary = "Yavaş sorgular", description = "Eşiği aşan aramaları, sorgu şekline göre en yavaşları ve Elasticsearch profile dökümlerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Yavaş sorgu raporu")
+    })
+    public ResponseEntity<Map<String, Object>> getSlowQueries(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowQueryRecorder.report(limit));
+    }
+
+    /**
+     * Yavaş sorgu kayıtlarını temizleme endpoint'i
+     * DELETE /api/admin/slow-queries
+     *
+     * @return ResponseEntity<Void> - 204 No Content
+     */
+    @DeleteMapping("/slow-queries")
+    @Operation(summary = "Yavaş sorguları temizle", description = "Halka tamponu ve sorgu şekli istatistiklerini sıfırlar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Kayıtlar temizlendi")
+    })
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ==================== İSTEK ÖNBELLEĞİ ====================
+
+    /**
+     * Shard istek önbelleği raporu endpoint'i
+     * GET /api/admin/request-cache
+     *
+     * @return ResponseEntity<Map<String, Object>> - Sorgu şekli bazında tekrar oranları ve indeksin request_cache istatistikleri (200 OK)
+     */
+    @GetMapping("/request-cache")
+    @Operation(summary = "İstek önbelleği", description = "Facet ve sayım sorgularının şekil bazında tekrar oranlarını ve Elasticsearch request_cache isabetlerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Önbellek raporu")
+    })
+    public ResponseEntity<Map<String, Object>> getRequestCacheReport() {
+        return ResponseEntity.ok(cacheableSearchExecutor.report());
+    }
+
+    /**
+     * İstek önbelleği metriklerini sıfırlama endpoint'i
+     * DELETE /api/admin/request-cache
+     *
+     * @return ResponseEntity<Void> - 204 No Content
+     */
+    @DeleteMapping("/request-cache")
+    @Operation(summary = "İstek önbelleği metriklerini sıfırla", description = "Şekil bazındaki sayaçları sıfırlar; Elasticsearch önbelleğine dokunmaz")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Metrikler sıfırlandı")
+    })
+    public ResponseEntity<Void> clearRequestCacheMetrics() {
+        cacheableSearchExecutor.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    // ==================== ÜRÜN DEPOSU ====================
+
+    /**
+     * Ürün deposu senkronizasyon durumu endpoint'i
+     * GET /api/admin/store
+     *
+     * @return ResponseEntity<Map<String, Object>> - Outbox derinliği, gecikme ve indeksleyici sayaçları (200 OK)
+     */
+    @GetMapping("/store")
+    @Operation(summary = "Ürün deposu durumu", description = "PostgreSQL outbox derinliğini, indekse yansıma gecikmesini ve toplu indeksleyici sayaçlarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Depo durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getStoreStatus() {
+        return ResponseEntity.ok(outboxIndexer.stats());
+    }
+
+    /**
+     * İndeksi ürün deposundan yeniden inşa etme endpoint'i
+     * POST /api/admin/store/rebuild
+     *
+     * @return ResponseEntity<Map<String, Object>> - Başlatıldıysa 202 ACCEPTED, depo kapalıysa veya inşa çalışıyorsa 409 CONFLICT
+     */
+    @PostMapping("/store/rebuild")
+    @Operation(summary = "Depodan yeniden inşa", description = "Yeni bir indeks oluşturur, tüm ürünleri PostgreSQL'den external versiyonlarla yazar ve alias'ları taşır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Yeniden inşa başlatıldı"),
+        @ApiResponse(responseCode = "409", description = "Ürün deposu kapalı veya yeniden indeksleme zaten çalışıyor")
+    })
+    public ResponseEntity<Map<String, Object>> rebuildFromStore() {
+        boolean started = productStore.isEnabled() && outboxIndexer.startRebuild();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).body(indexManagementService.status());
+    }
+
+    /**
+     * Mevcut indeksi ürün deposuna aktarma endpoint'i
+     * POST /api/admin/store/import
+     *
+     * @return ResponseEntity<Map<String, Object>> - Aktarım sonucu (200 OK), depo kapalıysa 409 CONFLICT
+     */
+    @PostMapping("/store/import")
+    @Operation(summary = "İndeksi depoya aktar", description = "Depo ilk kez açıldığında mevcut ürünleri PostgreSQL'e ekler ve indeksi depodan yeniden inşa eder")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Aktarım tamamlandı"),
+        @ApiResponse(responseCode = "409", description = "Ürün deposu kapalı")
+    })
+    public ResponseEntity<Map<String, Object>> importIntoStore() {
+        if (!productStore.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(outboxIndexer.stats());
+        }
+        return ResponseEntity.ok(outboxIndexer.importFromIndex());
+    }
+
+    // ==================== BENZER ÜRÜNLER ====================
+
+    /**
+     * Ürün vektörlerini doldurma endpoint'i
+     * POST /api/admin/similar/backfill
+     *
+     * @return ResponseEntity<Map<String, Object>> - Güncellenen ürün sayısı veya depodan yeniden inşa durumu (200 OK)
+     */
+    @PostMapping("/similar/backfill")
+    @Operation(summary = "Ürün vektörlerini doldur", description = "Vektör alanı eklenmeden önce yazılmış ürünleri yeniden kaydederek benzer ürün aramasına dahil eder")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Doldurma tamamlandı veya yeniden inşa başlatıldı")
+    })
+    public ResponseEntity<Map<String, Object>> backfillEmbeddings() {
+        return ResponseEntity.ok(productService.backfillEmbeddings());
+    }
+
+    // ==================== KAYITLI ARAMALAR ====================
+
+    /**
+     * Kayıtlı arama bildirimleri durumu endpoint'i
+     * GET /api/admin/saved-searches
+     *
+     * @return ResponseEntity<Map<String, Object>> - Percolate kuyruğu, eşleşme ve akış sayaçları (200 OK)
+     */
+    @GetMapping("/saved-searches")
+    @Operation(summary = "Kayıtlı arama durumu", description = "Percolate kuyruğunu, eşleşme/bildirim sayılarını ve açık SSE akışlarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Kayıtlı arama durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getSavedSearchStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(savedSearchService.stats());
+        stats.put("streams", savedSearchNotifier.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // ==================== DEĞİŞİKLİK AKIŞI ====================
+
+    /**
+     * Değişiklik akışı durumu endpoint'i
+     * GET /api/admin/change-feed
+     *
+     * @return ResponseEntity<Map<String, Object>> - Sıra, tampon, kayıt dosyası ve istemci sayaçları (200 OK)
+     */
+    @GetMapping("/change-feed")
+    @Operation(summary = "Değişiklik akışı durumu", description = "Son sırayı, bellekte ve dosyada tutulan aralığı ve açık istemcileri getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Değişiklik akışı durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getChangeFeedStats() {
+        return ResponseEntity.ok(changeFeedService.stats());
+    }
+
+    // ==================== IDEMPOTENCY ====================
+
+    /**
+     * Idempotency anahtarları durumu endpoint'i
+     * GET /api/admin/idempotency
+     *
+     * @return ResponseEntity<Map<String, Object>> - Anahtar sayısı, tekrar ve ret sayaçları (200 OK)
+     */
+    @GetMapping("/idempotency")
+    @Operation(summary = "Idempotency anahtarları durumu", description = "Tutulan anahtar sayısını, yakalanan tekrarları ve kayıt dosyası boyutunu getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Idempotency durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyService.stats());
+    }
+
+    // ==================== SICAK/SOĞUK KATMANLAR ====================
+
+    /**
+     * Katman durumu endpoint'i
+     * GET /api/admin/tiering
+     *
+     * @return ResponseEntity<Map<String, Object>> - Kuyruk, taşıma ve force-merge sayaçları (200 OK)
+     */
+    @GetMapping("/tiering")
+    @Operation(summary = "Sıcak/soğuk katman durumu", description = "Soğuk indekse taşınmayı bekleyen ve taşınan pasif ürün sayılarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Katman durumu")
+    })
+    public ResponseEntity<Map<String, Object>> getTieringStats() {
+        return ResponseEntity.ok(productTieringService.stats());
+    }
+
+    /**
+     * Pasif ürün taraması endpoint'i
+     * POST /api/admin/tiering/sweep
+     *
+     * @return ResponseEntity<Map<String, Object>> - Taranan ve taşınan ürün sayıları (200 OK)
+     */
+    @PostMapping("/tiering/sweep")
+    @Operation(summary = "Pasif ürünleri taşı", description = "Sıcak indeksteki tüm pasif ürünleri soğuk indekse taşır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tarama tamamlandı"),
+        @ApiResponse(responseCode = "503", description = "Elasticsearch erişilemiyor")
+    })
+    public ResponseEntity<Map<String, Object>> sweepTiers() {
+        return ResponseEntity.ok(productTieringService.sweep());
+    }
+
+    /**
+     * Soğuk indeks force-merge endpoint'i
+     * POST /api/admin/tiering/force-merge
+     *
+     * @return ResponseEntity<Map<String, Object>> - Elasticsearch görev kimliği (202 Accepted)
+     */
+    @PostMapping("/tiering/force-merge")
+    @Operation(summary = "Soğuk indeksi birleştir", description = "Soğuk indeksi arka planda tek segmente force-merge eder")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Force-merge başlatıldı"),
+        @ApiResponse(responseCode = "503", description = "Elasticsearch erişilemiyor")
+    })
+    public ResponseEntity<Map<String, Object>> forceMergeColdTier() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("task", productTieringService.forceMerge());
+        return ResponseEntity.accepted().body(result);
+    }
+
+    // ==================== İZLEME ====================
+
+    /**
+     * Son örneklenen trace'ler endpoint'i
+     * GET /api/admin/traces?limit=20
+     *
+     * @param limit Döndürülecek trace sayısı
+     * @return ResponseEntity<Map<String, Object>> - Trace özetleri, en yeniden eskiye (200 OK)
+     */
+    @GetMapping("/traces")
+    @Operation(summary = "Son trace'ler", description = "Örneklenen isteklerin kök span özetlerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trace özetleri")
+    })
+    public ResponseEntity<Map<String, Object>> getTraces(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(spanExporter.recent(limit));
+    }
+
+    /**
+     * Trace detayı endpoint'i
+     * GET /api/admin/traces/{traceId}
+     *
+     * @param traceId Trace kimliği (cevaptaki traceparent başlığının ikinci parçası)
+     * @return ResponseEntity<Map<String, Object>> - Tüm span'ler (200 OK) veya 404 Not Found
+     */
+    @GetMapping("/traces/{traceId}")
+    @Operation(summary = "Trace detayı", description = "Bir trace'in controller, service, JSON ve Elasticsearch span'lerini başlangıç sırasıyla getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trace bulundu"),
+        @ApiResponse(responseCode = "404", description = "Trace bulunamadı veya bellekten çıkarıldı")
+    })
+    public ResponseEntity<Map<String, Object>> getTrace(@PathVariable String traceId) {
+        return spanExporter.find(traceId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,81 @@
+package com.elastic_search.Elastic.Search.controller;
+
+import com.elastic_search.Elastic.Search.dto.ChangeFeedResponse;
+import com.elastic_search.Elastic.Search.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * ChangeFeedController - Ürün Değişiklik Akışı API Kontrolcüsü
+ *
+ * Önbellekler ve arama ön yüzleri kataloğu GET /api/products ile tekrar tekrar çekmek
+ * yerine bir kez yükler, ardından sadece değişiklikleri alır:
+ * 1. GET /api/products/changes ile güncel sırayı al
+ * 2. Kataloğu yükle
+ * 3. GET /api/products/changes?after=sıra (long-poll) veya /stream ile devam et
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@RestController // Spring: Bu sınıfın REST controller olduğunu belirtir
+@RequestMapping("/api/products/changes") // Tüm endpoint'lerin base path'i
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Tag(name = "Change Feed", description = "Ürün oluşturma/güncelleme/silme değişiklik akışı") // Swagger: API grubu açıklaması
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Değişiklikler endpoint'i (long-poll)
+     * GET /api/products/changes?after=120&limit=500
+     *
+     * @param after Son görülen sıra (boşsa beklemeden güncel sıra döner)
+     * @param limit En fazla değişiklik sayısı
+     * @return DeferredResult<ChangeFeedResponse> - Değişiklikler; yoksa ilk değişiklikte veya zaman aşımında boş sayfa
+     */
+    @GetMapping
+    @Operation(summary = "Değişiklikleri getir", description = "after sırasından sonraki değişiklikleri döner; "
+            + "yeni değişiklik yoksa gelene kadar bekler (long-poll). resetRequired=true ise katalog baştan yüklenmelidir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Değişiklikler"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz after veya limit"),
+        @ApiResponse(responseCode = "503", description = "Bekleyen istek sınırı doldu")
+    })
+    public DeferredResult<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Son görülen sıra") @RequestParam(required = false) Long after,
+            @Parameter(description = "En fazla değişiklik sayısı") @RequestParam(required = false) Integer limit) {
+        return changeFeedService.poll(after, limit);
+    }
+
+    /**
+     * Değişiklik akışı endpoint'i (SSE)
+     * GET /api/products/changes/stream?after=120
+     *
+     * @param after Son görülen sıra (boşsa sadece yeni değişiklikler)
+     * @param lastEventId Tarayıcının yeniden bağlanırken gönderdiği son olay kimliği (after yerine kullanılır)
+     * @return SseEmitter - Her değişiklik için "change" olayı; sıra artık tutulmuyorsa "reset" olayı ve kapanış
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Değişiklik akışı", description = "Değişiklikleri Server-Sent Events ile iletir; olay kimliği sıra numarasıdır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Akış açıldı"),
+        @ApiResponse(responseCode = "503", description = "Açık akış sınırı doldu")
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Son görülen sıra") @RequestParam(required = false) Long after,
+            @Parameter(hidden = true) @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
@@ -1,9 +1,18 @@
 package com.elastic_search.Elastic.Search.controller;
 
+import com.elastic_search.Elastic.Search.dto.FacetResponse;
+import com.elastic_search.Elastic.Search.dto.FuzzySearchResponse;
+import com.elastic_search.Elastic.Search.dto.PriceStatsResponse;
 import com.elastic_search.Elastic.Search.dto.ProductRequest;
 import com.elastic_search.Elastic.Search.dto.SearchRequest;
 import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.WriteMode;
+import com.elastic_search.Elastic.Search.config.RequestCacheProperties;
+import com.elastic_search.Elastic.Search.config.WriteBehindProperties;
+import com.elastic_search.Elastic.Search.service.HotKeyTracker;
+import com.elastic_search.Elastic.Search.service.IdempotencyService;
 import com.elastic_search.Elastic.Search.service.ProductService;
+import com.elastic_search.Elastic.Search.service.WriteBehindBuffer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +20,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.elasticsearch.core.SearchHits;
@@ -18,7 +28,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ProductController - Ürün REST API Kontrolcüsü
@@ -31,13 +43,25 @@ import java.util.List;
 @RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
 @Tag(name = "Product Management", description = "Ürün yönetimi ve arama API'leri") // Swagger: API grubu açıklaması
 public class ProductController {
+    private static final String REFRESH_DESCRIPTION =
+            "Yazma modu: none (beklemeden), wait_for (aramada görünene kadar bekle), immediate (hemen refresh). Boşsa endpoint varsayılanı";
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION =
+            "Tekrar denemelerde aynı değer gönderilirse ürünler tekrar oluşturulmaz, ilk sonuç döner (Idempotent-Replayed: true)";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final ProductService productService;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final WriteBehindProperties writeBehindProperties;
+    private final RequestCacheProperties requestCacheProperties;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
      * Yeni ürün oluşturma endpoint'i
      * POST /api/products
      * 
      * @param request Ürün oluşturma isteği (JSON)
+     * @param refresh Yazma modu (none, wait_for, immediate - isteğe bağlı)
+     * @param idempotencyKey Tekrar denemeler için istemci anahtarı (isteğe bağlı)
      * @return ResponseEntity<Product> - Oluşturulan ürün (201 Created)
      */
     @PostMapping
@@ -45,12 +69,25 @@ public class ProductController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Ürün başarıyla oluşturuldu",
             content = @Content(schema = @Schema(implementation = Product.class))),
-        @ApiResponse(responseCode = "400", description = "Geçersiz veri"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veri veya anahtar farklı bir istekle kullanılmış"),
+        @ApiResponse(responseCode = "404", description = "Anahtarla oluşturulan ürün sonradan silinmiş"),
         @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<Product> createProduct(@Valid @RequestBody ProductRequest request) {
+    public ResponseEntity<Product> createProduct(
+            @Valid @RequestBody ProductRequest request,
+            @Parameter(description = REFRESH_DESCRIPTION) @RequestParam(required = false) String refresh,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            IdempotencyService.Outcome outcome = productService.createProductOnce(request, WriteMode.parse(refresh), idempotencyKey);
+            if (outcome.products().isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                    .body(outcome.products().get(0));
+        }
         // Service katmanını çağır ve ürün oluştur
-        Product product = productService.createProduct(request);
+        Product product = productService.createProduct(request, WriteMode.parse(refresh));
         // 201 Created status kodu ile döndür
         return ResponseEntity.status(HttpStatus.CREATED).body(product);
     }
@@ -89,6 +126,7 @@ public class ProductController {
     })
     public ResponseEntity<Product> getProductById(
             @Parameter(description = "Ürün ID'si", required = true) @PathVariable String id) {
+        hotKeyTracker.recordProduct(id);
         // Service katmanından ürünü ara
         return productService.getProductById(id)
                 .map(ResponseEntity::ok) // Ürün bulunduysa 200 OK ile döndür
@@ -101,20 +139,35 @@ public class ProductController {
      * 
      * @param id Güncellenecek ürünün ID'si (path variable)
      * @param request Güncelleme isteği (JSON)
-     * @return ResponseEntity<Product> - Güncellenmiş ürün (200 OK) veya 404 Not Found
+     * @param refresh Yazma modu (none, wait_for, immediate - isteğe bağlı)
+     * @param async true ise güncelleme tampona alınır ve birleştirilerek toplu yazılır
+     * @return ResponseEntity<?> - Güncellenmiş ürün (200 OK), kuyruğa alındı (202 Accepted) veya 404 Not Found
      */
     @PutMapping("/{id}")
     @Operation(summary = "Ürün güncelle", description = "Belirtilen ID'ye sahip ürünü günceller")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ürün başarıyla güncellendi"),
+        @ApiResponse(responseCode = "202", description = "Güncelleme kuyruğa alındı (async=true)"),
         @ApiResponse(responseCode = "404", description = "Ürün bulunamadı"),
+        @ApiResponse(responseCode = "503", description = "Asenkron güncelleme tamponu dolu"),
         @ApiResponse(responseCode = "400", description = "Geçersiz veri")
     })
-    public ResponseEntity<Product> updateProduct(
+    public ResponseEntity<?> updateProduct(
             @Parameter(description = "Ürün ID'si", required = true) @PathVariable String id,
-            @Valid @RequestBody ProductRequest request) {
+            @Valid @RequestBody ProductRequest request,
+            @Parameter(description = REFRESH_DESCRIPTION) @RequestParam(required = false) String refresh,
+            @Parameter(description = "Asenkron, birleştirilmiş güncelleme") @RequestParam(defaultValue = "false") boolean async) {
+        if (async && writeBehindProperties.isEnabled()) {
+            // Tampona al, aynı ürünün bekleyen güncellemesi varsa üzerine yazılır
+            return writeBehindBuffer.enqueue(id, request)
+                    .<ResponseEntity<?>>map(queueDepth -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .body(Map.of("id", id, "status", "queued", "queueDepth", queueDepth)))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        // Bekleyen asenkron güncelleme bu güncellemenin üzerine yazılmasın
+        writeBehindBuffer.discard(id);
         // Service katmanında ürünü güncelle
-        return productService.updateProduct(id, request)
+        return productService.updateProduct(id, request, WriteMode.parse(refresh))
                 .map(ResponseEntity::ok) // Güncelleme başarılıysa 200 OK ile döndür
                 .orElse(ResponseEntity.notFound().build()); // Ürün bulunamadıysa 404 Not Found
     }
@@ -124,6 +177,7 @@ public class ProductController {
      * DELETE /api/products/{id}
      * 
      * @param id Silinecek ürünün ID'si (path variable)
+     * @param refresh Yazma modu (none, wait_for, immediate - isteğe bağlı)
      * @return ResponseEntity<Void> - 204 No Content (başarılı) veya 404 Not Found
      */
     @DeleteMapping("/{id}")
@@ -133,9 +187,12 @@ public class ProductController {
         @ApiResponse(responseCode = "404", description = "Ürün bulunamadı")
     })
     public ResponseEntity<Void> deleteProduct(
-            @Parameter(description = "Ürün ID'si", required = true) @PathVariable String id) {
+            @Parameter(description = "Ürün ID'si", required = true) @PathVariable String id,
+            @Parameter(description = REFRESH_DESCRIPTION) @RequestParam(required = false) String refresh) {
+        // Bekleyen asenkron güncelleme silinen ürünü geri getirmesin
+        writeBehindBuffer.discard(id);
         // Service katmanında ürünü sil
-        if (productService.deleteProduct(id)) {
+        if (productService.deleteProduct(id, WriteMode.parse(refresh))) {
             return ResponseEntity.noContent().build(); // Başarılı silme: 204 No Content
         }
         return ResponseEntity.notFound().build(); // Ürün bulunamadı: 404 Not Found
@@ -158,6 +215,7 @@ public class ProductController {
     })
     public ResponseEntity<List<Product>> searchProducts(
             @Parameter(description = "Arama terimi", required = true) @RequestParam String query) {
+        hotKeyTracker.recordQuery(HotKeyTracker.SEARCH, query);
         // Service katmanında basit arama yap
         List<Product> products = productService.searchProducts(query);
         return ResponseEntity.ok(products);
@@ -167,13 +225,15 @@ public class ProductController {
      * Gelişmiş arama endpoint'i
      * POST /api/products/search/advanced
      * 
-     * @param request Gelişmiş arama isteği (JSON - query, category, minPrice, maxPrice)
+     * @param request Gelişmiş arama isteği (JSON - query, category, minPrice, maxPrice, sort, size)
      * @return ResponseEntity<SearchHits<Product>> - Arama sonuçları ve skorlar (200 OK)
      */
     @PostMapping("/search/advanced")
-    @Operation(summary = "Gelişmiş arama", description = "Fiyat aralığı, kategori ve diğer kriterlere göre arama yapar")
+    @Operation(summary = "Gelişmiş arama", description = "Fiyat aralığı, kategori ve diğer kriterlere göre arama yapar; "
+            + "sort: relevance, price_asc, price_desc, stock_desc, newest, name_asc")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Arama sonuçları"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz sıralama veya size"),
         @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     public ResponseEntity<SearchHits<Product>> advancedSearch(@Valid @RequestBody SearchRequest request) {
@@ -182,23 +242,75 @@ public class ProductController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Benzer ürünler endpoint'i
+     * GET /api/products/{id}/similar?size=10&category=...&activeOnly=true
+     * 
+     * @param id Kaynak ürün ID'si
+     * @param size Döndürülecek ürün sayısı
+     * @param category Kategori filtresi (isteğe bağlı)
+     * @param activeOnly Sadece aktif ürünler
+     * @return ResponseEntity<SearchHits<Product>> - Benzerden aza sıralı ürünler (200 OK) veya 404 Not Found
+     */
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Benzer ürünler", description = "Ad, açıklama ve tag'lerden türetilen vektöre en yakın ürünleri yaklaşık kNN ile getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Benzer ürünler"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz size"),
+        @ApiResponse(responseCode = "404", description = "Ürün bulunamadı")
+    })
+    public ResponseEntity<SearchHits<Product>> getSimilarProducts(
+            @Parameter(description = "Ürün ID'si", required = true) @PathVariable String id,
+            @Parameter(description = "Sonuç sayısı") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Kategori filtresi") @RequestParam(required = false) String category,
+            @Parameter(description = "Sadece aktif ürünler") @RequestParam(defaultValue = "true") boolean activeOnly) {
+        return productService.findSimilarProducts(id, size, category, activeOnly)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Vitrin listesi endpoint'i
+     * GET /api/products/top?category=...&sort=price_asc&size=20
+     *
+     * @param category Kategori (boşsa tüm katalog)
+     * @param sort Sıralama: price_asc, newest veya stock_desc
+     * @param size Sonuç sayısı
+     * @return ResponseEntity<SearchHits<Product>> - Sıralı aktif ürünler (200 OK)
+     */
+    @GetMapping("/top")
+    @Operation(summary = "Vitrin listesi", description = "Kategorinin en ucuz, en yeni veya stoğu en çok aktif ürünlerini "
+            + "bellekte hazır tutulan listelerden getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sıralı ürünler"),
+        @ApiResponse(responseCode = "400", description = "Desteklenmeyen sıralama veya geçersiz size")
+    })
+    public ResponseEntity<SearchHits<Product>> getTopProducts(
+            @Parameter(description = "Kategori") @RequestParam(required = false) String category,
+            @Parameter(description = "Sıralama: price_asc, newest, stock_desc") @RequestParam(defaultValue = "price_asc") String sort,
+            @Parameter(description = "Sonuç sayısı") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.topProducts(category, sort, size));
+    }
+
     /**
      * Bulanık arama endpoint'i (Fuzzy Search)
      * GET /api/products/search/fuzzy?query=aranan_kelime
      * 
      * @param query Aranacak metin (query parameter)
-     * @return ResponseEntity<SearchHits<Product>> - Arama sonuçları ve skorlar (200 OK)
+     * @return ResponseEntity<FuzzySearchResponse> - Arama sonuçları, sonuç yoksa öneriler (200 OK)
      */
     @GetMapping("/search/fuzzy")
-    @Operation(summary = "Bulanık arama", description = "Yazım hatalarını tolere eden arama yapar")
+    @Operation(summary = "Bulanık arama", description = "İsim ve tag'lerde yazım hatalarını tolere eden arama yapar; sonuç yoksa düzeltme önerileri döner")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Arama sonuçları"),
+        @ApiResponse(responseCode = "400", description = "Boş sorgu veya terim sınırı aşıldı"),
         @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<SearchHits<Product>> fuzzySearch(
+    public ResponseEntity<FuzzySearchResponse> fuzzySearch(
             @Parameter(description = "Arama terimi", required = true) @RequestParam String query) {
+        hotKeyTracker.recordQuery(HotKeyTracker.FUZZY, query);
         // Service katmanında fuzzy arama yap
-        SearchHits<Product> results = productService.fuzzySearch(query);
+        FuzzySearchResponse results = productService.fuzzySearch(query);
         return ResponseEntity.ok(results);
     }
 
@@ -209,18 +321,29 @@ public class ProductController {
      * POST /api/products/bulk
      * 
      * @param requests Ürün oluşturma istekleri listesi (JSON array)
+     * @param refresh Yazma modu (none, wait_for, immediate - isteğe bağlı)
+     * @param idempotencyKey Tekrar denemeler için istemci anahtarı (isteğe bağlı)
      * @return ResponseEntity<List<Product>> - Oluşturulan ürünlerin listesi (201 Created)
      */
     @PostMapping("/bulk")
     @Operation(summary = "Toplu ürün ekleme", description = "Birden fazla ürünü tek seferde ekler")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Ürünler başarıyla eklendi"),
-        @ApiResponse(responseCode = "400", description = "Geçersiz veri"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veri veya anahtar farklı bir istekle kullanılmış"),
         @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
-    public ResponseEntity<List<Product>> createProducts(@Valid @RequestBody List<ProductRequest> requests) {
+    public ResponseEntity<List<Product>> createProducts(
+            @Valid @RequestBody List<ProductRequest> requests,
+            @Parameter(description = REFRESH_DESCRIPTION) @RequestParam(required = false) String refresh,
+            @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            IdempotencyService.Outcome outcome = productService.createProductsOnce(requests, WriteMode.parse(refresh), idempotencyKey);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                    .body(outcome.products());
+        }
         // Service katmanında toplu ürün oluştur
-        List<Product> products = productService.createProducts(requests);
+        List<Product> products = productService.createProducts(requests, WriteMode.parse(refresh));
         // 201 Created status kodu ile döndür
         return ResponseEntity.status(HttpStatus.CREATED).body(products);
     }
@@ -262,10 +385,57 @@ public class ProductController {
         @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     public ResponseEntity<List<Product>> getProductsByPriceRange(
-            @Parameter(description = "Minimum fiyat", required = true) @RequestParam Double minPrice,
-            @Parameter(description = "Maksimum fiyat", required = true) @RequestParam Double maxPrice) {
+            @Parameter(description = "Minimum fiyat", required = true) @RequestParam BigDecimal minPrice,
+            @Parameter(description = "Maksimum fiyat", required = true) @RequestParam BigDecimal maxPrice) {
         // Service katmanından fiyat aralığına göre ürünleri al
         List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
+
+    /**
+     * Fiyat istatistikleri endpoint'i
+     * GET /api/products/price-stats?category=Elektronik
+     * 
+     * @param category Kategori filtresi (query parameter, isteğe bağlı)
+     * @return ResponseEntity<PriceStatsResponse> - Min, max, ortalama ve toplam fiyat (200 OK)
+     */
+    @GetMapping("/price-stats")
+    @Operation(summary = "Fiyat istatistikleri", description = "Ürün fiyatlarının min, max, ortalama ve toplam değerlerini getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fiyat istatistikleri"),
+        @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    public ResponseEntity<PriceStatsResponse> getPriceStats(
+            @Parameter(description = "Kategori adı") @RequestParam(required = false) String category) {
+        // Service katmanından fiyat istatistiklerini al
+        return ResponseEntity.ok(productService.getPriceStats(category));
+    }
+
+    /**
+     * Filtre paneli sayıları endpoint'i
+     * GET /api/products/facets?category=Elektronik&tag=apple&minPrice=1000&maxPrice=50000
+     * 
+     * @param category Kategori filtresi (isteğe bağlı)
+     * @param tag Tag filtresi (isteğe bağlı)
+     * @param minPrice Minimum fiyat (isteğe bağlı)
+     * @param maxPrice Maksimum fiyat (isteğe bağlı)
+     * @return ResponseEntity<FacetResponse> - Eşleşen ürün sayısı, kategori/tag dağılımı ve fiyat aralıkları (200 OK)
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Filtre sayıları", description = "Aktif ürünlerin kategori, tag ve fiyat aralığı dağılımını getirir; "
+            + "tekrarlanan istekler Elasticsearch shard istek önbelleğinden cevaplanır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Filtre sayıları"),
+        @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    public ResponseEntity<FacetResponse> getFacets(
+            @Parameter(description = "Kategori adı") @RequestParam(required = false) String category,
+            @Parameter(description = "Tag") @RequestParam(required = false) String tag,
+            @Parameter(description = "Minimum fiyat") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maksimum fiyat") @RequestParam(required = false) BigDecimal maxPrice,
+            HttpServletRequest request) {
+        // Oturum başlığı preference=SESSION modunda aynı kullanıcının isteklerini aynı kopyaya yönlendirir
+        String sessionId = request.getHeader(requestCacheProperties.getSessionHeader());
+        return ResponseEntity.ok(productService.getFacets(category, tag, minPrice, maxPrice, sessionId));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.elastic_search.Elastic.Search.controller;
+
+import com.elastic_search.Elastic.Search.dto.CatalogReportResponse;
+import com.elastic_search.Elastic.Search.service.CatalogReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * ReportController - Asenkron Rapor API Kontrolcüsü
+ * 
+ * Uzun süren katalog raporları istek thread'ini bekletmez:
+ * gönderim kimlik döner, sonuç kimlikle sorgulanır veya iptal edilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@RestController // Spring: Bu sınıfın REST controller olduğunu belirtir
+@RequestMapping("/api/reports") // Tüm endpoint'lerin base path'i
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Tag(name = "Reports", description = "Asenkron katalog raporları") // Swagger: API grubu açıklaması
+public class ReportController {
+
+    private final CatalogReportService catalogReportService;
+
+    /**
+     * Katalog raporu başlatma endpoint'i
+     * POST /api/reports/catalog
+     *
+     * @return ResponseEntity<CatalogReportResponse> - Bittiyse sonuçlar (200 OK), bitmediyse kimlik ve Location (202 Accepted)
+     */
+    @PostMapping("/catalog")
+    @Operation(summary = "Katalog raporu başlat", description = "Kategori bazında ürün, stok, fiyat özetleri ve tag dağılımını asenkron hesaplar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rapor bekleme süresi içinde tamamlandı"),
+        @ApiResponse(responseCode = "202", description = "Rapor çalışıyor, Location ile sorgulanabilir"),
+        @ApiResponse(responseCode = "503", description = "Elasticsearch erişilemiyor")
+    })
+    public ResponseEntity<CatalogReportResponse> submitCatalogReport() {
+        CatalogReportResponse report = catalogReportService.submitCatalogReport();
+        if (report.isRunning()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/api/reports/" + report.getId()))
+                    .body(report);
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Rapor durumu endpoint'i
+     * GET /api/reports/{id}
+     *
+     * @param id Rapor kimliği
+     * @return ResponseEntity<CatalogReportResponse> - Durum ve o ana kadarki sonuçlar (200 OK)
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Rapor durumu", description = "Raporun çalışıp çalışmadığını ve kısmi/tam sonuçlarını getirir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rapor durumu"),
+        @ApiResponse(responseCode = "404", description = "Rapor bulunamadı veya süresi doldu")
+    })
+    public ResponseEntity<CatalogReportResponse> getReport(
+            @Parameter(description = "Rapor kimliği", required = true) @PathVariable String id) {
+        return catalogReportService.getReport(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Rapor iptal endpoint'i
+     * DELETE /api/reports/{id}
+     *
+     * @param id Rapor kimliği
+     * @return ResponseEntity<Void> - 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Raporu iptal et", description = "Çalışan raporu durdurur ve saklanan sonuçlarını siler")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Rapor iptal edildi"),
+        @ApiResponse(responseCode = "404", description = "Rapor bulunamadı veya süresi doldu")
+    })
+    public ResponseEntity<Void> cancelReport(
+            @Parameter(description = "Rapor kimliği", required = true) @PathVariable String id) {
+        if (catalogReportService.cancelReport(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
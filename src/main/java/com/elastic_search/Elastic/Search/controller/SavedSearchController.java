@@ -0,0 +1,111 @@
+package com.elastic_search.Elastic.Search.controller;
+
+import com.elastic_search.Elastic.Search.dto.SavedSearchRequest;
+import com.elastic_search.Elastic.Search.dto.SavedSearchResponse;
+import com.elastic_search.Elastic.Search.service.SavedSearchNotifier;
+import com.elastic_search.Elastic.Search.service.SavedSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * SavedSearchController - Kayıtlı Arama (Alarm) API Kontrolcüsü
+ *
+ * İstemciler aramalarını periyodik olarak tekrar çalıştırmak yerine bir kez kaydeder;
+ * yeni eşleşen ürünler açık SSE akışına gönderilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@RestController // Spring: Bu sınıfın REST controller olduğunu belirtir
+@RequestMapping("/api/alerts") // Tüm endpoint'lerin base path'i
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Tag(name = "Alerts", description = "Kayıtlı aramalar ve eşleşme bildirimleri") // Swagger: API grubu açıklaması
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+    private final SavedSearchNotifier savedSearchNotifier;
+
+    /**
+     * Kayıtlı arama oluşturma endpoint'i
+     * POST /api/alerts
+     *
+     * @param request Arama kriterleri ve abone
+     * @return ResponseEntity<SavedSearchResponse> - Oluşturulan arama (201 Created)
+     */
+    @PostMapping
+    @Operation(summary = "Kayıtlı arama oluştur", description = "Kriterlere yeni giren ürünler aboneye bildirilir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Kayıtlı arama oluşturuldu"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz kriter veya abone sınırı doldu"),
+        @ApiResponse(responseCode = "503", description = "Elasticsearch erişilemiyor")
+    })
+    public ResponseEntity<SavedSearchResponse> createSavedSearch(@Valid @RequestBody SavedSearchRequest request) {
+        SavedSearchResponse savedSearch = savedSearchService.create(request);
+        return ResponseEntity.created(URI.create("/api/alerts/" + savedSearch.getId())).body(savedSearch);
+    }
+
+    /**
+     * Abonenin kayıtlı aramaları endpoint'i
+     * GET /api/alerts?subscriberId=...
+     *
+     * @param subscriberId Abone kimliği
+     * @return ResponseEntity<List<SavedSearchResponse>> - Kayıtlı aramalar (200 OK)
+     */
+    @GetMapping
+    @Operation(summary = "Kayıtlı aramaları listele", description = "Abonenin kayıtlı aramalarını en yeniden eskiye getirir")
+    public ResponseEntity<List<SavedSearchResponse>> getSavedSearches(
+            @Parameter(description = "Abone kimliği", required = true) @RequestParam String subscriberId) {
+        return ResponseEntity.ok(savedSearchService.findBySubscriber(subscriberId));
+    }
+
+    /**
+     * Kayıtlı arama silme endpoint'i
+     * DELETE /api/alerts/{id}
+     *
+     * @param id Kayıtlı arama kimliği
+     * @return ResponseEntity<Void> - 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Kayıtlı aramayı sil", description = "Arama için yeni bildirim gönderilmez")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Kayıtlı arama silindi"),
+        @ApiResponse(responseCode = "404", description = "Kayıtlı arama bulunamadı")
+    })
+    public ResponseEntity<Void> deleteSavedSearch(
+            @Parameter(description = "Kayıtlı arama kimliği", required = true) @PathVariable String id) {
+        if (savedSearchService.delete(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Bildirim akışı endpoint'i
+     * GET /api/alerts/stream?subscriberId=...
+     *
+     * @param subscriberId Abone kimliği
+     * @return SseEmitter - Her yeni eşleşme için "match" olayı gönderen akış
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Bildirim akışı", description = "Abonenin kayıtlı aramalarına yeni giren ürünleri Server-Sent Events ile iletir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Akış açıldı"),
+        @ApiResponse(responseCode = "503", description = "Açık akış sınırı doldu")
+    })
+    public SseEmitter streamMatches(
+            @Parameter(description = "Abone kimliği", required = true) @RequestParam String subscriberId) {
+        return savedSearchNotifier.subscribe(subscriberId);
+    }
+}
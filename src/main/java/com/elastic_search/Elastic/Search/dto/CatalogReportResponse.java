@@ -0,0 +1,78 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CatalogReportResponse - Katalog Raporu Yanıt DTO'su
+ * 
+ * Asenkron çalışan katalog raporunun durumu ve (kısmi veya tam) sonuçları.
+ * running=true iken sonuçlar o ana kadar tamamlanan shard'ları yansıtır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class CatalogReportResponse {
+    
+    /**
+     * Rapor kimliği - sorgulama ve iptal için kullanılır
+     * Saklanmayan (hemen biten ve tutulmayan) raporlarda boş olabilir
+     */
+    private String id;
+    
+    /**
+     * Rapor hâlâ çalışıyor mu?
+     */
+    private boolean running;
+    
+    /**
+     * Sonuçlar kısmi mi? (tüm shard'lar tamamlanmadı veya bazıları hata verdi)
+     */
+    private boolean partial;
+    
+    private Instant startedAt;
+    
+    private Instant completedAt;
+    
+    /**
+     * Bu zamandan sonra sonuçlar silinir
+     */
+    private Instant expiresAt;
+    
+    /**
+     * Toplam ürün sayısı
+     */
+    private long totalProducts;
+    
+    /**
+     * Kategori bazında ürün, stok ve fiyat özetleri (ürün sayısına göre çoktan aza)
+     */
+    private List<CategorySummary> categories;
+    
+    /**
+     * Tag -> ürün sayısı (çoktan aza)
+     */
+    private Map<String, Long> tags;
+    
+    /**
+     * Kategori özeti
+     */
+    @Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+    @NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+    public static class CategorySummary {
+        private String category;
+        private long products;
+        private long activeProducts;
+        private long totalStock;
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private BigDecimal avgPrice;
+    }
+}
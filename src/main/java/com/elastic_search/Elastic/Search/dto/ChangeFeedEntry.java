@@ -0,0 +1,38 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * ChangeFeedEntry - Değişiklik Akışı Kaydı
+ *
+ * Kayıt dosyasında da bu haliyle (tek satır JSON) saklanır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+@AllArgsConstructor // Lombok: Tüm field'lar için parametreli constructor oluşturur
+public class ChangeFeedEntry {
+
+    /**
+     * Artan sıra numarası - istemci kaldığı yeri bununla bildirir
+     */
+    private long sequence;
+
+    private ProductChangeEvent.Type type;
+    private String productId;
+
+    /**
+     * Ürünün yazma sonrası hali (DELETED için null)
+     */
+    private Product product;
+
+    private Instant timestamp;
+}
@@ -0,0 +1,40 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ChangeFeedResponse - Değişiklik Akışı Sayfası
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+@AllArgsConstructor // Lombok: Tüm field'lar için parametreli constructor oluşturur
+public class ChangeFeedResponse {
+
+    /**
+     * İstenen sıradan sonraki değişiklikler (artan sırada)
+     */
+    private List<ChangeFeedEntry> entries;
+
+    /**
+     * Sonraki istekte "after" olarak gönderilecek sıra
+     */
+    private long nextAfter;
+
+    /**
+     * Şu ana kadar verilen en büyük sıra
+     */
+    private long lastSequence;
+
+    /**
+     * İstenen sıra artık tutulmuyorsa true; istemci kataloğu baştan yüklemeli
+     * ve lastSequence'tan devam etmeli
+     */
+    private boolean resetRequired;
+}
@@ -0,0 +1,73 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FacetResponse - Filtre Sayıları Yanıt DTO'su
+ * 
+ * Listeleme sayfasındaki filtre panelinin sayıları:
+ * eşleşen ürün sayısı, kategori ve tag dağılımı ile fiyat aralıkları.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class FacetResponse {
+    
+    /**
+     * Filtrelere uyan ürün sayısı
+     * product.search.track-total-hits-up-to sınırını aşarsa alt sınırdır
+     */
+    private long totalHits;
+    
+    /**
+     * Sayı alt sınır mı? (gerçek sayı daha büyük olabilir)
+     */
+    private boolean totalHitsLowerBound;
+    
+    /**
+     * Kategori -> ürün sayısı (çoktan aza)
+     */
+    private Map<String, Long> categories;
+    
+    /**
+     * Tag -> ürün sayısı (çoktan aza)
+     */
+    private Map<String, Long> tags;
+    
+    /**
+     * Fiyat aralıkları (product.search.facet-price-interval genişliğinde)
+     */
+    private List<PriceBucket> priceRanges;
+    
+    /**
+     * Fiyat aralığı
+     */
+    @Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+    @NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+    @AllArgsConstructor // Lombok: Tüm field'lar için parametreli constructor oluşturur
+    public static class PriceBucket {
+        
+        /**
+         * Aralığın alt sınırı (dahil)
+         */
+        private BigDecimal from;
+        
+        /**
+         * Aralığın üst sınırı (hariç)
+         */
+        private BigDecimal to;
+        
+        /**
+         * Aralıktaki ürün sayısı
+         */
+        private long count;
+    }
+}
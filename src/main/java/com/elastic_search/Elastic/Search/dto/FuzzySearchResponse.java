@@ -0,0 +1,46 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FuzzySearchResponse - Bulanık Arama Yanıt DTO'su
+ * 
+ * Sonuç yoksa aynı istekte çalışan suggester'ların
+ * "bunu mu demek istediniz" önerilerini taşır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class FuzzySearchResponse {
+    
+    /**
+     * Aranan metin
+     */
+    private String query;
+    
+    /**
+     * Eşleşen ürün sayısı
+     */
+    private long totalHits;
+    
+    /**
+     * Eşleşen ürünler (skora göre sıralı)
+     */
+    private List<Product> products;
+    
+    /**
+     * Sonuç yoksa düzeltilmiş sorgu önerileri (en olasıdan başlayarak)
+     */
+    private List<String> didYouMean;
+    
+    /**
+     * Maliyet tavanına göre terim başına uygulanan en fazla genişleme sayısı
+     */
+    private int maxExpansions;
+}
@@ -0,0 +1,35 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * HotKeySnapshot - En Sık Erişilen Anahtarların Diskteki Kopyası
+ * 
+ * Kapanışta yazılır, açılışta bu ürünler ve sorgular önceden yüklenir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class HotKeySnapshot {
+    
+    /**
+     * Snapshot'ın alındığı zaman
+     */
+    private Instant savedAt;
+    
+    /**
+     * En sık okunan ürün ID'leri (sıcaktan soğuğa)
+     */
+    private List<String> products;
+    
+    /**
+     * En sık yapılan sorgular, "tür:sorgu" formatında (örn. "search:telefon")
+     */
+    private List<String> queries;
+}
@@ -0,0 +1,51 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * PriceStatsResponse - Fiyat İstatistikleri Yanıt DTO'su
+ * 
+ * priceMinor alanı üzerinde çalışan stats aggregation sonucunu taşır.
+ * Değerler kuruştan TL'ye çevrilmiş olarak döner.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class PriceStatsResponse {
+    
+    /**
+     * İstatistiklerin hesaplandığı kategori
+     * Boş ise tüm ürünler dahil edilmiştir
+     */
+    private String category;
+    
+    /**
+     * Fiyatı olan ürün sayısı
+     */
+    private long count;
+    
+    /**
+     * En düşük fiyat
+     */
+    private BigDecimal min;
+    
+    /**
+     * En yüksek fiyat
+     */
+    private BigDecimal max;
+    
+    /**
+     * Ortalama fiyat (iki basamağa yuvarlanmış)
+     */
+    private BigDecimal avg;
+    
+    /**
+     * Fiyatların toplamı
+     */
+    private BigDecimal sum;
+}
@@ -0,0 +1,67 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * ReindexCheckpoint - Yeniden İndeksleme Durumu
+ * 
+ * Devam eden reindex işleminin hangi aşamada olduğunu tutar.
+ * Diske JSON olarak yazılır; uygulama yeniden başladığında işlem
+ * kaldığı aşamadan devam eder.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class ReindexCheckpoint {
+    
+    /**
+     * Reindex aşamaları
+     * COPYING: eski indeksten yeni indekse sliced kopyalama
+     * CATCHING_UP: kopyalama sırasında değişen ürünler taşınıyor, alias'lar henüz eski indekste
+     * DONE: iki alias atomik olarak taşındı, işlem tamamlandı
+     * FAILED: hata oluştu, işlem tekrar başlatılabilir
+     */
+    public enum Phase {
+        COPYING, CATCHING_UP, DONE, FAILED
+    }
+    
+    /**
+     * Kaynak fiziksel indeks
+     */
+    private String source;
+    
+    /**
+     * Hedef fiziksel indeks
+     */
+    private String target;
+    
+    /**
+     * Elasticsearch reindex task kimliği (node:id)
+     */
+    private String taskId;
+    
+    /**
+     * Mevcut aşama
+     */
+    private Phase phase;
+    
+    /**
+     * Başlangıç zamanı
+     */
+    private Instant startedAt;
+    
+    /**
+     * Son güncellenme zamanı
+     */
+    private Instant updatedAt;
+    
+    /**
+     * Hata mesajı (sadece FAILED aşamasında)
+     */
+    private String error;
+}
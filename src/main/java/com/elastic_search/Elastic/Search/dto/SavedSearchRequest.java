@@ -0,0 +1,60 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * SavedSearchRequest - Kayıtlı Arama Oluşturma İsteği DTO'su
+ *
+ * Gelişmiş aramadaki kriterlerle aynıdır; sıralama ve sayfa boyutu yerine
+ * "stoğa girdi" alarmları için minimum stok verilebilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+@AllArgsConstructor // Lombok: Tüm field'lar için parametreli constructor oluşturur
+public class SavedSearchRequest {
+
+    /**
+     * Bildirimlerin gönderileceği abone
+     */
+    @NotBlank(message = "Abone kimliği boş olamaz") // Validation: Boş string veya sadece boşluk olamaz
+    @Size(max = 100, message = "Abone kimliği en fazla 100 karakter olabilir") // Validation: Uzunluk kontrolü
+    private String subscriberId;
+
+    /**
+     * Aramanın kullanıcıya gösterilen adı (örn. "10.000 TL altı laptop")
+     */
+    @Size(max = 100, message = "Arama adı en fazla 100 karakter olabilir") // Validation: Uzunluk kontrolü
+    private String label;
+
+    /**
+     * Arama metni (isim, açıklama ve tag'lerde)
+     */
+    private String query;
+
+    private String category;
+
+    private String tag;
+
+    @DecimalMin(value = "0", message = "Minimum fiyat negatif olamaz") // Validation: Minimum değer kontrolü
+    private BigDecimal minPrice;
+
+    @DecimalMin(value = "0", message = "Maksimum fiyat negatif olamaz") // Validation: Minimum değer kontrolü
+    private BigDecimal maxPrice;
+
+    /**
+     * Minimum stok (örn. 1 ile "stoğa girdi" alarmı)
+     */
+    @Min(value = 0, message = "Minimum stok negatif olamaz") // Validation: Minimum değer kontrolü
+    private Integer minStock;
+}
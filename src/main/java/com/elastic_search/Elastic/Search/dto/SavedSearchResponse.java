@@ -0,0 +1,31 @@
+package com.elastic_search.Elastic.Search.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * SavedSearchResponse - Kayıtlı Arama DTO'su
+ *
+ * Percolator dokümanının "alert" alanında da bu haliyle saklanır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
+@NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
+public class SavedSearchResponse {
+
+    private String id;
+    private String subscriberId;
+    private String label;
+    private String query;
+    private String category;
+    private String tag;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minStock;
+    private Instant createdAt;
+}
@@ -48,4 +48,24 @@ public class SearchRequest {
      * Null olabilir (üst sınır yok)
      */
     private BigDecimal maxPrice;
+    
+    /**
+     * Tag filtresi
+     * Belirtilen tag'e sahip ürünleri getirir (tam eşleşme)
+     * Boş olabilir (tag filtresi uygulanmaz)
+     */
+    private String tag;
+    
+    /**
+     * Sıralama
+     * relevance, price_asc, price_desc, stock_desc, newest veya name_asc
+     * Boş olabilir (ilgililik skoruna göre sıralanır)
+     */
+    private String sort;
+    
+    /**
+     * Döndürülecek sonuç sayısı
+     * Null olabilir (product.search.default-size kullanılır)
+     */
+    private Integer size;
 } 
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.elastic_search.Elastic.Search.event;
+
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * ProductChangeEvent - Ürün Değişiklik Olayı
+ *
+ * ProductService'in yazma yolları başarıyla tamamlandığında yayınlanır.
+ * Bellek içi indeksler gibi bileşenler bu olayı dinleyerek kendini günceller.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Getter // Lombok: Getter metodlarını otomatik oluşturur
+@ToString // Lombok: toString metodunu otomatik oluşturur
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+public class ProductChangeEvent {
+
+    /**
+     * Değişiklik tipi
+     */
+    public enum Type {
+        CREATED, // Yeni ürün oluşturuldu
+        UPDATED, // Mevcut ürün güncellendi
+        DELETED  // Ürün silindi
+    }
+
+    /**
+     * Değişiklik tipi
+     */
+    private final Type type;
+
+    /**
+     * Değişen ürünün ID'si
+     */
+    private final String productId;
+
+    /**
+     * Ürünün yeni hali
+     * DELETED olaylarında null'dır
+     */
+    private final Product product;
+
+    /**
+     * Güncellemeden önce ürün aktif miydi? (isActive boşsa aktif sayılır)
+     * Sadece önceki hali okunan güncellemelerde doludur; diğer olaylarda null
+     */
+    private final Boolean previouslyActive;
+
+    /**
+     * Kaydetme olayı oluşturur
+     *
+     * @param product Kaydedilen ürün
+     * @param created Yeni oluşturulduysa true
+     * @return ProductChangeEvent
+     */
+    public static ProductChangeEvent saved(Product product, boolean created) {
+        return new ProductChangeEvent(created ? Type.CREATED : Type.UPDATED, product.getId(), product, null);
+    }
+
+    /**
+     * Önceki hali bilinen güncelleme olayı oluşturur
+     *
+     * @param product Güncellenen ürün
+     * @param previouslyActive Ürün güncellemeden önce aktif miydi?
+     * @return ProductChangeEvent
+     */
+    public static ProductChangeEvent updated(Product product, boolean previouslyActive) {
+        return new ProductChangeEvent(Type.UPDATED, product.getId(), product, previouslyActive);
+    }
+
+    /**
+     * Silme olayı oluşturur
+     *
+     * @param productId Silinen ürünün ID'si
+     * @return ProductChangeEvent
+     */
+    public static ProductChangeEvent deleted(String productId) {
+        return new ProductChangeEvent(Type.DELETED, productId, null, null);
+    }
+
+    /**
+     * Ürün aktif mi? isActive boşsa aktif sayılır (pasif sadece açıkça false olan üründür)
+     */
+    public static boolean isActive(Product product) {
+        return !Boolean.FALSE.equals(product.getIsActive());
+    }
+}
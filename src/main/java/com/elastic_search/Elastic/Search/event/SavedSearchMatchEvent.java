@@ -0,0 +1,40 @@
+package com.elastic_search.Elastic.Search.event;
+
+import com.elastic_search.Elastic.Search.dto.SavedSearchResponse;
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * SavedSearchMatchEvent - Kayıtlı Arama Eşleşme Olayı
+ *
+ * Yazılan bir ürün, daha önce eşleşmediği bir kayıtlı aramaya girdiğinde yayınlanır.
+ * SSE akışı bu olayı dinler; başka bildirim kanalları (e-posta, push) da
+ * @EventListener ile aynı olaya bağlanabilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Getter // Lombok: Getter metodlarını otomatik oluşturur
+@ToString // Lombok: toString metodunu otomatik oluşturur
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+public class SavedSearchMatchEvent {
+
+    /**
+     * Eşleşen kayıtlı arama
+     */
+    private final SavedSearchResponse savedSearch;
+
+    /**
+     * Aramaya giren ürünün yeni hali
+     */
+    private final Product product;
+
+    /**
+     * Eşleşmenin tespit edildiği an
+     */
+    private final Instant matchedAt;
+}
@@ -0,0 +1,28 @@
+package com.elastic_search.Elastic.Search.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Elasticsearch geçici olarak kullanılamadığında fırlatılır
+ * (devre açık, gecikme bütçesi aşıldı, eşzamanlı çağrı sınırı dolu).
+ * GlobalExceptionHandler tarafından 503 ve Retry-After başlığına çevrilir.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Duration retryAfter;
+    
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    public ServiceUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+}
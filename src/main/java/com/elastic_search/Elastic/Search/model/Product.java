@@ -1,14 +1,22 @@
 package com.elastic_search.Elastic.Search.model;
 
-import lombok.AllArgsConstructor;
+import com.elastic_search.Elastic.Search.util.PriceUnits;
+import com.elastic_search.Elastic.Search.util.ProductEmbedding;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -23,8 +31,7 @@ import java.util.List;
  */
 @Data // Lombok: Getter, Setter, toString, equals, hashCode metodlarını otomatik oluşturur
 @NoArgsConstructor // Lombok: Parametresiz constructor oluşturur
-@AllArgsConstructor // Lombok: Tüm field'lar için parametreli constructor oluşturur
-@Document(indexName = "products") // Elasticsearch index adını belirtir
+@Document(indexName = "products", createIndex = false) // Okuma alias'ı - fiziksel indeksler IndexManagementService tarafından yönetilir
 public class Product {
     
     /**
@@ -38,8 +45,11 @@ public class Product {
      * Ürün adı
      * Text tipinde saklanır ve standart analyzer kullanır
      * Bu sayede arama yapılabilir
+     * name.keyword alt alanı isme göre sıralama için doc values tutar
      */
-    @Field(type = FieldType.Text, analyzer = "standard") // Elasticsearch: Text tipi, standart analiz
+    @MultiField( // Elasticsearch: Text ana alan + keyword alt alanı
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256))
     private String name;
     
     /**
@@ -60,12 +70,22 @@ public class Product {
     
     /**
      * Ürün fiyatı
-     * Double tipinde saklanır - sayısal aramalar için
+     * Double tipinde saklanır - görüntüleme ve geriye uyumluluk için
      * BigDecimal kullanarak hassas para hesaplamaları yapılır
+     * Aralık sorguları ve aggregation'lar priceMinor alanını kullanır
      */
     @Field(type = FieldType.Double) // Elasticsearch: Double tipi - sayısal değer
     private BigDecimal price;
     
+    /**
+     * Kuruş cinsinden ürün fiyatı
+     * Long tipinde saklanır - kesin sınırlı aralık sorguları ve fiyat aggregation'ları için
+     * price alanı set edildiğinde otomatik olarak güncellenir
+     * Örnek: 45000.50 TL -> 4500050
+     */
+    @Field(type = FieldType.Long) // Elasticsearch: Long tipi - tam sayı, BKD aralık sorguları
+    private Long priceMinor;
+    
     /**
      * Stok miktarı
      * Integer tipinde saklanır - tam sayı değerler için
@@ -88,4 +108,69 @@ public class Product {
      */
     @Field(type = FieldType.Boolean) // Elasticsearch: Boolean tipi
     private Boolean isActive;
-} 
\ No newline at end of file
+    
+    /**
+     * Ürünün oluşturulma zamanı
+     * Date tipinde saklanır - "en yeni ürünler" sıralaması için
+     * İlk kayıtta ProductService tarafından atanır, güncellemelerde değişmez
+     * Alan eklenmeden önce yazılmış ürünlerde null'dır
+     */
+    @Field(type = FieldType.Date) // Elasticsearch: Date tipi - ISO-8601 / epoch_millis
+    private Instant createdAt;
+    
+    /**
+     * Benzer ürün aramaları için metin vektörü
+     * Ad, açıklama ve tag'lerden yazma anında türetilir (ProductEmbedding); saklanan değer okunmaz
+     * Mapping'de int8 quantize edilmiş HNSW ile indekslenir (IndexManagementService)
+     * API yanıtlarına dahil edilmez
+     */
+    @Field(type = FieldType.Dense_Vector, dims = ProductEmbedding.DIMENSIONS) // Elasticsearch: dense_vector - kNN araması
+    @AccessType(AccessType.Type.PROPERTY) // Spring Data: Alan yerine getter/setter kullanılır
+    @JsonIgnore // Jackson: JSON yanıtlarına yazılmaz
+    @EqualsAndHashCode.Exclude @ToString.Exclude // Lombok: Türetilmiş alan karşılaştırma ve log'a dahil edilmez
+    private float[] embedding;
+    
+    /**
+     * Tüm alanlar için constructor
+     * priceMinor alanı fiyattan türetildiği için parametre olarak alınmaz
+     */
+    public Product(String id, String name, String description, String category,
+                   BigDecimal price, Integer stock, List<String> tags, Boolean isActive) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        setPrice(price);
+        this.stock = stock;
+        this.tags = tags;
+        this.isActive = isActive;
+    }
+    
+    /**
+     * Fiyatı set eder ve kuruş cinsinden karşılığını senkronize tutar
+     * 
+     * @param price Ürün fiyatı
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+        this.priceMinor = price == null ? null : PriceUnits.toMinor(price);
+    }
+    
+    /**
+     * Güncel ad, açıklama ve tag'lerden türetilen vektör
+     * 
+     * @return float[] - Birim vektör, metin yoksa null
+     */
+    public float[] getEmbedding() {
+        return ProductEmbedding.embed(name, description, tags);
+    }
+    
+    /**
+     * Vektör her zaman metinden türetildiği için Elasticsearch'ten okunan değer kullanılmaz
+     * 
+     * @param embedding Saklanan vektör (yok sayılır)
+     */
+    public void setEmbedding(float[] embedding) {
+        // Türetilmiş alan
+    }
+}
@@ -0,0 +1,107 @@
+package com.elastic_search.Elastic.Search.model;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * SearchSort - Arama Sıralama Seçenekleri
+ *
+ * Gelişmiş aramada sonuçların sıralanma şekli.
+ * RELEVANCE dışındaki seçenekler skor hesaplamaz; alan değerine göre sıralar.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public enum SearchSort {
+
+    /**
+     * İlgililik skoruna göre (varsayılan)
+     */
+    RELEVANCE(null, SortOrder.Desc, null),
+
+    /**
+     * En ucuzdan pahalıya
+     * Kategori filtresiyle birlikte indeks sıralamasıyla (category, priceMinor) örtüşür ve erken sonlanabilir
+     */
+    PRICE_ASC("priceMinor", SortOrder.Asc,
+            Comparator.comparing(Product::getPriceMinor, Comparator.nullsLast(Comparator.naturalOrder()))),
+
+    /**
+     * En pahalıdan ucuza
+     */
+    PRICE_DESC("priceMinor", SortOrder.Desc,
+            Comparator.comparing(Product::getPriceMinor, Comparator.nullsLast(Comparator.reverseOrder()))),
+
+    /**
+     * Stoğu en çok olandan aza
+     */
+    STOCK_DESC("stock", SortOrder.Desc,
+            Comparator.comparing(Product::getStock, Comparator.nullsLast(Comparator.reverseOrder()))),
+
+    /**
+     * En yeniden eskiye (oluşturulma zamanı)
+     * Tarihi olmayan eski ürünler sona düşer
+     */
+    NEWEST("createdAt", SortOrder.Desc,
+            Comparator.comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))),
+
+    /**
+     * İsme göre alfabetik (name.keyword alt alanı)
+     */
+    NAME_ASC("name.keyword", SortOrder.Asc,
+            Comparator.comparing(Product::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final String field;
+    private final SortOrder order;
+    private final Comparator<Product> comparator;
+
+    SearchSort(String field, SortOrder order, Comparator<Product> comparator) {
+        this.field = field;
+        this.order = order;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sıralama alanı
+     *
+     * @return Elasticsearch alan adı, RELEVANCE için null
+     */
+    public String getField() {
+        return field;
+    }
+
+    public SortOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Bellek içi filtre indeksi sonuçları için karşılaştırıcı
+     *
+     * @return Product karşılaştırıcı, RELEVANCE için null
+     */
+    public Comparator<Product> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * İstek değerini sıralamaya çevirir
+     * Enum adları büyük/küçük harf ve tire farkı gözetmeden kabul edilir (price-asc, PRICE_ASC)
+     *
+     * @param value İstek değeri
+     * @return SearchSort - Boş değer için null
+     * @throws IllegalArgumentException Tanınmayan değer
+     */
+    public static SearchSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Geçersiz sıralama: " + value + " (relevance, price_asc, price_desc, stock_desc, newest veya name_asc olmalı)");
+        }
+    }
+}
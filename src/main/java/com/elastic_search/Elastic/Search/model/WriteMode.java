@@ -0,0 +1,66 @@
+package com.elastic_search.Elastic.Search.model;
+
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+
+import java.util.Locale;
+
+/**
+ * WriteMode - Yazma Tutarlılık Modu
+ * 
+ * Bir yazma işleminden sonra değişikliğin aramalarda ne zaman görüneceğini belirler.
+ * Elasticsearch'ün refresh parametresine karşılık gelir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public enum WriteMode {
+    
+    /**
+     * Refresh beklenmez (fire-and-forget)
+     * Değişiklik bir sonraki periyodik refresh'te görünür; toplu yüklemeler için en hızlısı
+     */
+    NONE(RefreshPolicy.NONE),
+    
+    /**
+     * Bir sonraki periyodik refresh'e kadar beklenir (wait_for)
+     * Yanıt döndüğünde değişiklik aramalarda görünür; ek segment oluşturmaz
+     */
+    WAIT_FOR(RefreshPolicy.WAIT_UNTIL),
+    
+    /**
+     * Hemen refresh edilir
+     * Her istek yeni bir segment oluşturur, sadece kesinlikle gerekli yerlerde kullanılmalıdır
+     */
+    IMMEDIATE(RefreshPolicy.IMMEDIATE);
+    
+    private final RefreshPolicy refreshPolicy;
+    
+    WriteMode(RefreshPolicy refreshPolicy) {
+        this.refreshPolicy = refreshPolicy;
+    }
+    
+    public RefreshPolicy getRefreshPolicy() {
+        return refreshPolicy;
+    }
+    
+    /**
+     * İstek parametresini moda çevirir
+     * Elasticsearch değerleri (false, wait_for, true) ve enum adları kabul edilir
+     * 
+     * @param value Parametre değeri
+     * @return WriteMode - Boş değer için null
+     * @throws IllegalArgumentException Tanınmayan değer
+     */
+    public static WriteMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT).replace('-', '_')) {
+            case "none", "false" -> NONE;
+            case "wait_for" -> WAIT_FOR;
+            case "immediate", "true" -> IMMEDIATE;
+            default -> throw new IllegalArgumentException(
+                    "Geçersiz refresh değeri: " + value + " (none, wait_for veya immediate olmalı)");
+        };
+    }
+}
@@ -4,7 +4,6 @@ import com.elastic_search.Elastic.Search.model.Product;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -45,12 +44,12 @@ public interface ProductRepository extends ElasticsearchRepository<Product, Stri
     List<Product> findByCategory(String category);
     
     /**
-     * Fiyat aralığına göre ürün arama
-     * @param minPrice Minimum fiyat (dahil)
-     * @param maxPrice Maksimum fiyat (dahil)
+     * Fiyat aralığına göre ürün arama (kuruş cinsinden)
+     * @param minPriceMinor Minimum fiyat, kuruş (dahil)
+     * @param maxPriceMinor Maksimum fiyat, kuruş (dahil)
      * @return Belirtilen fiyat aralığındaki ürünlerin listesi
      */
-    List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    List<Product> findByPriceMinorBetween(Long minPriceMinor, Long maxPriceMinor);
     
     /**
      * Stok miktarına göre ürün arama
@@ -77,29 +76,29 @@ public interface ProductRepository extends ElasticsearchRepository<Product, Stri
     // ==================== FİYAT ARALIĞINA GÖRE ARAMA ====================
     
     /**
-     * Belirli fiyatın altındaki ürünleri getirme
-     * @param price Maksimum fiyat
+     * Belirli fiyatın altındaki ürünleri getirme (kuruş cinsinden)
+     * @param priceMinor Maksimum fiyat, kuruş
      * @return Belirtilen fiyatın altındaki ürünlerin listesi
      */
-    List<Product> findByPriceLessThan(BigDecimal price);
+    List<Product> findByPriceMinorLessThan(Long priceMinor);
     
     /**
-     * Belirli fiyatın üstündeki ürünleri getirme
-     * @param price Minimum fiyat
+     * Belirli fiyatın üstündeki ürünleri getirme (kuruş cinsinden)
+     * @param priceMinor Minimum fiyat, kuruş
      * @return Belirtilen fiyatın üstündeki ürünlerin listesi
      */
-    List<Product> findByPriceGreaterThan(BigDecimal price);
+    List<Product> findByPriceMinorGreaterThan(Long priceMinor);
     
     // ==================== KOMBİNE ARAMA METODLARI ====================
     
     /**
-     * Kategori ve fiyat aralığına göre ürün arama
+     * Kategori ve fiyat aralığına göre ürün arama (kuruş cinsinden)
      * @param category Aranacak kategori
-     * @param minPrice Minimum fiyat
-     * @param maxPrice Maksimum fiyat
+     * @param minPriceMinor Minimum fiyat, kuruş
+     * @param maxPriceMinor Maksimum fiyat, kuruş
      * @return Belirtilen kategoride ve fiyat aralığındaki ürünlerin listesi
      */
-    List<Product> findByCategoryAndPriceBetween(String category, BigDecimal minPrice, BigDecimal maxPrice);
+    List<Product> findByCategoryAndPriceMinorBetween(String category, Long minPriceMinor, Long maxPriceMinor);
     
     // ==================== STOK DURUMUNA GÖRE ARAMA ====================
     
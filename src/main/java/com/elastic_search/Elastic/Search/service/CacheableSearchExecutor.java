@@ -0,0 +1,249 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.RequestCacheStats;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonpUtils;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.RequestCacheProperties;
+import com.elastic_search.Elastic.Search.config.SearchProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CacheableSearchExecutor - Shard İstek Önbelleğine Uygun Aramalar
+ *
+ * Filtre paneli ve sayım gibi size=0 sorgular sürekli tekrarlanır. Shard request cache
+ * anahtarı gövdenin baytları olduğu için aynı anlamdaki iki sorgu farklı sırada
+ * yazılırsa önbellek ıskalanır; rastgele kopya seçimi de ısınmış kopyayı atlar.
+ *
+ * - Filtre cümleleri JSON karşılıklarına göre sıralanır, aggregation'lar ada göre eklenir
+ * - request_cache=true açıkça gönderilir
+ * - preference, kanonik gövdenin (veya oturumun) hash'i olur: tekrarlar aynı kopyaya gider
+ * - Sorgu şekli bazında istek, tekrar (önbelleğe uygun) sayısı ve süreler tutulur
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class CacheableSearchExecutor {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final RequestCacheProperties properties;
+    private final SearchProperties searchProperties;
+    private final IndexProperties indexProperties;
+
+    private final Map<String, ShapeStats> shapes = new LinkedHashMap<>();
+    private final Map<String, Boolean> recentKeys = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > properties.getRecentKeys();
+        }
+    };
+
+    /**
+     * Sorgu şekli bazında sayaçlar
+     */
+    private static final class ShapeStats {
+        long requests;
+        long repeats;
+        long firstNanos;
+        long repeatNanos;
+    }
+
+    // ==================== ARAMA ====================
+
+    /**
+     * Filtre ve aggregation'lardan oluşan size=0 aramayı önbelleğe uygun şekilde çalıştırır
+     *
+     * @param shape Sorgu şekli (metrik anahtarı, değerlerden bağımsız)
+     * @param filters Filtre cümleleri (sırası önemsiz)
+     * @param aggregations Aggregation adı -> tanımı (sırası önemsiz)
+     * @param routing Kategori routing'i (yoksa null)
+     * @param sessionId Oturum kimliği (SESSION modunda preference için, yoksa null)
+     * @return SearchHits - Sadece toplam sayı ve aggregation'lar
+     */
+    public SearchHits<Product> aggregate(String shape, List<Query> filters, Map<String, Aggregation> aggregations,
+                                         String routing, String sessionId) {
+        List<Query> canonicalFilters = canonicalOrder(filters);
+        Query query = Query.of(q -> q.bool(b -> b.filter(canonicalFilters)));
+        Map<String, Aggregation> sortedAggregations = new TreeMap<>(aggregations);
+
+        StringBuilder body = new StringBuilder(JsonpUtils.toJsonString(query, elasticsearchClient._jsonpMapper()));
+        sortedAggregations.forEach((name, aggregation) -> body.append('|').append(name).append('=')
+                .append(JsonpUtils.toJsonString(aggregation, elasticsearchClient._jsonpMapper())));
+        body.append("|routing=").append(routing);
+        String key = hash(body.toString());
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query)
+                .withMaxResults(0)
+                .withTrackTotalHitsUpTo(searchProperties.getTrackTotalHitsUpTo());
+        sortedAggregations.forEach(builder::withAggregation);
+        if (routing != null) {
+            builder.withRoute(routing);
+        }
+        NativeQuery searchQuery = builder.build();
+        if (properties.isEnabled()) {
+            searchQuery.setRequestCache(true);
+            searchQuery.setPreference(preference(key, sessionId));
+        }
+
+        boolean repeat = remember(key);
+        long start = System.nanoTime();
+        try {
+            return elasticsearchGuard.read(Operation.AGGREGATION, shape + ":" + key,
+                    () -> elasticsearchOperations.search(searchQuery, Product.class));
+        } finally {
+            record(shape, repeat, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Filtre cümlelerini JSON karşılıklarına göre sıralar
+     * Aynı filtreler hangi sırada eklenirse eklensin aynı gövde üretilir
+     */
+    private List<Query> canonicalOrder(List<Query> filters) {
+        List<Map.Entry<String, Query>> keyed = new ArrayList<>(filters.size());
+        for (Query filter : filters) {
+            keyed.add(Map.entry(JsonpUtils.toJsonString(filter, elasticsearchClient._jsonpMapper()), filter));
+        }
+        keyed.sort(Map.Entry.comparingByKey());
+        return keyed.stream().map(Map.Entry::getValue).toList();
+    }
+
+    /**
+     * Kopya seçimi
+     * preference "_" ile başlayamaz; değerler hash'lenerek kullanılır
+     */
+    private String preference(String key, String sessionId) {
+        return switch (properties.getPreference()) {
+            case NONE -> null;
+            case SESSION -> sessionId == null || sessionId.isBlank() ? "q" + key : "s" + hash(sessionId);
+            case QUERY -> "q" + key;
+        };
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==================== METRİKLER ====================
+
+    private synchronized boolean remember(String key) {
+        return recentKeys.put(key, Boolean.TRUE) != null;
+    }
+
+    private synchronized void record(String shape, boolean repeat, long nanos) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                return;
+            }
+            stats = new ShapeStats();
+            shapes.put(shape, stats);
+        }
+        stats.requests++;
+        if (repeat) {
+            stats.repeats++;
+            stats.repeatNanos += nanos;
+        } else {
+            stats.firstNanos += nanos;
+        }
+    }
+
+    /**
+     * Önbellek raporu
+     * Şekil bazındaki tekrar oranı, önbellekten cevaplanabilecek isteklerin oranıdır;
+     * ilk istek ile tekrarların ortalama süre farkı önbelleğin etkisini gösterir.
+     * Elasticsearch'ün gerçek isabet/ıskalama sayıları indeks düzeyinde eklenir.
+     *
+     * @return Şekil bazında metrikler ve indeksin request_cache istatistikleri
+     */
+    public Map<String, Object> report() {
+        List<Map<String, Object>> shapeReport = new ArrayList<>();
+        synchronized (this) {
+            shapes.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, ShapeStats> e) -> e.getValue().requests).reversed())
+                    .forEach(entry -> {
+                        ShapeStats stats = entry.getValue();
+                        long firsts = stats.requests - stats.repeats;
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("shape", entry.getKey());
+                        item.put("requests", stats.requests);
+                        item.put("repeats", stats.repeats);
+                        item.put("repeatRatio", stats.requests == 0 ? 0.0 : (double) stats.repeats / stats.requests);
+                        item.put("avgFirstMs", firsts == 0 ? null : TimeUnit.NANOSECONDS.toMicros(stats.firstNanos / firsts) / 1000.0);
+                        item.put("avgRepeatMs", stats.repeats == 0 ? null : TimeUnit.NANOSECONDS.toMicros(stats.repeatNanos / stats.repeats) / 1000.0);
+                        shapeReport.add(item);
+                    });
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", properties.isEnabled());
+        report.put("preference", properties.getPreference());
+        report.put("shapes", shapeReport);
+        report.put("shardRequestCache", shardRequestCacheStats());
+        return report;
+    }
+
+    /**
+     * Okuma indeksinin primary + replica toplamı request_cache istatistikleri
+     */
+    private Map<String, Object> shardRequestCacheStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        try {
+            RequestCacheStats stats = elasticsearchClient.indices()
+                    .stats(s -> s.index(indexProperties.getReadAlias()).metric("request_cache"))
+                    .all().total().requestCache();
+            if (stats != null) {
+                long lookups = stats.hitCount() + stats.missCount();
+                result.put("hitCount", stats.hitCount());
+                result.put("missCount", stats.missCount());
+                result.put("hitRatio", lookups == 0 ? 0.0 : (double) stats.hitCount() / lookups);
+                result.put("evictions", stats.evictions());
+                result.put("memorySizeInBytes", stats.memorySizeInBytes());
+            }
+        } catch (Exception e) {
+            log.debug("request_cache istatistikleri okunamadı: {}", e.getMessage());
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Şekil metriklerini ve hatırlanan gövdeleri sıfırlar
+     */
+    public synchronized void clear() {
+        shapes.clear();
+        recentKeys.clear();
+    }
+}
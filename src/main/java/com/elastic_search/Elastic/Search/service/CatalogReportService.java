@@ -0,0 +1,198 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StatsAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.async_search.AsyncSearch;
+import co.elastic.clients.elasticsearch.async_search.AsyncSearchDocumentResponseBase;
+import com.elastic_search.Elastic.Search.config.AsyncSearchProperties;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.dto.CatalogReportResponse;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import com.elastic_search.Elastic.Search.util.PriceUnits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CatalogReportService - Asenkron Katalog Raporları
+ *
+ * Tüm kategori ve tag'ler üzerindeki analitik aggregation'lar saniyeler sürebilir.
+ * Normal arama yolunda (ElasticsearchOperations.search) bu süre boyunca bir servlet
+ * thread'i ve bir bağlantı meşgul kalır. Raporlar _async_search ile gönderilir:
+ * - Gönderim en fazla product.async-search.wait-for-completion kadar bekler
+ * - Bitmeyen rapor için kimlik döner; kısmi sonuçlar kimlikle sorgulanabilir
+ * - Sonuçlar keep-alive süresince saklanır, istenirse iptal edilir
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class CatalogReportService {
+
+    private static final String BY_CATEGORY = "by_category";
+    private static final String BY_TAG = "by_tag";
+    private static final String PRICE = "price";
+    private static final String STOCK = "stock";
+    private static final String ACTIVE = "active";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final IndexProperties indexProperties;
+    private final AsyncSearchProperties properties;
+
+    // ==================== GÖNDER / SORGULA / İPTAL ====================
+
+    /**
+     * Katalog raporunu başlatır
+     * Gönderim idempotent değildir; tekrar denenmez ve hedge edilmez
+     *
+     * @return CatalogReportResponse - Bekleme süresinde bittiyse sonuçlar, bitmediyse kimlik ve kısmi sonuçlar
+     */
+    public CatalogReportResponse submitCatalogReport() {
+        int maxBuckets = properties.getMaxBuckets();
+        Map<String, Aggregation> aggregations = Map.of(
+                BY_CATEGORY, Aggregation.of(a -> a
+                        .terms(t -> t.field("category").size(maxBuckets))
+                        .aggregations(PRICE, p -> p.stats(s -> s.field("priceMinor")))
+                        .aggregations(STOCK, s -> s.sum(sum -> sum.field("stock")))
+                        .aggregations(ACTIVE, f -> f.filter(q -> q.term(t -> t.field("isActive").value(true))))),
+                BY_TAG, Aggregation.of(a -> a.terms(t -> t.field("tags").size(maxBuckets))));
+        return elasticsearchGuard.write(Operation.WRITE, () -> {
+            try {
+                return toResponse(elasticsearchClient.asyncSearch().submit(s -> s
+                        .index(indexProperties.getReadAlias())
+                        .size(0)
+                        .trackTotalHits(t -> t.enabled(true))
+                        .aggregations(aggregations)
+                        .waitForCompletionTimeout(time(properties.getWaitForCompletion()))
+                        .keepAlive(time(properties.getKeepAlive()))
+                        .keepOnCompletion(true), Void.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Raporun güncel durumunu ve o ana kadarki sonuçlarını getirir
+     *
+     * @param id Rapor kimliği
+     * @return Rapor; kimlik bilinmiyorsa veya süresi dolduysa boş Optional
+     */
+    public Optional<CatalogReportResponse> getReport(String id) {
+        try {
+            return Optional.of(elasticsearchGuard.read(Operation.AGGREGATION, null, () -> {
+                try {
+                    return toResponse(elasticsearchClient.asyncSearch().get(g -> g
+                            .id(id)
+                            .waitForCompletionTimeout(time(properties.getPollWait())), Void.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Raporu iptal eder (çalışıyorsa durdurur) ve sonuçlarını siler
+     *
+     * @param id Rapor kimliği
+     * @return boolean - Silindiyse true, kimlik bilinmiyorsa false
+     */
+    public boolean cancelReport(String id) {
+        try {
+            elasticsearchGuard.write(Operation.WRITE, () -> {
+                try {
+                    elasticsearchClient.asyncSearch().delete(d -> d.id(id));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Katalog raporu iptal edildi: {}", id);
+            return true;
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    // ==================== DÖNÜŞÜM ====================
+
+    private CatalogReportResponse toResponse(AsyncSearchDocumentResponseBase<Void> result) {
+        CatalogReportResponse response = new CatalogReportResponse();
+        response.setId(result.id());
+        response.setRunning(result.isRunning());
+        response.setPartial(result.isPartial());
+        response.setStartedAt(Instant.ofEpochMilli(result.startTimeInMillis()));
+        response.setExpiresAt(Instant.ofEpochMilli(result.expirationTimeInMillis()));
+        if (result.completionTimeInMillis() != null) {
+            response.setCompletedAt(Instant.ofEpochMilli(result.completionTimeInMillis()));
+        }
+        response.setCategories(new ArrayList<>());
+        response.setTags(new LinkedHashMap<>());
+
+        AsyncSearch<Void> search = result.response();
+        if (search.hits() != null && search.hits().total() != null) {
+            response.setTotalProducts(search.hits().total().value());
+        }
+        // Çalışırken aggregation'lar sadece tamamlanan shard'lar birleştirildiyse gelir
+        Aggregate byCategory = search.aggregations().get(BY_CATEGORY);
+        if (byCategory != null) {
+            for (StringTermsBucket bucket : byCategory.sterms().buckets().array()) {
+                response.getCategories().add(toSummary(bucket));
+            }
+        }
+        Aggregate byTag = search.aggregations().get(BY_TAG);
+        if (byTag != null) {
+            byTag.sterms().buckets().array()
+                    .forEach(bucket -> response.getTags().put(bucket.key().stringValue(), bucket.docCount()));
+        }
+        return response;
+    }
+
+    private static CatalogReportResponse.CategorySummary toSummary(StringTermsBucket bucket) {
+        CatalogReportResponse.CategorySummary summary = new CatalogReportResponse.CategorySummary();
+        summary.setCategory(bucket.key().stringValue());
+        summary.setProducts(bucket.docCount());
+        summary.setActiveProducts(bucket.aggregations().get(ACTIVE).filter().docCount());
+        summary.setTotalStock(Math.round(bucket.aggregations().get(STOCK).sum().value()));
+        StatsAggregate price = bucket.aggregations().get(PRICE).stats();
+        if (price.count() > 0) {
+            summary.setMinPrice(PriceUnits.fromMinor(Math.round(price.min())));
+            summary.setMaxPrice(PriceUnits.fromMinor(Math.round(price.max())));
+            summary.setAvgPrice(BigDecimal.valueOf(price.avg())
+                    .movePointLeft(PriceUnits.SCALE)
+                    .setScale(PriceUnits.SCALE, RoundingMode.HALF_UP));
+        }
+        return summary;
+    }
+
+    private static Time time(Duration duration) {
+        return Time.of(t -> t.time(duration.toMillis() + "ms"));
+    }
+}
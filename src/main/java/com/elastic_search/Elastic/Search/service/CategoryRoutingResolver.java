@@ -0,0 +1,87 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.core.routing.RoutingResolver;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * CategoryRoutingResolver - Kategori Bazlı Routing
+ *
+ * Spring Data'nın RoutingResolver'ı olarak yazma template'lerine verilir;
+ * kaydedilen her ürün kategorisiyle route edilir.
+ *
+ * Routing, product.routing.enabled ayarına değil alias'ın işaret ettiği indekse göre uygulanır:
+ * ayar açılıp yeniden indeksleme bitene kadar okuma alias'ı eski (_id ile dağıtılmış) indeksi,
+ * yazma alias'ı ise yeni indeksi gösterebilir. Her iki taraf kendi indeksine uygun davranır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+public class CategoryRoutingResolver implements RoutingResolver {
+
+    private final IndexManagementService indexManagementService;
+    private final IndexProperties indexProperties;
+    private final ProductFilterIndex productFilterIndex;
+
+    // ==================== YAZMA ====================
+
+    /**
+     * Varlıktan bağımsız routing (ID ile silme gibi)
+     * Kategori bilinmeden hesaplanamaz; çağıran taraf RoutingResolver.just(...) ile verir
+     */
+    @Override
+    public String getRouting() {
+        return null;
+    }
+
+    /**
+     * Kaydedilecek ürünün routing değeri
+     *
+     * @param bean Kaydedilen varlık
+     * @return Yazma indeksi routing kullanıyorsa kategori, değilse null
+     */
+    @Override
+    public <T> String getRouting(T bean) {
+        if (bean instanceof Product product && isWriteRouted()) {
+            return product.getCategory();
+        }
+        return null;
+    }
+
+    public boolean isWriteRouted() {
+        return indexManagementService.isRoutingRequired(indexProperties.getWriteAlias());
+    }
+
+    // ==================== OKUMA ====================
+
+    public boolean isReadRouted() {
+        return indexManagementService.isRoutingRequired(indexProperties.getReadAlias());
+    }
+
+    /**
+     * Kategoriyle sınırlı aramanın routing değeri
+     *
+     * @param category Kategori filtresi
+     * @return Okuma indeksi routing kullanıyorsa kategori, değilse null (tüm shard'lar)
+     */
+    public String searchRouting(String category) {
+        return category != null && !category.isBlank() && isReadRouted() ? category : null;
+    }
+
+    /**
+     * ID ile okumanın routing değeri
+     * Kategori bellek içi filtre indeksinden bulunur
+     *
+     * @param id Ürün ID'si
+     * @return Kategori biliniyorsa routing, değilse boş Optional (çağıran taraf tüm shard'larda arar)
+     */
+    public Optional<String> routingForId(String id) {
+        return productFilterIndex.categoryOf(id);
+    }
+}
@@ -0,0 +1,501 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.elastic_search.Elastic.Search.config.TopListingsProperties;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.SearchSort;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CategoryTopListings - Kategori Vitrin Listeleri
+ *
+ * Her kategori ve tüm katalog için yapılandırılan sıralamalarda (en ucuz, en yeni,
+ * stoğu en çok) ilk N aktif ürünü hazır tutar. Vitrin sayfaları her istekte
+ * sıralı arama çalıştırmak yerine bu listelerden cevaplanır.
+ *
+ * - Listeler değişmez (immutable) kopyalardır; okuma kilitsizdir, yazma yeni kopya yayınlar
+ * - ProductChangeEvent ile artımlı güncellenir; liste N'in üzerinde yedek ürün tutar
+ * - Yedekler tükenirse kategori arka planda Elasticsearch'ten yeniden doldurulur
+ * - Periyodik doğrulama listeleri Elasticsearch'ten yeniden oluşturur; son yazmalar
+ *   (aramada henüz görünmüyor olabilirler) yeni listelere tekrar uygulanır
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class CategoryTopListings {
+
+    /**
+     * Tüm katalog listelerinin anahtarı
+     */
+    public static final String ALL = "*";
+
+    private static final String CATEGORY_AGGREGATION = "categories";
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final CategoryRoutingResolver routingResolver;
+    private final TopListingsProperties properties;
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * Yayınlanmış listeler - değerler değişmez, okuyucular kilit almaz
+     */
+    private final Map<ListingKey, Listing> listings = new ConcurrentHashMap<>();
+
+    // ==================== YAZMA TARAFI (writeLock altında) ====================
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Set<String> categories = new HashSet<>(); // Liste tutulan kategoriler
+    private final Map<String, String> listedCategory = new HashMap<>(); // Kategori listelerindeki ürün -> kategori
+    private final LinkedHashMap<String, RecentChange> recentChanges = new LinkedHashMap<>(); // Ürün başına son yazma, eskiden yeniye
+
+    private final Set<String> pendingRefills = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refills = new AtomicLong();
+    private final AtomicLong reconciles = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastReconcileMillis;
+
+    /**
+     * Liste anahtarı
+     */
+    private record ListingKey(String category, SearchSort sort) {
+    }
+
+    /**
+     * Yayınlanmış liste
+     *
+     * @param products Sıralı ürünler (en fazla N + slack)
+     * @param complete Kategorideki tüm aktif ürünleri içeriyorsa true (yedek tükenmesi yeniden doldurma gerektirmez)
+     */
+    private record Listing(List<Product> products, boolean complete) {
+    }
+
+    /**
+     * Ürünün son yazması (silmede product null)
+     */
+    private record RecentChange(Product product, long atMillis) {
+    }
+
+    public CategoryTopListings(ElasticsearchOperations elasticsearchOperations, ElasticsearchGuard elasticsearchGuard,
+                               CategoryRoutingResolver routingResolver, TopListingsProperties properties) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchGuard = elasticsearchGuard;
+        this.routingResolver = routingResolver;
+        this.properties = properties;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "top-listings");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isEnabled()) {
+            long interval = properties.getReconcileInterval().toMillis();
+            refresher.scheduleWithFixedDelay(this::reconcileSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ==================== OKUMA ====================
+
+    /**
+     * Sıralama için liste tutuluyor mu?
+     *
+     * @param sort Sıralama
+     * @return Listelerden cevaplanabiliyorsa true
+     */
+    public boolean supports(SearchSort sort) {
+        return properties.isEnabled() && properties.getSorts().contains(sort);
+    }
+
+    /**
+     * Vitrin listesi
+     *
+     * @param category Kategori (null ise tüm katalog)
+     * @param sort Sıralama
+     * @param size İstenen ürün sayısı
+     * @return Liste hazırsa ilk size ürün, değilse boş Optional (çağıran Elasticsearch'e gider)
+     */
+    public Optional<List<Product>> top(String category, SearchSort sort, int size) {
+        if (!ready || !supports(sort) || size > properties.getSize()) {
+            return Optional.empty();
+        }
+        String key = category == null ? ALL : category;
+        Listing listing = listings.get(new ListingKey(key, sort));
+        if (listing == null || (listing.products().size() < size && !listing.complete())) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        served.incrementAndGet();
+        List<Product> products = listing.products();
+        return Optional.of(products.subList(0, Math.min(size, products.size())));
+    }
+
+    // ==================== ARTIMLI GÜNCELLEME ====================
+
+    /**
+     * Ürün yazma olaylarını listelere uygular
+     *
+     * @param event Ürün değişiklik olayı
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (!properties.isEnabled() || event.getProductId() == null) {
+            return;
+        }
+        Product product = event.getType() == ProductChangeEvent.Type.DELETED ? null : event.getProduct();
+        writeLock.lock();
+        try {
+            remember(event.getProductId(), product);
+            apply(event.getProductId(), product);
+        } finally {
+            writeLock.unlock();
+        }
+        applied.incrementAndGet();
+    }
+
+    /**
+     * Ürünü eski yerinden çıkarır ve (aktifse) yeni yerine ekler
+     * Aynı değişikliğin tekrar uygulanması sonucu değiştirmez
+     */
+    private void apply(String id, Product product) {
+        String previousCategory = listedCategory.remove(id);
+        boolean listed = false;
+        for (SearchSort sort : properties.getSorts()) {
+            if (previousCategory != null) {
+                removeFrom(new ListingKey(previousCategory, sort), id);
+            }
+            removeFrom(new ListingKey(ALL, sort), id);
+            if (product != null && Boolean.TRUE.equals(product.getIsActive())) {
+                insertInto(new ListingKey(ALL, sort), product);
+                if (product.getCategory() != null) {
+                    listed |= insertInto(new ListingKey(product.getCategory(), sort), product);
+                }
+            }
+        }
+        if (listed) {
+            listedCategory.put(id, product.getCategory());
+        }
+    }
+
+    private void removeFrom(ListingKey key, String id) {
+        Listing listing = listings.get(key);
+        if (listing == null) {
+            return;
+        }
+        List<Product> products = listing.products();
+        for (int i = 0; i < products.size(); i++) {
+            if (id.equals(products.get(i).getId())) {
+                List<Product> updated = new ArrayList<>(products);
+                updated.remove(i);
+                listings.put(key, new Listing(List.copyOf(updated), listing.complete()));
+                if (!listing.complete() && updated.size() < properties.getSize()) {
+                    // Yedekler tükendi; sıradaki ürünler sadece Elasticsearch'te
+                    scheduleRefill(key.category());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ürünü sıralı yerine ekler
+     *
+     * @return Ürün listeye girdiyse true
+     */
+    private boolean insertInto(ListingKey key, Product product) {
+        Listing listing = listings.get(key);
+        if (listing == null) {
+            // İlk doğrulamadan önce listeler yok; sonrasında yeni kategori Elasticsearch'ten doldurulur
+            if (ready && !ALL.equals(key.category()) && categories.size() < properties.getMaxCategories()) {
+                scheduleRefill(key.category());
+            }
+            return false;
+        }
+        List<Product> products = listing.products();
+        int position = -Collections.binarySearch(products, product, comparator(key.sort())) - 1;
+        if (position >= products.size() && !listing.complete()) {
+            // Listenin sonundan sonrası bilinmiyor; araya Elasticsearch'teki başka ürünler girebilir
+            return false;
+        }
+        List<Product> updated = new ArrayList<>(products.size() + 1);
+        updated.addAll(products);
+        updated.add(position, product);
+        boolean complete = listing.complete();
+        if (updated.size() > capacity()) {
+            updated.remove(updated.size() - 1);
+            complete = false;
+        }
+        listings.put(key, new Listing(List.copyOf(updated), complete));
+        return true;
+    }
+
+    /**
+     * Son yazmayı doğrulamada tekrar uygulanmak üzere saklar
+     */
+    private void remember(String id, Product product) {
+        long now = System.currentTimeMillis();
+        recentChanges.remove(id);
+        recentChanges.put(id, new RecentChange(product, now));
+        long cutoff = now - properties.getReplayWindow().toMillis();
+        Iterator<RecentChange> iterator = recentChanges.values().iterator();
+        while (iterator.hasNext() && iterator.next().atMillis() < cutoff) {
+            iterator.remove();
+        }
+    }
+
+    // ==================== DOĞRULAMA ====================
+
+    /**
+     * Uygulama hazır olduğunda listeleri arka planda oluşturur
+     * Oluşana kadar vitrin istekleri Elasticsearch'e gider
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (properties.isEnabled()) {
+            refresher.execute(this::reconcileSafely);
+        }
+    }
+
+    /**
+     * Tüm listeleri Elasticsearch'ten yeniden oluşturur
+     * Artımlı güncellemede kaçan değişiklikler (ör. doğrudan indekse yazılanlar) burada düzelir
+     */
+    public void reconcile() {
+        long start = System.nanoTime();
+        List<String> topCategories = topCategories();
+        Map<ListingKey, Listing> fetched = new HashMap<>(fetch(ALL));
+        for (String category : topCategories) {
+            fetched.putAll(fetch(category));
+        }
+        writeLock.lock();
+        try {
+            listings.putAll(fetched);
+            listings.keySet().retainAll(fetched.keySet());
+            categories.clear();
+            categories.addAll(topCategories);
+            listedCategory.clear();
+            fetched.forEach((key, listing) -> {
+                if (!ALL.equals(key.category())) {
+                    listing.products().forEach(product -> listedCategory.put(product.getId(), key.category()));
+                }
+            });
+            replayRecentChanges();
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        reconciles.incrementAndGet();
+        lastReconcileMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Vitrin listeleri {} kategori için {} ms içinde oluşturuldu", topCategories.size(), lastReconcileMillis);
+    }
+
+    /**
+     * Tek kategorinin listelerini Elasticsearch'ten yeniden doldurur
+     */
+    private void refill(String category) {
+        Map<ListingKey, Listing> fetched = fetch(category);
+        writeLock.lock();
+        try {
+            if (ALL.equals(category)) {
+                // Katalog listesi kategori sayılmaz; ürünlerin kategori kaydı değişmez
+                listings.putAll(fetched);
+            } else {
+                if (!categories.contains(category) && categories.size() >= properties.getMaxCategories()) {
+                    return;
+                }
+                categories.add(category);
+                listedCategory.values().removeIf(category::equals);
+                listings.putAll(fetched);
+                fetched.values().forEach(listing ->
+                        listing.products().forEach(product -> listedCategory.put(product.getId(), category)));
+            }
+            replayRecentChanges();
+        } finally {
+            writeLock.unlock();
+        }
+        refills.incrementAndGet();
+    }
+
+    /**
+     * Pencere içindeki son yazmaları yeniden uygular (writeLock altında çağrılır)
+     * Aramada zaten görünen yazmalar için sonuç değişmez
+     */
+    private void replayRecentChanges() {
+        recentChanges.forEach((id, change) -> apply(id, change.product()));
+    }
+
+    private void scheduleRefill(String category) {
+        if (pendingRefills.add(category)) {
+            refresher.execute(() -> {
+                pendingRefills.remove(category);
+                try {
+                    refill(category);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    log.warn("Vitrin listesi yeniden doldurulamadı ({}): {}", category, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Vitrin listeleri doğrulanamadı: {}", e.getMessage());
+        }
+    }
+
+    // ==================== ELASTICSEARCH ====================
+
+    /**
+     * En çok aktif ürünü olan kategoriler
+     */
+    private List<String> topCategories() {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(activeFilter(ALL))
+                .withMaxResults(0)
+                .withAggregation(CATEGORY_AGGREGATION, Aggregation.of(a -> a.terms(t -> t
+                        .field("category").size(properties.getMaxCategories()))))
+                .build();
+        SearchHits<Product> hits = elasticsearchGuard.read(Operation.AGGREGATION, null,
+                () -> elasticsearchOperations.search(query, Product.class));
+        ElasticsearchAggregations aggregations = (ElasticsearchAggregations) hits.getAggregations();
+        if (aggregations == null || aggregations.get(CATEGORY_AGGREGATION) == null) {
+            return List.of();
+        }
+        return aggregations.get(CATEGORY_AGGREGATION).aggregation().getAggregate().sterms().buckets().array().stream()
+                .map(bucket -> bucket.key().stringValue())
+                .toList();
+    }
+
+    /**
+     * Kategorinin tüm sıralamalardaki listeleri (N + slack ürün)
+     */
+    private Map<ListingKey, Listing> fetch(String category) {
+        Map<ListingKey, Listing> fetched = new HashMap<>();
+        String routing = ALL.equals(category) ? null : routingResolver.searchRouting(category);
+        for (SearchSort sort : properties.getSorts()) {
+            NativeQueryBuilder builder = NativeQuery.builder()
+                    .withQuery(activeFilter(category))
+                    .withSort(sortOption(sort))
+                    .withMaxResults(capacity())
+                    .withTrackTotalHits(false)
+                    .withSourceFilter(new FetchSourceFilter(null, new String[]{IndexManagementService.EMBEDDING_FIELD}));
+            if (routing != null) {
+                builder.withRoute(routing);
+            }
+            NativeQuery query = builder.build();
+            SearchHits<Product> hits = elasticsearchGuard.read(Operation.SEARCH, null,
+                    () -> elasticsearchOperations.search(query, Product.class));
+            // Eşit değerlerde Elasticsearch sırası belirsiz; bellekteki sıra ID ile kesinleşir
+            List<Product> products = hits.getSearchHits().stream()
+                    .map(SearchHit::getContent)
+                    .sorted(comparator(sort))
+                    .toList();
+            fetched.put(new ListingKey(category, sort), new Listing(products, products.size() < capacity()));
+        }
+        return fetched;
+    }
+
+    private static Query activeFilter(String category) {
+        return Query.of(q -> q.bool(b -> {
+            b.filter(f -> f.term(t -> t.field("isActive").value(true)));
+            if (!ALL.equals(category)) {
+                b.filter(f -> f.term(t -> t.field("category").value(category)));
+            }
+            return b;
+        }));
+    }
+
+    private static SortOptions sortOption(SearchSort sort) {
+        return SortOptions.of(o -> o.field(f -> {
+            f.field(sort.getField()).order(sort.getOrder());
+            if (sort == SearchSort.NEWEST) {
+                // createdAt eski indeks mapping'lerinde yoktur
+                f.unmappedType(FieldType.Date);
+            } else if (sort == SearchSort.NAME_ASC) {
+                f.unmappedType(FieldType.Keyword);
+            }
+            return f;
+        }));
+    }
+
+    // ==================== YARDIMCI METODLAR ====================
+
+    private static Comparator<Product> comparator(SearchSort sort) {
+        return sort.getComparator().thenComparing(Product::getId);
+    }
+
+    private int capacity() {
+        return properties.getSize() + properties.getSlack();
+    }
+
+    /**
+     * Liste istatistikleri
+     *
+     * @return Kategori, liste ve ürün sayıları ile isabet/doğrulama sayaçları
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("ready", ready);
+        stats.put("sorts", properties.getSorts());
+        stats.put("listings", listings.size());
+        stats.put("listedProducts", listings.values().stream().mapToInt(listing -> listing.products().size()).sum());
+        stats.put("served", served.get());
+        stats.put("misses", misses.get());
+        stats.put("appliedChanges", applied.get());
+        stats.put("refills", refills.get());
+        stats.put("pendingRefills", pendingRefills.size());
+        stats.put("reconciles", reconciles.get());
+        stats.put("failures", failures.get());
+        stats.put("lastReconcileMs", lastReconcileMillis);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,617 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ChangeFeedProperties;
+import com.elastic_search.Elastic.Search.dto.ChangeFeedEntry;
+import com.elastic_search.Elastic.Search.dto.ChangeFeedResponse;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import com.elastic_search.Elastic.Search.util.SequenceLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ChangeFeedService - Ürün Değişiklik Akışı
+ *
+ * Her ProductChangeEvent artan bir sıra numarası alır. İstemciler son gördükleri
+ * sıradan sonraki değişiklikleri long-poll veya SSE ile alır; kataloğu periyodik
+ * olarak baştan çekmek gerekmez.
+ *
+ * - Son bufferSize değişiklik bellekte halka tamponda tutulur
+ * - Tüm değişiklikler ayrıca yerel kayıt dosyasına eklenir (SequenceLog);
+ *   tamponun gerisinde kalan istemciler dosyadan okur
+ * - Sıra numaraları yeniden başlatmada dosyadaki son sıradan devam eder. Numaralar bloklar halinde
+ *   önceden diske ayrılır: çökmede dosyaya yazılamamış ama istemcilere verilmiş sıralar tekrar
+ *   kullanılmaz, numaralandırma ayrılan bloğun sonundan devam eder
+ * - İstenen sıra artık tutulmuyorsa istemciye resetRequired döner
+ * - SSE gönderimleri ayrı bir thread havuzunda akış başına tek tek yapılır; sendTimeout içinde
+ *   tamamlanmayan gönderimin akışı kapatılır
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class ChangeFeedService {
+
+    private static final Duration STREAM_RETRY_AFTER = Duration.ofSeconds(30);
+    private static final String RESERVATION_SUFFIX = ".reserved";
+
+    private final ChangeFeedProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+
+    // ==================== HALKA TAMPON (lock altında) ====================
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ChangeFeedEntry[] ring;
+    private final long firstBufferedSequence; // Bu çalışmada verilen ilk sıra
+    private long lastSequence;
+    private long reservedSequence; // Diske ayrılmış en büyük sıra
+    private final SequenceLog sequenceLog; // Açılamazsa null - sadece bellek
+
+    // ==================== İSTEMCİLER ====================
+
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openClients = new AtomicInteger();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong streamed = new AtomicLong();
+    private final AtomicLong logReads = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong logFailures = new AtomicLong();
+    private final AtomicLong stalledStreams = new AtomicLong();
+
+    /**
+     * Açık SSE akışı ve gönderilen son sıra
+     */
+    private static final class Stream {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long cursor; // Sadece o an gönderim yapan thread değiştirir
+        private volatile boolean pending; // Gönderim sürerken yeni değişiklik geldi
+        private volatile long sendStartedNanos; // Süren gönderimin başlangıcı, yoksa 0
+        private volatile boolean stalled; // Gönderim zaman aşımına uğradı, akış kaydı silindi
+
+        private Stream(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * Yeni değişiklik bekleyen long-poll isteği
+     */
+    private record Waiter(long after, int limit, DeferredResult<ChangeFeedResponse> result) {
+    }
+
+    public ChangeFeedService(ChangeFeedProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.ring = new ChangeFeedEntry[Math.max(1, properties.getBufferSize())];
+        this.sequenceLog = properties.isEnabled() ? openLog() : null;
+        long logged = sequenceLog == null ? 0 : Math.max(0, sequenceLog.lastSequence());
+        this.reservedSequence = sequenceLog == null ? 0 : readReservation();
+        if (reservedSequence > logged) {
+            log.warn("Değişiklik akışı düzgün kapatılmamış; {}-{} arası sıralar atlanıyor", logged + 1, reservedSequence);
+        }
+        this.lastSequence = Math.max(logged, reservedSequence);
+        this.firstBufferedSequence = lastSequence + 1;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, properties.getSenderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (sequenceLog != null) {
+            long interval = properties.getFlushInterval().toMillis();
+            dispatcher.scheduleWithFixedDelay(this::flushLog, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        long stallCheck = Math.max(100, properties.getSendTimeout().toMillis() / 2);
+        dispatcher.scheduleWithFixedDelay(this::dropStalledStreams, stallCheck, stallCheck, TimeUnit.MILLISECONDS);
+    }
+
+    private SequenceLog openLog() {
+        try {
+            SequenceLog opened = new SequenceLog(Paths.get(properties.getLogFile()), properties.getMaxLogBytes());
+            log.info("Değişiklik akışı kaydı açıldı: {} (son sıra {})", properties.getLogFile(), opened.lastSequence());
+            return opened;
+        } catch (IOException e) {
+            log.warn("Değişiklik akışı kaydı açılamadı, sadece bellek kullanılacak: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== KAYIT ====================
+
+    /**
+     * Ürün yazmasına sıra numarası verir, tampona ve kayıt dosyasına ekler
+     *
+     * @param event Ürün değişiklik olayı
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long sequence = ++lastSequence;
+            if (sequence > reservedSequence) {
+                reserve(sequence + Math.max(0, properties.getSequenceReserve() - 1));
+            }
+            ChangeFeedEntry entry = new ChangeFeedEntry(sequence, event.getType(), event.getProductId(),
+                    event.getProduct(), Instant.now());
+            ring[(int) (sequence % ring.length)] = entry;
+            spill(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        appended.incrementAndGet();
+        signal();
+    }
+
+    /**
+     * Kaydı dosyaya ekler (lock altında; dosyadaki sıra tampondakiyle aynı kalır)
+     */
+    private void spill(ChangeFeedEntry entry) {
+        if (sequenceLog == null) {
+            return;
+        }
+        try {
+            sequenceLog.append(entry.getSequence(), objectMapper.writeValueAsString(entry));
+        } catch (IOException e) {
+            // Dosyada boşluk kalır; bu sıraya dosyadan dönmek isteyen istemci resetRequired alır
+            logFailures.incrementAndGet();
+            log.warn("Değişiklik akışı kaydı yazılamadı (sıra {}): {}", entry.getSequence(), e.getMessage());
+        }
+    }
+
+    /**
+     * Sıra numaralarını verilen sıraya kadar diske ayırır (lock altında)
+     * Ayırma yazılamazsa sıra yine verilir; çökmede bu sıralar tekrar kullanılabilir
+     */
+    private void reserve(long upTo) {
+        if (sequenceLog == null) {
+            return;
+        }
+        try {
+            writeReservation(upTo);
+            reservedSequence = upTo;
+        } catch (IOException e) {
+            logFailures.incrementAndGet();
+            log.warn("Değişiklik akışı sıra ayırması yazılamadı: {}", e.getMessage());
+        }
+    }
+
+    private long readReservation() {
+        Path path = reservationPath();
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(path, StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Değişiklik akışı sıra ayırması okunamadı: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void writeReservation(long upTo) throws IOException {
+        Path path = reservationPath();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(upTo).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path reservationPath() {
+        return Paths.get(properties.getLogFile() + RESERVATION_SUFFIX).toAbsolutePath();
+    }
+
+    private void flushLog() {
+        try {
+            sequenceLog.flush();
+        } catch (IOException e) {
+            logFailures.incrementAndGet();
+            log.warn("Değişiklik akışı kaydı diske yazılamadı: {}", e.getMessage());
+        }
+    }
+
+    // ==================== OKUMA ====================
+
+    /**
+     * Verilen sıradan sonraki değişiklikler (beklemeden)
+     *
+     * @param after Son görülen sıra (null ise sadece güncel sıra döner)
+     * @param limit En fazla değişiklik sayısı (null ise maxBatchSize)
+     * @return ChangeFeedResponse - Değişiklikler ve sonraki istek için sıra
+     * @throws IllegalArgumentException Negatif sıra veya geçersiz limit
+     */
+    public ChangeFeedResponse read(Long after, Integer limit) {
+        int size = resolveLimit(limit);
+        if (after == null) {
+            long last = currentSequence();
+            return new ChangeFeedResponse(List.of(), last, last, false);
+        }
+        if (after < 0) {
+            throw new IllegalArgumentException("after negatif olamaz: " + after);
+        }
+        return readAfter(after, size);
+    }
+
+    private ChangeFeedResponse readAfter(long after, int limit) {
+        long last;
+        lock.readLock().lock();
+        try {
+            last = lastSequence;
+            if (after > last) {
+                // İstemci bu sunucunun hiç vermediği bir sırada (ör. kayıt dosyası silinmiş)
+                return reset(last);
+            }
+            if (after + 1 >= oldestBufferedSequence()) {
+                List<ChangeFeedEntry> entries = new ArrayList<>();
+                for (long sequence = after + 1; sequence <= last && entries.size() < limit; sequence++) {
+                    entries.add(ring[(int) (sequence % ring.length)]);
+                }
+                long nextAfter = entries.isEmpty() ? after : entries.get(entries.size() - 1).getSequence();
+                return new ChangeFeedResponse(entries, nextAfter, last, false);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return readFromLog(after, limit, last);
+    }
+
+    /**
+     * Tamponun gerisindeki sıralar kayıt dosyasından okunur
+     */
+    private ChangeFeedResponse readFromLog(long after, int limit, long last) {
+        if (sequenceLog == null) {
+            return reset(last);
+        }
+        logReads.incrementAndGet();
+        try {
+            List<SequenceLog.Record> records = sequenceLog.readAfter(after, limit);
+            if (records.isEmpty() || records.get(0).sequence() != after + 1) {
+                return reset(last);
+            }
+            List<ChangeFeedEntry> entries = new ArrayList<>(records.size());
+            for (SequenceLog.Record record : records) {
+                entries.add(objectMapper.readValue(record.payload(), ChangeFeedEntry.class));
+            }
+            return new ChangeFeedResponse(entries, entries.get(entries.size() - 1).getSequence(), last, false);
+        } catch (IOException e) {
+            logFailures.incrementAndGet();
+            log.warn("Değişiklik akışı kaydı okunamadı: {}", e.getMessage());
+            throw new ServiceUnavailableException("Değişiklik akışı kaydı okunamadı", STREAM_RETRY_AFTER, e);
+        }
+    }
+
+    private ChangeFeedResponse reset(long last) {
+        resets.incrementAndGet();
+        return new ChangeFeedResponse(List.of(), last, last, true);
+    }
+
+    /**
+     * Şu ana kadar verilen en büyük sıra
+     */
+    public long currentSequence() {
+        lock.readLock().lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long oldestBufferedSequence() {
+        return Math.max(firstBufferedSequence, lastSequence - ring.length + 1);
+    }
+
+    // ==================== LONG-POLL VE SSE ====================
+
+    /**
+     * Long-poll: değişiklik varsa hemen, yoksa ilk değişiklikte veya zaman aşımında döner
+     *
+     * @param after Son görülen sıra (null ise beklemeden güncel sıra döner)
+     * @param limit En fazla değişiklik sayısı
+     * @return DeferredResult<ChangeFeedResponse> - Zaman aşımında boş sayfa
+     * @throws ServiceUnavailableException Bekleyen istek sınırı doluysa
+     */
+    public DeferredResult<ChangeFeedResponse> poll(Long after, Integer limit) {
+        ChangeFeedResponse response = read(after, limit);
+        DeferredResult<ChangeFeedResponse> result;
+        if (after == null || !response.getEntries().isEmpty() || response.isResetRequired()) {
+            result = new DeferredResult<>();
+            result.setResult(response);
+            return result;
+        }
+        reserveClient();
+        int size = resolveLimit(limit);
+        result = new DeferredResult<>(properties.getPollTimeout().toMillis(), () -> readAfter(after, size));
+        Waiter waiter = new Waiter(after, size, result);
+        result.onCompletion(() -> {
+            waiters.remove(waiter);
+            openClients.decrementAndGet();
+        });
+        waiters.add(waiter);
+        // Okuma ile kayıt arasında gelen değişiklik kaçırılmasın
+        signal();
+        return result;
+    }
+
+    /**
+     * SSE akışı: verilen sıradan sonraki değişiklikler ve sonrakiler "change" olayı olarak gönderilir
+     * Olay kimliği sıra numarasıdır; tarayıcılar yeniden bağlanırken Last-Event-ID ile bildirir
+     *
+     * @param after Son görülen sıra (null ise sadece yeni değişiklikler)
+     * @return SseEmitter - Açık akış
+     * @throws ServiceUnavailableException Açık akış sınırı doluysa
+     */
+    public SseEmitter subscribe(Long after) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("after negatif olamaz: " + after);
+        }
+        reserveClient();
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Stream stream = new Stream(emitter, after == null ? currentSequence() : after);
+        emitter.onCompletion(() -> unregister(stream));
+        emitter.onTimeout(() -> unregister(stream));
+        emitter.onError(error -> unregister(stream));
+        streams.add(stream);
+        try {
+            // İlk yorum satırı yanıt başlıklarını hemen gönderir; istemci akışın açıldığını görür
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            unregister(stream);
+            emitter.completeWithError(e);
+        }
+        signal();
+        return emitter;
+    }
+
+    private void reserveClient() {
+        if (openClients.incrementAndGet() > properties.getMaxStreams()) {
+            openClients.decrementAndGet();
+            throw new ServiceUnavailableException("Açık değişiklik akışı sınırına ulaşıldı", STREAM_RETRY_AFTER);
+        }
+    }
+
+    private void unregister(Stream stream) {
+        if (streams.remove(stream)) {
+            openClients.decrementAndGet();
+        }
+    }
+
+    /**
+     * Dağıtımı tetikler; art arda gelen değişiklikler tek dağıtımda toplanır
+     */
+    private void signal() {
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchScheduled.set(false);
+                dispatch();
+            });
+        }
+    }
+
+    private void dispatch() {
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                ChangeFeedResponse response = readAfter(waiter.after(), waiter.limit());
+                if (!response.getEntries().isEmpty() || response.isResetRequired()) {
+                    waiter.result().setResult(response);
+                }
+            } catch (RuntimeException e) {
+                waiter.result().setErrorResult(e);
+            }
+        }
+        for (Stream stream : streams) {
+            schedule(stream);
+        }
+    }
+
+    /**
+     * Akışa gönderimi gönderim havuzuna verir; akışa aynı anda tek gönderim yapılır
+     */
+    private void schedule(Stream stream) {
+        stream.pending = true;
+        if (stream.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(stream));
+        }
+    }
+
+    private void drain(Stream stream) {
+        try {
+            stream.pending = false;
+            // Bir seferde tek sayfa; kalan varsa akış kuyruğun sonuna döner, diğer akışlar beklemez
+            if (send(stream)) {
+                stream.pending = true;
+            }
+        } finally {
+            stream.sending.set(false);
+        }
+        if (stream.pending && streams.contains(stream)) {
+            schedule(stream);
+        }
+    }
+
+    /**
+     * Akışın gerisinde kaldığı değişikliklerden bir sayfa gönderir
+     *
+     * @return Gönderilecek başka değişiklik varsa true
+     */
+    private boolean send(Stream stream) {
+        try {
+            ChangeFeedResponse response = readAfter(stream.cursor, properties.getMaxBatchSize());
+            if (response.isResetRequired()) {
+                timedSend(stream, SseEmitter.event().name("reset").data(response, MediaType.APPLICATION_JSON));
+                unregister(stream);
+                stream.emitter.complete();
+                return false;
+            }
+            for (ChangeFeedEntry entry : response.getEntries()) {
+                if (stream.stalled) {
+                    break;
+                }
+                timedSend(stream, SseEmitter.event()
+                        .id(Long.toString(entry.getSequence()))
+                        .name("change")
+                        .data(entry, MediaType.APPLICATION_JSON));
+                stream.cursor = entry.getSequence();
+                streamed.incrementAndGet();
+            }
+            if (stream.stalled) {
+                // Gönderim zaman aşımından sonra tamamlandı; akış zaten kapatıldı
+                stream.emitter.complete();
+                return false;
+            }
+            return stream.cursor < response.getLastSequence();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Değişiklik akışı kapandı: {}", e.getMessage());
+            unregister(stream);
+            stream.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void timedSend(Stream stream, SseEmitter.SseEventBuilder event) throws IOException {
+        stream.sendStartedNanos = System.nanoTime();
+        try {
+            stream.emitter.send(event);
+        } finally {
+            stream.sendStartedNanos = 0;
+        }
+    }
+
+    /**
+     * Gönderimi sendTimeout'u aşan akışları kapatır
+     * Emitter gönderim bitene kadar kilitli olduğundan akış sadece kayıttan silinir (yeri boşalır);
+     * takılan gönderim döndüğünde emitter gönderim thread'inde kapatılır
+     */
+    private void dropStalledStreams() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Stream stream : streams) {
+            long started = stream.sendStartedNanos;
+            if (started != 0 && now - started > timeout) {
+                stream.stalled = true;
+                stalledStreams.incrementAndGet();
+                unregister(stream);
+                log.debug("Değişiklik akışı {} ms içinde okunmadı, kapatılıyor", properties.getSendTimeout().toMillis());
+            }
+        }
+    }
+
+    // ==================== YARDIMCI METODLAR ====================
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return properties.getMaxBatchSize();
+        }
+        if (limit < 1 || limit > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("limit 1 ile " + properties.getMaxBatchSize() + " arasında olmalı: " + limit);
+        }
+        return limit;
+    }
+
+    /**
+     * Akış istatistikleri
+     *
+     * @return Map<String, Object> - Sıra, tampon, kayıt dosyası ve istemci sayaçları
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("enabled", properties.isEnabled());
+            stats.put("lastSequence", lastSequence);
+            stats.put("oldestBufferedSequence", Math.min(oldestBufferedSequence(), lastSequence));
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("bufferSize", ring.length);
+        stats.put("logFile", sequenceLog == null ? null : properties.getLogFile());
+        stats.put("oldestLoggedSequence", sequenceLog == null ? null : sequenceLog.firstSequence());
+        stats.put("logBytes", sequenceLog == null ? 0 : sequenceLog.sizeBytes());
+        stats.put("streams", streams.size());
+        stats.put("waitingPolls", waiters.size());
+        stats.put("appended", appended.get());
+        stats.put("streamed", streamed.get());
+        stats.put("logReads", logReads.get());
+        stats.put("resets", resets.get());
+        stats.put("logFailures", logFailures.get());
+        stats.put("stalledStreams", stalledStreams.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.forEach(stream -> stream.emitter.complete());
+        streams.clear();
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        if (sequenceLog != null) {
+            try {
+                sequenceLog.close();
+                // Tüm sıralar dosyada; ayrılmış ama kullanılmamış blok bırakılır
+                lock.writeLock().lock();
+                try {
+                    writeReservation(lastSequence);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (IOException e) {
+                log.warn("Değişiklik akışı kaydı kapatılamadı: {}", e.getMessage());
+            }
+        }
+    }
+}
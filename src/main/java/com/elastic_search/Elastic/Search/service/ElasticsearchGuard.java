@@ -0,0 +1,415 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ResilienceProperties;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import com.elastic_search.Elastic.Search.util.CircuitBreaker;
+import com.elastic_search.Elastic.Search.util.LatencyWindow;
+import com.elastic_search.Elastic.Search.util.LruCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ElasticsearchGuard - Elasticsearch Çağrıları İçin Dayanıklılık Katmanı
+ * 
+ * Repository ve ElasticsearchOperations çağrılarını sarar:
+ * - İşlem türüne göre gecikme bütçesi: süre aşılırsa thread serbest bırakılır
+ * - Devre kesici: küme sorunluyken çağrılar 30 saniye beklemek yerine hemen reddedilir
+ * - Hedge: idempotent okumalarda ilk istek yavaşsa (p95) aynı istek tekrar gönderilir
+ * - Bayat sonuç: okuma başarısız olursa son başarılı sonuç (varsa) sunulur
+ * 
+ * Altyapı hataları ServiceUnavailableException'a çevrilir ve 503 olarak döner.
+ * 4xx cevapları (hatalı sorgu vb.) küme sağlığını göstermediği için devre kesiciyi etkilemez.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class ElasticsearchGuard {
+
+    /**
+     * İşlem türleri - her birinin kendi gecikme bütçesi ve gecikme penceresi vardır
+     * PROFILE tanılama amaçlıdır: hedge/tekrar yapılmaz, devre kesiciyi etkilemez
+     * ve havuz meşgulken hemen reddedilir
+     */
+    public enum Operation {
+        POINT_READ(true, false), SEARCH(true, false), AGGREGATION(true, false),
+        WRITE(false, false), BULK_WRITE(false, false), PROFILE(false, true);
+
+        private final boolean idempotent;
+        private final boolean lowPriority;
+
+        Operation(boolean idempotent, boolean lowPriority) {
+            this.idempotent = idempotent;
+            this.lowPriority = lowPriority;
+        }
+    }
+
+    /**
+     * Son başarılı sonuç ve kaydedildiği zaman
+     */
+    private record StaleEntry(Object value, long storedAtNanos) {
+    }
+
+    private final ResilienceProperties properties;
+    private final Tracer tracer;
+    private final CircuitBreaker breaker;
+    private final ThreadPoolExecutor executor;
+    private final LruCache<String, StaleEntry> staleResults;
+    private final Map<Operation, LatencyWindow> latencies = new EnumMap<>(Operation.class);
+
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+
+    public ElasticsearchGuard(ResilienceProperties properties, Tracer tracer) {
+        this.properties = properties;
+        this.tracer = tracer;
+        this.breaker = new CircuitBreaker(
+                properties.getBreakerWindowSize(),
+                properties.getBreakerMinimumCalls(),
+                properties.getBreakerFailureRateThreshold(),
+                properties.getBreakerOpenDuration(),
+                properties.getBreakerHalfOpenCalls());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getMaxConcurrentCalls(), properties.getMaxConcurrentCalls(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "es-call-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.staleResults = new LruCache<>(properties.getStaleCacheSize());
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyWindow(256));
+        }
+    }
+
+    // ==================== ÇAĞRILAR ====================
+
+    /**
+     * Idempotent okuma
+     * 
+     * @param operation İşlem türü (bütçe ve hedge gecikmesi için)
+     * @param staleKey Bayat sonuç anahtarı (null ise bayat sonuç tutulmaz)
+     * @param call Elasticsearch çağrısı
+     * @return Çağrı sonucu veya devre açıkken son başarılı sonuç
+     */
+    public <T> T read(Operation operation, String staleKey, Supplier<T> call) {
+        return traced(operation, () -> guardedRead(operation, staleKey, call));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T guardedRead(Operation operation, String staleKey, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        try {
+            T result = execute(operation, call);
+            if (staleKey != null) {
+                staleResults.put(staleKey, new StaleEntry(result, System.nanoTime()));
+            }
+            return result;
+        } catch (ServiceUnavailableException e) {
+            StaleEntry entry = staleKey == null ? null : staleResults.get(staleKey);
+            if (entry != null && System.nanoTime() - entry.storedAtNanos() <= properties.getStaleMaxAge().toNanos()) {
+                staleServed.incrementAndGet();
+                tracer.current().attribute("stale", true);
+                log.debug("Bayat sonuç sunuluyor: {} ({})", staleKey, e.getMessage());
+                return (T) entry.value();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Yazma (hedge ve bayat sonuç uygulanmaz)
+     * 
+     * @param operation WRITE veya BULK_WRITE
+     * @param call Elasticsearch çağrısı
+     * @return Çağrı sonucu
+     */
+    public <T> T write(Operation operation, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return traced(operation, call);
+        }
+        return traced(operation, () -> execute(operation, call));
+    }
+
+    /**
+     * Sonuç döndürmeyen yazma
+     */
+    public void write(Operation operation, Runnable call) {
+        write(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ürün değiştiğinde tekil okuma için tutulan bayat sonucu günceller
+     * Böylece devre açıkken silinmiş ürün veya eski fiyat sunulmaz.
+     * Sadece zaten okunmuş ürünlerin kaydı değiştirilir; her yazma önbelleğe girseydi
+     * toplu yüklemeler gerçekten okunan ürünleri LRU'dan atardı.
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        String key = pointReadKey(event.getProductId());
+        if (event.getType() == ProductChangeEvent.Type.DELETED) {
+            staleResults.remove(key);
+        } else {
+            staleResults.computeIfPresent(key, (id, previous) -> new StaleEntry(Optional.of(event.getProduct()), System.nanoTime()));
+        }
+    }
+
+    /**
+     * ID ile okuma için bayat sonuç anahtarı
+     */
+    public static String pointReadKey(String id) {
+        return "product:" + id;
+    }
+
+    /**
+     * Çağrıyı "es.<işlem>" span'i içinde çalıştırır
+     * Bu span bekleme, hedge ve sonuç dönüşümü dahil toplam süreyi gösterir
+     */
+    private <T> T traced(Operation operation, Supplier<T> call) {
+        try (Tracer.Scope scope = tracer.trace("es." + operation.name().toLowerCase())) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                scope.span().attribute("error", e.getClass().getSimpleName());
+                throw e;
+            }
+        }
+    }
+
+    private <T> T execute(Operation operation, Supplier<T> call) {
+        if (operation.lowPriority && !admitsLowPriority()) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Düşük öncelikli Elasticsearch çağrısı ertelendi", Duration.ofSeconds(1));
+        }
+        if (!breaker.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Elasticsearch devre kesicisi açık", breaker.remainingOpen());
+        }
+
+        long budgetNanos = budget(operation).toNanos();
+        long hedgeAtNanos = operation.idempotent && properties.isHedgeEnabled() ? hedgeDelayNanos(operation) : Long.MAX_VALUE;
+        long start = System.nanoTime();
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        try {
+            attempts.add(completion.submit(tracer.wrap(call::get)));
+        } catch (RejectedExecutionException e) {
+            breaker.onIgnored();
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Elasticsearch eşzamanlı çağrı sınırı dolu", Duration.ofSeconds(1));
+        }
+
+        try {
+            int pending = 1;
+            boolean hedgeTried = false;
+            RuntimeException lastFailure = null;
+            while (true) {
+                long elapsed = System.nanoTime() - start;
+                long remaining = budgetNanos - elapsed;
+                if (remaining <= 0) {
+                    timeouts.incrementAndGet();
+                    onFailure(operation);
+                    throw new ServiceUnavailableException(
+                            operation + " gecikme bütçesi aşıldı (" + budget(operation).toMillis() + " ms)",
+                            breaker.remainingOpen(), lastFailure);
+                }
+
+                // Hedge henüz gönderilmediyse sadece hedge zamanına kadar bekle
+                long wait = !hedgeTried && hedgeAtNanos < budgetNanos
+                        ? Math.min(remaining, Math.max(0, hedgeAtNanos - elapsed))
+                        : remaining;
+                Future<T> done = completion.poll(wait, TimeUnit.NANOSECONDS);
+
+                if (done == null) {
+                    if (!hedgeTried && System.nanoTime() - start >= hedgeAtNanos) {
+                        hedgeTried = true;
+                        if (submitHedge(completion, attempts, call)) {
+                            pending++;
+                        }
+                    }
+                    continue;
+                }
+
+                pending--;
+                try {
+                    T result = done.get();
+                    latencies.get(operation).record(System.nanoTime() - start);
+                    breaker.onSuccess();
+                    return result;
+                } catch (ExecutionException e) {
+                    RuntimeException cause = unwrap(e);
+                    if (isClientError(cause)) {
+                        // Küme cevap verdi, sorun istekte
+                        breaker.onSuccess();
+                        throw cause;
+                    }
+                    lastFailure = cause;
+                    if (pending == 0) {
+                        // Idempotent okumada süre kaldıysa bir kez tekrar dene
+                        if (operation.idempotent && !hedgeTried) {
+                            hedgeTried = true;
+                            if (submitHedge(completion, attempts, call)) {
+                                pending++;
+                                continue;
+                            }
+                        }
+                        onFailure(operation);
+                        throw new ServiceUnavailableException("Elasticsearch çağrısı başarısız: " + cause.getMessage(),
+                                breaker.remainingOpen(), cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.onIgnored();
+            throw new ServiceUnavailableException("Elasticsearch çağrısı kesildi", Duration.ofSeconds(1), e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    /**
+     * Düşük öncelikli çağrı sadece devre kapalıyken ve havuzun belirli bir oranından azı doluyken yapılır
+     * Böylece yarı açık devrenin deneme hakkını veya kullanıcı isteklerinin thread'lerini tüketmez
+     */
+    private boolean admitsLowPriority() {
+        return breaker.getState() == CircuitBreaker.State.CLOSED
+                && executor.getActiveCount() < properties.getMaxConcurrentCalls() * properties.getLowPriorityPoolShare();
+    }
+
+    private void onFailure(Operation operation) {
+        if (operation.lowPriority) {
+            // Ağır tanılama sorgusunun zaman aşımı kümenin sağlıksız olduğunu göstermez
+            breaker.onIgnored();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    private <T> boolean submitHedge(ExecutorCompletionService<T> completion, List<Future<T>> attempts, Supplier<T> call) {
+        try {
+            attempts.add(completion.submit(tracer.wrap(call::get)));
+            hedges.incrementAndGet();
+            tracer.current().attribute("hedged", true);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Havuz doluysa ilk isteği beklemeye devam et
+            return false;
+        }
+    }
+
+    private Duration budget(Operation operation) {
+        return switch (operation) {
+            case POINT_READ -> properties.getPointReadBudget();
+            case SEARCH -> properties.getSearchBudget();
+            case AGGREGATION -> properties.getAggregationBudget();
+            case WRITE -> properties.getWriteBudget();
+            case BULK_WRITE -> properties.getBulkWriteBudget();
+            case PROFILE -> properties.getProfileBudget();
+        };
+    }
+
+    /**
+     * Hedge gecikmesi: ölçülen gecikme yüzdeliği, en az hedgeMinDelay
+     * Yeterli ölçüm yoksa bütçenin yarısı kullanılır
+     */
+    private long hedgeDelayNanos(Operation operation) {
+        LatencyWindow window = latencies.get(operation);
+        long minDelay = properties.getHedgeMinDelay().toNanos();
+        if (window.count() < 20) {
+            return Math.max(minDelay, budget(operation).toNanos() / 2);
+        }
+        return Math.max(minDelay, window.percentile(properties.getHedgePercentile()));
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static boolean isClientError(RuntimeException e) {
+        if (e instanceof UncategorizedElasticsearchException uncategorized && uncategorized.getStatusCode() != null) {
+            int status = uncategorized.getStatusCode();
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+        if (e instanceof co.elastic.clients.elasticsearch._types.ElasticsearchException elastic) {
+            int status = elastic.status();
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+        return e instanceof IllegalArgumentException;
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * Devre kesici ve gecikme istatistikleri
+     * 
+     * @return Map<String, Object> - Durum, hata oranı, sayaçlar ve işlem bazında p50/p95/p99 (ms)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("breakerState", breaker.getState());
+        stats.put("failureRate", breaker.failureRate());
+        stats.put("retryAfterMs", breaker.remainingOpen().toMillis());
+        stats.put("activeCalls", executor.getActiveCount());
+        stats.put("timeouts", timeouts.get());
+        stats.put("rejected", rejected.get());
+        stats.put("hedges", hedges.get());
+        stats.put("staleServed", staleServed.get());
+        stats.put("staleEntries", staleResults.size());
+        Map<String, Object> latencyStats = new LinkedHashMap<>();
+        latencies.forEach((operation, window) -> {
+            if (window.count() > 0) {
+                Map<String, Object> percentiles = new LinkedHashMap<>();
+                percentiles.put("p50", window.percentile(50) / 1_000_000.0);
+                percentiles.put("p95", window.percentile(95) / 1_000_000.0);
+                percentiles.put("p99", window.percentile(99) / 1_000_000.0);
+                latencyStats.put(operation.name(), percentiles);
+            }
+        });
+        stats.put("latencyMs", latencyStats);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,184 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.HotKeyProperties;
+import com.elastic_search.Elastic.Search.dto.HotKeySnapshot;
+import com.elastic_search.Elastic.Search.util.HeavyHitters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HotKeyTracker - En Sık Erişilen Ürün ve Sorguların Takibi
+ * 
+ * Ürün okuma ve arama endpoint'lerine gelen istekleri count-min sketch
+ * ile sayar ve en sık k ürünü/sorguyu tutar. Sayaçlar decayInterval
+ * aralıkla yarıya indirilir, böylece liste güncel trafiği yansıtır.
+ * 
+ * Kapanışta en sık anahtarlar diske yazılır; HotKeyWarmup açılışta
+ * bu snapshot'ı okuyarak önbellekleri ısıtır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class HotKeyTracker {
+    
+    public static final String SEARCH = "search";
+    public static final String FUZZY = "fuzzy";
+    
+    private final HotKeyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HeavyHitters products;
+    private final HeavyHitters queries;
+    private final ScheduledExecutorService decayer;
+    private volatile Map<String, Object> lastPreload = Map.of();
+    
+    public HotKeyTracker(HotKeyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.products = new HeavyHitters(properties.getSketchDepth(), properties.getSketchWidth(), properties.getTopK());
+        this.queries = new HeavyHitters(properties.getSketchDepth(), properties.getSketchWidth(), properties.getTopK());
+        this.decayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getDecayInterval().toMillis();
+        decayer.scheduleAtFixedRate(() -> {
+            products.decay();
+            queries.decay();
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    // ==================== KAYIT ====================
+    
+    /**
+     * Ürün okumasını kaydeder
+     * 
+     * @param id Ürün ID'si
+     */
+    public void recordProduct(String id) {
+        if (properties.isEnabled() && id != null) {
+            products.add(id);
+        }
+    }
+    
+    /**
+     * Arama sorgusunu kaydeder
+     * 
+     * @param kind Sorgu türü (SEARCH, FUZZY)
+     * @param query Sorgu metni
+     */
+    public void recordQuery(String kind, String query) {
+        if (properties.isEnabled() && query != null && !query.isBlank()) {
+            queries.add(kind + ":" + query.trim());
+        }
+    }
+    
+    // ==================== SNAPSHOT ====================
+    
+    /**
+     * Kapanışta en sık anahtarları diske yazar
+     */
+    @PreDestroy
+    public void shutdown() {
+        decayer.shutdownNow();
+        writeSnapshot();
+    }
+    
+    /**
+     * En sık anahtarları diske yazar
+     * Geçici dosyaya yazılıp atomik olarak taşınır
+     */
+    public void writeSnapshot() {
+        if (!properties.isEnabled() || products.total() + queries.total() == 0) {
+            return;
+        }
+        HotKeySnapshot snapshot = new HotKeySnapshot();
+        snapshot.setSavedAt(Instant.now());
+        snapshot.setProducts(keys(products));
+        snapshot.setQueries(keys(queries));
+        Path path = Paths.get(properties.getSnapshotFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Sık erişilen anahtarlar kaydedildi: {} ürün, {} sorgu",
+                    snapshot.getProducts().size(), snapshot.getQueries().size());
+        } catch (IOException e) {
+            log.warn("Sık erişilen anahtarlar kaydedilemedi: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Diskteki son snapshot'ı okur
+     * 
+     * @return Optional<HotKeySnapshot> - Dosya yoksa veya okunamazsa boş
+     */
+    public Optional<HotKeySnapshot> loadSnapshot() {
+        Path path = Paths.get(properties.getSnapshotFile());
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(path.toFile(), HotKeySnapshot.class));
+        } catch (IOException e) {
+            log.warn("Sık erişilen anahtar snapshot'ı okunamadı: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Son önceden yükleme sonucunu kaydeder (stats() için)
+     */
+    public void recordPreload(Map<String, Object> result) {
+        this.lastPreload = result;
+    }
+    
+    private List<String> keys(HeavyHitters hitters) {
+        return hitters.top(properties.getTopK()).stream().map(Map.Entry::getKey).toList();
+    }
+    
+    // ==================== DURUM ====================
+    
+    /**
+     * En sık ürün ve sorgular
+     * 
+     * @param limit Tür başına döndürülecek anahtar sayısı
+     * @return Map<String, Object> - Tahmini erişim sayılarıyla en sık anahtarlar
+     */
+    public Map<String, Object> stats(int limit) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("productReads", products.total());
+        stats.put("queries", queries.total());
+        stats.put("topProducts", toMap(products.top(limit)));
+        stats.put("topQueries", toMap(queries.top(limit)));
+        stats.put("sketchBytes", products.estimatedBytes() + queries.estimatedBytes());
+        stats.put("lastPreload", lastPreload);
+        return stats;
+    }
+    
+    private static Map<String, Long> toMap(List<Map.Entry<String, Long>> entries) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+}
@@ -0,0 +1,320 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.IdempotencyProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.util.LruCache;
+import com.elastic_search.Elastic.Search.util.SequenceLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * IdempotencyService - Tekrarlanan Yazma İsteklerinin Ayıklanması
+ *
+ * İstemci zaman aşımında aynı isteği aynı Idempotency-Key ile tekrar gönderdiğinde
+ * ürünler ikinci kez oluşturulmaz, ilk isteğin sonucu döner.
+ *
+ * İki katman birlikte çalışır:
+ * - Anahtar tablosu: anahtar -> istek parmak izi + oluşan ürün ID'leri. Bellekte LRU olarak,
+ *   diskte sadece eklenen kayıt dosyasında (SequenceLog) tutulur; açılışta dosyadan yüklenir.
+ *   Tabloda ürünlerin kendisi değil ID'leri tutulur; tekrarlarda ürünler ID ile okunur.
+ * - Belirlenimci ID'ler: ürün ID'si anahtar, parmak izi ve sıradan türetilir. Yazma sadece
+ *   oluşturma (op_type=create) olarak yapılır; kayıt tutulamadığında (çökme) veya anahtar
+ *   tablodan düştüğünde tekrar, mevcut dokümanlarla çakışır ve onlar okunup döndürülür.
+ *   Kopya ürün oluşmaz, sonradan yapılan güncellemeler ezilmez.
+ *
+ * Aynı anahtarla gelen eşzamanlı istekler ilk isteğin sonucunu bekler; farklı anahtarlar
+ * birbirini beklemez, yazma sırasında kilit tutulmaz.
+ * Aynı anahtar farklı bir istek gövdesiyle kullanılırsa istek reddedilir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class IdempotencyService {
+
+    private static final int LOAD_CHUNK = 1_000;
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, Entry> entries;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final SequenceLog journal; // Açılamazsa null - sadece bellek
+    private long lastSequence;
+
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong concurrentReplays = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong journalFailures = new AtomicLong();
+
+    /**
+     * Tekrarlanan isteğin sonucu
+     *
+     * @param products Oluşturulan (veya ilk istekte oluşturulmuş) ürünler
+     * @param replayed İstek daha önce işlendiyse true - hiçbir şey yazılmadı
+     */
+    public record Outcome(List<Product> products, boolean replayed) {
+    }
+
+    /**
+     * Yazma işinin sonucu
+     *
+     * @param products Oluşturulan veya zaten var olan ürünler (istek sırasıyla)
+     * @param ids İstekteki tüm ürünlerin ID'leri (sonradan silinenler dahil)
+     * @param replayed Hiçbir ürün oluşturulmadıysa true - tüm ID'ler zaten vardı
+     */
+    public record Written(List<Product> products, List<String> ids, boolean replayed) {
+    }
+
+    /**
+     * Devam eden istek; aynı anahtarla gelen istekler sonucunu bekler
+     */
+    private record InFlight(String fingerprint, CompletableFuture<Outcome> result) {
+    }
+
+    /**
+     * Kayıt dosyasındaki satır
+     */
+    private record JournalEntry(String scope, String key, String fingerprint, List<String> ids, long createdAt) {
+    }
+
+    /**
+     * Anahtar tablosu kaydı
+     */
+    private record Entry(String fingerprint, List<String> ids, long createdAt) {
+    }
+
+    public IdempotencyService(IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.entries = new LruCache<>(Math.max(1, properties.getCacheSize()));
+        this.journal = properties.isEnabled() ? openJournal() : null;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // ==================== ÇALIŞTIRMA ====================
+
+    /**
+     * İsteği anahtar başına bir kez çalıştırır
+     *
+     * @param scope İşlem türü (ör. "create", "bulk") - farklı işlemlerin anahtarları çakışmaz
+     * @param key İstemcinin Idempotency-Key değeri
+     * @param request İstek gövdesi (parmak izi için JSON'a çevrilir)
+     * @param write Yazma işlemi; verilen fonksiyon sıra numarasından doküman ID'si üretir.
+     *              Ürünleri sadece yoksa oluşturmalı, varsa mevcut halini döndürmelidir
+     * @param load Tekrarlarda ürünleri ID ile okur
+     * @return Outcome - Ürünler ve isteğin tekrar olup olmadığı
+     * @throws IllegalArgumentException Anahtar geçersizse veya başka bir istek gövdesiyle kullanılmışsa
+     */
+    public Outcome execute(String scope, String key, Object request,
+                           Function<IntFunction<String>, Written> write,
+                           Function<List<String>, List<Product>> load) {
+        validateKey(key);
+        String fingerprint = fingerprint(request);
+        String entryKey = scope + '\n' + key;
+        Optional<Outcome> replay = replay(entryKey, key, fingerprint, load);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(entryKey, mine);
+        if (running != null) {
+            return awaitRunning(running, key, fingerprint);
+        }
+        try {
+            // İlk kontrolden sonra tamamlanmış olabilir
+            Outcome outcome = replay(entryKey, key, fingerprint, load).orElseGet(() -> {
+                Written written = write.apply(index -> documentId(scope, key, fingerprint, index));
+                executions.incrementAndGet();
+                long now = System.currentTimeMillis();
+                entries.put(entryKey, new Entry(fingerprint, List.copyOf(written.ids()), now));
+                appendJournal(new JournalEntry(scope, key, fingerprint, written.ids(), now));
+                return new Outcome(written.products(), written.replayed());
+            });
+            mine.result().complete(outcome);
+            return outcome;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(entryKey, mine);
+        }
+    }
+
+    /**
+     * Anahtar tablosunda süresi dolmamış kayıt varsa ürünleri ID ile okur
+     */
+    private Optional<Outcome> replay(String entryKey, String key, String fingerprint,
+                                     Function<List<String>, List<Product>> load) {
+        Entry entry = entries.get(entryKey);
+        if (entry == null || isExpired(entry)) {
+            return Optional.empty();
+        }
+        checkFingerprint(entry.fingerprint(), key, fingerprint);
+        replays.incrementAndGet();
+        return Optional.of(new Outcome(load.apply(entry.ids()), true));
+    }
+
+    /**
+     * Aynı anahtarla devam eden isteğin sonucunu bekler; ilk istek hata verirse aynı hata döner
+     */
+    private Outcome awaitRunning(InFlight running, String key, String fingerprint) {
+        checkFingerprint(running.fingerprint(), key, fingerprint);
+        try {
+            Outcome outcome = running.result().join();
+            concurrentReplays.incrementAndGet();
+            replays.incrementAndGet();
+            return new Outcome(outcome.products(), true);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkFingerprint(String expected, String key, String fingerprint) {
+        if (!expected.equals(fingerprint)) {
+            rejected.incrementAndGet();
+            throw new IllegalArgumentException("Idempotency-Key daha önce farklı bir istek için kullanıldı: " + key);
+        }
+    }
+
+    /**
+     * Anahtardan türetilen doküman ID'si
+     * Parmak izi dahil edilir; süresi dolmuş bir anahtar başka bir gövdeyle tekrar kullanılırsa
+     * eski ürünlerin üzerine yazılmaz
+     */
+    private static String documentId(String scope, String key, String fingerprint, int index) {
+        return UUID.nameUUIDFromBytes((scope + '\n' + key + '\n' + fingerprint + '\n' + index)
+                .getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new IllegalArgumentException("Idempotency-Key boş olamaz ve en fazla "
+                    + properties.getMaxKeyLength() + " karakter olabilir");
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.createdAt() + properties.getTtl().toMillis() < System.currentTimeMillis();
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("İstek gövdesi okunamadı", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==================== KAYIT DOSYASI ====================
+
+    /**
+     * Kayıt dosyasını açar ve süresi dolmamış anahtarları belleğe yükler
+     */
+    private SequenceLog openJournal() {
+        try {
+            SequenceLog opened = new SequenceLog(Paths.get(properties.getJournalFile()), properties.getMaxJournalBytes());
+            long oldest = System.currentTimeMillis() - properties.getTtl().toMillis();
+            int loaded = 0;
+            long after = opened.firstSequence() - 1;
+            List<SequenceLog.Record> records;
+            while (!(records = opened.readAfter(after, LOAD_CHUNK)).isEmpty()) {
+                for (SequenceLog.Record record : records) {
+                    JournalEntry entry = objectMapper.readValue(record.payload(), JournalEntry.class);
+                    if (entry.createdAt() >= oldest) {
+                        entries.put(entry.scope() + '\n' + entry.key(),
+                                new Entry(entry.fingerprint(), entry.ids(), entry.createdAt()));
+                        loaded++;
+                    }
+                }
+                after = records.get(records.size() - 1).sequence();
+            }
+            lastSequence = Math.max(0, opened.lastSequence());
+            log.info("Idempotency kaydı açıldı: {} ({} anahtar yüklendi)", properties.getJournalFile(), loaded);
+            return opened;
+        } catch (IOException e) {
+            log.warn("Idempotency kaydı açılamadı, sadece bellek kullanılacak: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Kaydı dosyaya ekler; yazılamazsa belirlenimci ID'ler kopyaları yine önler
+     */
+    private void appendJournal(JournalEntry entry) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            synchronized (journal) {
+                journal.append(++lastSequence, objectMapper.writeValueAsString(entry));
+                journal.flush();
+            }
+        } catch (IOException e) {
+            journalFailures.incrementAndGet();
+            log.warn("Idempotency kaydı diske yazılamadı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Idempotency istatistikleri
+     *
+     * @return Map<String, Object> - Anahtar sayısı, tekrar ve ret sayaçları, kayıt dosyası boyutu
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("keys", entries.size());
+        stats.put("inFlight", inFlight.size());
+        stats.put("executions", executions.get());
+        stats.put("replays", replays.get());
+        stats.put("concurrentReplays", concurrentReplays.get());
+        stats.put("rejected", rejected.get());
+        stats.put("journalBytes", journal == null ? 0 : journal.sizeBytes());
+        stats.put("journalFailures", journalFailures.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Idempotency kaydı kapatılamadı: {}", e.getMessage());
+            }
+        }
+    }
+}
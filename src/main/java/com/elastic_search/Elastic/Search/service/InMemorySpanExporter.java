@@ -0,0 +1,74 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.TracingProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InMemorySpanExporter - Örneklenen Trace'leri Bellekte Tutar
+ * 
+ * Harici bir toplayıcı olmadan son maxTraces trace'i sunar.
+ * Dolduğunda en eski trace çıkarılır.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+public class InMemorySpanExporter {
+    
+    private final TracingProperties properties;
+    private final Deque<Tracer.Trace> traces = new ArrayDeque<>();
+    private final AtomicLong exported = new AtomicLong();
+    
+    public InMemorySpanExporter(TracingProperties properties) {
+        this.properties = properties;
+    }
+    
+    synchronized void export(Tracer.Trace trace) {
+        traces.addFirst(trace);
+        while (traces.size() > properties.getMaxTraces()) {
+            traces.removeLast();
+        }
+        exported.incrementAndGet();
+    }
+    
+    /**
+     * Son trace'lerin özeti
+     * 
+     * @param limit Döndürülecek trace sayısı
+     * @return Map<String, Object> - Örnekleme oranı ve en yeniden eskiye trace özetleri
+     */
+    public Map<String, Object> recent(int limit) {
+        List<Tracer.Trace> snapshot;
+        synchronized (this) {
+            snapshot = traces.stream().limit(limit).toList();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", properties.isEnabled());
+        result.put("sampleRate", properties.getSampleRate());
+        result.put("exported", exported.get());
+        result.put("traces", snapshot.stream().map(Tracer.Trace::summary).toList());
+        return result;
+    }
+    
+    /**
+     * Tek bir trace'in tüm span'leri
+     * 
+     * @param traceId 32 karakterlik trace kimliği
+     * @return Optional<Map<String, Object>> - Bulunamazsa (veya çıkarıldıysa) boş
+     */
+    public Optional<Map<String, Object>> find(String traceId) {
+        Tracer.Trace trace;
+        synchronized (this) {
+            trace = traces.stream().filter(t -> t.traceId().equals(traceId)).findFirst().orElse(null);
+        }
+        return Optional.ofNullable(trace).map(Tracer.Trace::details);
+    }
+}
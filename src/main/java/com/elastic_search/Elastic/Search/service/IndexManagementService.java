@@ -0,0 +1,913 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.SlicesCalculation;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.SegmentSortOrder;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.RoutingProperties;
+import com.elastic_search.Elastic.Search.config.SimilarityProperties;
+import com.elastic_search.Elastic.Search.dto.ReindexCheckpoint;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.util.ProductEmbedding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * IndexManagementService - İndeks Yönetim Servisi
+ * 
+ * Ürünler products_vN adlı versiyonlu fiziksel indekslerde saklanır:
+ * - products       : okuma alias'ı (repository ve aramalar)
+ * - products-write : yazma alias'ı (kaydetme ve silme işlemleri)
+ * 
+ * Yeniden indeksleme kesintisiz yapılır:
+ * 1. Yeni indeks bulk-load ayarlarıyla (refresh kapalı, replica 0) oluşturulur; trafik almaz
+ * 2. Eski indeks sliced _reindex ile kopyalanır. Alias'lar eski indekste kalır; bu sırada
+ *    yazılan ve silinen ürünlerin ID'leri bellekte tutulur (trackedWrite)
+ * 3. Ayarlar geri yüklenir; değişen ID'ler eski indeksten okunup yeni indekse yazılır,
+ *    eski indekste bulunamayanlar yeni indeksten silinir
+ * 4. Yazmalar kısa süre durdurulur, kalan değişiklikler kopyalanır ve iki alias
+ *    tek bir atomik işlemle yeni indekse taşınır
+ * 
+ * Yeni indeks alias alana kadar hiçbir yazma almadığı için kopyalar uygulama yazmalarını
+ * ezmez; okumalar ve yazmalar her an aynı indekse gider. Her aşama checkpoint dosyasına
+ * yazılır; değişiklik takibi bellekte olduğundan yarım kalan işlem devam ettirilmez,
+ * yarım hedef indeks silinip baştan başlatılır.
+ * 
+ * Sadece bu uygulama örneğinin yazmaları takip edilir. Birden fazla örnek aynı indekse
+ * yazıyorsa yeniden indeksleme sırasında diğer örneklerin yazmaları durdurulmalıdır.
+ * 
+ * Kategori routing'i açıksa yeni indeksler _routing zorunlu olarak oluşturulur ve
+ * kopyalama sırasında her dokümanın routing'i kategorisinden yeniden hesaplanır.
+ * 
+ * Ürün deposu (PostgreSQL) açıksa yeni indeks Elasticsearch taranmadan depodan
+ * yeniden inşa edilir (startRebuild).
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class IndexManagementService {
+    private static final String BULK_LOAD_REFRESH_INTERVAL = "-1";
+    /**
+     * İndeks sıralaması: kategori içinde fiyata göre sıralı sorgular erken sonlanabilir
+     */
+    public static final List<String> INDEX_SORT_FIELDS = List.of("category", "priceMinor");
+    private static final String ROUTING_SCRIPT = "ctx._routing = ctx._source.category";
+    private static final int CATCH_UP_BATCH = 1_000;
+    private static final int MAX_CATCH_UP_PASSES = 10;
+    /**
+     * Yazmalar durdurulmadan önce kalan değişiklik sayısının inmesi beklenen sınır
+     */
+    private static final int FENCED_CATCH_UP_LIMIT = 1_000;
+    private static final int VERSION_CONFLICT = 409;
+    /**
+     * Benzer ürün vektörünün alanı (Product.embedding)
+     */
+    public static final String EMBEDDING_FIELD = "embedding";
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexProperties properties;
+    private final RoutingProperties routingProperties;
+    private final SimilarityProperties similarityProperties;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+
+    private final ExecutorService reindexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reindexRunning = new AtomicBoolean();
+    private final AtomicInteger bulkLoadDepth = new AtomicInteger();
+    private volatile boolean aliasesReady;
+    private final Map<String, Boolean> routingRequired = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> lastRebuild;
+
+    /**
+     * Yazmalar okuma kilidini, alias taşıma anı yazma kilidini alır
+     */
+    private final ReentrantReadWriteLock writeFence = new ReentrantReadWriteLock();
+    private volatile Set<String> changedIds; // Yeniden indeksleme sürmüyorsa null
+    private volatile boolean trackingLost;
+
+    /**
+     * Yeni indeksi dış bir kaynaktan dolduran iş
+     */
+    @FunctionalInterface
+    public interface IndexLoader {
+
+        /**
+         * @param index Doldurulacak fiziksel indeks adı
+         * @return Yazılan doküman sayısı
+         */
+        long load(String index) throws Exception;
+    }
+
+    // ==================== ALIAS YÖNETİMİ ====================
+
+    /**
+     * Yazma işlemleri için indeks koordinatları
+     * Alias'lar henüz yoksa önce oluşturulur
+     * 
+     * @return IndexCoordinates - Yazma alias'ı
+     */
+    public IndexCoordinates writeCoordinates() {
+        ensureAliases();
+        return IndexCoordinates.of(properties.getWriteAlias());
+    }
+
+    /**
+     * Okuma ve yazma alias'larının var olduğundan emin olur
+     * - Hiç indeks yoksa products_v1 oluşturulur
+     * - Eski sürümden kalma "products" adlı fiziksel indeks varsa products_v1'e taşınır
+     * - Sadece yazma alias'ı eksikse okuma alias'ının indeksine eklenir
+     * Hazırlık bir kez yapılır; sonraki çağrılar kilit almadan döner (double-checked)
+     */
+    public void ensureAliases() {
+        if (aliasesReady) {
+            return;
+        }
+        synchronized (this) {
+            if (!aliasesReady) {
+                prepareAliases();
+            }
+        }
+    }
+
+    private void prepareAliases() {
+        String readAlias = properties.getReadAlias();
+        String writeAlias = properties.getWriteAlias();
+        try {
+            if (aliasExists(readAlias)) {
+                if (!aliasExists(writeAlias)) {
+                    String current = resolveSingleIndex(readAlias);
+                    client.indices().updateAliases(u -> u
+                            .actions(a -> a.add(add -> add.index(current).alias(writeAlias))));
+                    log.info("Yazma alias'ı {} -> {} eklendi", writeAlias, current);
+                }
+            } else if (client.indices().exists(e -> e.index(readAlias)).value()) {
+                migrateLegacyIndex(readAlias);
+            } else {
+                String first = nextPhysicalName();
+                createIndex(first, false);
+                client.indices().updateAliases(u -> u
+                        .actions(a -> a.add(add -> add.index(first).alias(readAlias)))
+                        .actions(a -> a.add(add -> add.index(first).alias(writeAlias))));
+                log.info("{} indeksi {} ve {} alias'larıyla oluşturuldu", first, readAlias, writeAlias);
+            }
+            aliasesReady = true;
+            routingRequired.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("İndeks alias'ları hazırlanamadı", e);
+        }
+    }
+
+    /**
+     * Alias'sız eski indeksi versiyonlu indekse taşır
+     * Alias adı mevcut bir indeks adıyla çakışamayacağı için eski indeks
+     * alias'ların eklendiği aynı atomik işlemde silinir.
+     */
+    private void migrateLegacyIndex(String legacyIndex) throws IOException {
+        String first = nextPhysicalName();
+        log.info("Eski {} indeksi {} indeksine taşınıyor", legacyIndex, first);
+        createIndex(first, true);
+        try {
+            if (!awaitTask(submitReindex(legacyIndex, first))) {
+                throw new IllegalStateException(legacyIndex + " taşıma task'ı bulunamadı");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(legacyIndex + " taşınırken kesildi", e);
+        }
+        applySettings(first, properties.getReplicas(), properties.getRefreshInterval());
+        client.indices().refresh(r -> r.index(first));
+        client.indices().updateAliases(u -> u
+                .actions(a -> a.removeIndex(remove -> remove.index(legacyIndex)))
+                .actions(a -> a.add(add -> add.index(first).alias(properties.getReadAlias())))
+                .actions(a -> a.add(add -> add.index(first).alias(properties.getWriteAlias()))));
+    }
+
+    private boolean aliasExists(String alias) throws IOException {
+        return client.indices().existsAlias(e -> e.name(alias)).value();
+    }
+
+    private String resolveSingleIndex(String alias) throws IOException {
+        List<String> indices = new ArrayList<>(client.indices().getAlias(g -> g.name(alias)).result().keySet());
+        if (indices.size() != 1) {
+            throw new IllegalStateException(alias + " alias'ı tek bir indekse işaret etmiyor: " + indices);
+        }
+        return indices.get(0);
+    }
+
+    private List<String> resolveIndices(String alias) throws IOException {
+        if (!aliasExists(alias)) {
+            return List.of();
+        }
+        return new ArrayList<>(client.indices().getAlias(g -> g.name(alias)).result().keySet());
+    }
+
+    /**
+     * Bir sonraki versiyonlu indeks adını üretir (products_v1, products_v2 ...)
+     */
+    private String nextPhysicalName() throws IOException {
+        String prefix = properties.getReadAlias() + "_v";
+        int maxVersion = 0;
+        for (String index : client.indices().get(g -> g.index(prefix + "*").allowNoIndices(true)).result().keySet()) {
+            try {
+                maxVersion = Math.max(maxVersion, Integer.parseInt(index.substring(prefix.length())));
+            } catch (NumberFormatException ignored) {
+                // products_vX şablonuna uymayan indeksler atlanır
+            }
+        }
+        return prefix + (maxVersion + 1);
+    }
+
+    // ==================== İNDEKS AYARLARI ====================
+
+    /**
+     * Product mapping'i ve yapılandırılmış shard/replica/refresh ayarlarıyla indeks oluşturur
+     * Segmentler (category, priceMinor) sırasıyla saklanır; bu ayar sadece indeks oluştururken verilebilir
+     * 
+     * @param name Fiziksel indeks adı
+     * @param bulkLoad true ise refresh kapalı ve replica 0 ile oluşturulur
+     */
+    private void createIndex(String name, boolean bulkLoad) throws IOException {
+        Document mapping = productMapping();
+        boolean routed = routingProperties.isEnabled();
+        if (routed) {
+            // Routing'siz yazma ve ID ile okuma yanlış shard'a gitmesin diye reddedilir
+            mapping.put("_routing", Map.of("required", true));
+        }
+        Integer partitionSize = routed ? routingPartitionSize() : null;
+        client.indices().create(c -> c
+                .index(name)
+                .settings(s -> s
+                        .numberOfShards(String.valueOf(properties.getShards()))
+                        .numberOfReplicas(String.valueOf(bulkLoad ? 0 : properties.getReplicas()))
+                        .refreshInterval(t -> t.time(bulkLoad ? BULK_LOAD_REFRESH_INTERVAL : properties.getRefreshInterval()))
+                        .routingPartitionSize(partitionSize)
+                        .sort(o -> o
+                                .field(INDEX_SORT_FIELDS)
+                                .order(SegmentSortOrder.Asc, SegmentSortOrder.Asc)))
+                .mappings(m -> m.withJson(new StringReader(mapping.toJson()))));
+    }
+
+    /**
+     * Product mapping'i
+     * Spring Data dense_vector için sadece dims üretir; vektör alanına benzerlik ve
+     * HNSW ayarları (quantized ise int8_hnsw) burada eklenir
+     * 
+     * @return Document - Yeni indekslere ve mapping güncellemelerine verilecek mapping
+     */
+    public Document productMapping() {
+        Document mapping = elasticsearchOperations.indexOps(Product.class).createMapping(Product.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> fields = (Map<String, Object>) mapping.get("properties");
+        if (fields != null && fields.containsKey(EMBEDDING_FIELD)) {
+            Map<String, Object> vector = new LinkedHashMap<>();
+            vector.put("type", "dense_vector");
+            vector.put("dims", ProductEmbedding.DIMENSIONS);
+            vector.put("index", true);
+            // Vektörler birim uzunlukta üretildiği için dot_product kosinüsle aynı sonucu daha ucuza verir
+            vector.put("similarity", "dot_product");
+            vector.put("index_options", Map.of(
+                    "type", similarityProperties.isQuantized() ? "int8_hnsw" : "hnsw",
+                    "m", similarityProperties.getHnswM(),
+                    "ef_construction", similarityProperties.getHnswEfConstruction()));
+            fields.put(EMBEDDING_FIELD, vector);
+        }
+        return mapping;
+    }
+
+    /**
+     * Routing bölüm boyutu
+     * 1 veya shard sayısından büyük/eşit değerler uygulanmaz (Elasticsearch indeksi reddeder)
+     */
+    private Integer routingPartitionSize() {
+        int partitionSize = routingProperties.getPartitionSize();
+        if (partitionSize <= 1) {
+            return null;
+        }
+        if (partitionSize >= properties.getShards()) {
+            log.warn("product.routing.partition-size ({}) shard sayısından ({}) küçük olmalı, bölümleme uygulanmadı",
+                    partitionSize, properties.getShards());
+            return null;
+        }
+        return partitionSize;
+    }
+
+    /**
+     * Alias'ın işaret ettiği indeks _routing zorunlu olarak mı oluşturuldu?
+     * Sonuç alias taşınana kadar önbellekte tutulur; Elasticsearch'e ulaşılamazsa false döner ve saklanmaz
+     * 
+     * @param alias Okuma veya yazma alias'ı
+     * @return İndeks kategori routing'i kullanıyorsa true
+     */
+    public boolean isRoutingRequired(String alias) {
+        Boolean cached = routingRequired.get(alias);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            boolean required = client.indices().getMapping(g -> g.index(alias)).result().values().stream()
+                    .anyMatch(index -> index.mappings().routing() != null
+                            && Boolean.TRUE.equals(index.mappings().routing().required()));
+            routingRequired.put(alias, required);
+            return required;
+        } catch (IOException | ElasticsearchException e) {
+            log.debug("{} indeksinin routing ayarı okunamadı: {}", alias, e.getMessage());
+            return false;
+        }
+    }
+
+    private void applySettings(String index, int replicas, String refreshInterval) throws IOException {
+        client.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s
+                        .numberOfReplicas(String.valueOf(replicas))
+                        .refreshInterval(t -> t.time(refreshInterval))));
+    }
+
+    /**
+     * Yapılandırılmış replica ve refresh ayarlarını yazma indeksine uygular
+     * Shard sayısı sadece yeniden indeksleme ile değiştirilebilir
+     */
+    public void applyConfiguredSettings() {
+        try {
+            applySettings(resolveSingleIndex(properties.getWriteAlias()), properties.getReplicas(), properties.getRefreshInterval());
+        } catch (IOException e) {
+            throw new UncheckedIOException("İndeks ayarları uygulanamadı", e);
+        }
+    }
+
+    // ==================== BULK LOAD ====================
+
+    /**
+     * Toplu yükleme modunu açar: refresh kapatılır, replica 0'a çekilir
+     * Sadece yazma indeksi okuma trafiği almıyorsa (ör. depodan yeniden inşa sırasında) uygulanır;
+     * aramalara açık indekste replica kaybı ve görünmeyen yazmalar kabul edilemez.
+     * İç içe ve eşzamanlı çağrılar sayılır; ayarlar son çağrı bitince geri yüklenir
+     * 
+     * @return boolean - Açıldıysa true, yazma indeksi okuma alias'ının arkasındaysa false
+     */
+    public boolean beginBulkLoad() {
+        ensureAliases();
+        try {
+            String writeIndex = resolveSingleIndex(properties.getWriteAlias());
+            if (resolveIndices(properties.getReadAlias()).contains(writeIndex)) {
+                log.warn("{} okuma trafiği aldığı için bulk load modu açılmadı", writeIndex);
+                return false;
+            }
+            if (bulkLoadDepth.getAndIncrement() > 0) {
+                return true;
+            }
+            applySettings(writeIndex, 0, BULK_LOAD_REFRESH_INTERVAL);
+            log.info("Bulk load modu açıldı");
+            return true;
+        } catch (IOException e) {
+            bulkLoadDepth.decrementAndGet();
+            throw new UncheckedIOException("Bulk load modu açılamadı", e);
+        }
+    }
+
+    /**
+     * Toplu yükleme modunu kapatır, ayarları geri yükler ve indeksi refresh eder
+     */
+    public void endBulkLoad() {
+        if (bulkLoadDepth.get() == 0 || bulkLoadDepth.decrementAndGet() > 0) {
+            return;
+        }
+        try {
+            String index = resolveSingleIndex(properties.getWriteAlias());
+            applySettings(index, properties.getReplicas(), properties.getRefreshInterval());
+            client.indices().refresh(r -> r.index(index));
+            log.info("Bulk load modu kapatıldı");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bulk load ayarları geri yüklenemedi", e);
+        }
+    }
+
+    // ==================== YENİDEN İNDEKSLEME ====================
+
+    /**
+     * Kesintisiz yeniden indekslemeyi arka planda başlatır
+     * Tamamlanmamış bir checkpoint varsa yarım hedef indeksi silinip baştan başlanır
+     * 
+     * @return boolean - Başlatıldıysa true, zaten çalışıyorsa false
+     */
+    @SuppressWarnings("try")
+    public boolean startReindex() {
+        if (!reindexRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        // Tetikleyen isteğin trace'i arka plan işine taşınır
+        reindexExecutor.submit(tracer.wrap(() -> {
+            try (Tracer.Scope ignored = tracer.trace("index.reindex")) {
+                runReindex(loadCheckpoint().filter(checkpoint -> checkpoint.getPhase() != ReindexCheckpoint.Phase.DONE).orElse(null));
+            } finally {
+                reindexRunning.set(false);
+            }
+        }));
+        return true;
+    }
+
+    /**
+     * Açılışta yarım kalmış bir yeniden indeksleme varsa yeniden başlatır
+     */
+    public void resumePendingReindex() {
+        Optional<ReindexCheckpoint> pending = loadCheckpoint()
+                .filter(checkpoint -> checkpoint.getPhase() != ReindexCheckpoint.Phase.DONE);
+        if (pending.isPresent()) {
+            log.info("Yarım kalan yeniden indeksleme yeniden başlatılıyor: {} -> {} ({})",
+                    pending.get().getSource(), pending.get().getTarget(), pending.get().getPhase());
+            startReindex();
+        }
+    }
+
+    private void runReindex(ReindexCheckpoint previous) {
+        ReindexCheckpoint checkpoint = null;
+        try {
+            ensureAliases();
+            if (previous != null) {
+                discardTarget(previous);
+            }
+            checkpoint = new ReindexCheckpoint();
+            checkpoint.setSource(resolveSingleIndex(properties.getWriteAlias()));
+            checkpoint.setTarget(nextPhysicalName());
+            checkpoint.setPhase(ReindexCheckpoint.Phase.COPYING);
+            checkpoint.setStartedAt(Instant.now());
+            // Takip kopyalamadan önce başlar; kopyanın taradığı dokümanlara sonradan gelen yazmalar da yakalanır
+            startTracking();
+            createIndex(checkpoint.getTarget(), true);
+            saveCheckpoint(checkpoint);
+            log.info("Yeniden indeksleme başladı: {} -> {}", checkpoint.getSource(), checkpoint.getTarget());
+
+            copy(checkpoint);
+            String source = checkpoint.getSource();
+            String target = checkpoint.getTarget();
+            applySettings(target, properties.getReplicas(), properties.getRefreshInterval());
+            checkpoint.setPhase(ReindexCheckpoint.Phase.CATCHING_UP);
+            checkpoint.setTaskId(null);
+            saveCheckpoint(checkpoint);
+
+            // Kalan değişiklikler azalana kadar yazmaları durdurmadan kopyala
+            for (int pass = 0; pass < MAX_CATCH_UP_PASSES && changedIds.size() > FENCED_CATCH_UP_LIMIT; pass++) {
+                copyChanged(source, target, drainChanged());
+            }
+            writeFence.writeLock().lock();
+            try {
+                if (trackingLost) {
+                    throw new IllegalStateException("Kopyalama sırasında bir yazma başarısız oldu, değişen ürünler bilinmiyor. Yeniden indekslemeyi tekrar başlatın");
+                }
+                copyChanged(source, target, drainChanged());
+                client.indices().refresh(r -> r.index(target));
+                client.indices().updateAliases(u -> u
+                        .actions(a -> a.remove(remove -> remove.index(source).alias(properties.getReadAlias())))
+                        .actions(a -> a.remove(remove -> remove.index(source).alias(properties.getWriteAlias())))
+                        .actions(a -> a.add(add -> add.index(target).alias(properties.getReadAlias())))
+                        .actions(a -> a.add(add -> add.index(target).alias(properties.getWriteAlias()))));
+                routingRequired.clear();
+            } finally {
+                stopTracking();
+                writeFence.writeLock().unlock();
+            }
+            checkpoint.setPhase(ReindexCheckpoint.Phase.DONE);
+            saveCheckpoint(checkpoint);
+            log.info("Yeniden indeksleme tamamlandı, {} ve {} artık {} indeksine işaret ediyor. Eski indeks {} geri dönüş için saklandı",
+                    properties.getReadAlias(), properties.getWriteAlias(), target, source);
+        } catch (Exception e) {
+            // Alias'lar eski indekste kalır; yarım hedef bir sonraki denemede silinir
+            stopTracking();
+            log.error("Yeniden indeksleme başarısız oldu: {}", e.getMessage(), e);
+            if (checkpoint != null) {
+                checkpoint.setError(e.getMessage());
+                saveCheckpoint(checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Yarım kalmış yeniden indekslemenin task'ını iptal eder ve hedef indeksini siler
+     * Alias almamış hedef hiç trafik almamıştır
+     */
+    private void discardTarget(ReindexCheckpoint previous) throws IOException {
+        if (previous.getTaskId() != null) {
+            try {
+                client.tasks().cancel(c -> c.taskId(previous.getTaskId()).waitForCompletion(true));
+            } catch (ElasticsearchException e) {
+                if (e.status() != 404) {
+                    throw e;
+                }
+            }
+        }
+        String target = previous.getTarget();
+        if (target == null || !client.indices().exists(e -> e.index(target)).value()) {
+            return;
+        }
+        if (resolveIndices(properties.getReadAlias()).contains(target) || resolveIndices(properties.getWriteAlias()).contains(target)) {
+            return;
+        }
+        client.indices().delete(d -> d.index(target));
+        log.info("Yarım kalan yeniden indekslemenin hedefi {} silindi", target);
+    }
+
+    /**
+     * Kaynaktan hedefe kopyalama aşamasını çalıştırır
+     */
+    private void copy(ReindexCheckpoint checkpoint) throws IOException, InterruptedException {
+        checkpoint.setTaskId(submitReindex(checkpoint.getSource(), checkpoint.getTarget()));
+        saveCheckpoint(checkpoint);
+        if (!awaitTask(checkpoint.getTaskId())) {
+            throw new IllegalStateException("Reindex task'ı bulunamadı: " + checkpoint.getTaskId());
+        }
+    }
+
+    /**
+     * Kopyalama başladıktan sonra değişen ürünleri hedefe taşır
+     * Hedef henüz trafik almadığı için kaynaktaki güncel hal versiyon karşılaştırılmadan yazılır;
+     * kaynakta bulunamayan ID'ler (silinen ürünler) hedeften de silinir
+     */
+    private void copyChanged(String source, String target, Set<String> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        client.indices().refresh(r -> r.index(source));
+        boolean routed = routingProperties.isEnabled();
+        List<String> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += CATCH_UP_BATCH) {
+            List<String> batch = all.subList(from, Math.min(all.size(), from + CATCH_UP_BATCH));
+            SearchResponse<JsonData> response = client.search(s -> s
+                    .index(source)
+                    .query(q -> q.ids(i -> i.values(batch)))
+                    .size(batch.size()), JsonData.class);
+            Set<String> deleted = new HashSet<>(batch);
+            List<BulkOperation> operations = new ArrayList<>();
+            for (Hit<JsonData> hit : response.hits().hits()) {
+                deleted.remove(hit.id());
+                // Routing kapalıysa eski kategori routing'i taşınmaz (_reindex'teki "discard" gibi)
+                String routing = routed ? hit.source().toJson().asJsonObject().getString("category", null) : null;
+                operations.add(BulkOperation.of(op -> op.index(i -> i
+                        .index(target)
+                        .id(hit.id())
+                        .routing(routing)
+                        .document(hit.source()))));
+            }
+            if (!operations.isEmpty()) {
+                for (BulkResponseItem item : client.bulk(b -> b.operations(operations)).items()) {
+                    if (item.error() != null && item.status() != VERSION_CONFLICT) {
+                        throw new IllegalStateException("Değişen ürün kopyalanamadı: " + item.id() + " - " + item.error().reason());
+                    }
+                }
+            }
+            if (!deleted.isEmpty()) {
+                // Silinen ürünün kategorisi bilinmez; routing gerektirmeyen ids sorgusuyla silinir
+                client.indices().refresh(r -> r.index(target));
+                client.deleteByQuery(d -> d
+                        .index(target)
+                        .query(q -> q.ids(i -> i.values(List.copyOf(deleted))))
+                        .conflicts(Conflicts.Proceed));
+            }
+        }
+        log.info("Yeniden indeksleme sırasında değişen {} ürün {} indeksine taşındı", ids.size(), target);
+    }
+
+    // ==================== DEĞİŞİKLİK TAKİBİ ====================
+
+    /**
+     * Yazma alias'ına yapılan yazmayı çalıştırır
+     * Yeniden indeksleme sürerken değişen ID'ler kaydedilir; alias'lar taşınırken yazma bekletilir
+     * 
+     * @param write Elasticsearch yazması
+     * @param changed Yazmanın sonucundan değişen (veya silinen) ürün ID'leri
+     * @return Yazmanın sonucu
+     */
+    public <T> T trackedWrite(Supplier<T> write, Function<T, Collection<String>> changed) {
+        writeFence.readLock().lock();
+        try {
+            T result;
+            try {
+                result = write.get();
+            } catch (RuntimeException e) {
+                // Kısmen uygulanmış olabilir; hangi ürünlerin değiştiği bilinmez
+                if (changedIds != null) {
+                    trackingLost = true;
+                }
+                throw e;
+            }
+            Set<String> tracked = changedIds;
+            if (tracked != null) {
+                tracked.addAll(changed.apply(result));
+            }
+            return result;
+        } finally {
+            writeFence.readLock().unlock();
+        }
+    }
+
+    private void startTracking() {
+        trackingLost = false;
+        changedIds = ConcurrentHashMap.newKeySet();
+    }
+
+    private void stopTracking() {
+        changedIds = null;
+    }
+
+    private Set<String> drainChanged() {
+        Set<String> drained = new HashSet<>();
+        Iterator<String> iterator = changedIds.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Sliced _reindex'i arka planda başlatır
+     * External versiyonlama: hedefte aynı veya daha yeni versiyon varsa doküman atlanır
+     * Kategori routing'i açıksa her dokümanın routing'i kategorisinden hesaplanır
+     * 
+     * @return Elasticsearch task kimliği
+     */
+    private String submitReindex(String source, String target) throws IOException {
+        boolean routed = routingProperties.isEnabled();
+        return client.reindex(r -> {
+            r.source(s -> s.index(source))
+                    .dest(d -> {
+                        d.index(target).versionType(VersionType.External);
+                        // Routing kapalıysa eski kategori routing'i taşınmaz, _id'ye göre dağıtılır
+                        return routed ? d : d.routing("discard");
+                    })
+                    .conflicts(Conflicts.Proceed)
+                    .slices(s -> s.computed(SlicesCalculation.Auto))
+                    .waitForCompletion(false);
+            if (routed) {
+                r.script(s -> s.inline(i -> i.source(ROUTING_SCRIPT)));
+            }
+            return r;
+        }).task();
+    }
+
+    /**
+     * Task tamamlanana kadar bekler
+     * 
+     * @return boolean - Task tamamlandıysa true, Elasticsearch task'ı tanımıyorsa false
+     */
+    private boolean awaitTask(String taskId) throws IOException, InterruptedException {
+        while (true) {
+            GetTasksResponse response;
+            try {
+                response = client.tasks().get(g -> g.taskId(taskId));
+            } catch (ElasticsearchException e) {
+                if (e.status() == 404) {
+                    return false;
+                }
+                throw e;
+            }
+            if (response.completed()) {
+                if (response.error() != null) {
+                    throw new IllegalStateException("Reindex task'ı hata verdi: " + response.error().reason());
+                }
+                return true;
+            }
+            Thread.sleep(properties.getTaskPollInterval().toMillis());
+        }
+    }
+
+    /**
+     * Alias'ı tek bir atomik işlemle eski indeksten yeni indekse taşır
+     */
+    private void swapAlias(String alias, String from, String to) throws IOException {
+        client.indices().updateAliases(u -> u
+                .actions(a -> a.remove(remove -> remove.index(from).alias(alias)))
+                .actions(a -> a.add(add -> add.index(to).alias(alias))));
+        routingRequired.remove(alias);
+        log.info("{} alias'ı {} -> {} taşındı", alias, from, to);
+    }
+
+    // ==================== DEPODAN YENİDEN İNŞA ====================
+
+    /**
+     * Yeni indeksi dış kaynaktan (ürün deposu) doldurup alias'ları taşır, arka planda çalışır
+     * 
+     * 1. Yeni indeks bulk-load ayarlarıyla oluşturulur
+     * 2. Yazma alias'ı hemen yeni indekse taşınır: yükleme sırasında gelen değişiklikler
+     *    yeni indekse gider, external versiyonlama sayesinde yükleme onları ezmez
+     * 3. Loader tüm kayıtları yazar, ayarlar geri yüklenir, indeks refresh edilir
+     * 4. Okuma alias'ı atomik olarak taşınır
+     * 
+     * Başarısız olursa yazma alias'ı eski indekse geri alınır, yükleme sırasında yeni indekse
+     * yazılan değişiklikler eski indekse kopyalanır ve yarım indeks silinir.
+     * Checkpoint tutulmaz: yarım kalan inşa baştan başlatılır (kaynak depo olduğu için kayıp olmaz).
+     * Yeniden indekslemeyle aynı anda çalışmaz.
+     * 
+     * @param loader Yeni indeksi dolduran iş
+     * @return boolean - Başlatıldıysa true, yeniden indeksleme/inşa zaten çalışıyorsa false
+     */
+    @SuppressWarnings("try")
+    public boolean startRebuild(IndexLoader loader) {
+        if (!reindexRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        reindexExecutor.submit(tracer.wrap(() -> {
+            try (Tracer.Scope ignored = tracer.trace("index.rebuild")) {
+                runRebuild(loader);
+            } finally {
+                reindexRunning.set(false);
+            }
+        }));
+        return true;
+    }
+
+    private void runRebuild(IndexLoader loader) {
+        // Durum endpoint'i inşa sürerken okuyabilir
+        Map<String, Object> state = new ConcurrentHashMap<>();
+        state.put("startedAt", Instant.now());
+        lastRebuild = state;
+        String writeIndex = null;
+        String target = null;
+        boolean writeMoved = false;
+        try {
+            ensureAliases();
+            String readIndex = resolveSingleIndex(properties.getReadAlias());
+            writeIndex = resolveSingleIndex(properties.getWriteAlias());
+            target = nextPhysicalName();
+            createIndex(target, true);
+            state.put("target", target);
+            // Yükleme sırasında yeni indekse yapılan yazmalar, başarısızlıkta eski indekse geri taşınmak üzere takip edilir
+            writeFence.writeLock().lock();
+            try {
+                swapAlias(properties.getWriteAlias(), writeIndex, target);
+                writeMoved = true;
+                startTracking();
+            } finally {
+                writeFence.writeLock().unlock();
+            }
+            state.put("phase", "LOADING");
+            log.info("Depodan yeniden inşa başladı: {}", target);
+
+            long loaded = loader.load(target);
+            String loadedIndex = target;
+            applySettings(target, properties.getReplicas(), properties.getRefreshInterval());
+            client.indices().refresh(r -> r.index(loadedIndex));
+            swapAlias(properties.getReadAlias(), readIndex, target);
+            stopTracking();
+            state.put("loaded", loaded);
+            state.put("phase", "DONE");
+            state.put("completedAt", Instant.now());
+            log.info("Depodan yeniden inşa tamamlandı: {} doküman, {} artık {} indeksine işaret ediyor. Eski indeks {} saklandı",
+                    loaded, properties.getReadAlias(), target, readIndex);
+        } catch (Exception e) {
+            log.error("Depodan yeniden inşa başarısız oldu: {}", e.getMessage(), e);
+            state.put("phase", "FAILED");
+            state.put("error", e.getMessage());
+            if (target != null) {
+                state.put("rolledBack", rollbackRebuild(writeIndex, target, writeMoved));
+            }
+        }
+    }
+
+    /**
+     * Başarısız inşayı geri alır: yazma alias'ı eski indekse döner, yükleme sırasında yeni indekse
+     * yazılan ürünler eski indekse kopyalanır ve yarım indeks (refresh kapalı, replica 0) silinir.
+     * Okuma alias'ı hiç taşınmadığı için okumalar etkilenmez.
+     * Değişiklikler kopyalanamazsa yarım indeks silinmez, kapatılır; inşa tekrar başlatılmalıdır
+     *
+     * @return boolean - Eski indeks tüm değişiklikleri aldıysa ve yarım indeks silindiyse true
+     */
+    private boolean rollbackRebuild(String writeIndex, String target, boolean writeMoved) {
+        boolean copied = true;
+        writeFence.writeLock().lock();
+        try {
+            if (writeMoved) {
+                swapAlias(properties.getWriteAlias(), target, writeIndex);
+                if (trackingLost) {
+                    log.error("İnşa sırasında bir yazma başarısız oldu, {} indeksine geri taşınacak ürünler bilinmiyor", writeIndex);
+                    copied = false;
+                } else {
+                    copyChanged(target, writeIndex, drainChanged());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Başarısız inşa geri alınamadı ({} -> {}): {}", target, writeIndex, e.getMessage(), e);
+            copied = false;
+        } finally {
+            stopTracking();
+            writeFence.writeLock().unlock();
+        }
+        try {
+            if (copied) {
+                client.indices().delete(d -> d.index(target));
+                log.info("Başarısız inşanın hedefi {} silindi, {} alias'ı {} indeksine geri alındı", target, properties.getWriteAlias(), writeIndex);
+            } else {
+                client.indices().close(c -> c.index(target));
+                log.warn("Başarısız inşanın hedefi {} kapatıldı; eksik değişiklikler için inşayı tekrar başlatın", target);
+            }
+        } catch (Exception e) {
+            log.error("Başarısız inşanın hedefi {} temizlenemedi: {}", target, e.getMessage(), e);
+            return false;
+        }
+        return copied;
+    }
+
+    // ==================== CHECKPOINT ====================
+
+    private Optional<ReindexCheckpoint> loadCheckpoint() {
+        Path path = Paths.get(properties.getCheckpointFile());
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(path.toFile(), ReindexCheckpoint.class));
+        } catch (IOException e) {
+            log.warn("Reindex checkpoint okunamadı: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void saveCheckpoint(ReindexCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(Instant.now());
+        Path path = Paths.get(properties.getCheckpointFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), checkpoint);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Reindex checkpoint yazılamadı: {}", e.getMessage());
+        }
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * İndeks yönetimi durumu
+     * 
+     * @return Map<String, Object> - Alias'lar, bulk load durumu ve son checkpoint
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        try {
+            status.put(properties.getReadAlias(), resolveIndices(properties.getReadAlias()));
+            status.put(properties.getWriteAlias(), resolveIndices(properties.getWriteAlias()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Alias bilgisi alınamadı", e);
+        }
+        status.put("bulkLoadActive", bulkLoadDepth.get() > 0);
+        status.put("reindexRunning", reindexRunning.get());
+        status.put("lastReindex", loadCheckpoint().orElse(null));
+        status.put("lastRebuild", lastRebuild);
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Bekleyen task sorgusu kesilir; checkpoint sayesinde bir sonraki açılışta devam edilir
+        reindexExecutor.shutdownNow();
+    }
+}
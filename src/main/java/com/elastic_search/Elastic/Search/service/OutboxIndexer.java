@@ -0,0 +1,327 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.JsonData;
+import com.elastic_search.Elastic.Search.config.ProductStoreProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import com.elastic_search.Elastic.Search.service.ProductStore.DrainResult;
+import com.elastic_search.Elastic.Search.service.ProductStore.StoredProduct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OutboxIndexer - Ürün Deposundan Elasticsearch'e Toplu Senkronizasyon
+ *
+ * product.store.enabled=true iken PostgreSQL'deki product_outbox tablosunu boşaltır:
+ * - Kayıtlar sırayla alınır, aynı ürünün kayıtları tek bir işleme indirgenir
+ * - Her ürünün o anki hali tek bir _bulk isteğiyle yazılır (silinenler için delete)
+ * - version_type=external: tekrar denenen veya geç kalan yazma yeni veriyi ezemez,
+ *   409 (versiyon çakışması) zaten daha yeni halin indekste olduğu anlamına gelir
+ * - Başarısız ürünler artan beklemeyle tekrar denenir; Elasticsearch erişilemezse
+ *   kayıtlar outbox'ta kalır, yazmalar etkilenmez
+ *
+ * Gecikme metriği: indekse yansımamış en eski değişikliğin yaşı (outbox) ve
+ * son turda yazılan en eski değişikliğin uçtan uca gecikmesi.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class OutboxIndexer {
+
+    private static final int VERSION_CONFLICT = 409;
+    private static final int NOT_FOUND = 404;
+
+    private final ProductStore productStore;
+    private final ProductStoreProperties properties;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final IndexManagementService indexManagementService;
+    private final Tracer tracer;
+    private final ScheduledExecutorService worker;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private final AtomicLong failedRounds = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile Instant lastDrainAt;
+    private volatile String lastError;
+    private int consecutiveFailures;
+
+    public OutboxIndexer(ProductStore productStore, ProductStoreProperties properties,
+                         ElasticsearchClient elasticsearchClient, ElasticsearchOperations elasticsearchOperations,
+                         ElasticsearchGuard elasticsearchGuard, IndexManagementService indexManagementService, Tracer tracer) {
+        this.productStore = productStore;
+        this.properties = properties;
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchGuard = elasticsearchGuard;
+        this.indexManagementService = indexManagementService;
+        this.tracer = tracer;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isEnabled()) {
+            long interval = properties.getOutboxPollInterval().toMillis();
+            worker.scheduleWithFixedDelay(this::drainSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ==================== OUTBOX ====================
+
+    /**
+     * Yazmadan sonra çağrılır; bir sonraki aralığı beklemeden boşaltma başlatılır
+     * Art arda gelen çağrılar tek bir boşaltmaya birleşir
+     */
+    public void wakeUp() {
+        if (properties.isEnabled() && wakeUpPending.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                wakeUpPending.set(false);
+                drainSafely();
+            });
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            failedRounds.incrementAndGet();
+            lastError = e.getMessage();
+            // Depo veya küme uzun süre erişilemezse her turda uyarı yazılmaz
+            if (consecutiveFailures++ == 0) {
+                log.warn("Outbox boşaltılamadı, kayıtlar bir sonraki turda tekrar denenecek: {}", e.getMessage());
+            } else {
+                log.debug("Outbox boşaltılamadı ({}. deneme): {}", consecutiveFailures, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Vadesi gelmiş outbox kayıtları bitene kadar outboxBatchSize'lık turlarla boşaltır
+     *
+     * @return Yazılan ürün sayısı
+     */
+    public synchronized int drain() {
+        int total = 0;
+        while (true) {
+            DrainResult result;
+            try (Tracer.Scope scope = tracer.trace("outbox.drain")) {
+                // Yazma alias'ına yapılan yazmalar takip edilir; başarısız bir inşa onları eski indekse geri taşır
+                result = productStore.drainOutbox(properties.getOutboxBatchSize(), (changes, previousCategories) ->
+                        indexManagementService.trackedWrite(
+                                () -> write(indexManagementService.writeCoordinates().getIndexName(), changes, previousCategories),
+                                failures -> changes.stream().map(change -> change.product().getId()).toList()));
+                scope.span().attribute("claimed", result.claimed());
+            }
+            if (result.claimed() == 0) {
+                return total;
+            }
+            batches.incrementAndGet();
+            lastDrainAt = Instant.now();
+            lastLagMillis = Duration.between(result.oldestCreatedAt(), lastDrainAt).toMillis();
+            total += result.products();
+            if (result.claimed() < properties.getOutboxBatchSize()) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Ürünlerin son halini tek bir _bulk isteğiyle yazar
+     *
+     * @param index Hedef (yazma alias'ı veya yeniden inşa edilen indeks)
+     * @param changes Ürün başına son hal
+     * @param previousCategories Ürün ID'si -> eski kategoriler (routing'de eski kopyalar silinir)
+     * @return Yazılamayan ürün ID'si -> hata
+     */
+    private Map<String, String> write(String index, List<StoredProduct> changes, Map<String, Set<String>> previousCategories) {
+        boolean routed = indexManagementService.isRoutingRequired(index);
+        List<BulkOperation> operations = new ArrayList<>();
+        for (StoredProduct change : changes) {
+            Product product = change.product();
+            String routing = routed ? product.getCategory() : null;
+            if (routed) {
+                for (String previous : previousCategories.getOrDefault(product.getId(), Set.of())) {
+                    if (!previous.equals(routing)) {
+                        operations.add(delete(index, product.getId(), previous, change.version()));
+                    }
+                }
+            }
+            if (change.deleted()) {
+                operations.add(delete(index, product.getId(), routing, change.version()));
+            } else {
+                JsonData document = JsonData.fromJson(
+                        elasticsearchOperations.getElasticsearchConverter().mapObject(product).toJson());
+                operations.add(BulkOperation.of(op -> op.index(i -> i
+                        .index(index)
+                        .id(product.getId())
+                        .routing(routing)
+                        .version(change.version())
+                        .versionType(VersionType.External)
+                        .document(document))));
+            }
+        }
+
+        BulkResponse response = elasticsearchGuard.write(Operation.BULK_WRITE, () -> {
+            try {
+                return elasticsearchClient.bulk(b -> b.operations(operations));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        Map<String, String> failures = new HashMap<>();
+        for (BulkResponseItem item : response.items()) {
+            if (item.error() == null) {
+                (item.operationType() == OperationType.Delete ? deleted : indexed).incrementAndGet();
+            } else if (item.status() == VERSION_CONFLICT) {
+                // İndekste aynı veya daha yeni versiyon var
+                conflicts.incrementAndGet();
+            } else if (item.status() == NOT_FOUND && item.operationType() == OperationType.Delete) {
+                deleted.incrementAndGet();
+            } else {
+                failedItems.incrementAndGet();
+                failures.put(item.id(), item.error().type() + ": " + item.error().reason());
+            }
+        }
+        if (!failures.isEmpty()) {
+            lastError = failures.values().iterator().next();
+            log.warn("{} ürün indekse yazılamadı, tekrar denenecek: {}", failures.size(), lastError);
+        }
+        return failures;
+    }
+
+    private static BulkOperation delete(String index, String id, String routing, long version) {
+        return BulkOperation.of(op -> op.delete(d -> d
+                .index(index)
+                .id(id)
+                .routing(routing)
+                .version(version)
+                .versionType(VersionType.External)));
+    }
+
+    // ==================== YENİDEN İNŞA ====================
+
+    /**
+     * İndeksi Elasticsearch'ü taramadan ürün deposundan yeniden inşa eder (arka planda)
+     *
+     * @return boolean - Başlatıldıysa true, yeniden indeksleme/inşa zaten çalışıyorsa false
+     */
+    public boolean startRebuild() {
+        return indexManagementService.startRebuild(target ->
+                productStore.forEachBatch(properties.getRebuildBatchSize(), page -> {
+                    Map<String, String> failures = write(target, page, Map.of());
+                    if (!failures.isEmpty()) {
+                        throw new IllegalStateException(failures.size() + " ürün yazılamadı: " + failures.values().iterator().next());
+                    }
+                }));
+    }
+
+    /**
+     * Okuma alias'ındaki mevcut ürünleri depoya aktarır ve indeksi depodan yeniden inşa eder
+     * Depoyu ilk kez açarken kullanılır; depoda zaten olan ürünlere dokunulmaz.
+     * Mevcut indeks dahili versiyonlarla yazıldığı için, depo versiyonlarıyla uyumlu olması
+     * adına aktarımın ardından indeks baştan inşa edilir.
+     *
+     * @return Map<String, Object> - Okunan ve depoya eklenen ürün sayısı, inşanın başlatılıp başlatılmadığı
+     */
+    public Map<String, Object> importFromIndex() {
+        long read = 0;
+        long imported = 0;
+        List<Product> batch = new ArrayList<>(properties.getRebuildBatchSize());
+        NativeQuery query = NativeQuery.builder().withQuery(q -> q.matchAll(m -> m)).build();
+        try (SearchHitsIterator<Product> hits = elasticsearchOperations.searchForStream(query, Product.class)) {
+            while (hits.hasNext()) {
+                SearchHit<Product> hit = hits.next();
+                batch.add(hit.getContent());
+                read++;
+                if (batch.size() >= properties.getRebuildBatchSize()) {
+                    imported += productStore.importIfAbsent(batch);
+                    batch.clear();
+                }
+            }
+        }
+        imported += productStore.importIfAbsent(batch);
+        log.info("Ürün deposuna aktarım: {} ürün okundu, {} ürün eklendi", read, imported);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("read", read);
+        result.put("imported", imported);
+        result.put("rebuildStarted", startRebuild());
+        return result;
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * Senkronizasyon durumu
+     *
+     * @return Map<String, Object> - Outbox derinliği ve gecikmesi, sayaçlar ve bağlantı havuzu
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        if (!properties.isEnabled()) {
+            return stats;
+        }
+        try {
+            stats.put("outbox", productStore.outboxStats());
+        } catch (RuntimeException e) {
+            stats.put("outbox", Map.of("error", String.valueOf(e.getMessage())));
+        }
+        stats.put("lastDrainAt", lastDrainAt);
+        stats.put("lastBatchLagMs", lastLagMillis);
+        stats.put("batches", batches.get());
+        stats.put("indexed", indexed.get());
+        stats.put("deleted", deleted.get());
+        stats.put("versionConflicts", conflicts.get());
+        stats.put("failedItems", failedItems.get());
+        stats.put("failedRounds", failedRounds.get());
+        stats.put("lastError", lastError);
+        stats.put("pool", productStore.poolStats());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Outbox kalıcıdır; yazılmamış kayıtlar bir sonraki açılışta boşaltılır
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.ByQueryResponse;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PriceMigrationService - Fiyat Alanı Geçiş Servisi
+ * 
+ * Eski dokümanlarda sadece Double tipindeki price alanı bulunur.
+ * Bu servis mapping'e priceMinor (long, kuruş) alanını ekler ve
+ * update_by_query ile eksik dokümanları yerinde doldurur.
+ * 
+ * İşlem idempotent'tir: sadece priceMinor alanı olmayan dokümanlar güncellenir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class PriceMigrationService {
+    /**
+     * price değerini kuruşa çeviren painless script
+     * Kaynakta string olarak saklanmış fiyatlar da desteklenir
+     */
+    private static final String BACKFILL_SCRIPT =
+            "def p = ctx._source.price; "
+            + "if (p instanceof String) { p = Double.parseDouble(p); } "
+            + "if (p != null) { ctx._source.priceMinor = Math.round(((Number) p).doubleValue() * 100); } "
+            + "else { ctx.op = 'noop'; }";
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexManagementService indexManagementService;
+
+    @Value("${product.price-migration.on-startup:true}")
+    private boolean migrateOnStartup;
+
+    /**
+     * Uygulama açıldığında geçişi otomatik çalıştırır
+     * Elasticsearch erişilemezse uygulama açılmaya devam eder
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.warn("priceMinor geçişi başlangıçta çalıştırılamadı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * priceMinor mapping'ini ekler ve eksik dokümanları doldurur
+     * 
+     * @return Map<String, Object> - Güncellenen, atlanan ve çakışan doküman sayıları
+     */
+    public Map<String, Object> migrate() {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(Product.class);
+        if (!indexOps.exists()) {
+            return Map.of("indexExists", false);
+        }
+
+        // Yeni alan eklemek mevcut mapping ile uyumludur, yeniden indekslemeye gerek yoktur
+        // Mapping IndexManagementService'ten alınır (vektör alanının HNSW ayarları dahil)
+        indexOps.putMapping(indexManagementService.productMapping());
+
+        NativeQuery missingPriceMinor = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .filter(f -> f.exists(e -> e.field("price")))
+                        .mustNot(m -> m.exists(e -> e.field("priceMinor")))))
+                .build();
+
+        UpdateQuery updateQuery = UpdateQuery.builder(missingPriceMinor)
+                .withScript(BACKFILL_SCRIPT)
+                .withLang("painless")
+                .withScriptType(ScriptType.INLINE)
+                .withAbortOnVersionConflict(false)
+                .withRefreshPolicy(RefreshPolicy.IMMEDIATE)
+                .build();
+
+        ByQueryResponse response = elasticsearchOperations.updateByQuery(updateQuery, indexOps.getIndexCoordinates());
+        log.info("priceMinor geçişi tamamlandı: {} güncellendi, {} atlandı, {} çakışma",
+                response.getUpdated(), response.getNoops(), response.getVersionConflicts());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("indexExists", true);
+        result.put("total", response.getTotal());
+        result.put("updated", response.getUpdated());
+        result.put("noops", response.getNoops());
+        result.put("versionConflicts", response.getVersionConflicts());
+        result.put("failures", response.getFailures().size());
+        return result;
+    }
+}
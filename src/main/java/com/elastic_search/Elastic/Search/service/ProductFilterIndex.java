@@ -0,0 +1,701 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.SearchSort;
+import com.elastic_search.Elastic.Search.util.CompactBitmap;
+import com.elastic_search.Elastic.Search.util.PriceUnits;
+import com.elastic_search.Elastic.Search.util.ProductColumnStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ProductFilterIndex - Bellek İçi Filtre İndeksi
+ *
+ * Kategori, tag ve aktiflik durumu için sıkıştırılmış bitmap'ler,
+ * fiyat için ise sıralı primitive bir dizi tutar.
+ * Ürün verisi Product nesneleri yerine kolon bazlı ProductColumnStore'da saklanır.
+ * Serbest metin içermeyen filtre sorguları Elasticsearch'e gitmeden buradan cevaplanır.
+ *
+ * İndeks ProductChangeEvent olaylarıyla artımlı olarak güncellenir,
+ * uygulama açılışında ise Elasticsearch'ten bir kez doldurulur.
+ * Yeniden yükleme boş bir yapıya yapılır ve bitince atomik olarak mevcut yapının yerine geçer;
+ * yükleme sürerken gelen olaylar yeni yapıya da uygulanır.
+ *
+ * İndeks sadece bu JVM'deki yazmaları görür. Birden fazla uygulama örneği varsa diğer
+ * örneklerin yazmaları ancak yeniden yüklemede (POST /api/admin/filter-index/rebuild) yansır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class ProductFilterIndex {
+
+    private static final long NO_PRICE = ProductColumnStore.NO_PRICE;
+
+    /**
+     * Eşleşmeler sıralı fiyat dizisinin en az bu kadarda biriyse fiyat sıralaması diziyi yürür,
+     * daha seyrekse eşleşmeler sınırlı heap ile seçilir
+     */
+    private static final int PRICE_WALK_DENSITY = 8;
+
+    /**
+     * Sıralı sorgunun sayfası
+     *
+     * @param products İstenen sayıda sıralı ürün
+     * @param total Filtreye uyan toplam ürün sayısı
+     */
+    public record TopMatches(List<Product> products, int total) {
+    }
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    /**
+     * İndeksin kullanılıp kullanılmayacağı
+     */
+    @Value("${product.filter-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Sorgulanan yapı; yeniden yüklemede tümüyle değiştirilir
+     */
+    private State state = new State();
+
+    /**
+     * Yeniden yükleme sürerken gelen olaylar (yükleme yoksa null)
+     * Yükleme bitince yeni yapıya uygulanır
+     */
+    private List<ProductChangeEvent> pendingChanges;
+
+    /**
+     * İndeksin Elasticsearch'ten doldurulup doldurulmadığı
+     * Dolmadan önce sorgular Elasticsearch'e yönlendirilir
+     */
+    private volatile boolean ready;
+
+    // ==================== YÜKLEME VE GÜNCELLEME ====================
+
+    /**
+     * Tüm ürünleri Elasticsearch'ten boş bir yapıya yükler ve mevcut yapının yerine koyar
+     * Uygulama hazır olduğunda ve admin isteğiyle çalışır; yükleme sürerken sorgular eski yapıdan cevaplanır.
+     * Hata durumunda eski yapı korunur (açılışta indeks hazır işaretlenmez ve sorgular Elasticsearch'e gider)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            State fresh = new State();
+            fresh.bulkLoading = true;
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                // Olay kaydı başlamadan önce yapılan yazmalar taramada görünsün
+                elasticsearchOperations.indexOps(Product.class).refresh();
+                try (SearchHitsIterator<Product> iterator = elasticsearchOperations.searchForStream(Query.findAll(), Product.class)) {
+                    while (iterator.hasNext()) {
+                        fresh.upsert(iterator.next().getContent());
+                    }
+                }
+                fresh.sortPrices();
+                lock.writeLock().lock();
+                try {
+                    pendingChanges.forEach(fresh::apply);
+                    state = fresh;
+                    ready = true;
+                } finally {
+                    pendingChanges = null;
+                    lock.writeLock().unlock();
+                }
+                log.info("Filtre indeksi {} ürün ile {} ms içinde yüklendi", fresh.store.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.warn("Filtre indeksi yüklenemedi, {}: {}", ready ? "önceki hali kullanılacak" : "sorgular Elasticsearch'e yönlendirilecek",
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ürün yazma olaylarını dinler ve indeksi günceller
+     *
+     * @param event Ürün değişiklik olayı
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            state.apply(event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünü indekse ekler veya mevcut kaydını günceller
+     *
+     * @param product Eklenecek ürün
+     */
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            state.upsert(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünü indeksten çıkarır
+     *
+     * @param productId Silinecek ürünün ID'si
+     */
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== SORGULAMA ====================
+
+    /**
+     * Sıralı filtre sorgusu
+     * Önce sıralamaya göre ilk size ordinal seçilir, sadece bunlar Product nesnesine çevrilir
+     *
+     * @param category Kategori (tam eşleşme)
+     * @param tag Tag (tam eşleşme)
+     * @param minPrice Minimum fiyat (dahil)
+     * @param maxPrice Maksimum fiyat (dahil)
+     * @param activeOnly Sadece aktif ürünler
+     * @param sort Sıralama (RELEVANCE ise ordinal sırası)
+     * @param size Dönecek ürün sayısı
+     * @return İndeks hazırsa sıralı ilk ürünler ve toplam eşleşme, değilse boş Optional
+     */
+    public Optional<TopMatches> top(String category, String tag, BigDecimal minPrice, BigDecimal maxPrice,
+                                    boolean activeOnly, SearchSort sort, int size) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            State current = state;
+            CompactBitmap result = current.matching(category, tag, minPrice, maxPrice, activeOnly);
+            int[] ordinals = current.topOrdinals(result, sort, size);
+            List<Product> products = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                products.add(current.store.get(ordinal));
+            }
+            return Optional.of(new TopMatches(products, result.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtreye uyan ürün sayısı (ürünler okunmaz)
+     *
+     * @param category Kategori (null ise tüm kategoriler)
+     * @param activeOnly Sadece aktif ürünler
+     * @return İndeks hazırsa ürün sayısı, değilse boş Optional
+     */
+    public Optional<Integer> count(String category, boolean activeOnly) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            State current = state;
+            CompactBitmap result = activeOnly ? current.active : current.live;
+            if (category == null) {
+                return Optional.of(result.cardinality());
+            }
+            CompactBitmap categoryBitmap = current.categories.get(category);
+            return Optional.of(categoryBitmap == null ? 0 : result.and(categoryBitmap).cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ürünün kategorisi
+     * Kategori routing'inde ID ile okuma ve silmenin hangi shard'a gideceğini belirler
+     *
+     * @param productId Ürün ID'si
+     * @return İndeks hazırsa ve ürün biliniyorsa kategori, değilse boş Optional
+     */
+    public Optional<String> categoryOf(String productId) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int ordinal = state.store.ordinalOf(productId);
+            return ordinal < 0 ? Optional.empty() : Optional.ofNullable(state.store.category(ordinal));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * İndeks hazır mı?
+     *
+     * @return Sorgulara cevap verebiliyorsa true
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * İndeks istatistikleri
+     *
+     * @return Ürün, kategori, tag sayıları ve yaklaşık bellek kullanımı
+     */
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            State current = state;
+            long bitmapBytes = current.live.estimatedBytes() + current.active.estimatedBytes();
+            for (CompactBitmap bitmap : current.categories.values()) {
+                bitmapBytes += bitmap.estimatedBytes();
+            }
+            for (CompactBitmap bitmap : current.tags.values()) {
+                bitmapBytes += bitmap.estimatedBytes();
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("ready", ready);
+            stats.put("rebuilding", pendingChanges != null);
+            stats.put("products", current.store.size());
+            stats.put("activeProducts", current.active.cardinality());
+            stats.put("categories", current.categories.size());
+            stats.put("tags", current.tags.size());
+            stats.put("bitmapBytes", bitmapBytes);
+            stats.put("priceArrayBytes", current.sortedPrices.length * 12L);
+            stats.put("columnStoreBytes", current.store.estimatedBytes());
+            stats.put("equivalentProductObjectBytes", current.store.estimatedObjectBytes());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * İndeks yapısı: ordinal'ler, bitmap'ler, sıralı fiyat dizisi ve kolon deposu
+     * Thread-safe değildir; paylaşılan yapı dış kilitle korunur, yeniden yüklenen yapı tek thread'de doldurulur
+     */
+    private static final class State {
+
+        // ==================== ORDINAL YÖNETİMİ ====================
+
+        private final ProductColumnStore store = new ProductColumnStore(1024); // Ürün ID <-> ordinal ve ürün kolonları
+        private int[] freeOrdinals = new int[64]; // Silinen ürünlerden boşalan ordinal'ler
+        private int freeCount;
+        private int nextOrdinal;
+
+        // ==================== BITMAP'LER ====================
+
+        private final CompactBitmap live = new CompactBitmap(); // İndeksteki tüm ürünler
+        private final CompactBitmap active = new CompactBitmap(); // isActive=true olan ürünler
+        private final Map<String, CompactBitmap> categories = new HashMap<>();
+        private final Map<String, CompactBitmap> tags = new HashMap<>();
+
+        // ==================== SIRALI FİYAT DİZİSİ ====================
+
+        private long[] sortedPrices = new long[1024]; // Artan sırada fiyatlar
+        private int[] sortedOrdinals = new int[1024]; // sortedPrices ile aynı sırada ordinal'ler
+        private int sortedCount;
+
+        /**
+         * Toplu yüklemede fiyatlar sıralı diziye tek tek eklenmez (her ekleme O(n) kaydırma yapar);
+         * yükleme bitince sortPrices() ile bir kez sıralanır
+         */
+        private boolean bulkLoading;
+
+        void apply(ProductChangeEvent event) {
+            if (event.getType() == ProductChangeEvent.Type.DELETED) {
+                remove(event.getProductId());
+            } else {
+                upsert(event.getProduct());
+            }
+        }
+
+        void upsert(Product product) {
+            if (product == null || product.getId() == null) {
+                return;
+            }
+            int ordinal = store.ordinalOf(product.getId());
+            if (ordinal >= 0) {
+                unindex(ordinal);
+            } else {
+                ordinal = allocateOrdinal();
+            }
+            index(ordinal, product);
+        }
+
+        void remove(String productId) {
+            int ordinal = store.ordinalOf(productId);
+            if (ordinal >= 0) {
+                unindex(ordinal);
+                releaseOrdinal(ordinal);
+            }
+        }
+
+        /**
+         * Filtreye uyan ordinal'ler
+         */
+        CompactBitmap matching(String category, String tag, BigDecimal minPrice, BigDecimal maxPrice, boolean activeOnly) {
+            CompactBitmap result = activeOnly ? active : live;
+            if (category != null) {
+                result = result.and(categories.getOrDefault(category, new CompactBitmap()));
+            }
+            if (tag != null) {
+                result = result.and(tags.getOrDefault(tag, new CompactBitmap()));
+            }
+            if (minPrice != null || maxPrice != null) {
+                result = applyPriceRange(result,
+                        minPrice == null ? Long.MIN_VALUE + 1 : PriceUnits.lowerBoundMinor(minPrice),
+                        maxPrice == null ? Long.MAX_VALUE : PriceUnits.upperBoundMinor(maxPrice));
+            }
+            return result;
+        }
+
+        /**
+         * Eşleşmelerden sıralamaya göre ilk size ordinal
+         * Değeri olmayan ürünler sona düşer, eşitlikte ordinal sırası korunur
+         */
+        int[] topOrdinals(CompactBitmap matches, SearchSort sort, int size) {
+            int limit = Math.min(size, matches.cardinality());
+            if (limit <= 0) {
+                return new int[0];
+            }
+            if (sort.getComparator() == null) {
+                int[] first = new int[limit];
+                int[] count = new int[1];
+                matches.forEach(ordinal -> {
+                    if (count[0] < limit) {
+                        first[count[0]++] = ordinal;
+                    }
+                });
+                return first;
+            }
+            boolean priceSort = sort == SearchSort.PRICE_ASC || sort == SearchSort.PRICE_DESC;
+            if (priceSort && matches.cardinality() * PRICE_WALK_DENSITY >= sortedCount) {
+                return walkPrices(matches, sort == SearchSort.PRICE_ASC, limit);
+            }
+
+            // Kökte en kötü aday tutulur; daha iyi aday gelirse yerini alır
+            Comparator<Ranked> order = Ranked.ORDER;
+            PriorityQueue<Ranked> heap = new PriorityQueue<>(limit + 1, order.reversed());
+            matches.forEach(ordinal -> {
+                Ranked candidate = rank(ordinal, sort);
+                if (heap.size() < limit) {
+                    heap.add(candidate);
+                } else if (order.compare(candidate, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            });
+            int[] ordinals = new int[heap.size()];
+            for (int i = ordinals.length - 1; i >= 0; i--) {
+                ordinals[i] = heap.poll().ordinal();
+            }
+            return ordinals;
+        }
+
+        /**
+         * Sıralı fiyat dizisini baştan (artan) veya sondan (azalan) yürüyerek eşleşmeleri toplar
+         * Yeterli fiyatlı ürün yoksa fiyatsız eşleşmeler ordinal sırasıyla eklenir
+         */
+        private int[] walkPrices(CompactBitmap matches, boolean ascending, int limit) {
+            int[] ordinals = new int[limit];
+            int count = 0;
+            for (int i = 0; i < sortedCount && count < limit; i++) {
+                int ordinal = sortedOrdinals[ascending ? i : sortedCount - 1 - i];
+                if (matches.contains(ordinal)) {
+                    ordinals[count++] = ordinal;
+                }
+            }
+            if (count < limit) {
+                int[] filled = {count};
+                matches.forEach(ordinal -> {
+                    if (filled[0] < limit && store.price(ordinal) == NO_PRICE) {
+                        ordinals[filled[0]++] = ordinal;
+                    }
+                });
+                count = filled[0];
+            }
+            return count == limit ? ordinals : Arrays.copyOf(ordinals, count);
+        }
+
+        /**
+         * Sıralama anahtarı: küçük anahtar önce gelir, değeri olmayan ürünler Long.MAX_VALUE alır
+         */
+        private Ranked rank(int ordinal, SearchSort sort) {
+            return switch (sort) {
+                case PRICE_ASC -> new Ranked(ordinal, orLast(store.price(ordinal), NO_PRICE, false), null);
+                case PRICE_DESC -> new Ranked(ordinal, orLast(store.price(ordinal), NO_PRICE, true), null);
+                case STOCK_DESC -> new Ranked(ordinal, orLast(store.stock(ordinal), ProductColumnStore.NO_STOCK, true), null);
+                case NEWEST -> new Ranked(ordinal, orLast(store.createdAt(ordinal), ProductColumnStore.NO_TIME, true), null);
+                case NAME_ASC -> {
+                    String name = store.name(ordinal);
+                    yield new Ranked(ordinal, name == null ? Long.MAX_VALUE : 0, name);
+                }
+                case RELEVANCE -> new Ranked(ordinal, 0, null);
+            };
+        }
+
+        private static long orLast(long value, long missing, boolean descending) {
+            if (value == missing) {
+                return Long.MAX_VALUE;
+            }
+            return descending ? -value : value;
+        }
+
+        /**
+         * Heap adayı
+         */
+        private record Ranked(int ordinal, long key, String name) {
+
+            static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::key)
+                    .thenComparing(Ranked::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingInt(Ranked::ordinal);
+        }
+
+        // ==================== YARDIMCI METODLAR ====================
+
+        /**
+         * Fiyat aralığını uygular
+         * Aday küme küçükse fiyatlar tek tek kontrol edilir,
+         * büyükse sıralı diziden aralık bitmap'i oluşturulup kesişim alınır
+         */
+        private CompactBitmap applyPriceRange(CompactBitmap candidates, long min, long max) {
+            int from = lowerBound(min);
+            int to = lowerBound(max == Long.MAX_VALUE ? max : max + 1);
+            CompactBitmap result = new CompactBitmap();
+            if (candidates.cardinality() <= to - from) {
+                candidates.forEach(ordinal -> {
+                    long price = store.price(ordinal);
+                    if (price != NO_PRICE && price >= min && price <= max) {
+                        result.add(ordinal);
+                    }
+                });
+                return result;
+            }
+            for (int i = from; i < to; i++) {
+                result.add(sortedOrdinals[i]);
+            }
+            return result.and(candidates);
+        }
+
+        private void index(int ordinal, Product product) {
+            store.put(ordinal, product);
+            live.add(ordinal);
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                active.add(ordinal);
+            }
+            if (product.getCategory() != null) {
+                categories.computeIfAbsent(product.getCategory(), key -> new CompactBitmap()).add(ordinal);
+            }
+            if (product.getTags() != null) {
+                for (String tag : product.getTags()) {
+                    tags.computeIfAbsent(tag, key -> new CompactBitmap()).add(ordinal);
+                }
+            }
+            long price = store.price(ordinal);
+            if (price != NO_PRICE && !bulkLoading) {
+                insertSortedPrice(price, ordinal);
+            }
+        }
+
+        private void unindex(int ordinal) {
+            live.remove(ordinal);
+            active.remove(ordinal);
+            String category = store.category(ordinal);
+            if (category != null) {
+                removeFrom(categories, category, ordinal);
+            }
+            List<String> productTags = store.tags(ordinal);
+            if (productTags != null) {
+                for (String tag : productTags) {
+                    removeFrom(tags, tag, ordinal);
+                }
+            }
+            if (store.price(ordinal) != NO_PRICE && !bulkLoading) {
+                removeSortedPrice(store.price(ordinal), ordinal);
+            }
+            store.clear(ordinal);
+        }
+
+        private static void removeFrom(Map<String, CompactBitmap> bitmaps, String key, int ordinal) {
+            CompactBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        private int allocateOrdinal() {
+            if (freeCount > 0) {
+                return freeOrdinals[--freeCount];
+            }
+            return nextOrdinal++;
+        }
+
+        private void releaseOrdinal(int ordinal) {
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+
+        /**
+         * Toplu yüklemeyi bitirir: fiyatlı ürünleri toplayıp bir kez sıralar (O(n log n)),
+         * sonraki değişiklikler artımlı eklemeyle devam eder
+         */
+        void sortPrices() {
+            long[] prices = new long[Math.max(1024, live.cardinality())];
+            int[] ordinals = new int[prices.length];
+            int[] count = new int[1];
+            live.forEach(ordinal -> {
+                long price = store.price(ordinal);
+                if (price != NO_PRICE) {
+                    prices[count[0]] = price;
+                    ordinals[count[0]] = ordinal;
+                    count[0]++;
+                }
+            });
+            mergeSort(prices, ordinals, count[0]);
+            sortedPrices = prices;
+            sortedOrdinals = ordinals;
+            sortedCount = count[0];
+            bulkLoading = false;
+        }
+
+        /**
+         * Fiyata göre kararlı, alttan yukarı birleştirme sıralaması; ordinal'ler fiyatlarla birlikte taşınır
+         */
+        private static void mergeSort(long[] prices, int[] ordinals, int count) {
+            long[] priceBuffer = new long[count];
+            int[] ordinalBuffer = new int[count];
+            long[] fromPrices = prices;
+            int[] fromOrdinals = ordinals;
+            long[] toPrices = priceBuffer;
+            int[] toOrdinals = ordinalBuffer;
+            for (int width = 1; width < count; width *= 2) {
+                for (int low = 0; low < count; low += 2 * width) {
+                    int mid = Math.min(low + width, count);
+                    int high = Math.min(low + 2 * width, count);
+                    int left = low;
+                    int right = mid;
+                    for (int k = low; k < high; k++) {
+                        if (left < mid && (right >= high || fromPrices[left] <= fromPrices[right])) {
+                            toPrices[k] = fromPrices[left];
+                            toOrdinals[k] = fromOrdinals[left++];
+                        } else {
+                            toPrices[k] = fromPrices[right];
+                            toOrdinals[k] = fromOrdinals[right++];
+                        }
+                    }
+                }
+                long[] swapPrices = fromPrices;
+                fromPrices = toPrices;
+                toPrices = swapPrices;
+                int[] swapOrdinals = fromOrdinals;
+                fromOrdinals = toOrdinals;
+                toOrdinals = swapOrdinals;
+            }
+            if (fromPrices != prices) {
+                System.arraycopy(fromPrices, 0, prices, 0, count);
+                System.arraycopy(fromOrdinals, 0, ordinals, 0, count);
+            }
+        }
+
+        private void insertSortedPrice(long price, int ordinal) {
+            if (sortedCount == sortedPrices.length) {
+                sortedPrices = Arrays.copyOf(sortedPrices, sortedCount * 2);
+                sortedOrdinals = Arrays.copyOf(sortedOrdinals, sortedCount * 2);
+            }
+            int position = lowerBound(price == Long.MAX_VALUE ? price : price + 1);
+            System.arraycopy(sortedPrices, position, sortedPrices, position + 1, sortedCount - position);
+            System.arraycopy(sortedOrdinals, position, sortedOrdinals, position + 1, sortedCount - position);
+            sortedPrices[position] = price;
+            sortedOrdinals[position] = ordinal;
+            sortedCount++;
+        }
+
+        private void removeSortedPrice(long price, int ordinal) {
+            // Aynı fiyata sahip kayıtlar arasında ordinal'i ara
+            for (int i = lowerBound(price); i < sortedCount && sortedPrices[i] == price; i++) {
+                if (sortedOrdinals[i] == ordinal) {
+                    System.arraycopy(sortedPrices, i + 1, sortedPrices, i, sortedCount - i - 1);
+                    System.arraycopy(sortedOrdinals, i + 1, sortedOrdinals, i, sortedCount - i - 1);
+                    sortedCount--;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Fiyatı verilen değerden büyük veya eşit olan ilk pozisyon
+         */
+        private int lowerBound(long price) {
+            int low = 0;
+            int high = sortedCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedPrices[mid] < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
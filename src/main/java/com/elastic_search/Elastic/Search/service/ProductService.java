@@ -1,24 +1,76 @@
 package com.elastic_search.Elastic.Search.service;
 
+import com.elastic_search.Elastic.Search.config.FuzzySearchProperties;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.SearchProperties;
+import com.elastic_search.Elastic.Search.config.SimilarityProperties;
+import com.elastic_search.Elastic.Search.config.WriteModeProperties;
+import com.elastic_search.Elastic.Search.dto.FacetResponse;
+import com.elastic_search.Elastic.Search.dto.FuzzySearchResponse;
+import com.elastic_search.Elastic.Search.dto.PriceStatsResponse;
 import com.elastic_search.Elastic.Search.dto.ProductRequest;
 import com.elastic_search.Elastic.Search.dto.SearchRequest;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
 import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.SearchSort;
+import com.elastic_search.Elastic.Search.model.WriteMode;
 import com.elastic_search.Elastic.Search.repository.ProductRepository;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import com.elastic_search.Elastic.Search.util.PriceUnits;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.StatsAggregate;
+import co.elastic.clients.elasticsearch._types.KnnQuery;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.SuggestMode;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.search.Suggester;
+import co.elastic.clients.json.JsonData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.AbstractElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.data.elasticsearch.core.query.Criteria;
-import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
-import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.routing.RoutingResolver;
+import org.springframework.data.elasticsearch.core.suggest.response.Suggest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * ProductService - Ürün İş Mantığı Katmanı
@@ -26,6 +78,10 @@ import java.util.Optional;
  * Bu sınıf ürünlerle ilgili tüm iş mantığını içerir.
  * CRUD işlemleri, arama işlemleri ve gelişmiş sorgular burada yapılır.
  * 
+ * Ürün deposu açıksa (product.store.enabled=true) yazmalar ve ID ile okumalar
+ * PostgreSQL'e gider; indeks OutboxIndexer ile asenkron güncellenir. Bu modda
+ * yazma modu (refresh) uygulanmaz, aramalar değişikliği kısa bir gecikmeyle görür.
+ * 
  * @author Berat Kulcu
  * @version 1.0
  * @since 2025-07-25
@@ -34,8 +90,41 @@ import java.util.Optional;
 @RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
 @Slf4j // Lombok: Logging için slf4j logger oluşturur
 public class ProductService {
+    private static final String PRICE_STATS_AGGREGATION = "price_stats";
+    private static final String CATEGORY_FACET = "categories";
+    private static final String TAG_FACET = "tags";
+    private static final String PRICE_FACET = "price_ranges";
+    private static final String NAME_SUGGESTION = "name_phrase";
+    private static final String TAG_SUGGESTION = "tags_term";
+    /**
+     * name alanının standart analyzer'ı gibi terimleri harf ve rakam dışındaki karakterlerden ayırır
+     * ("usb-c/şarj" -> usb, c, şarj)
+     */
+    private static final Pattern ANALYZED_TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Lazy // Spring: Repository (türetilmiş sorguların ayrıştırılması) ilk kullanımda oluşturulur, açılışta değil
     private final ProductRepository productRepository;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductFilterIndex productFilterIndex;
+    private final CategoryTopListings categoryTopListings;
+    private final IndexManagementService indexManagementService;
+    private final IndexProperties indexProperties;
+    private final WriteModeProperties writeModeProperties;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final FuzzySearchProperties fuzzySearchProperties;
+    private final SearchProperties searchProperties;
+    private final SimilarityProperties similarityProperties;
+    private final CategoryRoutingResolver routingResolver;
+    private final CacheableSearchExecutor cacheableSearchExecutor;
+    private final ProductStore productStore;
+    private final OutboxIndexer outboxIndexer;
+    private final ProductTieringService productTieringService;
+    private final IdempotencyService idempotencyService;
+    
+    // Her yazma modu için refresh politikası ayarlanmış template kopyası
+    private final Map<WriteMode, ElasticsearchOperations> writeOperations = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Yeni ürün oluşturma
@@ -45,28 +134,83 @@ public class ProductService {
      * @return Oluşturulan ve kaydedilen ürün
      */
     public Product createProduct(ProductRequest request) {
-        // ProductRequest'ten Product entity'sine dönüştürme
-        Product product = new Product();
-        product.setName(request.getName());
-        product.setDescription(request.getDescription());
-        product.setCategory(request.getCategory());
-        product.setPrice(request.getPrice());
-        product.setStock(request.getStock());
-        product.setTags(request.getTags());
-        product.setIsActive(request.getIsActive());
-        
+        return createProduct(request, null);
+    }
+    
+    /**
+     * Yeni ürün oluşturma (yazma modu ile)
+     * 
+     * @param request Ürün oluşturma isteği
+     * @param mode Yazma modu (null ise product.write.create kullanılır)
+     * @return Oluşturulan ve kaydedilen ürün
+     */
+    public Product createProduct(ProductRequest request, WriteMode mode) {
         // Ürünü kaydet ve döndür
-        return saveProduct(product);
+        return saveProduct(toProduct(request), mode != null ? mode : writeModeProperties.getCreate());
+    }
+    
+    /**
+     * Idempotency-Key ile ürün oluşturma
+     * Aynı anahtar ve gövdeyle tekrarlanan istek ürünü tekrar yazmaz, ilk sonucu döndürür.
+     * Ürün ID'si anahtardan türetilir ve sadece yoksa oluşturulur; anahtar kaydı kaybolsa bile
+     * tekrar kopya oluşturmaz, sonradan yapılan güncellemeleri ezmez
+     * 
+     * @param request Ürün oluşturma isteği
+     * @param mode Yazma modu (null ise product.write.create kullanılır)
+     * @param idempotencyKey İstemcinin Idempotency-Key değeri
+     * @return IdempotencyService.Outcome - Ürün (ilk istekte oluşan ürün sonradan silindiyse boş liste)
+     */
+    public IdempotencyService.Outcome createProductOnce(ProductRequest request, WriteMode mode, String idempotencyKey) {
+        if (!idempotencyService.isEnabled()) {
+            return new IdempotencyService.Outcome(List.of(createProduct(request, mode)), false);
+        }
+        return idempotencyService.execute("create", idempotencyKey, request, ids -> {
+            Product product = toProduct(request);
+            product.setId(ids.apply(0));
+            return createIfAbsent(List.of(product), mode != null ? mode : writeModeProperties.getCreate());
+        }, this::findAllInOrder);
     }
     
     /**
      * Ürün kaydetme
+     * Yazma alias'ı üzerinden kaydeder, böylece yeniden indeksleme sırasında da doğru indekse gider
      * 
      * @param product Kaydedilecek ürün
      * @return Kaydedilen ürün
      */
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        return saveProduct(product, writeModeProperties.getCreate());
+    }
+    
+    /**
+     * Ürün kaydetme (yazma modu ile)
+     * 
+     * @param product Kaydedilecek ürün
+     * @param mode Yazma modu
+     * @return Kaydedilen ürün
+     */
+    public Product saveProduct(Product product, WriteMode mode) {
+        return saveProduct(product, mode, product.getId() == null);
+    }
+    
+    /**
+     * Ürün kaydetme; ID'si önceden belirlenmiş yeni ürünler için created=true verilir
+     */
+    private Product saveProduct(Product product, WriteMode mode, boolean created) {
+        if (created) {
+            stampCreatedAt(product);
+        }
+        Product savedProduct;
+        if (productStore.isEnabled()) {
+            savedProduct = productStore.save(product);
+            outboxIndexer.wakeUp();
+        } else {
+            savedProduct = writeToIndex(Operation.WRITE,
+                    () -> operationsFor(mode).save(product, indexManagementService.writeCoordinates()), ProductService::idOf);
+        }
+        // Bellek içi indeksler gibi dinleyicileri bilgilendir
+        eventPublisher.publishEvent(ProductChangeEvent.saved(savedProduct, created));
+        return savedProduct;
     }
     
     /**
@@ -76,7 +220,11 @@ public class ProductService {
      * @return Optional<Product> - Ürün bulunursa içinde ürün, bulunamazsa boş
      */
     public Optional<Product> getProductById(String id) {
-        return productRepository.findById(id);
+        if (productStore.isEnabled()) {
+            return productStore.findById(id);
+        }
+        return elasticsearchGuard.read(Operation.POINT_READ, ElasticsearchGuard.pointReadKey(id),
+                () -> readById(id));
     }
     
     /**
@@ -86,9 +234,11 @@ public class ProductService {
      * @return Tüm ürünlerin listesi
      */
     public List<Product> getAllProducts() {
-        List<Product> products = new ArrayList<>();
-        productRepository.findAll().forEach(products::add);
-        return products;
+        return elasticsearchGuard.read(Operation.SEARCH, "all", () -> {
+            List<Product> products = new ArrayList<>();
+            productRepository.findAll().forEach(products::add);
+            return products;
+        });
     }
     
     /**
@@ -98,7 +248,11 @@ public class ProductService {
      * @return Optional<Product> - Ürün bulunursa içinde ürün, bulunamazsa boş
      */
     public Optional<Product> findById(String id) {
-        return productRepository.findById(id);
+        if (productStore.isEnabled()) {
+            return productStore.findById(id);
+        }
+        return elasticsearchGuard.read(Operation.POINT_READ, ElasticsearchGuard.pointReadKey(id),
+                () -> readById(id));
     }
     
     /**
@@ -107,9 +261,11 @@ public class ProductService {
      * @return Tüm ürünlerin listesi
      */
     public List<Product> findAll() {
-        List<Product> products = new ArrayList<>();
-        productRepository.findAll().forEach(products::add);
-        return products;
+        return elasticsearchGuard.read(Operation.SEARCH, "all", () -> {
+            List<Product> products = new ArrayList<>();
+            productRepository.findAll().forEach(products::add);
+            return products;
+        });
     }
     
     /**
@@ -119,7 +275,7 @@ public class ProductService {
      * @return Sayfalanmış ürün listesi
      */
     public Page<Product> findAllWithPagination(Pageable pageable) {
-        return productRepository.findAll(pageable);
+        return elasticsearchGuard.read(Operation.SEARCH, "page:" + pageable, () -> productRepository.findAll(pageable));
     }
     
     /**
@@ -130,28 +286,79 @@ public class ProductService {
      * @return Optional<Product> - Güncelleme başarılıysa güncellenmiş ürün
      */
     public Optional<Product> updateProduct(String id, ProductRequest request) {
+        return updateProduct(id, request, null);
+    }
+    
+    /**
+     * Ürün güncelleme (yazma modu ile)
+     * 
+     * @param id Güncellenecek ürünün ID'si
+     * @param request Güncelleme isteği
+     * @param mode Yazma modu (null ise product.write.update kullanılır)
+     * @return Optional<Product> - Güncelleme başarılıysa güncellenmiş ürün
+     */
+    public Optional<Product> updateProduct(String id, ProductRequest request, WriteMode mode) {
+        if (productStore.isEnabled()) {
+            return updateInStore(id, request);
+        }
         // Ürünü ID'ye göre bul
-        Optional<Product> existingProduct = productRepository.findById(id);
+        Optional<Product> existingProduct = elasticsearchGuard.read(Operation.POINT_READ, null, () -> readById(id));
         
         if (existingProduct.isPresent()) {
             // Ürün bulundu, güncelle
             Product product = existingProduct.get();
-            product.setName(request.getName());
-            product.setDescription(request.getDescription());
-            product.setCategory(request.getCategory());
-            product.setPrice(request.getPrice());
-            product.setStock(request.getStock());
-            product.setTags(request.getTags());
-            product.setIsActive(request.getIsActive());
+            String previousRouting = routingResolver.getRouting(product);
+            boolean previouslyActive = ProductChangeEvent.isActive(product);
+            applyRequest(product, request);
             
             // Güncellenmiş ürünü kaydet ve döndür
-            return Optional.of(productRepository.save(product));
+            WriteMode writeMode = mode != null ? mode : writeModeProperties.getUpdate();
+            Product savedProduct = writeToIndex(Operation.WRITE,
+                    () -> operationsFor(writeMode).save(product, indexManagementService.writeCoordinates()), ProductService::idOf);
+            removeMovedCopy(id, previousRouting, routingResolver.getRouting(savedProduct), writeMode);
+            eventPublisher.publishEvent(ProductChangeEvent.updated(savedProduct, previouslyActive));
+            return Optional.of(savedProduct);
         }
         
         // Ürün bulunamadı
         return Optional.empty();
     }
     
+    /**
+     * Birden fazla ürünü tek seferde güncelleme
+     * Tek bir multi-get ile mevcut ürünler okunur ve tek bir bulk isteği ile yazılır.
+     * Bulunamayan ID'ler atlanır (tekil güncellemedeki 404 davranışına karşılık).
+     * 
+     * @param requests Ürün ID'si -> güncelleme isteği
+     * @param mode Yazma modu
+     * @return Güncellenen ürünlerin listesi
+     */
+    public List<Product> updateProducts(Map<String, ProductRequest> requests, WriteMode mode) {
+        if (productStore.isEnabled()) {
+            return updateAllInStore(requests);
+        }
+        List<Product> products = new ArrayList<>();
+        Map<String, String> previousRoutings = new HashMap<>();
+        Map<String, Boolean> previouslyActive = new HashMap<>();
+        elasticsearchGuard.read(Operation.SEARCH, null, () -> readAllById(requests.keySet()))
+                .forEach(product -> {
+                    previousRoutings.put(product.getId(), routingResolver.getRouting(product));
+                    previouslyActive.put(product.getId(), ProductChangeEvent.isActive(product));
+                    applyRequest(product, requests.get(product.getId()));
+                    products.add(product);
+                });
+        if (products.isEmpty()) {
+            return products;
+        }
+        List<Product> savedProducts = saveAllProducts(products, mode,
+                Collections.nCopies(products.size(), false), previouslyActive);
+        WriteMode writeMode = mode != null ? mode : writeModeProperties.getBulk();
+        for (Product product : savedProducts) {
+            removeMovedCopy(product.getId(), previousRoutings.get(product.getId()), routingResolver.getRouting(product), writeMode);
+        }
+        return savedProducts;
+    }
+    
     /**
      * Ürün silme
      * 
@@ -159,8 +366,24 @@ public class ProductService {
      * @return boolean - Silme başarılıysa true, ürün bulunamazsa false
      */
     public boolean deleteProduct(String id) {
-        if (productRepository.existsById(id)) {
-            productRepository.deleteById(id);
+        return deleteProduct(id, null);
+    }
+    
+    /**
+     * Ürün silme (yazma modu ile)
+     * 
+     * @param id Silinecek ürünün ID'si
+     * @param mode Yazma modu (null ise product.write.delete kullanılır)
+     * @return boolean - Silme başarılıysa true, ürün bulunamazsa false
+     */
+    public boolean deleteProduct(String id, WriteMode mode) {
+        if (productStore.isEnabled()) {
+            return deleteFromStore(id);
+        }
+        Optional<Product> existing = elasticsearchGuard.read(Operation.POINT_READ, null, () -> readById(id));
+        if (existing.isPresent()) {
+            delete(id, routingResolver.getRouting(existing.get()), mode != null ? mode : writeModeProperties.getDelete());
+            eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
             return true;
         }
         return false;
@@ -172,7 +395,21 @@ public class ProductService {
      * @param id Silinecek ürünün ID'si
      */
     public void deleteById(String id) {
-        productRepository.deleteById(id);
+        if (productStore.isEnabled()) {
+            deleteFromStore(id);
+            return;
+        }
+        String routing = null;
+        if (routingResolver.isWriteRouted()) {
+            // Kategori routing'inde silme isteği ürünün shard'ına gitmelidir; bulunamayan ürün zaten yok
+            Optional<Product> existing = elasticsearchGuard.read(Operation.POINT_READ, null, () -> readById(id));
+            if (existing.isEmpty()) {
+                return;
+            }
+            routing = routingResolver.getRouting(existing.get());
+        }
+        delete(id, routing, writeModeProperties.getDelete());
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
     }
     
     // ==================== TEMEL ARAMA İŞLEMLERİ ====================
@@ -185,7 +422,8 @@ public class ProductService {
      * @return Arama sonuçları
      */
     public List<Product> searchProducts(String query) {
-        return productRepository.findByNameContainingOrDescriptionContaining(query, query);
+        return elasticsearchGuard.read(Operation.SEARCH, "search:" + query,
+                () -> productRepository.findByNameContainingOrDescriptionContaining(query, query));
     }
     
     /**
@@ -195,7 +433,7 @@ public class ProductService {
      * @return İsmi aranan kelimeyi içeren ürünler
      */
     public List<Product> searchByName(String name) {
-        return productRepository.findByNameContaining(name);
+        return elasticsearchGuard.read(Operation.SEARCH, "name:" + name, () -> productRepository.findByNameContaining(name));
     }
     
     /**
@@ -205,33 +443,122 @@ public class ProductService {
      * @return Belirtilen kategorideki ürünler
      */
     public List<Product> searchByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return elasticsearchGuard.read(Operation.SEARCH, "category:" + category, () -> findByCategory(category));
     }
     
     /**
      * Fiyat aralığına göre arama (BigDecimal)
+     * Sınırlar kuruşa çevrilerek priceMinor alanı üzerinde kesin olarak karşılaştırılır
+     * (kuruştan küçük alt sınır yukarı, üst sınır aşağı yuvarlanır)
      * 
      * @param minPrice Minimum fiyat
      * @param maxPrice Maksimum fiyat
      * @return Belirtilen fiyat aralığındaki ürünler
      */
     public List<Product> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
+        long minPriceMinor = PriceUnits.lowerBoundMinor(minPrice);
+        long maxPriceMinor = PriceUnits.upperBoundMinor(maxPrice);
+        return elasticsearchGuard.read(Operation.SEARCH, "price:" + minPriceMinor + "-" + maxPriceMinor,
+                () -> productRepository.findByPriceMinorBetween(minPriceMinor, maxPriceMinor));
     }
     
     /**
-     * Fiyat aralığına göre arama (Double)
-     * Double değerleri BigDecimal'a çevirir
+     * Fiyat aralığına göre ürünleri getirme
      * 
      * @param minPrice Minimum fiyat
      * @param maxPrice Maksimum fiyat
      * @return Belirtilen fiyat aralığındaki ürünler
      */
-    public List<Product> getProductsByPriceRange(Double minPrice, Double maxPrice) {
-        return productRepository.findByPriceBetween(
-            BigDecimal.valueOf(minPrice), 
-            BigDecimal.valueOf(maxPrice)
-        );
+    public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return searchByPriceRange(minPrice, maxPrice);
+    }
+    
+    /**
+     * Fiyat istatistikleri (min, max, ortalama, toplam)
+     * priceMinor alanı üzerinde stats aggregation çalıştırır, doküman döndürmez
+     * 
+     * @param category Kategori filtresi (boş ise tüm ürünler)
+     * @return PriceStatsResponse - Fiyat istatistikleri
+     */
+    public PriceStatsResponse getPriceStats(String category) {
+        List<Query> filters = hasText(category)
+                ? List.of(Query.of(q -> q.term(t -> t.field("category").value(category))))
+                : List.of();
+        SearchHits<Product> hits = cacheableSearchExecutor.aggregate(hasText(category) ? "price-stats[category]" : "price-stats",
+                filters, Map.of(PRICE_STATS_AGGREGATION, Aggregation.of(a -> a.stats(s -> s.field("priceMinor")))),
+                routingResolver.searchRouting(category), null);
+        
+        PriceStatsResponse response = new PriceStatsResponse();
+        response.setCategory(hasText(category) ? category : null);
+        ElasticsearchAggregations aggregations = (ElasticsearchAggregations) hits.getAggregations();
+        if (aggregations == null || aggregations.get(PRICE_STATS_AGGREGATION) == null) {
+            return response;
+        }
+        StatsAggregate stats = aggregations.get(PRICE_STATS_AGGREGATION).aggregation().getAggregate().stats();
+        response.setCount(stats.count());
+        if (stats.count() > 0) {
+            response.setMin(PriceUnits.fromMinor(Math.round(stats.min())));
+            response.setMax(PriceUnits.fromMinor(Math.round(stats.max())));
+            response.setSum(PriceUnits.fromMinor(Math.round(stats.sum())));
+            response.setAvg(BigDecimal.valueOf(stats.avg())
+                    .movePointLeft(PriceUnits.SCALE)
+                    .setScale(PriceUnits.SCALE, RoundingMode.HALF_UP));
+        }
+        return response;
+    }
+    
+    /**
+     * Filtre paneli sayıları (facet)
+     * Kategori/tag dağılımı ve fiyat aralıkları size=0 aggregation ile hesaplanır.
+     * Sorgu shard istek önbelleğine uygun şekilde (kanonik gövde, request_cache, preference) gönderilir.
+     * 
+     * @param category Kategori filtresi (boş olabilir)
+     * @param tag Tag filtresi (boş olabilir)
+     * @param minPrice Minimum fiyat (null olabilir)
+     * @param maxPrice Maksimum fiyat (null olabilir)
+     * @param sessionId Oturum kimliği (preference=SESSION için, null olabilir)
+     * @return FacetResponse - Eşleşen ürün sayısı ve dağılımlar
+     */
+    public FacetResponse getFacets(String category, String tag, BigDecimal minPrice, BigDecimal maxPrice, String sessionId) {
+        List<String> shape = new ArrayList<>();
+        List<Query> filters = activeFilters(category, tag, minPrice, maxPrice, shape);
+        int facetSize = searchProperties.getFacetSize();
+        long priceInterval = PriceUnits.toMinor(searchProperties.getFacetPriceInterval());
+        Map<String, Aggregation> aggregations = Map.of(
+                CATEGORY_FACET, Aggregation.of(a -> a.terms(t -> t.field("category").size(facetSize))),
+                TAG_FACET, Aggregation.of(a -> a.terms(t -> t.field("tags").size(facetSize))),
+                PRICE_FACET, Aggregation.of(a -> a.histogram(h -> h.field("priceMinor")
+                        .interval((double) priceInterval).minDocCount(1))));
+        SearchHits<Product> hits = cacheableSearchExecutor.aggregate("facets" + shape, filters, aggregations,
+                routingResolver.searchRouting(category), sessionId);
+        
+        FacetResponse response = new FacetResponse();
+        response.setTotalHits(hits.getTotalHits());
+        response.setTotalHitsLowerBound(hits.getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO);
+        response.setCategories(new LinkedHashMap<>());
+        response.setTags(new LinkedHashMap<>());
+        response.setPriceRanges(new ArrayList<>());
+        ElasticsearchAggregations result = (ElasticsearchAggregations) hits.getAggregations();
+        if (result == null) {
+            return response;
+        }
+        if (result.get(CATEGORY_FACET) != null) {
+            result.get(CATEGORY_FACET).aggregation().getAggregate().sterms().buckets().array()
+                    .forEach(bucket -> response.getCategories().put(bucket.key().stringValue(), bucket.docCount()));
+        }
+        if (result.get(TAG_FACET) != null) {
+            result.get(TAG_FACET).aggregation().getAggregate().sterms().buckets().array()
+                    .forEach(bucket -> response.getTags().put(bucket.key().stringValue(), bucket.docCount()));
+        }
+        if (result.get(PRICE_FACET) != null) {
+            result.get(PRICE_FACET).aggregation().getAggregate().histogram().buckets().array()
+                    .forEach(bucket -> {
+                        long from = Math.round(bucket.key());
+                        response.getPriceRanges().add(new FacetResponse.PriceBucket(
+                                PriceUnits.fromMinor(from), PriceUnits.fromMinor(from + priceInterval), bucket.docCount()));
+                    });
+        }
+        return response;
     }
     
     /**
@@ -241,7 +568,7 @@ public class ProductService {
      * @return Belirtilen kategorideki ürünler
      */
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return elasticsearchGuard.read(Operation.SEARCH, "category:" + category, () -> findByCategory(category));
     }
     
     /**
@@ -251,7 +578,7 @@ public class ProductService {
      * @return Belirtilen tag'i içeren ürünler
      */
     public List<Product> searchByTag(String tag) {
-        return productRepository.findByTagsContaining(tag);
+        return elasticsearchGuard.read(Operation.SEARCH, "tag:" + tag, () -> productRepository.findByTagsContaining(tag));
     }
     
     /**
@@ -260,7 +587,7 @@ public class ProductService {
      * @return isActive=true olan ürünler
      */
     public List<Product> findActiveProducts() {
-        return productRepository.findByIsActiveTrue();
+        return elasticsearchGuard.read(Operation.SEARCH, "active", () -> productRepository.findByIsActiveTrue());
     }
     
     /**
@@ -270,7 +597,8 @@ public class ProductService {
      * @return Aktif ve yeterli stoku olan ürünler
      */
     public List<Product> findProductsInStock(Integer minStock) {
-        return productRepository.findByIsActiveTrueAndStockGreaterThan(minStock);
+        return elasticsearchGuard.read(Operation.SEARCH, "in-stock:" + minStock,
+                () -> productRepository.findByIsActiveTrueAndStockGreaterThan(minStock));
     }
     
     // ==================== GELİŞMİŞ ARAMA İŞLEMLERİ ====================
@@ -279,43 +607,122 @@ public class ProductService {
      * Gelişmiş arama (SearchRequest ile)
      * Çoklu kriterlere göre arama yapar
      * 
-     * @param request Arama isteği (query, category, minPrice, maxPrice)
+     * - Sıralama verilirse skor hesaplanmaz; metin koşulu da filtre olarak uygulanır
+     * - Toplam hit sayısı product.search.track-total-hits-up-to ile sınırlıdır (aşılırsa relation: gte)
+     * 
+     * @param request Arama isteği (query, category, tag, minPrice, maxPrice, sort, size)
      * @return SearchHits<Product> - Arama sonuçları ve skorlar
+     * @throws IllegalArgumentException Geçersiz sıralama veya size
      */
     public SearchHits<Product> advancedSearch(SearchRequest request) {
-        // Elasticsearch Criteria oluştur
-        Criteria criteria = new Criteria();
+        SearchSort sort = Optional.ofNullable(SearchSort.parse(request.getSort())).orElse(SearchSort.RELEVANCE);
+        int size = resolveSize(request.getSize());
         
-        // Ana arama sorgusu (isim, açıklama, tag'lerde arama)
-        if (request.getQuery() != null && !request.getQuery().trim().isEmpty()) {
-            criteria.or("name").contains(request.getQuery())
-                    .or("description").contains(request.getQuery())
-                    .or("tags").contains(request.getQuery());
+        // Sadece kategori filtreli vitrin sıralamaları hazır listelerden cevaplanır (sıralama yapılmaz)
+        if (!hasText(request.getQuery()) && !hasText(request.getTag())
+                && request.getMinPrice() == null && request.getMaxPrice() == null) {
+            Optional<SearchHits<Product>> listed = topListing(hasText(request.getCategory()) ? request.getCategory() : null,
+                    sort, size);
+            if (listed.isPresent()) {
+                return listed.get();
+            }
         }
         
-        // Kategori filtresi
-        if (request.getCategory() != null && !request.getCategory().trim().isEmpty()) {
-            criteria.and("category").is(request.getCategory());
+        // Serbest metin yoksa sorgu bellek içi filtre indeksinden cevaplanabilir
+        if (!hasText(request.getQuery())) {
+            // Sadece ilk size ürün Product nesnesine çevrilir
+            Optional<ProductFilterIndex.TopMatches> filtered = productFilterIndex.top(
+                    hasText(request.getCategory()) ? request.getCategory() : null,
+                    hasText(request.getTag()) ? request.getTag() : null,
+                    request.getMinPrice(), request.getMaxPrice(), true, sort, size);
+            if (filtered.isPresent()) {
+                return toSearchHits(filtered.get().products(), filtered.get().total());
+            }
         }
         
-        // Fiyat aralığı filtresi
-        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
-            Criteria priceCriteria = new Criteria("price");
-            if (request.getMinPrice() != null) {
-                priceCriteria.greaterThanEqual(request.getMinPrice());
-            }
-            if (request.getMaxPrice() != null) {
-                priceCriteria.lessThanEqual(request.getMaxPrice());
+        // Sorgu şekli: hangi kriterlerin kullanıldığı (değerlerden bağımsız)
+        List<String> shape = new ArrayList<>();
+        
+        // Filtreler skor hesaplamaz ve Elasticsearch tarafından önbelleklenebilir
+        List<Query> filters = activeFilters(request.getCategory(), request.getTag(),
+                request.getMinPrice(), request.getMaxPrice(), shape);
+        
+        // Ana arama sorgusu (isim, açıklama, tag'lerde arama)
+        List<Query> text = new ArrayList<>();
+        if (hasText(request.getQuery())) {
+            shape.add(0, "query");
+            for (String field : List.of("name", "description", "tags")) {
+                text.add(containsQuery(field, request.getQuery()));
             }
-            criteria.and(priceCriteria);
         }
         
-        // Sadece aktif ürünleri getir
-        criteria.and("isActive").is(true);
-        
         // Sorguyu oluştur ve çalıştır
-        Query searchQuery = new CriteriaQuery(criteria);
-        return elasticsearchOperations.search(searchQuery, Product.class);
+        boolean scored = sort == SearchSort.RELEVANCE;
+        Query query = Query.of(q -> q.bool(b -> {
+            b.filter(filters);
+            if (!text.isEmpty() && scored) {
+                b.should(text).minimumShouldMatch("1");
+            } else if (!text.isEmpty()) {
+                // Alana göre sıralamada skor kullanılmaz; metin koşulu önbelleklenebilir filtre olur
+                b.filter(f -> f.bool(t -> t.should(text).minimumShouldMatch("1")));
+            }
+            return b;
+        }));
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query)
+                .withMaxResults(size)
+                .withTrackTotalHitsUpTo(searchProperties.getTrackTotalHitsUpTo());
+        if (!scored) {
+            shape.add("sort:" + sort.name().toLowerCase());
+            builder.withSort(sortOptions(sort, hasText(request.getCategory())));
+        }
+        // Kategori routing'inde kategori filtreli sorgu sadece kategorinin shard'ına gider
+        String routing = routingResolver.searchRouting(request.getCategory());
+        if (routing != null) {
+            builder.withRoute(routing);
+        }
+        NativeQuery searchQuery = builder.build();
+        return slowQueryRecorder.timed("advanced" + shape, searchQuery,
+                () -> elasticsearchGuard.read(Operation.SEARCH, "advanced:" + request,
+                        () -> elasticsearchOperations.search(searchQuery, Product.class)));
+    }
+    
+    /**
+     * Kategori vitrin listesi (en ucuz, en yeni, stoğu en çok aktif ürünler)
+     * Hazır listeden cevaplanamazsa aynı sıralamayla gelişmiş aramaya düşer
+     * 
+     * @param category Kategori (null ise tüm katalog)
+     * @param sort Sıralama (price_asc, newest, stock_desc)
+     * @param size Sonuç sayısı (null ise varsayılan)
+     * @return SearchHits<Product> - Sıralı ürünler
+     * @throws IllegalArgumentException Geçersiz sıralama veya size
+     */
+    public SearchHits<Product> topProducts(String category, String sort, Integer size) {
+        SearchSort parsed = SearchSort.parse(sort);
+        if (parsed == null || !categoryTopListings.supports(parsed)) {
+            throw new IllegalArgumentException("Vitrin sıralaması desteklenmiyor: " + sort);
+        }
+        SearchRequest request = new SearchRequest();
+        request.setCategory(category);
+        request.setSort(sort);
+        request.setSize(size);
+        return advancedSearch(request);
+    }
+    
+    /**
+     * Hazır vitrin listesinden sonuç
+     * Toplam sayı filtre indeksinden alınır; indeks hazır değilse liste kullanılmaz
+     */
+    private Optional<SearchHits<Product>> topListing(String category, SearchSort sort, int size) {
+        if (!categoryTopListings.supports(sort)) {
+            return Optional.empty();
+        }
+        Optional<Integer> total = productFilterIndex.count(category, true);
+        if (total.isEmpty()) {
+            return Optional.empty();
+        }
+        return categoryTopListings.top(category, sort, size)
+                .map(products -> toSearchHits(products, total.get()));
     }
     
     /**
@@ -328,59 +735,351 @@ public class ProductService {
      * @return SearchHits<Product> - Arama sonuçları
      */
     public SearchHits<Product> advancedSearch(String query, String category, BigDecimal minPrice, BigDecimal maxPrice) {
-        // Elasticsearch Criteria oluştur
-        Criteria criteria = new Criteria();
-        
-        // Ana arama sorgusu
-        if (query != null && !query.trim().isEmpty()) {
-            criteria.or("name").contains(query)
-                    .or("description").contains(query)
-                    .or("tags").contains(query);
+        // Parametrelerden SearchRequest oluştur ve aynı arama yolunu kullan
+        SearchRequest request = new SearchRequest();
+        request.setQuery(query);
+        request.setCategory(category);
+        request.setMinPrice(minPrice);
+        request.setMaxPrice(maxPrice);
+        return advancedSearch(request);
+    }
+    
+    /**
+     * Kayıtlı arama (percolator) sorgusu
+     * Gelişmiş aramayla aynı kriterler; tek bir ürün eşleşip eşleşmediğine bakıldığı için
+     * metin koşulu dahil her şey filtredir
+     * 
+     * @param request Arama kriterleri (sort ve size kullanılmaz)
+     * @param minStock Minimum stok (null ise stok koşulu yok)
+     * @return Query - Percolator alanına yazılacak sorgu
+     */
+    public Query savedSearchQuery(SearchRequest request, Integer minStock) {
+        List<Query> filters = activeFilters(request.getCategory(), request.getTag(),
+                request.getMinPrice(), request.getMaxPrice(), new ArrayList<>());
+        if (minStock != null) {
+            filters.add(Query.of(q -> q.range(r -> r.field("stock").gte(JsonData.of(minStock)))));
         }
+        if (hasText(request.getQuery())) {
+            List<Query> text = new ArrayList<>();
+            for (String field : List.of("name", "description", "tags")) {
+                text.add(containsQuery(field, request.getQuery()));
+            }
+            filters.add(Query.of(q -> q.bool(b -> b.should(text).minimumShouldMatch("1"))));
+        }
+        return Query.of(q -> q.bool(b -> b.filter(filters)));
+    }
+    
+    /**
+     * Aktif ürünler için kategori, tag ve fiyat filtreleri
+     * 
+     * @param shape Kullanılan kriterlerin eklendiği sorgu şekli
+     * @return Filtre cümleleri (null/boş kriterler atlanır)
+     */
+    private List<Query> activeFilters(String category, String tag, BigDecimal minPrice, BigDecimal maxPrice,
+                                      List<String> shape) {
+        List<Query> filters = new ArrayList<>();
         
         // Kategori filtresi
-        if (category != null && !category.trim().isEmpty()) {
-            criteria.and("category").is(category);
+        if (hasText(category)) {
+            shape.add("category");
+            filters.add(Query.of(q -> q.term(t -> t.field("category").value(category))));
+        }
+        
+        // Tag filtresi
+        if (hasText(tag)) {
+            shape.add("tag");
+            filters.add(Query.of(q -> q.term(t -> t.field("tags").value(tag))));
         }
         
         // Fiyat aralığı filtresi
         if (minPrice != null || maxPrice != null) {
-            Criteria priceCriteria = new Criteria("price");
-            if (minPrice != null) {
-                priceCriteria.greaterThanEqual(minPrice);
-            }
-            if (maxPrice != null) {
-                priceCriteria.lessThanEqual(maxPrice);
-            }
-            criteria.and(priceCriteria);
+            shape.add("price");
+            filters.add(Query.of(q -> q.range(r -> {
+                r.field("priceMinor");
+                if (minPrice != null) {
+                    r.gte(JsonData.of(PriceUnits.lowerBoundMinor(minPrice)));
+                }
+                if (maxPrice != null) {
+                    r.lte(JsonData.of(PriceUnits.upperBoundMinor(maxPrice)));
+                }
+                return r;
+            })));
         }
         
         // Sadece aktif ürünleri getir
-        criteria.and("isActive").is(true);
-        
-        // Sorguyu oluştur ve çalıştır
-        Query searchQuery = new CriteriaQuery(criteria);
-        return elasticsearchOperations.search(searchQuery, Product.class);
+        filters.add(Query.of(q -> q.term(t -> t.field("isActive").value(true))));
+        return filters;
+    }
+    
+    /**
+     * İstenen sonuç sayısını doğrular
+     * 
+     * @param size İstekteki size (null ise varsayılan)
+     * @return 1 ile product.search.max-size arasında sonuç sayısı
+     */
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return searchProperties.getDefaultSize();
+        }
+        if (size < 1 || size > searchProperties.getMaxSize()) {
+            throw new IllegalArgumentException("size 1 ile " + searchProperties.getMaxSize() + " arasında olmalı");
+        }
+        return size;
+    }
+    
+    /**
+     * Sıralama seçeneğini Elasticsearch sıralamasına çevirir
+     * Tek kategoriye filtrelenmiş artan fiyat sıralamasının başına category eklenir:
+     * sonuç aynıdır ama sıralama indeks sıralamasının (category, priceMinor) önekiyle örtüştüğü için
+     * segmentler track_total_hits sınırı kadar doküman topladıktan sonra erken sonlanabilir
+     * 
+     * @param sort Sıralama (RELEVANCE dışında)
+     * @param categoryFiltered Kategori filtresi var mı?
+     * @return Sıralama seçenekleri
+     */
+    private List<SortOptions> sortOptions(SearchSort sort, boolean categoryFiltered) {
+        List<SortOptions> options = new ArrayList<>();
+        if (categoryFiltered && sort == SearchSort.PRICE_ASC) {
+            options.add(SortOptions.of(o -> o.field(f -> f.field("category").order(SortOrder.Asc))));
+        }
+        options.add(SortOptions.of(o -> o.field(f -> {
+            f.field(sort.getField()).order(sort.getOrder());
+            if (sort == SearchSort.NAME_ASC) {
+                // name.keyword yeniden indekslemeden önce oluşturulmuş indekslerde yoktur
+                f.unmappedType(FieldType.Keyword);
+            } else if (sort == SearchSort.NEWEST) {
+                // createdAt eski indeks mapping'lerinde yoktur
+                f.unmappedType(FieldType.Date);
+            }
+            return f;
+        })));
+        return options;
     }
     
     // ==================== FUZZY SEARCH ====================
     
     /**
      * Bulanık arama (Fuzzy Search)
-     * Yazım hatalarını tolere eden arama
+     * Yazım hatalarını tolere eden, maliyeti sınırlı arama
+     * 
+     * - İsimde (analiz edilmiş) ve tag'lerde (terim bazında) aranır
+     * - prefix_length, max_expansions ve transpositions product.fuzzy.* ile sınırlanır
+     * - Terim x alan x genişleme toplamı tavanı aşarsa terim başına genişleme düşürülür
+     * - Sonuç yoksa aynı istekteki suggester'lardan "bunu mu demek istediniz" önerileri döner
      * 
      * @param query Aranacak metin
-     * @return SearchHits<Product> - Arama sonuçları
+     * @return FuzzySearchResponse - Sonuçlar ve (sonuç yoksa) öneriler
+     * @throws IllegalArgumentException Sorgu boşsa veya terim sayısı sınırı aşıyorsa
      */
-    public SearchHits<Product> fuzzySearch(String query) {
-        // İsimde fuzzy arama yap
-        Criteria criteria = new Criteria("name").fuzzy(query);
-        // Sadece aktif ürünleri getir
-        criteria.and("isActive").is(true);
+    public FuzzySearchResponse fuzzySearch(String query) {
+        // Tag'ler keyword olduğu için boşlukla, isim analyzer'ın ayırdığı gibi ayrılır
+        List<String> terms = hasText(query) ? List.of(query.trim().split("\\s+")) : List.of();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Arama terimi boş olamaz");
+        }
+        long nameTerms = ANALYZED_TERM_SEPARATOR.splitAsStream(query).filter(term -> !term.isEmpty()).count();
+        if (Math.max(terms.size(), nameTerms) > fuzzySearchProperties.getMaxTerms()) {
+            throw new IllegalArgumentException("Bulanık arama en fazla " + fuzzySearchProperties.getMaxTerms() + " terim içerebilir");
+        }
+        
+        // Maliyet tavanı: her bulanık terim (isimde analiz edilmiş terimler, tag'lerde boşlukla ayrılanlar)
+        // en fazla maxExpansions terime genişler
+        int maxExpansions = Math.max(1, Math.min(fuzzySearchProperties.getMaxExpansions(),
+                (int) (fuzzySearchProperties.getMaxTotalExpansions() / (nameTerms + terms.size()))));
+        String fuzziness = fuzzySearchProperties.getFuzziness();
+        int prefixLength = fuzzySearchProperties.getPrefixLength();
+        boolean transpositions = fuzzySearchProperties.isTranspositions();
+        
+        List<Query> should = new ArrayList<>();
+        // İsim: metin alanı, match sorgusu her analiz edilmiş terimi bulanık eşler
+        should.add(Query.of(q -> q.match(m -> m.field("name").query(query).boost(2.0f)
+                .fuzziness(fuzziness).prefixLength(prefixLength)
+                .maxExpansions(maxExpansions).fuzzyTranspositions(transpositions))));
+        // Tag'ler: keyword alanı, her terim ayrı bulanık sorgu
+        for (String term : terms) {
+            should.add(Query.of(q -> q.fuzzy(f -> f.field("tags").value(term)
+                    .fuzziness(fuzziness).prefixLength(prefixLength)
+                    .maxExpansions(maxExpansions).transpositions(transpositions))));
+        }
+        Query fuzzyQuery = Query.of(q -> q.bool(b -> b
+                .should(should).minimumShouldMatch("1")
+                .filter(f -> f.term(t -> t.field("isActive").value(true)))));
+        
+        // Öneriler aynı istekte hesaplanır; sadece sonuç yoksa kullanılır
+        int suggestionSize = fuzzySearchProperties.getSuggestionSize();
+        Suggester suggester = Suggester.of(s -> s
+                .text(query)
+                .suggesters(NAME_SUGGESTION, fs -> fs.phrase(p -> p
+                        .field("name")
+                        .size(suggestionSize)
+                        .maxErrors(2.0)
+                        .directGenerator(d -> d.field("name").suggestMode(SuggestMode.Always).prefixLength(prefixLength))
+                        // Sadece en az bir ürünle eşleşen düzeltmeleri öner
+                        .collate(c -> c.query(cq -> cq.source("{\"match\":{\"name\":{\"query\":\"{{suggestion}}\",\"operator\":\"and\"}}}")))))
+                .suggesters(TAG_SUGGESTION, fs -> fs.term(t -> t
+                        .field("tags")
+                        .size(suggestionSize)
+                        .suggestMode(SuggestMode.Always)
+                        .prefixLength(prefixLength))));
         
         // Sorguyu oluştur ve çalıştır
-        Query searchQuery = new CriteriaQuery(criteria);
-        return elasticsearchOperations.search(searchQuery, Product.class);
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(fuzzyQuery)
+                .withSuggester(suggester)
+                .withMaxResults(fuzzySearchProperties.getMaxResults())
+                .withTimeout(fuzzySearchProperties.getTimeout())
+                .build();
+        SearchHits<Product> hits = slowQueryRecorder.timed("fuzzy[name,tags]", searchQuery,
+                () -> elasticsearchGuard.read(Operation.SEARCH, "fuzzy:" + query,
+                        () -> elasticsearchOperations.search(searchQuery, Product.class)));
+        
+        FuzzySearchResponse response = new FuzzySearchResponse();
+        response.setQuery(query);
+        response.setTotalHits(hits.getTotalHits());
+        response.setProducts(hits.getSearchHits().stream().map(SearchHit::getContent).toList());
+        response.setDidYouMean(hits.hasSearchHits() ? List.of() : didYouMean(hits.getSuggest(), terms, suggestionSize));
+        response.setMaxExpansions(maxExpansions);
+        return response;
+    }
+    
+    /**
+     * Suggester sonuçlarını düzeltilmiş sorgu listesine çevirir
+     * Önce tüm ifade önerileri (isim), sonra tag düzeltmeleri
+     */
+    private static List<String> didYouMean(Suggest suggest, List<String> terms, int limit) {
+        if (suggest == null) {
+            return List.of();
+        }
+        Set<String> corrections = new LinkedHashSet<>();
+        Suggest.Suggestion<?> phrase = suggest.getSuggestion(NAME_SUGGESTION);
+        if (phrase != null) {
+            phrase.getEntries().forEach(entry -> entry.getOptions().forEach(option -> corrections.add(option.getText())));
+        }
+        Suggest.Suggestion<?> tags = suggest.getSuggestion(TAG_SUGGESTION);
+        if (tags != null) {
+            // Her terimi en iyi tag önerisiyle değiştir
+            List<String> corrected = new ArrayList<>(terms);
+            boolean changed = false;
+            for (Suggest.Suggestion.Entry<?> entry : tags.getEntries()) {
+                int index = corrected.indexOf(entry.getText());
+                if (index >= 0 && !entry.getOptions().isEmpty()) {
+                    corrected.set(index, entry.getOptions().get(0).getText());
+                    changed = true;
+                }
+            }
+            if (changed) {
+                corrections.add(String.join(" ", corrected));
+            }
+        }
+        return corrections.stream().limit(limit).toList();
+    }
+    
+    // ==================== BENZER ÜRÜNLER ====================
+    
+    /**
+     * Benzer ürünler (yaklaşık kNN)
+     * Ürünün vektörüne en yakın ürünler HNSW grafiğinden bulunur; serbest metin sorgusu çalıştırılmaz.
+     * Filtreler kNN aramasına ön filtre olarak verilir: k sonuç filtreye uyan ürünlerden seçilir
+     * 
+     * @param id Kaynak ürün ID'si
+     * @param size Döndürülecek ürün sayısı (null ise product.similar.default-size)
+     * @param category Kategori filtresi (null ise tüm kategoriler)
+     * @param activeOnly true ise sadece aktif ürünler
+     * @return Optional<SearchHits<Product>> - Benzerden aza sıralı ürünler; kaynak ürün bulunamazsa boş
+     * @throws IllegalArgumentException Geçersiz size
+     */
+    public Optional<SearchHits<Product>> findSimilarProducts(String id, Integer size, String category, boolean activeOnly) {
+        int k = resolveSimilarSize(size);
+        Optional<Product> source = getProductById(id);
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+        float[] embedding = source.get().getEmbedding();
+        if (embedding == null) {
+            // Metni olmayan ürünün benzeri aranamaz
+            return Optional.of(toSearchHits(List.of(), 0));
+        }
+        List<Float> vector = new ArrayList<>(embedding.length);
+        for (float value : embedding) {
+            vector.add(value);
+        }
+        
+        List<Query> filters = new ArrayList<>();
+        filters.add(Query.of(q -> q.bool(b -> b.mustNot(m -> m.ids(i -> i.values(id))))));
+        if (hasText(category)) {
+            filters.add(Query.of(q -> q.term(t -> t.field("category").value(category))));
+        }
+        if (activeOnly) {
+            filters.add(Query.of(q -> q.term(t -> t.field("isActive").value(true))));
+        }
+        KnnQuery knn = KnnQuery.of(q -> q
+                .field(IndexManagementService.EMBEDDING_FIELD)
+                .queryVector(vector)
+                .k(k)
+                .numCandidates(Math.max(k, similarityProperties.getNumCandidates()))
+                .filter(filters));
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withKnnQuery(knn)
+                .withMaxResults(k)
+                // Vektörün kendisi yanıtta taşınmaz (okunurken zaten yok sayılır)
+                .withSourceFilter(new FetchSourceFilter(null, new String[]{IndexManagementService.EMBEDDING_FIELD}));
+        String routing = routingResolver.searchRouting(category);
+        if (routing != null) {
+            builder.withRoute(routing);
+        }
+        NativeQuery searchQuery = builder.build();
+        String shape = "similar" + (hasText(category) ? "[category]" : "[]");
+        return Optional.of(slowQueryRecorder.timed(shape, searchQuery,
+                () -> elasticsearchGuard.read(Operation.SEARCH, "similar:" + id + ":" + k + ":" + category + ":" + activeOnly,
+                        () -> elasticsearchOperations.search(searchQuery, Product.class))));
+    }
+    
+    /**
+     * Vektörü olmayan ürünleri yeniden yazarak vektörlerini doldurur
+     * Vektör yazma anında metinden türetildiği için ürünü aynen kaydetmek yeterlidir.
+     * Değişiklik olayı yayınlanmaz (ürünün içeriği değişmez). Ürün deposu açıksa indeks depodan yeniden inşa edilir
+     * 
+     * @return Map<String, Object> - Güncellenen ürün sayısı veya yeniden inşa durumu
+     */
+    public Map<String, Object> backfillEmbeddings() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (productStore.isEnabled()) {
+            result.put("rebuildStarted", outboxIndexer.startRebuild());
+            return result;
+        }
+        NativeQuery missing = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b.mustNot(m -> m.exists(e -> e.field(IndexManagementService.EMBEDDING_FIELD)))))
+                .withPageable(PageRequest.of(0, similarityProperties.getBackfillBatchSize()))
+                .build();
+        ElasticsearchOperations operations = operationsFor(WriteMode.NONE);
+        long updated = 0;
+        List<Product> batch = new ArrayList<>();
+        try (SearchHitsIterator<Product> hits = elasticsearchOperations.searchForStream(missing, Product.class,
+                IndexCoordinates.of(indexProperties.getReadAlias()))) {
+            while (hits.hasNext()) {
+                batch.add(hits.next().getContent());
+                if (batch.size() == similarityProperties.getBackfillBatchSize() || !hits.hasNext()) {
+                    List<Product> products = List.copyOf(batch);
+                    writeToIndex(Operation.BULK_WRITE,
+                            () -> operations.save(products, indexManagementService.writeCoordinates()), ProductService::idsOf);
+                    updated += products.size();
+                    batch.clear();
+                }
+            }
+        }
+        log.info("Ürün vektörleri dolduruldu: {} ürün", updated);
+        result.put("updated", updated);
+        return result;
+    }
+    
+    private int resolveSimilarSize(Integer size) {
+        if (size == null) {
+            return similarityProperties.getDefaultSize();
+        }
+        if (size < 1 || size > similarityProperties.getMaxSize()) {
+            throw new IllegalArgumentException("size 1 ile " + similarityProperties.getMaxSize() + " arasında olmalı");
+        }
+        return size;
     }
     
     // ==================== AGGREGATION İŞLEMLERİ ====================
@@ -393,7 +1092,7 @@ public class ProductService {
      */
     public List<Product> getProductsByCategoryWithStats(String category) {
         // Bu metod kategori bazında istatistikler de döndürebilir
-        return productRepository.findByCategory(category);
+        return elasticsearchGuard.read(Operation.SEARCH, "category:" + category, () -> findByCategory(category));
     }
     
     // ==================== BULK İŞLEMLER ====================
@@ -405,24 +1104,450 @@ public class ProductService {
      * @return Oluşturulan ürünlerin listesi
      */
     public List<Product> createProducts(List<ProductRequest> requests) {
-        // Her request'i Product'a çevir
+        return createProducts(requests, null);
+    }
+    
+    /**
+     * Toplu ürün oluşturma (yazma modu ile)
+     * 
+     * @param requests Ürün oluşturma istekleri listesi
+     * @param mode Yazma modu (null ise product.write.bulk kullanılır)
+     * @return Oluşturulan ürünlerin listesi
+     */
+    public List<Product> createProducts(List<ProductRequest> requests, WriteMode mode) {
+        // Her request'i Product'a çevir (kaydetmeden, tek bir bulk isteği için)
         List<Product> products = requests.stream()
-                .map(this::createProduct)
+                .map(this::toProduct)
                 .toList();
         
         // Toplu kaydet
-        return saveAllProducts(products);
+        return saveAllProducts(products, mode);
+    }
+    
+    /**
+     * Idempotency-Key ile toplu ürün oluşturma
+     * Zaman aşımından sonra tekrarlanan toplu istek ürünleri tekrar yazmaz, ilk sonucu döndürür.
+     * i. ürünün ID'si anahtardan ve sırasından türetilir
+     * 
+     * @param requests Ürün oluşturma istekleri listesi
+     * @param mode Yazma modu (null ise product.write.bulk kullanılır)
+     * @param idempotencyKey İstemcinin Idempotency-Key değeri
+     * @return IdempotencyService.Outcome - Ürünler (sonradan silinenler hariç)
+     */
+    public IdempotencyService.Outcome createProductsOnce(List<ProductRequest> requests, WriteMode mode, String idempotencyKey) {
+        if (!idempotencyService.isEnabled()) {
+            return new IdempotencyService.Outcome(createProducts(requests, mode), false);
+        }
+        return idempotencyService.execute("bulk", idempotencyKey, requests, ids -> {
+            List<Product> products = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                Product product = toProduct(requests.get(i));
+                product.setId(ids.apply(i));
+                products.add(product);
+            }
+            return createIfAbsent(products, mode != null ? mode : writeModeProperties.getBulk());
+        }, this::findAllInOrder);
+    }
+    
+    /**
+     * ID'leri önceden belirlenmiş ürünleri sadece yoksa oluşturur (op_type=create)
+     * ID'si zaten olan ürünlere dokunulmaz ve CREATED olayı yayınlanmaz; mevcut halleri okunup döndürülür.
+     * Anahtar kaydı kaybolduktan sonra gelen idempotent tekrarlar için
+     * 
+     * @param products Oluşturulacak ürünler (ID'leri dolu)
+     * @param mode Yazma modu
+     * @return IdempotencyService.Written - İstek sırasıyla ürünler (sonradan silinenler hariç)
+     */
+    private IdempotencyService.Written createIfAbsent(List<Product> products, WriteMode mode) {
+        products.forEach(ProductService::stampCreatedAt);
+        Set<String> created;
+        if (productStore.isEnabled()) {
+            created = productStore.createIfAbsent(products);
+            if (!created.isEmpty()) {
+                outboxIndexer.wakeUp();
+            }
+        } else {
+            created = writeToIndex(Operation.BULK_WRITE, () -> createInIndex(products, mode), ids -> ids);
+        }
+        List<String> ids = idsOf(products);
+        List<String> existing = ids.stream().filter(id -> !created.contains(id)).toList();
+        Map<String, Product> byId = new HashMap<>();
+        if (!existing.isEmpty()) {
+            findAllInOrder(existing).forEach(product -> byId.put(product.getId(), product));
+        }
+        for (Product product : products) {
+            if (created.contains(product.getId())) {
+                byId.put(product.getId(), product);
+                eventPublisher.publishEvent(ProductChangeEvent.saved(product, true));
+            }
+        }
+        List<Product> result = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new IdempotencyService.Written(result, ids, created.isEmpty());
+    }
+    
+    /**
+     * Ürünleri op_type=create ile indeksler; 409 (zaten var) dönen ürünler atlanır
+     * 
+     * @return Oluşturulan ürünlerin ID'leri
+     */
+    private Set<String> createInIndex(List<Product> products, WriteMode mode) {
+        List<IndexQuery> queries = products.stream()
+                .map(product -> new IndexQueryBuilder()
+                        .withId(product.getId())
+                        .withObject(product)
+                        .withRouting(routingResolver.getRouting(product))
+                        .withOpType(IndexQuery.OpType.CREATE)
+                        .build())
+                .toList();
+        Set<String> created = new LinkedHashSet<>(idsOf(products));
+        try {
+            operationsFor(mode).bulkIndex(queries, indexManagementService.writeCoordinates());
+        } catch (BulkFailureException e) {
+            Map<String, BulkFailureException.FailureDetails> failures = e.getFailedDocuments();
+            boolean onlyConflicts = failures.values().stream()
+                    .allMatch(failure -> Integer.valueOf(409).equals(failure.status()));
+            if (!onlyConflicts) {
+                throw e;
+            }
+            created.removeAll(failures.keySet());
+        }
+        return created;
     }
     
     /**
      * Toplu ürün kaydetme
+     * Canlı indekse normal ayarlarla yazılır; bulk load modu sadece trafik almayan indekslerde kullanılır
      * 
      * @param products Kaydedilecek ürünler listesi
      * @return Kaydedilen ürünlerin listesi
      */
     public List<Product> saveAllProducts(List<Product> products) {
+        return saveAllProducts(products, null);
+    }
+    
+    /**
+     * Toplu ürün kaydetme (yazma modu ile)
+     * 
+     * @param products Kaydedilecek ürünler listesi
+     * @param mode Yazma modu (null ise product.write.bulk kullanılır)
+     * @return Kaydedilen ürünlerin listesi
+     */
+    public List<Product> saveAllProducts(List<Product> products, WriteMode mode) {
+        // Kaydetmeden önce hangi ürünlerin yeni olduğunu not al
+        return saveAllProducts(products, mode, products.stream().map(product -> product.getId() == null).toList(), Map.of());
+    }
+    
+    /**
+     * Toplu ürün kaydetme; created her ürünün yeni olup olmadığını,
+     * previouslyActive okunarak güncellenen ürünlerin önceki aktifliğini belirtir
+     */
+    private List<Product> saveAllProducts(List<Product> products, WriteMode mode, List<Boolean> created,
+                                          Map<String, Boolean> previouslyActive) {
+        ElasticsearchOperations operations = operationsFor(mode != null ? mode : writeModeProperties.getBulk());
+        for (int i = 0; i < products.size(); i++) {
+            if (created.get(i)) {
+                stampCreatedAt(products.get(i));
+            }
+        }
         List<Product> savedProducts = new ArrayList<>();
-        productRepository.saveAll(products).forEach(savedProducts::add);
+        if (productStore.isEnabled()) {
+            savedProducts.addAll(productStore.saveAll(products, Map.of()));
+            outboxIndexer.wakeUp();
+        } else {
+            writeToIndex(Operation.BULK_WRITE,
+                    () -> operations.save(products, indexManagementService.writeCoordinates()), ProductService::idsOf)
+                    .forEach(savedProducts::add);
+        }
+        for (int i = 0; i < savedProducts.size(); i++) {
+            Product saved = savedProducts.get(i);
+            Boolean wasActive = previouslyActive.get(saved.getId());
+            eventPublisher.publishEvent(wasActive != null
+                    ? ProductChangeEvent.updated(saved, wasActive)
+                    : ProductChangeEvent.saved(saved, created.get(i)));
+        }
+        return savedProducts;
+    }
+    
+    // ==================== YARDIMCI METODLAR ====================
+    
+    /**
+     * ProductRequest'ten Product entity'sine dönüştürme
+     * 
+     * @param request Ürün oluşturma isteği
+     * @return Kaydedilmemiş ürün
+     */
+    private Product toProduct(ProductRequest request) {
+        Product product = new Product();
+        applyRequest(product, request);
+        return product;
+    }
+    
+    /**
+     * İstekteki alanları ürüne kopyalar (ID hariç)
+     * 
+     * @param product Güncellenecek ürün
+     * @param request Ürün isteği
+     */
+    private static void applyRequest(Product product, ProductRequest request) {
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setCategory(request.getCategory());
+        product.setPrice(request.getPrice());
+        product.setStock(request.getStock());
+        product.setTags(request.getTags());
+        product.setIsActive(request.getIsActive());
+    }
+    
+    /**
+     * Yeni ürüne oluşturulma zamanını yazar
+     * Sadece yeni ürünler için çağrılır; güncellemede okunan değer korunur, eski ürünlere sonradan tarih verilmez
+     */
+    private static void stampCreatedAt(Product product) {
+        if (product.getCreatedAt() == null) {
+            product.setCreatedAt(Instant.now());
+        }
+    }
+    
+    /**
+     * ID'lerle okuma, sonuç ID sırasında (bulunamayanlar atlanır)
+     * Kaydı dosyadan yüklenmiş idempotency tekrarlarında kullanılır
+     */
+    private List<Product> findAllInOrder(List<String> ids) {
+        List<Product> found = productStore.isEnabled()
+                ? productStore.findAllById(ids)
+                : elasticsearchGuard.read(Operation.SEARCH, null, () -> readAllById(ids));
+        Map<String, Product> byId = new HashMap<>();
+        found.forEach(product -> byId.put(product.getId(), product));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    // ==================== ÜRÜN DEPOSU ====================
+    
+    /**
+     * Depodaki ürünü günceller; eski kategori outbox'a yazılır (routing'de eski kopya silinir)
+     */
+    private Optional<Product> updateInStore(String id, ProductRequest request) {
+        Optional<Product> existing = productStore.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Product product = existing.get();
+        String previousCategory = product.getCategory();
+        boolean previouslyActive = ProductChangeEvent.isActive(product);
+        applyRequest(product, request);
+        Product savedProduct = productStore.update(product, previousCategory);
+        outboxIndexer.wakeUp();
+        eventPublisher.publishEvent(ProductChangeEvent.updated(savedProduct, previouslyActive));
+        return Optional.of(savedProduct);
+    }
+    
+    /**
+     * Depodaki ürünleri tek transaction'da günceller; bulunamayan ID'ler atlanır
+     */
+    private List<Product> updateAllInStore(Map<String, ProductRequest> requests) {
+        List<Product> products = productStore.findAllById(requests.keySet());
+        if (products.isEmpty()) {
+            return products;
+        }
+        Map<String, String> previousCategories = new HashMap<>();
+        Map<String, Boolean> previouslyActive = new HashMap<>();
+        for (Product product : products) {
+            previousCategories.put(product.getId(), product.getCategory());
+            previouslyActive.put(product.getId(), ProductChangeEvent.isActive(product));
+            applyRequest(product, requests.get(product.getId()));
+        }
+        List<Product> savedProducts = productStore.saveAll(products, previousCategories);
+        outboxIndexer.wakeUp();
+        savedProducts.forEach(product -> eventPublisher.publishEvent(
+                ProductChangeEvent.updated(product, previouslyActive.get(product.getId()))));
         return savedProducts;
     }
+    
+    private boolean deleteFromStore(String id) {
+        if (!productStore.delete(id)) {
+            return false;
+        }
+        outboxIndexer.wakeUp();
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
+        return true;
+    }
+    
+    // ==================== ROUTING ====================
+    
+    /**
+     * ID ile okuma
+     * Kategori routing'inde kategori filtre indeksinden bulunur ve tek shard'a get gönderilir;
+     * kategori bilinmiyorsa veya o shard'da bulunamazsa tüm shard'larda ids sorgusu yapılır.
+     * Sıcak indekste bulunamayan ürün soğuk katmanda aranır (pasif ürünler)
+     * 
+     * @param id Ürün ID'si
+     * @return Optional<Product> - Ürün bulunursa içinde ürün
+     */
+    private Optional<Product> readById(String id) {
+        Optional<Product> hot = readHotById(id);
+        return hot.isPresent() ? hot : productTieringService.findCold(id);
+    }
+    
+    private Optional<Product> readHotById(String id) {
+        if (!routingResolver.isReadRouted()) {
+            return productRepository.findById(id);
+        }
+        Optional<String> routing = routingResolver.routingForId(id);
+        if (routing.isPresent()) {
+            Product routed = elasticsearchOperations.withRouting(RoutingResolver.just(routing.get())).get(id, Product.class);
+            if (routed != null) {
+                return Optional.of(routed);
+            }
+            // Filtre indeksindeki kategori eski olabilir (kategori değişikliği henüz yansımadı); tüm shard'larda ara
+        }
+        return readAllHotById(List.of(id)).stream().findFirst();
+    }
+    
+    /**
+     * Birden fazla ID ile okuma
+     * Routing zorunlu indekste multi-get her doküman için routing ister; tek bir ids sorgusu kullanılır.
+     * Sıcak indekste bulunamayan ID'ler tek bir multi-get ile soğuk katmanda aranır
+     * 
+     * @param ids Ürün ID'leri
+     * @return Bulunan ürünler
+     */
+    private List<Product> readAllById(Collection<String> ids) {
+        List<Product> products = new ArrayList<>(readAllHotById(ids));
+        if (products.size() < ids.size() && productTieringService.isEnabled()) {
+            Set<String> missing = new LinkedHashSet<>(ids);
+            products.forEach(product -> missing.remove(product.getId()));
+            products.addAll(productTieringService.findAllCold(missing));
+        }
+        return products;
+    }
+    
+    private List<Product> readAllHotById(Collection<String> ids) {
+        if (!routingResolver.isReadRouted()) {
+            List<Product> products = new ArrayList<>();
+            productRepository.findAllById(ids).forEach(products::add);
+            return products;
+        }
+        NativeQuery query = NativeQuery.builder()
+                .withIds(List.copyOf(ids))
+                .withMaxResults(ids.size())
+                .build();
+        return elasticsearchOperations.search(query, Product.class).stream().map(SearchHit::getContent).toList();
+    }
+    
+    /**
+     * Kategoriye göre ürünler
+     * Kategori routing'inde sorgu sadece kategorinin shard'ına (veya bölümüne) gider
+     * 
+     * @param category Kategori
+     * @return Kategorideki ürünler
+     */
+    private List<Product> findByCategory(String category) {
+        String routing = routingResolver.searchRouting(category);
+        if (routing == null) {
+            return productRepository.findByCategory(category);
+        }
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.term(t -> t.field("category").value(category)))
+                .withRoute(routing)
+                .build();
+        return elasticsearchOperations.search(query, Product.class).stream().map(SearchHit::getContent).toList();
+    }
+    
+    /**
+     * Ürünü verilen routing ile siler
+     * 
+     * @param id Ürün ID'si
+     * @param routing Ürünün routing değeri (routing kullanılmıyorsa null)
+     * @param mode Yazma modu
+     */
+    private void delete(String id, String routing, WriteMode mode) {
+        ElasticsearchOperations operations = routing == null
+                ? operationsFor(mode)
+                : operationsFor(mode).withRouting(RoutingResolver.just(routing));
+        writeToIndex(Operation.WRITE, () -> operations.delete(id, indexManagementService.writeCoordinates()), List::of);
+    }
+    
+    /**
+     * Yazma alias'ına yazma
+     * Yeniden indeksleme sürerken değişen ID'ler yeni indekse taşınmak üzere kaydedilir
+     * 
+     * @param operation WRITE veya BULK_WRITE
+     * @param write Elasticsearch yazması
+     * @param changedIds Yazmanın sonucundan değişen ürün ID'leri
+     * @return Yazmanın sonucu
+     */
+    private <T> T writeToIndex(Operation operation, Supplier<T> write, Function<T, Collection<String>> changedIds) {
+        return elasticsearchGuard.write(operation, () -> indexManagementService.trackedWrite(write, changedIds));
+    }
+    
+    private static List<String> idOf(Product product) {
+        return List.of(product.getId());
+    }
+    
+    private static List<String> idsOf(Iterable<Product> products) {
+        List<String> ids = new ArrayList<>();
+        products.forEach(product -> ids.add(product.getId()));
+        return ids;
+    }
+    
+    /**
+     * Kategorisi değişen ürünün eski shard'daki kopyasını siler
+     * Yeni kopya önce yazılır; böylece arada ürün kaybolmaz, en fazla kısa süre iki kopya görünür
+     */
+    private void removeMovedCopy(String id, String previousRouting, String currentRouting, WriteMode mode) {
+        if (previousRouting != null && !previousRouting.equals(currentRouting)) {
+            delete(id, previousRouting, mode);
+        }
+    }
+    
+    /**
+     * Yazma moduna uygun refresh politikasıyla çalışan operations nesnesi
+     * Template kopyaları bir kez oluşturulup saklanır
+     * 
+     * @param mode Yazma modu
+     * @return ElasticsearchOperations - Refresh politikası ayarlanmış template
+     */
+    private ElasticsearchOperations operationsFor(WriteMode mode) {
+        return writeOperations.computeIfAbsent(mode, key ->
+                ((AbstractElasticsearchTemplate) elasticsearchOperations).withRefreshPolicy(key.getRefreshPolicy())
+                        .withRouting(routingResolver));
+    }
+    
+    /**
+     * Alanın metni içerip içermediğini kontrol eden sorgu
+     * Önceki Criteria.contains() davranışıyla aynıdır: *metin* query_string araması
+     * 
+     * @param field Alan adı
+     * @param text Aranan metin
+     * @return Query - query_string sorgusu
+     */
+    private static Query containsQuery(String field, String text) {
+        String escaped = text.replaceAll("([+\\-!(){}\\[\\]^\"~*?:\\\\/]|&&|\\|\\|)", "\\\\$1");
+        return Query.of(q -> q.queryString(s -> s.fields(field).query("*" + escaped + "*").analyzeWildcard(true)));
+    }
+    
+    /**
+     * Metnin boş olup olmadığını kontrol eder
+     * 
+     * @param value Kontrol edilecek metin
+     * @return null değilse ve boşluk dışında karakter içeriyorsa true
+     */
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
+    /**
+     * Bellek içi indeks sonuçlarını SearchHits'e çevirir
+     * Böylece endpoint'ler cevabın nereden geldiğinden bağımsız kalır
+     * 
+     * @param products Eşleşen ürünler
+     * @return SearchHits<Product> - Sabit skorlu arama sonuçları
+     */
+    private SearchHits<Product> toSearchHits(List<Product> products, long totalHits) {
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(Product.class).getIndexName();
+        List<SearchHit<Product>> hits = products.stream()
+                .map(product -> new SearchHit<>(indexName, product.getId(), null, 1.0f, null, null, null, null, null, null, product))
+                .toList();
+        return new SearchHitsImpl<>(totalHits, TotalHitsRelation.EQUAL_TO, 1.0f, null, null, hits, null, null);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,610 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ProductStoreProperties;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.util.JdbcConnectionPool;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * ProductStore - PostgreSQL Ürün Deposu (Asıl Kayıt)
+ *
+ * product.store.enabled=true iken ürünlerin asıl kaydı PostgreSQL'dedir:
+ * - Her yazma ürün satırını ve bir outbox kaydını aynı transaction'da yazar
+ * - Yazmalar Elasticsearch'ün sağlığından bağımsızdır; indeks OutboxIndexer ile sonradan güncellenir
+ * - Ürün satırının version sütunu Elasticsearch'e external versiyon olarak gider;
+ *   aynı değişikliği tekrar yazmak veya eski bir değişikliği geç yazmak yeni veriyi ezmez
+ * - İndeks, Elasticsearch taranmadan bu tablodan baştan inşa edilebilir
+ *
+ * Bağlantılar ilk kullanımda açılır ve şema o anda oluşturulur (db/product-store.sql);
+ * veritabanı açılışta erişilemese de uygulama ayağa kalkar.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class ProductStore {
+
+    private static final String SCHEMA_RESOURCE = "db/product-store.sql";
+    private static final String COLUMNS = "id, version, deleted, name, description, category, price, stock, tags, is_active, created_at";
+    private static final String UPSERT = "INSERT INTO products (" + COLUMNS + ", updated_at) "
+            + "VALUES (?, 1, FALSE, ?, ?, ?, ?, ?, ?, ?, ?, now()) "
+            + "ON CONFLICT (id) DO UPDATE SET version = products.version + 1, deleted = FALSE, "
+            + "name = EXCLUDED.name, description = EXCLUDED.description, category = EXCLUDED.category, "
+            + "price = EXCLUDED.price, stock = EXCLUDED.stock, tags = EXCLUDED.tags, "
+            + "is_active = EXCLUDED.is_active, updated_at = now(), "
+            // Tombstone üzerine yeniden oluşturulan ürün yeni tarih alır; güncellemeler ilk tarihi korur
+            + "created_at = CASE WHEN products.deleted THEN EXCLUDED.created_at "
+            + "ELSE COALESCE(products.created_at, EXCLUDED.created_at) END";
+    private static final String INSERT_IF_ABSENT = "INSERT INTO products (" + COLUMNS + ", updated_at) "
+            + "VALUES (?, 1, FALSE, ?, ?, ?, ?, ?, ?, ?, ?, now()) ON CONFLICT (id) DO NOTHING";
+    private static final String ENQUEUE = "INSERT INTO product_outbox (product_id, previous_category) VALUES (?, ?)";
+
+    private final ProductStoreProperties properties;
+
+    private volatile JdbcConnectionPool pool;
+    private volatile boolean schemaReady;
+
+    /**
+     * Ürünün depodaki hali
+     *
+     * @param product Ürün (tombstone için sadece ID ve kategori dolu olabilir)
+     * @param version Satır versiyonu (Elasticsearch external versiyonu)
+     * @param deleted Ürün silindiyse true
+     */
+    public record StoredProduct(Product product, long version, boolean deleted) {
+    }
+
+    /**
+     * Outbox'tan alınan değişiklikleri Elasticsearch'e yazan iş
+     */
+    @FunctionalInterface
+    public interface OutboxHandler {
+
+        /**
+         * @param changes Ürün başına en son hal (ürün ID'sine göre tekil)
+         * @param previousCategories Ürün ID'si -> değişikliklerden önceki kategoriler (routing'de eski kopyayı silmek için)
+         * @return Yazılamayan ürün ID'si -> hata mesajı; diğerleri tamamlanmış sayılır
+         */
+        Map<String, String> apply(List<StoredProduct> changes, Map<String, Set<String>> previousCategories);
+    }
+
+    /**
+     * Tek bir outbox boşaltma turunun sonucu
+     *
+     * @param claimed Alınan outbox kaydı
+     * @param products Yazılan farklı ürün sayısı
+     * @param failed Yazılamayıp tekrar denemeye bırakılan ürün sayısı
+     * @param oldestCreatedAt Alınan en eski kaydın oluşturulma zamanı (alınan yoksa null)
+     */
+    public record DrainResult(int claimed, int products, int failed, Instant oldestCreatedAt) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // ==================== YAZMA ====================
+
+    /**
+     * Ürünü kaydeder ve outbox'a ekler (tek transaction)
+     * ID'siz ürüne yeni bir ID verilir
+     *
+     * @param product Kaydedilecek ürün
+     * @return Kaydedilen ürün (ID'si dolu)
+     */
+    public Product save(Product product) {
+        return saveAll(List.of(product), Map.of()).get(0);
+    }
+
+    /**
+     * Mevcut ürünü güncellenmiş haliyle kaydeder ve outbox'a ekler
+     *
+     * @param product Güncellenmiş ürün
+     * @param previousCategory Güncellemeden önceki kategori
+     * @return Kaydedilen ürün
+     */
+    public Product update(Product product, String previousCategory) {
+        Map<String, String> previous = new HashMap<>();
+        previous.put(product.getId(), previousCategory);
+        return saveAll(List.of(product), previous).get(0);
+    }
+
+    /**
+     * Ürünleri kaydeder ve outbox'a ekler (tek transaction, JDBC batch)
+     *
+     * @param products Kaydedilecek ürünler
+     * @param previousCategories Güncellenen ürünler için ürün ID'si -> önceki kategori (bilinmiyorsa boş)
+     * @return Kaydedilen ürünler (ID'leri dolu)
+     */
+    public List<Product> saveAll(List<Product> products, Map<String, String> previousCategories) {
+        if (products.isEmpty()) {
+            return products;
+        }
+        for (Product product : products) {
+            if (product.getId() == null) {
+                product.setId(UUID.randomUUID().toString());
+            }
+        }
+        inTransaction(connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT);
+                 PreparedStatement enqueue = connection.prepareStatement(ENQUEUE)) {
+                for (Product product : products) {
+                    bindProduct(connection, upsert, product);
+                    upsert.addBatch();
+                    String previousCategory = previousCategories.get(product.getId());
+                    enqueue.setString(1, product.getId());
+                    // Kategori değişmediyse eski kopya yoktur
+                    enqueue.setString(2, Objects.equals(previousCategory, product.getCategory()) ? null : previousCategory);
+                    enqueue.addBatch();
+                }
+                upsert.executeBatch();
+                enqueue.executeBatch();
+            }
+            return null;
+        });
+        return products;
+    }
+
+    /**
+     * Ürünü siler (tombstone) ve outbox'a ekler (tek transaction)
+     *
+     * @param id Ürün ID'si
+     * @return boolean - Silindiyse true, ürün yoksa veya zaten silinmişse false
+     */
+    public boolean delete(String id) {
+        return inTransaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE products SET deleted = TRUE, version = version + 1, updated_at = now() "
+                            + "WHERE id = ? AND NOT deleted")) {
+                statement.setString(1, id);
+                if (statement.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            try (PreparedStatement enqueue = connection.prepareStatement(ENQUEUE)) {
+                enqueue.setString(1, id);
+                enqueue.setString(2, null);
+                enqueue.executeUpdate();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Depoda olmayan ürünleri ekler ve outbox'a ekler (tek transaction)
+     * ID'si zaten olan ürünlere (silinmiş olanlar dahil) dokunulmaz
+     *
+     * @param products Oluşturulacak ürünler (ID'leri dolu olmalı)
+     * @return Eklenen ürünlerin ID'leri
+     */
+    public Set<String> createIfAbsent(List<Product> products) {
+        if (products.isEmpty()) {
+            return Set.of();
+        }
+        return inTransaction(connection -> {
+            Set<String> created = new LinkedHashSet<>();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_IF_ABSENT);
+                 PreparedStatement enqueue = connection.prepareStatement(ENQUEUE)) {
+                // Satır satır: batch sonuç sayıları sürücüye göre bilinmeyebilir
+                for (Product product : products) {
+                    bindProduct(connection, insert, product);
+                    if (insert.executeUpdate() > 0) {
+                        created.add(product.getId());
+                        enqueue.setString(1, product.getId());
+                        enqueue.setString(2, null);
+                        enqueue.addBatch();
+                    }
+                }
+                if (!created.isEmpty()) {
+                    enqueue.executeBatch();
+                }
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Depoda olmayan ürünleri versiyon 1 ile ekler (outbox'a yazmaz)
+     * Mevcut Elasticsearch verisini depoya ilk kez almak için kullanılır
+     *
+     * @param products Eklenecek ürünler (ID'leri dolu olmalı)
+     * @return Eklenen ürün sayısı
+     */
+    public int importIfAbsent(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+        return inTransaction(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_IF_ABSENT)) {
+                for (Product product : products) {
+                    bindProduct(connection, insert, product);
+                    insert.addBatch();
+                }
+                return Arrays.stream(insert.executeBatch()).map(count -> Math.max(count, 0)).sum();
+            }
+        });
+    }
+
+    private static void bindProduct(Connection connection, PreparedStatement statement, Product product) throws SQLException {
+        statement.setString(1, product.getId());
+        statement.setString(2, product.getName());
+        statement.setString(3, product.getDescription());
+        statement.setString(4, product.getCategory());
+        statement.setBigDecimal(5, product.getPrice());
+        statement.setObject(6, product.getStock(), Types.INTEGER);
+        if (product.getTags() == null) {
+            statement.setNull(7, Types.ARRAY);
+        } else {
+            statement.setArray(7, connection.createArrayOf("text", product.getTags().toArray()));
+        }
+        statement.setObject(8, product.getIsActive(), Types.BOOLEAN);
+        statement.setTimestamp(9, product.getCreatedAt() == null ? null : Timestamp.from(product.getCreatedAt()));
+    }
+
+    // ==================== OKUMA ====================
+
+    /**
+     * ID ile okuma (silinmiş ürünler hariç)
+     *
+     * @param id Ürün ID'si
+     * @return Optional<Product> - Ürün bulunursa içinde ürün
+     */
+    public Optional<Product> findById(String id) {
+        return findAllById(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Birden fazla ID ile okuma (silinmiş ürünler hariç)
+     *
+     * @param ids Ürün ID'leri
+     * @return Bulunan ürünler
+     */
+    public List<Product> findAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return execute(connection -> loadAll(connection, ids, false)).stream()
+                .map(StoredProduct::product)
+                .toList();
+    }
+
+    /**
+     * Silinmemiş tüm ürünleri ID sırasıyla sayfa sayfa okur
+     * Keyset sayfalama kullanılır; her sayfa ayrı bir sorgudur, uzun transaction açılmaz
+     *
+     * @param batchSize Sayfa boyutu
+     * @param consumer Her sayfa için çağrılır
+     * @return Okunan ürün sayısı
+     */
+    public long forEachBatch(int batchSize, Consumer<List<StoredProduct>> consumer) {
+        long total = 0;
+        String lastId = "";
+        while (true) {
+            String after = lastId;
+            List<StoredProduct> page = execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT " + COLUMNS + " FROM products WHERE NOT deleted AND id > ? ORDER BY id LIMIT ?")) {
+                    statement.setString(1, after);
+                    statement.setInt(2, batchSize);
+                    return readAll(statement);
+                }
+            });
+            if (page.isEmpty()) {
+                return total;
+            }
+            consumer.accept(page);
+            total += page.size();
+            lastId = page.get(page.size() - 1).product().getId();
+        }
+    }
+
+    private static List<StoredProduct> loadAll(Connection connection, Collection<String> ids, boolean includeDeleted) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM products WHERE id = ANY(?)" + (includeDeleted ? "" : " AND NOT deleted");
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setArray(1, connection.createArrayOf("varchar", ids.toArray()));
+            return readAll(statement);
+        }
+    }
+
+    private static List<StoredProduct> readAll(PreparedStatement statement) throws SQLException {
+        List<StoredProduct> products = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                Product product = new Product();
+                product.setId(rs.getString("id"));
+                product.setName(rs.getString("name"));
+                product.setDescription(rs.getString("description"));
+                product.setCategory(rs.getString("category"));
+                product.setPrice(rs.getBigDecimal("price"));
+                product.setStock(rs.getObject("stock", Integer.class));
+                Array tags = rs.getArray("tags");
+                product.setTags(tags == null ? null : new ArrayList<>(Arrays.asList((String[]) tags.getArray())));
+                product.setIsActive(rs.getObject("is_active", Boolean.class));
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                product.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+                products.add(new StoredProduct(product, rs.getLong("version"), rs.getBoolean("deleted")));
+            }
+        }
+        return products;
+    }
+
+    // ==================== OUTBOX ====================
+
+    /**
+     * Vadesi gelmiş outbox kayıtlarını alır, ürün başına en son hale indirger ve handler'a verir
+     *
+     * Kayıtlar FOR UPDATE SKIP LOCKED ile kilitlenir: birden fazla uygulama örneği aynı
+     * kayıtları almaz. Handler başarılı olursa kayıtlar silinir, ürün bazında başarısız
+     * olanların deneme sayısı artırılır ve bir sonraki deneme geciktirilir. Handler hata
+     * fırlatırsa transaction geri alınır; kayıtlar olduğu gibi kalır.
+     *
+     * Aynı ürünün kayıtları farklı turlara bölünse de sonuç değişmez: handler ürünün o anki
+     * halini external versiyonla yazar, eski versiyon yeni versiyonu ezemez.
+     *
+     * @param limit En fazla alınacak kayıt
+     * @param handler Değişiklikleri yazan iş
+     * @return DrainResult - Tur sonucu
+     */
+    public DrainResult drainOutbox(int limit, OutboxHandler handler) {
+        return inTransaction(connection -> {
+            Map<String, List<Long>> sequences = new LinkedHashMap<>();
+            Map<String, Set<String>> previousCategories = new HashMap<>();
+            Map<String, Integer> attempts = new HashMap<>();
+            Instant oldest = null;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT seq, product_id, previous_category, created_at, attempts FROM product_outbox WHERE next_attempt_at <= now() "
+                            + "ORDER BY seq LIMIT ? FOR UPDATE SKIP LOCKED")) {
+                statement.setInt(1, limit);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        String productId = rs.getString("product_id");
+                        sequences.computeIfAbsent(productId, key -> new ArrayList<>()).add(rs.getLong("seq"));
+                        attempts.merge(productId, rs.getInt("attempts"), Math::max);
+                        String previousCategory = rs.getString("previous_category");
+                        if (previousCategory != null) {
+                            previousCategories.computeIfAbsent(productId, key -> new LinkedHashSet<>()).add(previousCategory);
+                        }
+                        Instant createdAt = rs.getTimestamp("created_at").toInstant();
+                        if (oldest == null || createdAt.isBefore(oldest)) {
+                            oldest = createdAt;
+                        }
+                    }
+                }
+            }
+            if (sequences.isEmpty()) {
+                return new DrainResult(0, 0, 0, null);
+            }
+
+            List<StoredProduct> changes = loadAll(connection, sequences.keySet(), true);
+            Map<String, String> failures = changes.isEmpty() ? Map.of() : handler.apply(changes, previousCategories);
+
+            List<Long> done = new ArrayList<>();
+            sequences.forEach((productId, seqs) -> {
+                if (!failures.containsKey(productId)) {
+                    done.addAll(seqs);
+                }
+            });
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM product_outbox WHERE seq = ANY(?)")) {
+                delete.setArray(1, connection.createArrayOf("bigint", done.toArray()));
+                delete.executeUpdate();
+            }
+            if (!failures.isEmpty()) {
+                try (PreparedStatement retry = connection.prepareStatement(
+                        "UPDATE product_outbox SET attempts = attempts + 1, last_error = ?, next_attempt_at = ? WHERE seq = ANY(?)")) {
+                    for (Map.Entry<String, String> failure : failures.entrySet()) {
+                        List<Long> seqs = sequences.get(failure.getKey());
+                        if (seqs == null) {
+                            continue;
+                        }
+                        retry.setString(1, failure.getValue());
+                        retry.setTimestamp(2, Timestamp.from(Instant.now().plus(backoff(attempts.get(failure.getKey()) + 1))));
+                        retry.setArray(3, connection.createArrayOf("bigint", seqs.toArray()));
+                        retry.addBatch();
+                    }
+                    retry.executeBatch();
+                }
+            }
+            int claimed = sequences.values().stream().mapToInt(List::size).sum();
+            return new DrainResult(claimed, sequences.size() - failures.size(), failures.size(), oldest);
+        });
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = properties.getRetryBackoff().multipliedBy(attempt);
+        return delay.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : delay;
+    }
+
+    /**
+     * Outbox durumu
+     *
+     * @return Map<String, Object> - Bekleyen, tekrar denenen kayıt sayısı ve en eski kaydın yaşı
+     */
+    public Map<String, Object> outboxStats() {
+        return execute(connection -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT count(*) AS pending, count(*) FILTER (WHERE attempts > 0) AS retrying, "
+                                 + "min(created_at) AS oldest, max(attempts) AS max_attempts FROM product_outbox")) {
+                rs.next();
+                Timestamp oldest = rs.getTimestamp("oldest");
+                stats.put("pending", rs.getLong("pending"));
+                stats.put("retrying", rs.getLong("retrying"));
+                stats.put("maxAttempts", rs.getInt("max_attempts"));
+                // Gecikme: indekse yansımamış en eski değişikliğin yaşı
+                stats.put("lagMs", oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime()));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT last_error FROM product_outbox WHERE last_error IS NOT NULL ORDER BY seq DESC LIMIT 1")) {
+                stats.put("lastError", rs.next() ? rs.getString(1) : null);
+            }
+            return stats;
+        });
+    }
+
+    // ==================== BAĞLANTI ====================
+
+    private <T> T execute(JdbcConnectionPool.SqlWork<T> work) {
+        try {
+            return pool().execute(work);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    private <T> T inTransaction(JdbcConnectionPool.SqlWork<T> work) {
+        try {
+            return pool().inTransaction(work);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Veri hataları (SQLState 22xxx, 23xxx) isteğin hatasıdır; diğerleri depo erişilemezliği sayılır
+     */
+    private RuntimeException translate(SQLException e) {
+        String state = e.getSQLState();
+        if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+            return new IllegalArgumentException("Ürün kaydedilemedi: " + e.getMessage(), e);
+        }
+        log.debug("Ürün deposu hatası: {}", e.getMessage());
+        return new ServiceUnavailableException("Ürün deposu şu anda kullanılamıyor", properties.getRetryBackoff(), e);
+    }
+
+    private JdbcConnectionPool pool() throws SQLException {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Ürün deposu kapalı (product.store.enabled=false)");
+        }
+        JdbcConnectionPool current = pool;
+        if (current == null) {
+            synchronized (this) {
+                if (pool == null) {
+                    pool = new JdbcConnectionPool(this::connect, properties.getPoolSize(), properties.getAcquireTimeout());
+                }
+                current = pool;
+            }
+        }
+        if (!schemaReady) {
+            ensureSchema(current);
+        }
+        return current;
+    }
+
+    /**
+     * Yeni veritabanı bağlantısı açar (testlerde sahte bağlantıyla değiştirilir)
+     */
+    Connection connect() throws SQLException {
+        Properties credentials = new Properties();
+        credentials.setProperty("user", properties.getUsername());
+        credentials.setProperty("password", properties.getPassword());
+        return DriverManager.getConnection(properties.getUrl(), credentials);
+    }
+
+    /**
+     * Şema dosyasını çalıştırır (ilk başarılı bağlantıda bir kez)
+     */
+    private synchronized void ensureSchema(JdbcConnectionPool current) throws SQLException {
+        if (schemaReady) {
+            return;
+        }
+        String script;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Şema dosyası bulunamadı: " + SCHEMA_RESOURCE);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Şema dosyası okunamadı: " + SCHEMA_RESOURCE, e);
+        }
+        current.inTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements(script)) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+        schemaReady = true;
+        log.info("Ürün deposu şeması hazır: {}", properties.getUrl());
+    }
+
+    /**
+     * Şema dosyasını ifadelere böler (satır yorumları atılır)
+     */
+    private static List<String> statements(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.toString().split(";")) {
+            if (!sql.isBlank()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * Bağlantı havuzu durumu
+     *
+     * @return Map<String, Object> - Kullanımdaki ve boştaki bağlantılar
+     */
+    public Map<String, Object> poolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        JdbcConnectionPool current = pool;
+        stats.put("maxSize", properties.getPoolSize());
+        stats.put("inUse", current == null ? 0 : current.inUse());
+        stats.put("idle", current == null ? 0 : current.idleCount());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        JdbcConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.TieringProperties;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import jakarta.annotation.PreDestroy;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductTieringService - Sıcak/Soğuk İndeks Katmanları
+ *
+ * Ürünler her zaman sıcak indekse (yazma alias'ı) yazılır. isActive=false olan ürünler
+ * kısa bir gecikmeyle soğuk indekse taşınır; tekrar aktifleşen ürünün soğuk kopyası silinir.
+ * Böylece müşteri aramalarının taradığı segmentler, filtreler ve doc values
+ * sadece satıştaki ürünleri içerir.
+ *
+ * Taşıma sırası:
+ * 1. Ürün sıcak indeksten gerçek zamanlı okunur (mget) - olaydaki değil indeksteki hal esas alınır
+ * 2. Kaynak aynen soğuk indekse yazılır
+ * 3. Sıcak kopya okunan versiyonla silinir (external_gte); arada ürün tekrar yazıldıysa
+ *    silme çakışır ve yeni hali korunur, yeni yazmanın olayı ürünü tekrar kuyruğa alır
+ *
+ * Olay yayınlanmadan yazılan ürünler (yeniden indeksleme, kuyruk taşması) periyodik taramayla taşınır.
+ * Silinen ürünlerin soğuk kopyası da bu kuyruktan silinir; silme kuyruktayken soğuk okumalar ürünü döndürmez.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class ProductTieringService {
+
+    private static final int NOT_FOUND = 404;
+    private static final int VERSION_CONFLICT = 409;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final IndexManagementService indexManagementService;
+    private final IndexProperties indexProperties;
+    private final TieringProperties properties;
+    private final ScheduledExecutorService mover;
+
+    /**
+     * Taşınmayı bekleyen ürünler (ID -> aday)
+     */
+    private final Map<String, Candidate> pending = new ConcurrentHashMap<>();
+    private volatile boolean coldIndexReady;
+
+    private final AtomicLong moved = new AtomicLong();
+    private final AtomicLong coldRemoved = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong movedSinceMerge = new AtomicLong();
+    private volatile Instant lastForceMerge;
+    private volatile String lastError;
+
+    /**
+     * Taşıma adayı
+     *
+     * @param id Ürün ID'si
+     * @param routing Sıcak indeksteki routing (kategori routing'i yoksa null)
+     * @param deleted Ürün silindiyse true - sadece soğuk kopya silinir
+     */
+    private record Candidate(String id, String routing, boolean deleted) {
+    }
+
+    public ProductTieringService(ElasticsearchClient elasticsearchClient, ElasticsearchOperations elasticsearchOperations,
+                                 ElasticsearchGuard elasticsearchGuard, IndexManagementService indexManagementService,
+                                 IndexProperties indexProperties, TieringProperties properties) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchGuard = elasticsearchGuard;
+        this.indexManagementService = indexManagementService;
+        this.indexProperties = indexProperties;
+        this.properties = properties;
+        this.mover = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-tiering");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isEnabled()) {
+            long delay = properties.getMoveDelay().toMillis();
+            mover.scheduleWithFixedDelay(this::movePendingSafely, delay, delay, TimeUnit.MILLISECONDS);
+            long sweep = properties.getSweepInterval().toMillis();
+            mover.scheduleWithFixedDelay(this::sweepSafely, sweep, sweep, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // ==================== OLAYLAR ====================
+
+    /**
+     * Açılışta soğuk indeksi hazırlar ve sıcak indeksteki pasif ürünleri taşır
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (properties.isEnabled()) {
+            mover.execute(this::sweepSafely);
+        }
+    }
+
+    /**
+     * Pasif yazılan, tekrar aktifleşen ve silinen ürünleri kuyruğa alır
+     * Aktif kalan (veya aktif oluşturulan) ürünün soğuk kopyası olamaz, kuyruğa alınmaz.
+     * Pasif ürünün her yazması sıcak indekse gittiği için tekrar taşınır.
+     *
+     * @param event Ürün değişiklik olayı
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (!properties.isEnabled() || event.getProductId() == null) {
+            return;
+        }
+        if (event.getType() == ProductChangeEvent.Type.DELETED) {
+            // Silme düşürülmez: taramalar soğuk indeksi gezmez, kopya orada kalırdı
+            pending.put(event.getProductId(), new Candidate(event.getProductId(), null, true));
+            return;
+        }
+        boolean active = ProductChangeEvent.isActive(event.getProduct());
+        boolean stayedActive = event.getType() == ProductChangeEvent.Type.CREATED
+                || Boolean.TRUE.equals(event.getPreviouslyActive());
+        if (active && stayedActive) {
+            return;
+        }
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(event.getProductId())) {
+            // Periyodik tarama pasif ürünü yine de taşır
+            dropped.incrementAndGet();
+            return;
+        }
+        String routing = indexManagementService.isRoutingRequired(indexProperties.getWriteAlias())
+                ? event.getProduct().getCategory() : null;
+        pending.put(event.getProductId(), new Candidate(event.getProductId(), routing, false));
+    }
+
+    // ==================== TAŞIMA ====================
+
+    private void movePendingSafely() {
+        try {
+            while (!pending.isEmpty()) {
+                List<Candidate> batch = new ArrayList<>();
+                Iterator<Candidate> iterator = pending.values().iterator();
+                while (iterator.hasNext() && batch.size() < properties.getBatchSize()) {
+                    batch.add(iterator.next());
+                }
+                move(batch);
+                // Adaylar işlendikten sonra çıkarılır (silinen ürün o ana kadar soğuktan okunmaz);
+                // taşıma sırasında gelen yeni olay adayı değiştirdiyse yenisi kalır
+                batch.forEach(candidate -> pending.computeIfPresent(candidate.id(),
+                        (id, current) -> current == candidate ? null : current));
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            lastError = e.getMessage();
+            log.warn("Pasif ürünler soğuk indekse taşınamadı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adayları indeksteki güncel hallerine göre taşır
+     */
+    private void move(List<Candidate> candidates) {
+        ensureColdIndex();
+        String cold = properties.getColdIndex();
+        List<BulkOperation> coldOperations = new ArrayList<>();
+        List<GetResult<JsonData>> hotCopies = new ArrayList<>();
+
+        List<Candidate> lookups = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.deleted()) {
+                coldOperations.add(BulkOperation.of(op -> op.delete(d -> d.index(cold).id(candidate.id()))));
+            } else {
+                lookups.add(candidate);
+            }
+        }
+        if (!lookups.isEmpty()) {
+            MgetResponse<JsonData> response = elasticsearchGuard.read(Operation.SEARCH, null, () -> {
+                try {
+                    return elasticsearchClient.mget(m -> {
+                        m.index(indexProperties.getWriteAlias());
+                        lookups.forEach(candidate -> m.docs(d -> d.id(candidate.id()).routing(candidate.routing())));
+                        return m;
+                    }, JsonData.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            for (MultiGetResponseItem<JsonData> item : response.docs()) {
+                if (item.isFailure()) {
+                    failures.incrementAndGet();
+                    lastError = item.failure().error().reason();
+                    continue;
+                }
+                GetResult<JsonData> hot = item.result();
+                if (!hot.found()) {
+                    // Zaten taşınmış veya henüz indekslenmemiş; tarama yakalar
+                    continue;
+                }
+                if (isInactive(hot.source())) {
+                    coldOperations.add(BulkOperation.of(op -> op.index(i -> i.index(cold).id(hot.id()).document(hot.source()))));
+                    hotCopies.add(hot);
+                } else {
+                    coldOperations.add(BulkOperation.of(op -> op.delete(d -> d.index(cold).id(hot.id()))));
+                }
+            }
+        }
+        if (coldOperations.isEmpty()) {
+            return;
+        }
+
+        Set<String> copied = new HashSet<>();
+        for (BulkResponseItem item : bulk(coldOperations).items()) {
+            if (item.error() == null) {
+                if (item.operationType() == OperationType.Index) {
+                    copied.add(item.id());
+                } else {
+                    coldRemoved.incrementAndGet();
+                }
+            } else if (item.status() != NOT_FOUND) {
+                failures.incrementAndGet();
+                lastError = item.error().reason();
+            }
+        }
+
+        List<BulkOperation> hotDeletes = hotCopies.stream()
+                .filter(hot -> copied.contains(hot.id()))
+                .map(hot -> BulkOperation.of(op -> op.delete(d -> d
+                        .index(hot.index())
+                        .id(hot.id())
+                        .routing(hot.routing())
+                        // Okunan versiyondan yeni bir yazma varsa silme reddedilir
+                        .version(hot.version())
+                        .versionType(VersionType.ExternalGte))))
+                .toList();
+        if (hotDeletes.isEmpty()) {
+            return;
+        }
+        // Yeniden indeksleme sürerken silinen ID'ler yeni indekse de yansıtılır
+        BulkResponse deleted = elasticsearchGuard.write(Operation.BULK_WRITE, () -> indexManagementService.trackedWrite(
+                () -> executeBulk(hotDeletes), response -> response.items().stream().map(BulkResponseItem::id).toList()));
+        for (BulkResponseItem item : deleted.items()) {
+            if (item.error() == null) {
+                moved.incrementAndGet();
+                movedSinceMerge.incrementAndGet();
+            } else if (item.status() == VERSION_CONFLICT) {
+                conflicts.incrementAndGet();
+            } else if (item.status() != NOT_FOUND) {
+                failures.incrementAndGet();
+                lastError = item.error().reason();
+            }
+        }
+    }
+
+    private static boolean isInactive(JsonData source) {
+        JsonObject document = source.toJson().asJsonObject();
+        return JsonValue.FALSE.equals(document.get("isActive"));
+    }
+
+    private BulkResponse bulk(List<BulkOperation> operations) {
+        return elasticsearchGuard.write(Operation.BULK_WRITE, () -> executeBulk(operations));
+    }
+
+    private BulkResponse executeBulk(List<BulkOperation> operations) {
+        try {
+            return elasticsearchClient.bulk(b -> b.operations(operations));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== TARAMA VE FORCE-MERGE ====================
+
+    /**
+     * Sıcak indeksteki tüm pasif ürünleri soğuk indekse taşır
+     *
+     * @return Map<String, Object> - Taranan ve taşınan ürün sayıları
+     */
+    public Map<String, Object> sweep() {
+        ensureColdIndex();
+        long before = moved.get();
+        long scanned = 0;
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.term(t -> t.field("isActive").value(false)))
+                .withSourceFilter(new FetchSourceFilter(new String[]{"isActive"}, null))
+                .withMaxResults(properties.getBatchSize())
+                .build();
+        List<Candidate> batch = new ArrayList<>();
+        try (SearchHitsIterator<Product> hits = elasticsearchOperations.searchForStream(query, Product.class,
+                IndexCoordinates.of(indexProperties.getWriteAlias()))) {
+            while (hits.hasNext()) {
+                SearchHit<Product> hit = hits.next();
+                batch.add(new Candidate(hit.getId(), hit.getRouting(), false));
+                scanned++;
+                if (batch.size() == properties.getBatchSize()) {
+                    move(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            move(batch);
+        }
+        sweeps.incrementAndGet();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scanned", scanned);
+        result.put("moved", moved.get() - before);
+        if (scanned > 0) {
+            log.info("Soğuk katman taraması: {} pasif ürün bulundu, {} ürün taşındı", scanned, moved.get() - before);
+        }
+        return result;
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+            Instant last = lastForceMerge;
+            if (movedSinceMerge.get() > 0
+                    && (last == null || last.plus(properties.getForceMergeInterval()).isBefore(Instant.now()))) {
+                forceMerge();
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            lastError = e.getMessage();
+            log.warn("Soğuk katman taraması başarısız: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Soğuk indeksi tek segmente birleştirir (arka planda, yanıt beklenmez)
+     * Silinen dokümanların yeri geri kazanılır, okumalar tek segmentten yapılır
+     *
+     * @return Elasticsearch görev kimliği
+     */
+    public String forceMerge() {
+        ensureColdIndex();
+        String task = elasticsearchGuard.write(Operation.WRITE, () -> {
+            try {
+                return elasticsearchClient.indices().forcemerge(f -> f
+                        .index(properties.getColdIndex())
+                        .maxNumSegments(1L)
+                        .waitForCompletion(false)).task();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        movedSinceMerge.set(0);
+        lastForceMerge = Instant.now();
+        log.info("{} indeksi force-merge ediliyor (görev {})", properties.getColdIndex(), task);
+        return task;
+    }
+
+    // ==================== SOĞUK İNDEKS ====================
+
+    /**
+     * Soğuk indeksin var olduğundan emin olur
+     * Routing zorunlu değildir, indeks sıralaması yoktur; daha az replica ve best_compression ile oluşturulur
+     */
+    private synchronized void ensureColdIndex() {
+        if (coldIndexReady) {
+            return;
+        }
+        String cold = properties.getColdIndex();
+        try {
+            if (!elasticsearchClient.indices().exists(e -> e.index(cold)).value()) {
+                Document mapping = indexManagementService.productMapping();
+                elasticsearchClient.indices().create(c -> c
+                        .index(cold)
+                        .settings(s -> s
+                                .numberOfShards(String.valueOf(properties.getColdShards()))
+                                .numberOfReplicas(String.valueOf(properties.getColdReplicas()))
+                                .refreshInterval(t -> t.time(properties.getColdRefreshInterval()))
+                                .codec("best_compression"))
+                        .mappings(m -> m.withJson(new StringReader(mapping.toJson()))));
+                log.info("Soğuk indeks {} oluşturuldu", cold);
+            }
+            coldIndexReady = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Soğuk indeks hazırlanamadı", e);
+        }
+    }
+
+    /**
+     * Soğuk indeksten ID ile okuma
+     *
+     * @param id Ürün ID'si
+     * @return Optional<Product> - Ürün soğuk katmandaysa içinde ürün
+     */
+    public Optional<Product> findCold(String id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        if (isDeletePending(id)) {
+            return Optional.empty();
+        }
+        ensureColdIndex();
+        return Optional.ofNullable(elasticsearchOperations.get(id, Product.class, IndexCoordinates.of(properties.getColdIndex())));
+    }
+
+    /**
+     * Soğuk indeksten birden fazla ID ile okuma
+     *
+     * @param ids Ürün ID'leri
+     * @return Soğuk katmanda bulunan ürünler
+     */
+    public List<Product> findAllCold(Collection<String> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return List.of();
+        }
+        ensureColdIndex();
+        return elasticsearchOperations.multiGet(NativeQuery.builder().withIds(List.copyOf(ids)).build(), Product.class,
+                        IndexCoordinates.of(properties.getColdIndex())).stream()
+                .map(MultiGetItem::getItem)
+                .filter(Objects::nonNull)
+                .filter(product -> !isDeletePending(product.getId()))
+                .toList();
+    }
+
+    private boolean isDeletePending(String id) {
+        Candidate candidate = pending.get(id);
+        return candidate != null && candidate.deleted();
+    }
+
+    /**
+     * Katman istatistikleri
+     *
+     * @return Map<String, Object> - Kuyruk, taşıma, çakışma ve force-merge bilgileri
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("coldIndex", properties.getColdIndex());
+        stats.put("coldIndexReady", coldIndexReady);
+        stats.put("pending", pending.size());
+        stats.put("moved", moved.get());
+        stats.put("coldRemoved", coldRemoved.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failures", failures.get());
+        stats.put("lastError", lastError);
+        stats.put("sweeps", sweeps.get());
+        stats.put("movedSinceForceMerge", movedSinceMerge.get());
+        stats.put("lastForceMerge", lastForceMerge);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mover.shutdownNow();
+    }
+}
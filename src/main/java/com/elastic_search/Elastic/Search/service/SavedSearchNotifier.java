@@ -0,0 +1,130 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.SavedSearchProperties;
+import com.elastic_search.Elastic.Search.event.SavedSearchMatchEvent;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SavedSearchNotifier - Kayıtlı Arama Bildirimlerini SSE ile İletir
+ *
+ * Aboneler GET /api/alerts/stream ile açık bir akış tutar; SavedSearchMatchEvent
+ * geldiğinde eşleşme "match" olayı olarak aboneye gönderilir. Kopan akışlar
+ * ilk başarısız gönderimde kayıttan çıkarılır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@RequiredArgsConstructor // Lombok: Final field'lar için constructor oluşturur
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class SavedSearchNotifier {
+
+    private static final Duration STREAM_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final SavedSearchProperties properties;
+
+    private final Map<String, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Abone için bildirim akışı açar
+     *
+     * @param subscriberId Abone kimliği
+     * @return SseEmitter - Açık akış
+     * @throws ServiceUnavailableException Açık akış sınırı doluysa
+     */
+    public SseEmitter subscribe(String subscriberId) {
+        if (openStreams.incrementAndGet() > properties.getMaxStreams()) {
+            openStreams.decrementAndGet();
+            throw new ServiceUnavailableException("Açık bildirim akışı sınırına ulaşıldı", STREAM_RETRY_AFTER);
+        }
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        streams.computeIfAbsent(subscriberId, key -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unregister(subscriberId, emitter));
+        emitter.onTimeout(() -> unregister(subscriberId, emitter));
+        emitter.onError(error -> unregister(subscriberId, emitter));
+        try {
+            // İlk yorum satırı yanıt başlıklarını hemen gönderir; istemci akışın açıldığını görür
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            unregister(subscriberId, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Eşleşmeyi abonenin açık akışlarına gönderir
+     *
+     * @param event Kayıtlı arama eşleşmesi
+     */
+    @EventListener // Spring: SavedSearchService'in yayınladığı eşleşmeleri dinler
+    public void onMatch(SavedSearchMatchEvent event) {
+        Set<SseEmitter> emitters = streams.get(event.getSavedSearch().getSubscriberId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(event.getSavedSearch().getId() + ":" + event.getProduct().getId())
+                        .name("match")
+                        .data(event, MediaType.APPLICATION_JSON));
+                sent.incrementAndGet();
+            } catch (IOException | IllegalStateException e) {
+                failed.incrementAndGet();
+                log.debug("Bildirim akışı kapandı: {}", e.getMessage());
+                unregister(event.getSavedSearch().getSubscriberId(), emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void unregister(String subscriberId, SseEmitter emitter) {
+        streams.computeIfPresent(subscriberId, (key, emitters) -> {
+            if (emitters.remove(emitter)) {
+                openStreams.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    /**
+     * Akış istatistikleri
+     *
+     * @return Map<String, Object> - Abone ve açık akış sayısı, gönderilen ve başarısız bildirimler
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", streams.size());
+        stats.put("openStreams", openStreams.get());
+        stats.put("maxStreams", properties.getMaxStreams());
+        stats.put("sent", sent.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        streams.clear();
+    }
+}
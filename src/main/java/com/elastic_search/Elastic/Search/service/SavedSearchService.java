@@ -0,0 +1,538 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.Result;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpUtils;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.SavedSearchProperties;
+import com.elastic_search.Elastic.Search.dto.SavedSearchRequest;
+import com.elastic_search.Elastic.Search.dto.SavedSearchResponse;
+import com.elastic_search.Elastic.Search.dto.SearchRequest;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.event.SavedSearchMatchEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import com.elastic_search.Elastic.Search.util.LruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.json.JsonValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SavedSearchService - Percolator ile Kayıtlı Aramalar
+ *
+ * Fiyat ve stok alarmları için istemcilerin kayıtlı aramalarını dakikada bir tekrar
+ * çalıştırması yerine aramalar percolator sorgusu olarak saklanır:
+ * - Ürün yazmaları (tekil, güncelleme, toplu) ProductChangeEvent ile gelir
+ * - Aynı ürünün pencere içindeki değişiklikleri son hale indirgenir
+ * - Bekleyen ürünler tek bir percolate isteğiyle tüm kayıtlı aramalara karşı eşleştirilir
+ * - Ürün bir aramaya yeni girdiyse SavedSearchMatchEvent yayınlanır (SSE ve diğer dinleyiciler)
+ *
+ * Maliyet abone sayısı x sorgulama sıklığıyla değil yazma sayısıyla ölçeklenir.
+ *
+ * Eşleşme hafızası bellektedir: uygulama yeniden başladıktan sonra aramada olan bir ürünün
+ * ilk yazmasında bir kez daha bildirim gönderilebilir.
+ *
+ * Abone başına arama sınırı bu uygulama örneği içinde kesindir: aynı abonenin oluşturma
+ * istekleri sırayla işlenir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class SavedSearchService {
+
+    private static final String QUERY_FIELD = "query";
+    private static final String ALERT_FIELD = "alert";
+    private static final String SLOT_FIELD = "_percolator_document_slot";
+    private static final String PIT_KEEP_ALIVE = "1m";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final ProductService productService;
+    private final SavedSearchProperties properties;
+    private final IndexProperties indexProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+
+    private final Map<String, Product> pending = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> creating = new ConcurrentHashMap<>(); // Abone -> süren oluşturma
+    private final LruCache<String, Set<String>> lastMatches;
+    private final ScheduledExecutorService percolator;
+    private volatile boolean indexReady;
+
+    private final AtomicLong percolated = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+    private final AtomicLong notifications = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastBatchMillis;
+
+    public SavedSearchService(ElasticsearchClient elasticsearchClient, ElasticsearchOperations elasticsearchOperations,
+                              ElasticsearchGuard elasticsearchGuard, ProductService productService,
+                              SavedSearchProperties properties, IndexProperties indexProperties,
+                              ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher, Tracer tracer) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchGuard = elasticsearchGuard;
+        this.productService = productService;
+        this.properties = properties;
+        this.indexProperties = indexProperties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+        this.lastMatches = new LruCache<>(properties.getMatchMemorySize());
+        this.percolator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saved-search-percolator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = properties.getWindow().toMillis();
+        percolator.scheduleWithFixedDelay(this::percolateSafely, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    // ==================== KAYITLI ARAMALAR ====================
+
+    /**
+     * Kayıtlı arama oluşturur
+     * Arama refresh beklenerek yazılır; dönüşten sonraki ilk ürün yazmasında eşleştirmeye dahildir
+     *
+     * @param request Arama kriterleri ve abone
+     * @return SavedSearchResponse - Oluşturulan arama
+     * @throws IllegalArgumentException Abonenin arama sınırı doluysa
+     */
+    public SavedSearchResponse create(SavedSearchRequest request) {
+        // Sayım ve yazma aynı abonenin diğer oluşturmalarıyla iç içe geçmez; farklı aboneler birbirini beklemez
+        while (true) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = creating.putIfAbsent(request.getSubscriberId(), mine);
+            if (running == null) {
+                try {
+                    return createWithinLimit(request);
+                } finally {
+                    creating.remove(request.getSubscriberId(), mine);
+                    mine.complete(null);
+                }
+            }
+            running.join();
+        }
+    }
+
+    /**
+     * Abonenin sınırını kontrol edip aramayı yazar (abone başına tek thread)
+     * Yazma refresh beklediği için sonraki sayım bu aramayı görür
+     */
+    private SavedSearchResponse createWithinLimit(SavedSearchRequest request) {
+        if (findBySubscriber(request.getSubscriberId()).size() >= properties.getMaxPerSubscriber()) {
+            throw new IllegalArgumentException("Abone başına en fazla " + properties.getMaxPerSubscriber() + " kayıtlı arama oluşturulabilir");
+        }
+        SavedSearchResponse savedSearch = new SavedSearchResponse();
+        savedSearch.setId(UUID.randomUUID().toString());
+        savedSearch.setSubscriberId(request.getSubscriberId());
+        savedSearch.setLabel(request.getLabel());
+        savedSearch.setQuery(request.getQuery());
+        savedSearch.setCategory(request.getCategory());
+        savedSearch.setTag(request.getTag());
+        savedSearch.setMinPrice(request.getMinPrice());
+        savedSearch.setMaxPrice(request.getMaxPrice());
+        savedSearch.setMinStock(request.getMinStock());
+        savedSearch.setCreatedAt(Instant.now());
+
+        SearchRequest criteria = new SearchRequest();
+        criteria.setQuery(request.getQuery());
+        criteria.setCategory(request.getCategory());
+        criteria.setTag(request.getTag());
+        criteria.setMinPrice(request.getMinPrice());
+        criteria.setMaxPrice(request.getMaxPrice());
+        Query query = productService.savedSearchQuery(criteria, request.getMinStock());
+
+        JsonData document = JsonData.fromJson("{\"" + QUERY_FIELD + "\":"
+                + JsonpUtils.toJsonString(query, elasticsearchClient._jsonpMapper())
+                + ",\"" + ALERT_FIELD + "\":" + toJson(savedSearch) + "}");
+        elasticsearchGuard.write(Operation.WRITE, () -> {
+            try {
+                ensureIndex();
+                elasticsearchClient.index(i -> i
+                        .index(properties.getIndex())
+                        .id(savedSearch.getId())
+                        .document(document)
+                        .refresh(Refresh.WaitFor));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Kayıtlı arama oluşturuldu: {} ({})", savedSearch.getId(), savedSearch.getSubscriberId());
+        return savedSearch;
+    }
+
+    /**
+     * Abonenin kayıtlı aramaları (en yeniden eskiye)
+     *
+     * @param subscriberId Abone kimliği
+     * @return Kayıtlı aramalar
+     */
+    public List<SavedSearchResponse> findBySubscriber(String subscriberId) {
+        return elasticsearchGuard.read(Operation.SEARCH, null, () -> {
+            try {
+                ensureIndex();
+                SearchResponse<JsonData> response = elasticsearchClient.search(s -> s
+                        .index(properties.getIndex())
+                        .query(q -> q.term(t -> t.field(ALERT_FIELD + ".subscriberId").value(subscriberId)))
+                        .sort(o -> o.field(f -> f.field(ALERT_FIELD + ".createdAt").order(SortOrder.Desc)))
+                        .size(properties.getMaxPerSubscriber())
+                        .source(src -> src.filter(f -> f.includes(ALERT_FIELD))), JsonData.class);
+                return response.hits().hits().stream().map(this::toSavedSearch).toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Kayıtlı aramayı siler
+     *
+     * @param id Kayıtlı arama kimliği
+     * @return boolean - Silindiyse true, bulunamazsa false
+     */
+    public boolean delete(String id) {
+        return elasticsearchGuard.write(Operation.WRITE, () -> {
+            try {
+                ensureIndex();
+                return elasticsearchClient.delete(d -> d
+                        .index(properties.getIndex())
+                        .id(id)
+                        .refresh(Refresh.WaitFor)).result() == Result.Deleted;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ==================== EŞLEŞTİRME ====================
+
+    /**
+     * Ürün değişikliklerini eşleştirme kuyruğuna alır
+     * Aynı ürünün bekleyen hali yenisiyle değiştirilir; silinen ürün kuyruktan ve hafızadan çıkarılır
+     *
+     * @param event Ürün değişikliği
+     */
+    @EventListener // Spring: ProductService'in yayınladığı olayları dinler
+    public void onProductChange(ProductChangeEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.getType() == ProductChangeEvent.Type.DELETED) {
+            pending.remove(event.getProductId());
+            lastMatches.remove(event.getProductId());
+            return;
+        }
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(event.getProductId())) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.put(event.getProductId(), event.getProduct());
+    }
+
+    private void percolateSafely() {
+        try {
+            percolatePending();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Kayıtlı arama eşleştirmesi başarısız oldu: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bekleyen ürünleri maxBatchSize'lık percolate istekleriyle eşleştirir
+     * Eşleştirilemeyen ürünler, daha yeni hali gelmediyse, tekrar kuyruğa alınır
+     */
+    private void percolatePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<String> ids = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < ids.size(); from += properties.getMaxBatchSize()) {
+            List<Product> batch = new ArrayList<>();
+            for (String id : ids.subList(from, Math.min(ids.size(), from + properties.getMaxBatchSize()))) {
+                Product product = pending.remove(id);
+                if (product != null) {
+                    batch.add(product);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try (Tracer.Scope scope = tracer.trace("saved-search.percolate")) {
+                scope.span().attribute("products", batch.size());
+                percolate(batch);
+            } catch (RuntimeException e) {
+                batch.forEach(product -> pending.putIfAbsent(product.getId(), product));
+                throw e;
+            }
+        }
+        lastBatchMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Ürünleri tek bir percolate isteğiyle eşleştirir ve yeni eşleşmeler için olay yayınlar
+     * Her eşleşen aramanın _percolator_document_slot alanı, eşleşen ürünlerin batch içindeki sırasıdır
+     */
+    private void percolate(List<Product> batch) {
+        List<JsonData> documents = batch.stream()
+                .map(product -> JsonData.fromJson(elasticsearchOperations.getElasticsearchConverter().mapObject(product).toJson()))
+                .toList();
+        List<Hit<JsonData>> hits = elasticsearchGuard.read(Operation.SEARCH, null, () -> {
+            try {
+                ensureIndex();
+                return percolateAll(documents);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        Map<Integer, List<SavedSearchResponse>> matchesBySlot = new HashMap<>();
+        for (Hit<JsonData> hit : hits) {
+            SavedSearchResponse savedSearch = toSavedSearch(hit);
+            for (int slot : slots(hit, batch.size())) {
+                matchesBySlot.computeIfAbsent(slot, key -> new ArrayList<>()).add(savedSearch);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (int slot = 0; slot < batch.size(); slot++) {
+            Product product = batch.get(slot);
+            List<SavedSearchResponse> current = matchesBySlot.getOrDefault(slot, List.of());
+            Set<String> previous = lastMatches.get(product.getId());
+            Set<String> currentIds = new HashSet<>();
+            for (SavedSearchResponse savedSearch : current) {
+                currentIds.add(savedSearch.getId());
+                // Sadece aramaya yeni giren ürün bildirilir (örn. fiyatı eşiğin altına düştüğünde bir kez)
+                if (previous == null || !previous.contains(savedSearch.getId())) {
+                    notifications.incrementAndGet();
+                    eventPublisher.publishEvent(new SavedSearchMatchEvent(savedSearch, product, now));
+                }
+            }
+            if (currentIds.isEmpty()) {
+                lastMatches.remove(product.getId());
+            } else {
+                lastMatches.put(product.getId(), currentIds);
+            }
+            matches.addAndGet(currentIds.size());
+        }
+        percolated.addAndGet(batch.size());
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Ürünlerle eşleşen tüm kayıtlı aramalar
+     * Çoğu batch tek sayfaya sığar ve tek istekle biter; sığmazsa eşleşmeler point-in-time
+     * üzerinde search_after ile baştan sayfa sayfa okunur (kısmi sonuç eşleşme hafızasına yazılmaz)
+     */
+    private List<Hit<JsonData>> percolateAll(List<JsonData> documents) throws IOException {
+        int pageSize = properties.getMatchPageSize();
+        Query percolate = Query.of(q -> q.percolate(p -> p.field(QUERY_FIELD).documents(documents)));
+        SearchResponse<JsonData> first = elasticsearchClient.search(s -> s
+                .index(properties.getIndex())
+                .query(percolate)
+                .size(pageSize)
+                .trackTotalHits(t -> t.count(pageSize + 1))
+                .source(src -> src.filter(f -> f.includes(ALERT_FIELD))), JsonData.class);
+        if (first.hits().total() == null || first.hits().total().value() <= pageSize) {
+            return first.hits().hits();
+        }
+
+        String pitId = elasticsearchClient.openPointInTime(o -> o
+                .index(properties.getIndex())
+                .keepAlive(k -> k.time(PIT_KEEP_ALIVE))).id();
+        try {
+            List<Hit<JsonData>> hits = new ArrayList<>();
+            List<FieldValue> after = null;
+            while (true) {
+                List<FieldValue> searchAfter = after;
+                SearchResponse<JsonData> page = elasticsearchClient.search(s -> {
+                    s.pit(p -> p.id(pitId).keepAlive(k -> k.time(PIT_KEEP_ALIVE)))
+                            .query(percolate)
+                            .sort(o -> o.field(f -> f.field("_shard_doc")))
+                            .size(pageSize)
+                            .trackTotalHits(t -> t.enabled(false))
+                            .source(src -> src.filter(f -> f.includes(ALERT_FIELD)));
+                    return searchAfter == null ? s : s.searchAfter(searchAfter);
+                }, JsonData.class);
+                List<Hit<JsonData>> pageHits = page.hits().hits();
+                hits.addAll(pageHits);
+                if (pageHits.size() < pageSize) {
+                    log.debug("Percolate sonucu {} sayfada okundu ({} kayıtlı arama)", hits.size() / pageSize + 1, hits.size());
+                    return hits;
+                }
+                after = pageHits.get(pageHits.size() - 1).sort();
+            }
+        } finally {
+            try {
+                elasticsearchClient.closePointInTime(c -> c.id(pitId));
+            } catch (IOException | ElasticsearchException e) {
+                // Kapatılamayan PIT keepAlive sonunda kendiliğinden kapanır
+                log.debug("Percolate point-in-time kapatılamadı: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Eşleşen ürünlerin batch içindeki sıraları
+     * Tek dokümanlı isteklerde slot alanı gelmeyebilir; o durumda tek ürün eşleşmiştir
+     */
+    private static List<Integer> slots(Hit<JsonData> hit, int batchSize) {
+        JsonData slotField = hit.fields().get(SLOT_FIELD);
+        if (slotField == null) {
+            return batchSize == 1 ? List.of(0) : List.of();
+        }
+        JsonValue value = slotField.toJson();
+        if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+            return value.asJsonArray().stream().map(slot -> Integer.parseInt(slot.toString())).toList();
+        }
+        return List.of(Integer.parseInt(value.toString()));
+    }
+
+    // ==================== İNDEKS ====================
+
+    /**
+     * Percolator indeksinin var olduğundan ve güncel ürün mapping'ini içerdiğinden emin olur
+     * Percolator sorguları ürün alanlarına göre ayrıştırıldığı için Product mapping'i kopyalanır;
+     * mevcut indekse eksik alanlar eklenir
+     */
+    private void ensureIndex() throws IOException {
+        if (indexReady) {
+            return;
+        }
+        synchronized (this) {
+            if (indexReady) {
+                return;
+            }
+            Document productMapping = elasticsearchOperations.indexOps(Product.class).createMapping(Product.class);
+            Map<String, Object> fields = new LinkedHashMap<>(productMapping);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> propertyMap = new LinkedHashMap<>((Map<String, Object>) fields.getOrDefault("properties", Map.of()));
+            // Vektör alanı eşleştirmede kullanılmaz; percolate edilen dokümanlarda yok sayılır
+            propertyMap.remove(IndexManagementService.EMBEDDING_FIELD);
+            propertyMap.put(QUERY_FIELD, Map.of("type", "percolator"));
+            propertyMap.put(ALERT_FIELD, Map.of(
+                    "dynamic", false,
+                    "properties", Map.of(
+                            "subscriberId", Map.of("type", "keyword"),
+                            "createdAt", Map.of("type", "date"))));
+            // Percolate edilen ürünlerdeki bilinmeyen alanlar (örn. _class) indekse eklenmez
+            fields.put("dynamic", false);
+            fields.put("properties", propertyMap);
+            TypeMapping mapping = TypeMapping.of(m -> m.withJson(new StringReader(toJson(fields))));
+
+            String index = properties.getIndex();
+            if (elasticsearchClient.indices().exists(e -> e.index(index)).value()) {
+                elasticsearchClient.indices().putMapping(p -> p.index(index).properties(mapping.properties()));
+            } else {
+                try {
+                    elasticsearchClient.indices().create(c -> c
+                            .index(index)
+                            .settings(s -> s
+                                    .numberOfShards("1")
+                                    .numberOfReplicas(String.valueOf(indexProperties.getReplicas())))
+                            .mappings(mapping));
+                    log.info("Kayıtlı arama indeksi oluşturuldu: {}", index);
+                } catch (ElasticsearchException e) {
+                    // Başka bir uygulama örneği aynı anda oluşturduysa devam edilir
+                    if (!"resource_already_exists_exception".equals(e.error().type())) {
+                        throw e;
+                    }
+                }
+            }
+            indexReady = true;
+        }
+    }
+
+    // ==================== DÖNÜŞÜM ====================
+
+    private SavedSearchResponse toSavedSearch(Hit<JsonData> hit) {
+        try {
+            JsonNode alert = objectMapper.readTree(hit.source().toJson().toString()).get(ALERT_FIELD);
+            SavedSearchResponse savedSearch = objectMapper.treeToValue(alert, SavedSearchResponse.class);
+            savedSearch.setId(hit.id());
+            return savedSearch;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Kayıtlı arama okunamadı: " + hit.id(), e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * Eşleştirme istatistikleri
+     *
+     * @return Map<String, Object> - Kuyruk derinliği, eşleştirilen ürün, eşleşme ve bildirim sayıları
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("index", properties.getIndex());
+        stats.put("pending", pending.size());
+        stats.put("percolated", percolated.get());
+        stats.put("batches", batches.get());
+        stats.put("matches", matches.get());
+        stats.put("notifications", notifications.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failures", failures.get());
+        stats.put("rememberedProducts", lastMatches.size());
+        stats.put("lastBatchMs", lastBatchMillis);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        percolator.shutdownNow();
+    }
+}
@@ -0,0 +1,397 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Collector;
+import co.elastic.clients.elasticsearch.core.search.QueryProfile;
+import co.elastic.clients.elasticsearch.core.search.SearchProfile;
+import co.elastic.clients.elasticsearch.core.search.ShardProfile;
+import co.elastic.clients.json.JsonpSerializable;
+import co.elastic.clients.json.JsonpUtils;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.SlowQueryProperties;
+import com.elastic_search.Elastic.Search.service.ElasticsearchGuard.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SlowQueryRecorder - Yavaş Sorgu Kaydı ve Profil Yakalama
+ * 
+ * Her sorguyu loglamak yerine (spring data elasticsearch DEBUG logları)
+ * sadece eşik süreyi aşan aramaları kaydeder:
+ * - Son yavaş sorgular sınırlı bir halka tamponda tutulur
+ * - Sorgu şekli (hangi filtrelerin kullanıldığı) bazında en yavaş N şekil tutulur
+ * - Örneklenen yavaş sorgular arka planda profile=true ile tekrar çalıştırılır
+ *   ve shard bazında sorgu/collector süre dağılımı şekle eklenir
+ * 
+ * Profil çalıştırması istek thread'ini bekletmez; kuyruk doluysa atlanır.
+ * Tekrar çalıştırılan istek orijinalin aynısıdır (sıralama, aggregation, size, routing dahil)
+ * ve ElasticsearchGuard üzerinden düşük öncelikle gönderilir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class SlowQueryRecorder {
+    
+    private static final int MAX_DESCRIPTION_LENGTH = 300;
+    
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final IndexProperties indexProperties;
+    private final SlowQueryProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor profiler;
+    private final Tracer tracer;
+    
+    private final Deque<Map<String, Object>> recent = new ArrayDeque<>();
+    private final Map<String, ShapeStats> shapes = new LinkedHashMap<>();
+    private final AtomicLong observed = new AtomicLong();
+    private final AtomicLong slow = new AtomicLong();
+    private final AtomicLong profiled = new AtomicLong();
+    
+    public SlowQueryRecorder(ElasticsearchClient elasticsearchClient, ElasticsearchGuard elasticsearchGuard,
+                             IndexProperties indexProperties, SlowQueryProperties properties,
+                             ObjectMapper objectMapper, Tracer tracer) {
+        this.tracer = tracer;
+        this.elasticsearchClient = elasticsearchClient;
+        this.elasticsearchGuard = elasticsearchGuard;
+        this.indexProperties = indexProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // Tek thread, küçük kuyruk: profil çalıştırmaları kümeye ek yük bindirmesin
+        this.profiler = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-profiler");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    
+    /**
+     * Sorgu şekli bazında istatistikler
+     */
+    private static final class ShapeStats {
+        long count;
+        long totalMs;
+        long maxMs;
+        Instant lastSeen;
+        Object lastRequest;
+        Instant profiledAt;
+        Object profile;
+    }
+    
+    // ==================== KAYIT ====================
+    
+    /**
+     * Aramayı süresini ölçerek çalıştırır, eşiği aşarsa kaydeder
+     * 
+     * @param shape Sorgu şekli - değerlerden bağımsız, hangi filtrelerin kullanıldığını anlatır
+     * @param query Elasticsearch'e gönderilen istek (profil için aynen tekrar çalıştırılır)
+     * @param search Aramayı yapan fonksiyon
+     * @return Arama sonucu
+     */
+    public <T> T timed(String shape, NativeQuery query, Supplier<T> search) {
+        if (!properties.isEnabled()) {
+            return search.get();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = search.get();
+            failed = false;
+            return result;
+        } finally {
+            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            observed.incrementAndGet();
+            if (tookMs >= properties.getThreshold().toMillis()) {
+                record(shape, query, tookMs, failed);
+            }
+        }
+    }
+    
+    private void record(String shape, NativeQuery query, long tookMs, boolean failed) {
+        slow.incrementAndGet();
+        Object requestJson = toJson(searchRequest(query, false));
+        log.warn("Yavaş sorgu: {} {} ms{}", shape, tookMs, failed ? " (hata)" : "");
+        
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("at", Instant.now());
+        entry.put("shape", shape);
+        entry.put("tookMs", tookMs);
+        entry.put("failed", failed);
+        entry.put("request", requestJson);
+        entry.put("routing", query.getRoute());
+        
+        boolean profile;
+        synchronized (this) {
+            recent.addFirst(entry);
+            while (recent.size() > properties.getRecentSize()) {
+                recent.removeLast();
+            }
+            ShapeStats stats = shapes.get(shape);
+            if (stats == null) {
+                if (!makeRoomFor(tookMs)) {
+                    return;
+                }
+                stats = new ShapeStats();
+                shapes.put(shape, stats);
+            }
+            stats.count++;
+            stats.totalMs += tookMs;
+            stats.maxMs = Math.max(stats.maxMs, tookMs);
+            stats.lastSeen = Instant.now();
+            stats.lastRequest = requestJson;
+            profile = (stats.profiledAt == null
+                    || stats.profiledAt.plus(properties.getProfileInterval()).isBefore(Instant.now()))
+                    && ThreadLocalRandom.current().nextDouble() < properties.getProfileSampleRate();
+            if (profile) {
+                stats.profiledAt = Instant.now();
+            }
+        }
+        if (profile) {
+            // Profil span'i yavaş isteğin trace'ine eklenir
+            profiler.execute(tracer.wrap(() -> profile(shape, query)));
+        }
+    }
+    
+    /**
+     * Şekil tablosu doluysa en hızlı şekli çıkarır
+     * Yeni şekil tablodakilerin hepsinden hızlıysa takip edilmez
+     */
+    private boolean makeRoomFor(long tookMs) {
+        if (shapes.size() < properties.getMaxShapes()) {
+            return true;
+        }
+        Map.Entry<String, ShapeStats> fastest = shapes.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().maxMs))
+                .orElseThrow();
+        if (fastest.getValue().maxMs >= tookMs) {
+            return false;
+        }
+        shapes.remove(fastest.getKey());
+        return true;
+    }
+    
+    // ==================== PROFİL ====================
+    
+    @SuppressWarnings("try")
+    private void profile(String shape, NativeQuery query) {
+        try (Tracer.Scope ignored = tracer.trace("slow-query.profile")) {
+            SearchRequest request = searchRequest(query, true);
+            SearchResponse<Void> response = elasticsearchGuard.read(Operation.PROFILE, null, () -> {
+                try {
+                    return elasticsearchClient.search(request, Void.class);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            List<Map<String, Object>> shards = new ArrayList<>();
+            if (response.profile() != null) {
+                for (ShardProfile shard : response.profile().shards()) {
+                    shards.add(summarize(shard));
+                }
+            }
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("tookMs", response.took());
+            profile.put("shards", shards);
+            synchronized (this) {
+                ShapeStats stats = shapes.get(shape);
+                if (stats != null) {
+                    stats.profile = profile;
+                }
+            }
+            profiled.incrementAndGet();
+        } catch (Exception e) {
+            log.debug("Yavaş sorgu profili alınamadı: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Spring Data sorgusunu aynı şekilde bir SearchRequest'e çevirir
+     * Sadece bu projede kullanılan alanlar taşınır: sorgu, kNN, post filter, sıralama, aggregation,
+     * suggester, boyut, toplam hit sınırı, kaynak filtresi, zaman aşımı ve routing
+     */
+    private SearchRequest searchRequest(NativeQuery query, boolean profile) {
+        return SearchRequest.of(s -> {
+            s.index(indexProperties.getReadAlias())
+                    .query(query.getQuery())
+                    .knn(query.getKnnQuery())
+                    .postFilter(query.getFilter())
+                    .suggest(query.getSuggester())
+                    .routing(query.getRoute());
+            if (!query.getSortOptions().isEmpty()) {
+                s.sort(query.getSortOptions());
+            }
+            if (!query.getAggregations().isEmpty()) {
+                s.aggregations(query.getAggregations());
+            }
+            Pageable pageable = query.getPageable();
+            if (query.getMaxResults() != null) {
+                s.size(query.getMaxResults());
+            } else if (pageable.isPaged()) {
+                s.from((int) pageable.getOffset()).size(pageable.getPageSize());
+            }
+            if (query.getTrackTotalHitsUpTo() != null) {
+                s.trackTotalHits(t -> t.count(query.getTrackTotalHitsUpTo()));
+            } else if (query.getTrackTotalHits() != null) {
+                s.trackTotalHits(t -> t.enabled(query.getTrackTotalHits()));
+            }
+            SourceFilter sourceFilter = query.getSourceFilter();
+            if (sourceFilter != null) {
+                s.source(source -> source.filter(f -> {
+                    if (sourceFilter.getIncludes() != null) {
+                        f.includes(List.of(sourceFilter.getIncludes()));
+                    }
+                    if (sourceFilter.getExcludes() != null) {
+                        f.excludes(List.of(sourceFilter.getExcludes()));
+                    }
+                    return f;
+                }));
+            }
+            if (query.getTimeout() != null) {
+                s.timeout(query.getTimeout().toMillis() + "ms");
+            }
+            if (profile) {
+                // Önbellekten dönen cevabın profili olmaz
+                s.profile(true).requestCache(false);
+            }
+            return s;
+        });
+    }
+    
+    private Map<String, Object> summarize(ShardProfile shard) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("shard", shard.id());
+        List<Map<String, Object>> searches = new ArrayList<>();
+        for (SearchProfile search : shard.searches()) {
+            Map<String, Object> searchSummary = new LinkedHashMap<>();
+            searchSummary.put("rewriteMs", nanosToMillis(search.rewriteTime()));
+            searchSummary.put("query", search.query().stream().map(this::summarize).toList());
+            searchSummary.put("collectors", search.collector().stream().map(SlowQueryRecorder::summarize).toList());
+            searches.add(searchSummary);
+        }
+        summary.put("searches", searches);
+        if (shard.fetch() != null) {
+            summary.put("fetchMs", nanosToMillis(shard.fetch().timeInNanos()));
+        }
+        return summary;
+    }
+    
+    private Map<String, Object> summarize(QueryProfile query) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("type", query.type());
+        String description = query.description();
+        summary.put("description", description.length() > MAX_DESCRIPTION_LENGTH
+                ? description.substring(0, MAX_DESCRIPTION_LENGTH) + "..." : description);
+        summary.put("timeMs", nanosToMillis(query.timeInNanos()));
+        // Sıfır olmayan süre kalemleri (create_weight, build_scorer, next_doc, score ...)
+        if (toJson(query.breakdown()) instanceof Map<?, ?> breakdown) {
+            Map<String, Object> nonZero = new LinkedHashMap<>();
+            breakdown.forEach((key, value) -> {
+                if (!key.toString().endsWith("_count") && value instanceof Number number && number.longValue() > 0) {
+                    nonZero.put(key.toString(), nanosToMillis(number.longValue()));
+                }
+            });
+            summary.put("breakdownMs", nonZero);
+        }
+        if (!query.children().isEmpty()) {
+            summary.put("children", query.children().stream().map(this::summarize).toList());
+        }
+        return summary;
+    }
+    
+    private static Map<String, Object> summarize(Collector collector) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", collector.name());
+        summary.put("timeMs", nanosToMillis(collector.timeInNanos()));
+        if (!collector.children().isEmpty()) {
+            summary.put("children", collector.children().stream().map(SlowQueryRecorder::summarize).toList());
+        }
+        return summary;
+    }
+    
+    private static double nanosToMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+    
+    private Object toJson(JsonpSerializable value) {
+        try {
+            return objectMapper.readValue(JsonpUtils.toJsonString(value, elasticsearchClient._jsonpMapper()), Object.class);
+        } catch (Exception e) {
+            return value.toString();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        profiler.shutdownNow();
+    }
+    
+    // ==================== DURUM ====================
+    
+    /**
+     * Yavaş sorgu raporu
+     * 
+     * @param limit Döndürülecek en yavaş şekil ve son sorgu sayısı
+     * @return Map<String, Object> - En yavaş sorgu şekilleri (profilleriyle) ve son yavaş sorgular
+     */
+    public synchronized Map<String, Object> report(int limit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", properties.isEnabled());
+        report.put("thresholdMs", properties.getThreshold().toMillis());
+        report.put("observed", observed.get());
+        report.put("slow", slow.get());
+        report.put("profiled", profiled.get());
+        report.put("slowestShapes", shapes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ShapeStats> e) -> e.getValue().maxMs).reversed())
+                .limit(limit)
+                .map(e -> {
+                    ShapeStats stats = e.getValue();
+                    Map<String, Object> shape = new LinkedHashMap<>();
+                    shape.put("shape", e.getKey());
+                    shape.put("count", stats.count);
+                    shape.put("avgMs", stats.totalMs / stats.count);
+                    shape.put("maxMs", stats.maxMs);
+                    shape.put("lastSeen", stats.lastSeen);
+                    shape.put("lastRequest", stats.lastRequest);
+                    shape.put("profiledAt", stats.profiledAt);
+                    shape.put("profile", stats.profile);
+                    return shape;
+                })
+                .toList());
+        report.put("recent", recent.stream().limit(limit).toList());
+        return report;
+    }
+    
+    /**
+     * Kayıtları temizler
+     */
+    public synchronized void clear() {
+        recent.clear();
+        shapes.clear();
+    }
+}
@@ -0,0 +1,400 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.TracingProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracer - Hafif, Süreç İçi İstek İzleme
+ * 
+ * W3C trace context (traceparent) uyumlu kimliklerle span'ler oluşturur:
+ * - Örnekleme kararı kök span'de verilir; alt span'ler kararı devralır
+ * - Örneklenmeyen trace'lerde tek bir paylaşılan NOOP span kullanılır (nesne oluşturulmaz)
+ * - Aktif span ThreadLocal'da tutulur; wrap() ile executor'lara taşınır
+ * - Kök span bittiğinde trace InMemorySpanExporter'a aktarılır
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+public class Tracer {
+    
+    private static final HexFormat HEX = HexFormat.of();
+    
+    private final TracingProperties properties;
+    private final InMemorySpanExporter exporter;
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    
+    // Gelen "-01" bayraklı istekler için saniyelik pencere
+    private final AtomicLong incomingWindow = new AtomicLong();
+    private final AtomicInteger incomingSampled = new AtomicInteger();
+    
+    private static final Scope NOOP_SCOPE = new Scope() {
+        @Override
+        public Span span() {
+            return Span.NOOP;
+        }
+        
+        @Override
+        public void close() {
+        }
+    };
+    
+    public Tracer(TracingProperties properties, InMemorySpanExporter exporter) {
+        this.properties = properties;
+        this.exporter = exporter;
+    }
+    
+    // ==================== SPAN ====================
+    
+    /**
+     * Zamanlanmış bir işlem birimi
+     * Örneklenmeyen trace'ler için tüm metodlar işlemsizdir
+     */
+    public static final class Span {
+        
+        static final Span NOOP = new Span(null, null, null, null);
+        
+        private final Trace trace;
+        private final String spanId;
+        private final String parentSpanId;
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Instant startedAt;
+        private final String thread;
+        private final Map<String, Object> attributes;
+        private volatile long durationNanos = -1;
+        
+        private Span(Trace trace, String spanId, String parentSpanId, String name) {
+            this.trace = trace;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.startedAt = trace == null ? null : Instant.now();
+            this.thread = trace == null ? null : Thread.currentThread().getName();
+            this.attributes = trace == null ? Map.of() : new ConcurrentHashMap<>();
+        }
+        
+        public boolean isSampled() {
+            return trace != null;
+        }
+        
+        public String getTraceId() {
+            return trace == null ? null : trace.traceId;
+        }
+        
+        public String getSpanId() {
+            return spanId;
+        }
+        
+        /**
+         * Span'e etiket ekler (null değerler yok sayılır)
+         */
+        public Span attribute(String key, Object value) {
+            if (trace != null && value != null) {
+                attributes.put(key, value);
+            }
+            return this;
+        }
+        
+        /**
+         * Span'i bitirir; başka bir thread'de çağrılabilir
+         */
+        public void end() {
+            if (trace == null || durationNanos >= 0) {
+                return;
+            }
+            durationNanos = System.nanoTime() - startNanos;
+            trace.finished(this);
+        }
+        
+        /**
+         * W3C traceparent başlık değeri
+         */
+        public String traceparent() {
+            return trace == null ? null : "00-" + trace.traceId + "-" + spanId + "-01";
+        }
+        
+        Map<String, Object> toMap(long traceStartNanos) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("spanId", spanId);
+            map.put("parentSpanId", parentSpanId);
+            map.put("name", name);
+            map.put("offsetMs", nanosToMillis(startNanos - traceStartNanos));
+            map.put("durationMs", durationNanos < 0 ? null : nanosToMillis(durationNanos));
+            map.put("thread", thread);
+            if (!attributes.isEmpty()) {
+                map.put("attributes", new LinkedHashMap<>(attributes));
+            }
+            return map;
+        }
+    }
+    
+    /**
+     * Bir trace'e ait bitmiş span'ler
+     */
+    static final class Trace {
+        
+        private final String traceId;
+        private final int maxSpans;
+        private final List<Span> spans = new ArrayList<>();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private volatile Span root;
+        
+        private Trace(String traceId, int maxSpans) {
+            this.traceId = traceId;
+            this.maxSpans = maxSpans;
+        }
+        
+        private void finished(Span span) {
+            synchronized (spans) {
+                if (spans.size() < maxSpans) {
+                    spans.add(span);
+                } else {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+        
+        String traceId() {
+            return traceId;
+        }
+        
+        Span root() {
+            return root;
+        }
+        
+        Map<String, Object> summary() {
+            Span rootSpan = root;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("traceId", traceId);
+            summary.put("name", rootSpan.name);
+            summary.put("startedAt", rootSpan.startedAt);
+            summary.put("durationMs", rootSpan.durationNanos < 0 ? null : nanosToMillis(rootSpan.durationNanos));
+            synchronized (spans) {
+                summary.put("spans", spans.size());
+            }
+            summary.put("attributes", new LinkedHashMap<>(rootSpan.attributes));
+            return summary;
+        }
+        
+        Map<String, Object> details() {
+            Map<String, Object> details = summary();
+            List<Map<String, Object>> spanList;
+            synchronized (spans) {
+                spanList = new ArrayList<>(spans.size());
+                spans.stream()
+                        .sorted((a, b) -> Long.compare(a.startNanos, b.startNanos))
+                        .forEach(span -> spanList.add(span.toMap(root.startNanos)));
+            }
+            details.put("droppedSpans", dropped.get());
+            details.put("spans", spanList);
+            return details;
+        }
+    }
+    
+    /**
+     * Aktif span kapsamı - kapatıldığında önceki aktif span geri yüklenir
+     */
+    public interface Scope extends AutoCloseable {
+        
+        Span span();
+        
+        @Override
+        void close();
+    }
+    
+    // ==================== SPAN OLUŞTURMA ====================
+    
+    /**
+     * Aktif span'in altında yeni span başlatır ve aktif yapar
+     * Aktif span yoksa örnekleme kararıyla yeni bir trace başlar
+     * 
+     * @param name Span adı
+     * @return Scope - try-with-resources ile kapatılmalıdır
+     */
+    public Scope trace(String name) {
+        Span span = startSpan(name);
+        if (span == Span.NOOP && current.get() == Span.NOOP) {
+            // Örneklenmeyen trace içinde: geri yüklenecek bir şey yok
+            return NOOP_SCOPE;
+        }
+        return activate(span, true);
+    }
+    
+    /**
+     * Gelen traceparent başlığına göre kök span başlatır ve aktif yapar
+     * 
+     * @param name Span adı
+     * @param traceparent W3C traceparent başlığı (null olabilir)
+     * @return Scope - try-with-resources ile kapatılmalıdır
+     */
+    public Scope traceRoot(String name, String traceparent) {
+        if (!properties.isEnabled()) {
+            return activate(Span.NOOP, false);
+        }
+        String[] parts = traceparent == null ? null : traceparent.trim().split("-");
+        if (parts != null && parts.length == 4 && parts[1].length() == 32 && parts[2].length() == 16 && isHex(parts[1]) && isHex(parts[2])) {
+            boolean upstreamSampled = parts[3].length() == 2 && isHex(parts[3]) && (Integer.parseInt(parts[3], 16) & 1) == 1;
+            boolean sampled = properties.isHonorIncomingSampling() && upstreamSampled
+                    ? admitIncomingSampled() || sample()
+                    : sample();
+            return activate(sampled ? newRoot(parts[1], parts[2], name) : Span.NOOP, true);
+        }
+        return activate(sample() ? newRoot(randomHex(16), null, name) : Span.NOOP, true);
+    }
+    
+    /**
+     * Kapsam boyunca hiçbir span oluşturulmaz (örneklenmemiş trace gibi davranır)
+     * 
+     * @return Scope - try-with-resources ile kapatılmalıdır
+     */
+    public Scope suppress() {
+        return activate(Span.NOOP, false);
+    }
+    
+    /**
+     * Aktif span'in altında span başlatır ama aktif yapmaz
+     * Başka bir thread'de bitecek işlemler (örn. asenkron HTTP) için kullanılır
+     * 
+     * @param name Span adı
+     * @return Span - end() ile bitirilmelidir
+     */
+    public Span startSpan(String name) {
+        if (!properties.isEnabled()) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        if (parent == null) {
+            return sample() ? newRoot(randomHex(16), null, name) : Span.NOOP;
+        }
+        if (!parent.isSampled()) {
+            return Span.NOOP;
+        }
+        return new Span(parent.trace, randomHex(8), parent.spanId, name);
+    }
+    
+    /**
+     * Aktif span (yoksa NOOP)
+     */
+    public Span current() {
+        Span span = current.get();
+        return span == null ? Span.NOOP : span;
+    }
+    
+    private Scope activate(Span span, boolean endOnClose) {
+        Span previous = current.get();
+        current.set(span);
+        return new Scope() {
+            @Override
+            public Span span() {
+                return span;
+            }
+            
+            @Override
+            public void close() {
+                if (endOnClose) {
+                    span.end();
+                }
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+    
+    private Span newRoot(String traceId, String parentSpanId, String name) {
+        Trace trace = new Trace(traceId, properties.getMaxSpansPerTrace());
+        Span root = new Span(trace, randomHex(8), parentSpanId, name);
+        trace.root = root;
+        // Trace kök span başladığında kaydedilir, geç biten alt span'ler de görünür
+        exporter.export(trace);
+        return root;
+    }
+    
+    private boolean sample() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+    
+    /**
+     * Gelen örnekleme kararına saniyelik sınır içinde uyar
+     * Pencere sıfırlanırken yarışan birkaç istek fazladan geçebilir; sınır kaba bir tavandır
+     */
+    private boolean admitIncomingSampled() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = incomingWindow.get();
+        if (window != second && incomingWindow.compareAndSet(window, second)) {
+            incomingSampled.set(0);
+        }
+        return incomingSampled.incrementAndGet() <= properties.getMaxIncomingSampledPerSecond();
+    }
+    
+    // ==================== BAĞLAM TAŞIMA ====================
+    
+    /**
+     * Aktif span'i görevle birlikte başka bir thread'e taşır
+     */
+    @SuppressWarnings("try")
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Span parent = current.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = activate(parent, false)) {
+                return task.call();
+            }
+        };
+    }
+    
+    /**
+     * Aktif span'i görevle birlikte başka bir thread'e taşır
+     */
+    @SuppressWarnings("try")
+    public Runnable wrap(Runnable task) {
+        Span parent = current.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = activate(parent, false)) {
+                task.run();
+            }
+        };
+    }
+    
+    // ==================== YARDIMCILAR ====================
+    
+    private static String randomHex(int bytes) {
+        byte[] value = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(value);
+        return HEX.formatHex(value);
+    }
+    
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static double nanosToMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,255 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.WriteBehindProperties;
+import com.elastic_search.Elastic.Search.dto.ProductRequest;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import com.elastic_search.Elastic.Search.model.WriteMode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WriteBehindBuffer - Birleştirici Asenkron Güncelleme Tamponu
+ * 
+ * Aynı ürüne kısa aralıklarla gelen güncellemeler (örn. fiyatlandırma motorunun
+ * yeniden fiyatlama çalışmaları) tek tek findById + save yerine:
+ * - Ürün ID'sine göre en son duruma indirgenir
+ * - Her pencerede tek bir multi-get ve _bulk isteği ile yazılır
+ * 
+ * Bellek sınırlıdır (maxPending farklı ürün). Kapanışta tampon boşaltılır.
+ * Yazma başarısız olursa güncellemeler, daha yenisi gelmediyse, tekrar kuyruğa alınır.
+ * 
+ * Sıralama: aynı ürün için senkron bir güncelleme veya silme gelirse bekleyen asenkron
+ * güncelleme discard() ile atılır; senkron yazma, asenkron olanın üzerine yazılmaz.
+ * 
+ * Ürünün varlığı kuyruğa ilk alınışta kontrol edilir (bilinmeyen ID için 404).
+ * Kuyruktayken silinen ürünün güncellemesi boşaltmada yazılmaz, notFound sayacına eklenir.
+ * 
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+@Service // Spring: Bu sınıfın bir service bean'i olduğunu belirtir
+@Slf4j // Lombok: Logging için slf4j logger oluşturur
+public class WriteBehindBuffer {
+    
+    private final ProductService productService;
+    private final WriteBehindProperties properties;
+    private final Tracer tracer;
+    private final Map<String, ProductRequest> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean accepting = true;
+    private volatile boolean flushing;
+    
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+    private final AtomicLong unknown = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private volatile long lastFlushMillis;
+    
+    public WriteBehindBuffer(ProductService productService, WriteBehindProperties properties, Tracer tracer) {
+        this.productService = productService;
+        this.properties = properties;
+        this.tracer = tracer;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = properties.getWindow().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, window, window, TimeUnit.MILLISECONDS);
+    }
+    
+    // ==================== KUYRUĞA ALMA ====================
+    
+    /**
+     * Güncellemeyi tampona alır
+     * Aynı ürün için bekleyen bir güncelleme varsa yenisiyle değiştirilir,
+     * yoksa ürünün varlığı kontrol edilir
+     * 
+     * @param id Ürün ID'si
+     * @param request Güncelleme isteği (ürünün tam yeni durumu)
+     * @return Tamponda bekleyen farklı ürün sayısı, ürün yoksa boş Optional
+     * @throws ServiceUnavailableException Tampon dolu veya uygulama kapanıyor
+     */
+    public Optional<Integer> enqueue(String id, ProductRequest request) {
+        if (!accepting) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Uygulama kapanıyor, asenkron güncelleme kabul edilmiyor", Duration.ofSeconds(5));
+        }
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(id)) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Asenkron güncelleme tamponu dolu", properties.getWindow());
+        }
+        // Bekleyen güncellemesi olan ürün ilk kuyruğa alınışta kontrol edilmiştir
+        if (!pending.containsKey(id) && productService.getProductById(id).isEmpty()) {
+            unknown.incrementAndGet();
+            return Optional.empty();
+        }
+        if (pending.put(id, request) != null) {
+            coalesced.incrementAndGet();
+        }
+        accepted.incrementAndGet();
+        int depth = pending.size();
+        maxDepth.accumulateAndGet(depth, Math::max);
+        return Optional.of(depth);
+    }
+    
+    /**
+     * Ürünün bekleyen asenkron güncellemesini atar
+     * Senkron güncelleme ve silmeden önce çağrılır; boşaltma sürüyorsa bitmesi beklenir,
+     * böylece o anda yazılmakta olan asenkron güncelleme senkron yazmanın üzerine yazılmaz
+     * 
+     * @param id Ürün ID'si
+     */
+    public void discard(String id) {
+        boolean removed = pending.remove(id) != null;
+        if (flushing) {
+            synchronized (this) {
+                // Başarısız boşaltma güncellemeyi tekrar kuyruğa almış olabilir
+                removed |= pending.remove(id) != null;
+            }
+        }
+        if (removed) {
+            discarded.incrementAndGet();
+        }
+    }
+    
+    // ==================== BOŞALTMA ====================
+    
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Asenkron güncellemeler yazılamadı, bir sonraki pencerede tekrar denenecek: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Tampondaki tüm güncellemeleri maxBatchSize'lık _bulk istekleriyle yazar
+     * 
+     * @return Yazılan ürün sayısı
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        flushing = true;
+        try (Tracer.Scope scope = tracer.trace("write-behind.flush")) {
+            scope.span().attribute("pending", pending.size());
+            return flushPending();
+        } finally {
+            flushing = false;
+        }
+    }
+    
+    private int flushPending() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        List<String> ids = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < ids.size(); from += properties.getMaxBatchSize()) {
+            Map<String, ProductRequest> batch = new LinkedHashMap<>();
+            for (String id : ids.subList(from, Math.min(ids.size(), from + properties.getMaxBatchSize()))) {
+                // remove atomiktir: bu andan sonra gelen güncelleme bir sonraki pencereye kalır
+                ProductRequest request = pending.remove(id);
+                if (request != null) {
+                    batch.put(id, request);
+                }
+            }
+            total += writeBatch(batch);
+        }
+        lastFlushMillis = System.currentTimeMillis() - start;
+        return total;
+    }
+    
+    private int writeBatch(Map<String, ProductRequest> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            int saved = productService.updateProducts(batch, WriteMode.NONE).size();
+            batches.incrementAndGet();
+            written.addAndGet(saved);
+            notFound.addAndGet(batch.size() - saved);
+            return saved;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            // Daha yeni bir güncelleme gelmediyse tekrar kuyruğa al
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+    
+    /**
+     * Kapanışta tamponu boşaltır
+     * Yeni istek kabul edilmez; Elasticsearch erişilemezse drainTimeout boyunca tekrar denenir
+     */
+    @PreDestroy
+    public void drain() {
+        accepting = false;
+        flusher.shutdown();
+        long deadline = System.currentTimeMillis() + properties.getDrainTimeout().toMillis();
+        while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+            try {
+                flush();
+            } catch (Exception e) {
+                log.warn("Kapanışta asenkron güncellemeler yazılamadı: {}", e.getMessage());
+                try {
+                    Thread.sleep(Math.min(1000, properties.getWindow().toMillis()));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.error("{} ürünün asenkron güncellemesi kapanışta yazılamadı: {}", pending.size(), pending.keySet());
+        }
+    }
+    
+    // ==================== DURUM ====================
+    
+    /**
+     * Tampon istatistikleri
+     * 
+     * @return Map<String, Object> - Kuyruk derinliği, birleştirme oranı ve sayaçlar
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long acceptedCount = accepted.get();
+        long writtenCount = written.get() + notFound.get();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("queueDepth", pending.size());
+        stats.put("maxQueueDepth", maxDepth.get());
+        stats.put("accepted", acceptedCount);
+        stats.put("coalesced", coalesced.get());
+        stats.put("written", written.get());
+        stats.put("notFound", notFound.get());
+        stats.put("unknown", unknown.get());
+        stats.put("discarded", discarded.get());
+        // Kabul edilen güncelleme başına yapılan yazma; 10 ise 10 güncelleme tek yazmaya indirgenmiş demektir
+        stats.put("coalescingRatio", writtenCount == 0 ? 0 : (double) (acceptedCount - pending.size()) / writtenCount);
+        stats.put("batches", batches.get());
+        stats.put("failures", failures.get());
+        stats.put("rejected", rejected.get());
+        stats.put("lastFlushMs", lastFlushMillis);
+        return stats;
+    }
+}
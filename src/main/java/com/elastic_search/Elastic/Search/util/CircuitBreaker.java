@@ -0,0 +1,178 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * CircuitBreaker - Sayı Tabanlı Devre Kesici
+ *
+ * Son N çağrının sonucunu kayan bir pencerede tutar. Hata oranı eşiği aştığında
+ * devre açılır ve çağrılar bekleme süresi boyunca hemen reddedilir.
+ * Süre dolunca sınırlı sayıda deneme çağrısına izin verilir (yarı açık);
+ * denemeler başarılıysa devre kapanır, herhangi biri başarısızsa tekrar açılır.
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] outcomes; // true = başarısız
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param windowSize Hata oranının hesaplandığı son çağrı sayısı
+     * @param minimumCalls Devrenin açılabilmesi için gereken en az çağrı sayısı
+     * @param failureRateThreshold Devreyi açan hata oranı (0-1)
+     * @param openDuration Devrenin açık kalacağı süre
+     * @param halfOpenCalls Yarı açık durumda izin verilen deneme çağrısı sayısı
+     * @param clock Nanosaniye saat (testlerde değiştirilebilir)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, LongSupplier clock) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    // ==================== ÇAĞRI İZNİ ====================
+
+    /**
+     * Çağrı yapılabilir mi?
+     * İzin verilen her çağrı için onSuccess veya onFailure çağrılmalıdır.
+     *
+     * @return Devre kapalıysa veya deneme hakkı varsa true
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Sonucu devre durumunu etkilemeyen çağrı (örn. yerel kaynak yetersizliği)
+     * Yarı açık durumda kullanılan deneme hakkını geri verir.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    // ==================== DURUM ====================
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Devrenin tekrar deneme kabul etmesine kalan süre
+     *
+     * @return Açık değilse sıfır
+     */
+    public synchronized Duration remainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (clock.getAsLong() - openedAt)));
+    }
+
+    /**
+     * Penceredeki hata oranı
+     *
+     * @return 0-1 arası oran, çağrı yoksa 0
+     */
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0 : (double) failures / recorded;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,480 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * CompactBitmap - Sıkıştırılmış Tam Sayı Kümesi
+ *
+ * Roaring bitmap yaklaşımıyla çalışan, sıfır bağımlılıklı bir bitmap.
+ * 32 bitlik değerler üst 16 bite göre parçalara (chunk) ayrılır;
+ * her parça seyrekse sıralı char dizisi, yoğunsa 65536 bitlik bitmap olarak saklanır.
+ *
+ * Thread-safe değildir, senkronizasyon çağıranın sorumluluğundadır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class CompactBitmap {
+
+    /**
+     * Bir dizi container'ının bitmap container'a dönüştüğü eşik
+     * 4096 * 2 byte = 8KB, bitmap container'ın sabit boyutuyla aynı
+     */
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    private char[] keys = new char[4]; // Sıralı üst 16 bitler
+    private Container[] containers = new Container[4]; // keys ile aynı sırada container'lar
+    private int size; // Kullanılan chunk sayısı
+
+    // ==================== TEMEL İŞLEMLER ====================
+
+    /**
+     * Değer ekleme
+     *
+     * @param value Eklenecek değer (negatif olmamalı)
+     */
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    /**
+     * Değer silme
+     * Boşalan chunk'lar tamamen kaldırılır
+     *
+     * @param value Silinecek değer
+     */
+    public void remove(int value) {
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) value);
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    /**
+     * Değerin kümede olup olmadığını kontrol eder
+     *
+     * @param value Aranan değer
+     * @return Kümede varsa true
+     */
+    public boolean contains(int value) {
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Kümedeki eleman sayısı
+     *
+     * @return Eleman sayısı
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Küme boş mu?
+     *
+     * @return Hiç eleman yoksa true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Elemanları artan sırayla gezer
+     *
+     * @param consumer Her eleman için çağrılacak fonksiyon
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Bellek kullanımı tahmini (byte)
+     *
+     * @return Yaklaşık heap kullanımı
+     */
+    public long estimatedBytes() {
+        long total = 16L + keys.length * 2L + containers.length * 8L;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].estimatedBytes();
+        }
+        return total;
+    }
+
+    // ==================== KÜME İŞLEMLERİ ====================
+
+    /**
+     * Kesişim (AND)
+     * Girdileri değiştirmez, yeni bir bitmap döndürür
+     *
+     * @param other Diğer bitmap
+     * @return İki kümenin kesişimi
+     */
+    public CompactBitmap and(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        // Sadece iki tarafta da bulunan chunk'lar kesişebilir
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insertContainer(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fark (AND NOT)
+     * Girdileri değiştirmez, yeni bir bitmap döndürür
+     *
+     * @param other Çıkarılacak bitmap
+     * @return Bu kümede olup diğerinde olmayan elemanlar
+     */
+    public CompactBitmap andNot(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        for (int i = 0; i < size; i++) {
+            int j = other.indexOf(keys[i]);
+            Container container = j < 0 ? containers[i].copy() : containers[i].andNot(other.containers[j]);
+            if (container.cardinality() > 0) {
+                result.insertContainer(result.size, keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bitmap kopyası
+     *
+     * @return Bağımsız bir kopya
+     */
+    public CompactBitmap copy() {
+        CompactBitmap result = new CompactBitmap();
+        for (int i = 0; i < size; i++) {
+            result.insertContainer(result.size, keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    // ==================== CHUNK YÖNETİMİ ====================
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int index, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    // ==================== CONTAINER'LAR ====================
+
+    /**
+     * Tek bir 16 bitlik chunk'ın alt 16 bitlerini tutan container
+     * Değiştirici işlemler farklı tipte bir container döndürebilir
+     */
+    private interface Container {
+        Container add(char low);
+
+        Container remove(char low);
+
+        boolean contains(char low);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        Container andNot(Container other);
+
+        Container copy();
+
+        void forEach(int base, IntConsumer consumer);
+
+        long estimatedBytes();
+    }
+
+    /**
+     * Seyrek chunk'lar için sıralı char dizisi
+     */
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX_SIZE) {
+                // Yoğunlaştı: bitmap container'a geç
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+                // Kapasitenin çoğu boşsa diziyi küçült
+                if (values.length > 16 && cardinality < values.length / 4) {
+                    values = Arrays.copyOf(values, values.length / 2);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                // İki sıralı dizinin birleştirmeli kesişimi
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        public long estimatedBytes() {
+            return 32L + values.length * 2L;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Yoğun chunk'lar için 1024 long'luk (8KB) sabit bitmap
+     */
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long before = words[low >>> 6];
+            long after = before & ~(1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality--;
+            }
+            // Seyrekleşti: tekrar dizi container'a dön
+            return cardinality <= ARRAY_MAX_SIZE / 2 ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[1024];
+            int count = 0;
+            for (int i = 0; i < 1024; i++) {
+                result[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX_SIZE ? container.toArray() : container;
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            long[] result = Arrays.copyOf(words, 1024);
+            int count = cardinality;
+            if (other instanceof BitmapContainer bitmap) {
+                count = 0;
+                for (int i = 0; i < 1024; i++) {
+                    result[i] &= ~bitmap.words[i];
+                    count += Long.bitCount(result[i]);
+                }
+            } else {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    char low = array.values[i];
+                    if ((result[low >>> 6] & (1L << low)) != 0) {
+                        result[low >>> 6] &= ~(1L << low);
+                        count--;
+                    }
+                }
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX_SIZE ? container.toArray() : container;
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(Arrays.copyOf(words, 1024), cardinality);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public long estimatedBytes() {
+            return 32L + 8L * 1024;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int[] count = {0};
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
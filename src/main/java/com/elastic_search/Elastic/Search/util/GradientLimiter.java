@@ -0,0 +1,151 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * GradientLimiter - Gecikmeye Uyarlanan Eşzamanlılık Sınırı
+ *
+ * TCP Vegas / gradient yaklaşımı: uzun vadeli gecikme ortalaması ile son
+ * penceredeki gecikme karşılaştırılır. Gecikme artıyorsa (kuyruk oluşuyor)
+ * sınır düşürülür, sabitse karekök(sınır) kadar artırılır.
+ *
+ *   gradient  = clamp(tolerans * uzunRtt / kısaRtt, 0.5, 1)
+ *   yeniSınır = sınır * gradient + karekök(sınır)
+ *
+ * Öncelik: her çağrı sınırın belirli bir oranına kadar kabul edilir;
+ * düşük öncelikli işler sınıra yaklaşıldığında önce reddedilir.
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class GradientLimiter {
+
+    /**
+     * Kısa vadeli gecikme bu oranı aşmadıkça sınır düşürülmez
+     */
+    private static final double RTT_TOLERANCE = 1.5;
+
+    /**
+     * Uzun vadeli ortalamanın ağırlığı (~600 pencere)
+     */
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier clock;
+
+    private double limit;
+    private int inFlight;
+    private double longRtt;
+
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    /**
+     * @param initialLimit Başlangıç sınırı
+     * @param minLimit En düşük sınır
+     * @param maxLimit En yüksek sınır
+     * @param smoothing Yeni sınıra geçiş oranı (0-1)
+     * @param windowNanos Sınırın yeniden hesaplandığı pencere süresi
+     * @param minWindowSamples Pencere başına gereken en az ölçüm
+     * @param clock Nanosaniye saat (testlerde değiştirilebilir)
+     */
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                           long windowNanos, int minWindowSamples, LongSupplier clock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.clock = clock;
+        this.windowStart = clock.getAsLong();
+    }
+
+    // ==================== KABUL ====================
+
+    /**
+     * İzin alma
+     *
+     * @param share Bu öncelik sınıfının kullanabileceği sınır oranı (0-1]
+     * @return İzin verildiyse true; her izin için release çağrılmalıdır
+     */
+    public synchronized boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        if (inFlight >= allowed) {
+            return false;
+        }
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        return true;
+    }
+
+    /**
+     * İzni geri verme
+     *
+     * @param rttNanos İsteğin süresi
+     * @param sample Süre sınır hesabına katılsın mı (hatalı veya uzun soluklu istekler katılmaz)
+     */
+    public synchronized void release(long rttNanos, boolean sample) {
+        inFlight--;
+        if (!sample) {
+            return;
+        }
+        windowRttSum += rttNanos;
+        windowSamples++;
+        long now = clock.getAsLong();
+        if (now - windowStart >= windowNanos && windowSamples >= minWindowSamples) {
+            update((double) windowRttSum / windowSamples);
+            windowStart = now;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = inFlight;
+        }
+    }
+
+    private void update(double shortRtt) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        }
+        // Gecikme kalıcı olarak düştüyse uzun vadeli ortalama hızla yaklaşsın
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+        // Sınırın yarısı bile kullanılmıyorsa artırmaya gerek yok
+        if (windowMaxInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    // ==================== DURUM ====================
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Uzun vadeli gecikme ortalaması
+     *
+     * @return Nanosaniye, henüz ölçüm yoksa 0
+     */
+    public synchronized double getLongRttNanos() {
+        return longRtt;
+    }
+}
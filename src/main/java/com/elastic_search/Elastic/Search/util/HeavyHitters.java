@@ -0,0 +1,163 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HeavyHitters - Count-Min Sketch ve Top-K ile En Sık Anahtarlar
+ *
+ * Her anahtar için ayrı sayaç tutmadan, sabit bellekte (depth x width long)
+ * yaklaşık erişim sayılarını tahmin eder. Count-min sketch sayıyı olduğundan
+ * fazla tahmin edebilir ama asla eksik tahmin etmez.
+ *
+ * En yüksek tahmine sahip k anahtar ayrıca aday tablosunda tutulur.
+ * decay() tüm sayaçları yarıya indirerek eski trafiğin etkisini azaltır.
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class HeavyHitters {
+
+    private final long[][] counters;
+    private final int width;
+    private final int capacity;
+    private final Map<String, Long> top = new HashMap<>();
+    private String minKey;
+    private long minCount;
+    private long total;
+
+    /**
+     * @param depth Hash fonksiyonu (satır) sayısı - hata olasılığını belirler
+     * @param width Satır başına sayaç sayısı - hata payını belirler
+     * @param capacity Takip edilecek en sık anahtar sayısı (k)
+     */
+    public HeavyHitters(int depth, int width, int capacity) {
+        if (depth <= 0 || width <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("depth, width ve capacity pozitif olmalıdır");
+        }
+        this.counters = new long[depth][width];
+        this.width = width;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Anahtarın bir kez görüldüğünü kaydeder
+     *
+     * @param key Anahtar
+     * @return Anahtarın güncel tahmini sayısı
+     */
+    public synchronized long add(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            int column = Math.floorMod(h1 + row * h2, width);
+            estimate = Math.min(estimate, ++counters[row][column]);
+        }
+        total++;
+        updateTop(key, estimate);
+        return estimate;
+    }
+
+    /**
+     * Anahtarın tahmini sayısı
+     */
+    public synchronized long estimate(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * En sık anahtarlar, sayıya göre azalan sırada
+     *
+     * @param limit En fazla döndürülecek anahtar sayısı
+     */
+    public synchronized List<Map.Entry<String, Long>> top(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(top.size());
+        top.forEach((key, count) -> entries.add(Map.entry(key, count)));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    /**
+     * Tüm sayaçları yarıya indirir (yaşlandırma)
+     */
+    public synchronized void decay() {
+        for (long[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        total >>>= 1;
+        top.replaceAll((key, count) -> count >>> 1);
+        top.values().removeIf(count -> count == 0);
+        recomputeMin();
+    }
+
+    /**
+     * Kaydedilen toplam erişim sayısı (yaşlandırma sonrası)
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    /**
+     * Sketch'in bellek kullanımı (byte)
+     */
+    public long estimatedBytes() {
+        return (long) counters.length * width * Long.BYTES;
+    }
+
+    private void updateTop(String key, long estimate) {
+        if (top.containsKey(key)) {
+            top.put(key, estimate);
+            if (key.equals(minKey)) {
+                recomputeMin();
+            }
+            return;
+        }
+        if (top.size() < capacity) {
+            top.put(key, estimate);
+            if (minKey == null || estimate < minCount) {
+                minKey = key;
+                minCount = estimate;
+            }
+            return;
+        }
+        if (estimate > minCount) {
+            top.remove(minKey);
+            top.put(key, estimate);
+            recomputeMin();
+        }
+    }
+
+    private void recomputeMin() {
+        minKey = null;
+        minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : top.entrySet()) {
+            if (entry.getValue() < minCount) {
+                minKey = entry.getKey();
+                minCount = entry.getValue();
+            }
+        }
+    }
+
+    private static int mix(int h) {
+        // MurmurHash3 fmix32
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
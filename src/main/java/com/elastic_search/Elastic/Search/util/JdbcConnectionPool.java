@@ -0,0 +1,199 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JdbcConnectionPool - Basit JDBC Bağlantı Havuzu
+ *
+ * En fazla maxSize bağlantı açılır; boşta kalanlar tekrar kullanılır.
+ * Hata veren bağlantı havuza geri konmaz, kapatılır. Boşta bekleyen bağlantı
+ * verilmeden önce isValid ile kontrol edilir (veritabanı yeniden başladıysa yenisi açılır).
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class JdbcConnectionPool implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    /**
+     * Yeni bağlantı açan fonksiyon (örn. DriverManager::getConnection)
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Bağlantıyla çalışan iş
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final long acquireTimeoutMillis;
+    private volatile boolean closed;
+
+    /**
+     * @param factory Bağlantı açan fonksiyon
+     * @param maxSize Aynı anda kullanılabilecek en fazla bağlantı
+     * @param acquireTimeout Bağlantı beklemek için en uzun süre
+     */
+    public JdbcConnectionPool(ConnectionFactory factory, int maxSize, Duration acquireTimeout) {
+        this.factory = factory;
+        this.maxSize = Math.max(1, maxSize);
+        this.permits = new Semaphore(this.maxSize, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    // ==================== KULLANIM ====================
+
+    /**
+     * İşi havuzdan alınan bir bağlantıyla çalıştırır (auto-commit açık)
+     *
+     * @param work Çalıştırılacak iş
+     * @return İşin sonucu
+     * @throws SQLException Bağlantı alınamazsa veya iş hata verirse
+     */
+    public <T> T execute(SqlWork<T> work) throws SQLException {
+        Connection connection = acquire();
+        boolean healthy = false;
+        try {
+            T result = work.apply(connection);
+            healthy = true;
+            return result;
+        } finally {
+            release(connection, healthy);
+        }
+    }
+
+    /**
+     * İşi tek bir transaction içinde çalıştırır
+     * İş hata verirse rollback yapılır
+     *
+     * @param work Çalıştırılacak iş
+     * @return İşin sonucu
+     * @throws SQLException Bağlantı alınamazsa, iş veya commit hata verirse
+     */
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        return execute(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    // ==================== HAVUZ ====================
+
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Bağlantı havuzu kapatıldı");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Bağlantı havuzu dolu, " + acquireTimeoutMillis + " ms içinde bağlantı alınamadı");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Bağlantı beklenirken kesildi", e);
+        }
+        try {
+            Connection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (isUsable(connection)) {
+                    return connection;
+                }
+                closeQuietly(connection);
+            }
+            return factory.open();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(Connection connection, boolean healthy) {
+        try {
+            if (healthy && !closed && !connection.isClosed()) {
+                // Son kullanılan bağlantı önce verilir; uzun süre boşta kalanlar doğal olarak elenir
+                idle.offerFirst(connection);
+                return;
+            }
+        } catch (SQLException ignored) {
+            // isClosed hata verdiyse bağlantı kullanılamaz
+        } finally {
+            permits.release();
+        }
+        closeQuietly(connection);
+    }
+
+    private static boolean isUsable(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Kapatılamayan bağlantı için yapılacak bir şey yok
+        }
+    }
+
+    // ==================== DURUM ====================
+
+    /**
+     * Şu anda kullanımda olan bağlantı sayısı
+     */
+    public int inUse() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Boşta bekleyen bağlantı sayısı
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.Arrays;
+
+/**
+ * LatencyWindow - Son Gecikmelerin Kayan Penceresi
+ *
+ * Son N ölçümü halka tamponda tutar ve yüzdelik (percentile) hesaplar.
+ * Hedge gecikmesi gibi uyarlanabilir zaman aşımlarını belirlemek için kullanılır.
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class LatencyWindow {
+
+    private final long[] samples;
+    private int position;
+    private int count;
+
+    /**
+     * @param size Tutulacak ölçüm sayısı
+     */
+    public LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    /**
+     * Ölçüm ekleme
+     *
+     * @param nanos Gecikme (nanosaniye)
+     */
+    public synchronized void record(long nanos) {
+        samples[position] = nanos;
+        position = (position + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Yüzdelik değer
+     *
+     * @param percentile 0-100 arası yüzdelik
+     * @return Gecikme (nanosaniye), ölçüm yoksa -1
+     */
+    public long percentile(double percentile) {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile / 100.0 * copy.length) - 1;
+        return copy[Math.max(0, Math.min(copy.length - 1, index))];
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+}
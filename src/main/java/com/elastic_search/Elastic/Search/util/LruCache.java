@@ -0,0 +1,61 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * LruCache - Boyut Sınırlı LRU Önbellek
+ *
+ * Erişim sırasını koruyan LinkedHashMap üzerine kurulu basit önbellek.
+ * Kapasite aşıldığında en uzun süre erişilmeyen kayıt çıkarılır.
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * @param capacity Maksimum kayıt sayısı
+     */
+    public LruCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Sadece önbellekte olan kaydı günceller; olmayan anahtar eklenmez
+     * Fonksiyon null dönerse kayıt çıkarılır
+     */
+    public synchronized void computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> update) {
+        entries.computeIfPresent(key, update);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * PriceUnits - Fiyat Birim Dönüşümleri
+ *
+ * Fiyatları kuruş cinsinden (minor units) long değerlere çevirir.
+ * Bellek içi indekslerde BigDecimal yerine primitive long kullanmak için.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class PriceUnits {
+
+    /**
+     * Kuruş hassasiyeti (1 TL = 100 kuruş)
+     */
+    public static final int SCALE = 2;
+
+    private PriceUnits() {
+    }
+
+    /**
+     * BigDecimal fiyatı kuruş cinsinden long değere çevirir
+     * Kuruştan küçük kısımlar HALF_UP ile yuvarlanır
+     *
+     * @param price Fiyat (TL)
+     * @return Kuruş cinsinden fiyat
+     */
+    public static long toMinor(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Aralığın alt sınırını (dahil) kuruşa çevirir
+     * Kuruştan küçük kısım yukarı yuvarlanır: fiyat >= 10.005 ancak 10.01 ve üstü için doğrudur
+     *
+     * @param minPrice Minimum fiyat (TL)
+     * @return Kuruş cinsinden alt sınır
+     */
+    public static long lowerBoundMinor(BigDecimal minPrice) {
+        return minPrice.setScale(SCALE, RoundingMode.CEILING).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Aralığın üst sınırını (dahil) kuruşa çevirir
+     * Kuruştan küçük kısım aşağı yuvarlanır: fiyat <= 10.005 ancak 10.00 ve altı için doğrudur
+     *
+     * @param maxPrice Maksimum fiyat (TL)
+     * @return Kuruş cinsinden üst sınır
+     */
+    public static long upperBoundMinor(BigDecimal maxPrice) {
+        return maxPrice.setScale(SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Kuruş cinsinden long değeri BigDecimal fiyata çevirir
+     *
+     * @param minor Kuruş cinsinden fiyat
+     * @return Fiyat (TL)
+     */
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -0,0 +1,590 @@
+package com.elastic_search.Elastic.Search.util;
+
+import com.elastic_search.Elastic.Search.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductColumnStore - Kolon Bazlı Ürün Deposu
+ *
+ * Ürünleri Product nesneleri yerine primitive dizilerde saklar:
+ * - Filtrelenen alanlar sabit genişlikli kolonlarda: fiyat kuruş cinsinden long, stok int,
+ *   aktiflik bit dizisi, kategori sözlük ile kodlanmış int, oluşturulma zamanı epoch milisaniye long
+ * - Değişken uzunluklu alanlar (ID, isim, açıklama, tag ID'leri) tek bir byte havuzunda,
+ *   uzunluk önekli (varint) kayıtlar olarak
+ *
+ * Her ürün bir ordinal (dizi indeksi) ile adreslenir, Product nesnesi istendiğinde yeniden oluşturulur.
+ * ID -> ordinal araması String/HashMap yerine açık adresli bir int tablosu ile yapılır.
+ * Thread-safe değildir, senkronizasyon çağıranın sorumluluğundadır.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class ProductColumnStore {
+
+    /**
+     * Null fiyat işareti
+     */
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    /**
+     * Null stok işareti
+     */
+    public static final int NO_STOCK = Integer.MIN_VALUE;
+
+    /**
+     * Null oluşturulma zamanı işareti
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int NO_VALUE = -1;
+
+    // ==================== KOLONLAR ====================
+
+    private int[] recordOffsets; // Havuzdaki kayıt başlangıcı, boş ordinal için -1
+    private long[] prices;
+    private int[] stocks;
+    private long[] createdAts;
+    private int[] categoryIds;
+    private long[] activeKnown; // isActive null değilse bit 1
+    private long[] activeValues; // isActive değeri
+    private int capacity;
+    private int size;
+
+    // ==================== KAYIT HAVUZU ====================
+
+    private byte[] pool = new byte[4096];
+    private int poolSize;
+    private int poolGarbage; // Güncellenen/silinen kayıtlardan kalan ölü byte'lar
+
+    private int[] idTable = new int[64]; // Açık adresli tablo: ordinal + 1, 0 boş, -1 silinmiş
+    private int idTableUsed; // Dolu + silinmiş slot sayısı
+
+    private final Dictionary categoryDictionary = new Dictionary();
+    private final Dictionary tagDictionary = new Dictionary();
+
+    public ProductColumnStore(int initialCapacity) {
+        capacity = Math.max(64, initialCapacity);
+        recordOffsets = new int[capacity];
+        Arrays.fill(recordOffsets, NO_VALUE);
+        prices = new long[capacity];
+        stocks = new int[capacity];
+        createdAts = new long[capacity];
+        categoryIds = new int[capacity];
+        activeKnown = new long[(capacity + 63) >>> 6];
+        activeValues = new long[(capacity + 63) >>> 6];
+    }
+
+    // ==================== YAZMA ====================
+
+    /**
+     * Ürünü verilen ordinal'e yazar
+     * Ordinal'de eski bir kayıt varsa üzerine yazılır
+     *
+     * @param ordinal Hedef ordinal
+     * @param product Saklanacak ürün
+     */
+    public void put(int ordinal, Product product) {
+        ensureCapacity(ordinal + 1);
+        if (recordOffsets[ordinal] != NO_VALUE) {
+            clear(ordinal);
+        }
+        prices[ordinal] = product.getPrice() == null ? NO_PRICE : PriceUnits.toMinor(product.getPrice());
+        stocks[ordinal] = product.getStock() == null ? NO_STOCK : product.getStock();
+        createdAts[ordinal] = product.getCreatedAt() == null ? NO_TIME : product.getCreatedAt().toEpochMilli();
+        categoryIds[ordinal] = product.getCategory() == null ? NO_VALUE : categoryDictionary.encode(product.getCategory());
+        setBit(activeKnown, ordinal, product.getIsActive() != null);
+        setBit(activeValues, ordinal, Boolean.TRUE.equals(product.getIsActive()));
+
+        // Kayıt: [id][isim][açıklama][tag'ler], null alanlar 0 uzunluk önekiyle kodlanır
+        int offset = poolSize;
+        byte[] id = product.getId().getBytes(StandardCharsets.UTF_8);
+        writeVarint(id.length);
+        writeBytes(id);
+        writeNullableText(product.getName());
+        writeNullableText(product.getDescription());
+        List<String> tags = product.getTags();
+        writeVarint(tags == null ? 0 : tags.size() + 1);
+        if (tags != null) {
+            for (String tag : tags) {
+                writeVarint(tagDictionary.encode(tag));
+            }
+        }
+
+        size++;
+        insertId(ordinal, Arrays.hashCode(id));
+        recordOffsets[ordinal] = offset;
+    }
+
+    /**
+     * Ordinal'deki kaydı siler
+     * Havuzdaki alan bir sonraki sıkıştırmada geri kazanılır
+     *
+     * @param ordinal Silinecek ordinal
+     */
+    public void clear(int ordinal) {
+        if (!contains(ordinal)) {
+            return;
+        }
+        removeId(ordinal);
+        poolGarbage += recordLength(recordOffsets[ordinal]);
+        recordOffsets[ordinal] = NO_VALUE;
+        prices[ordinal] = NO_PRICE;
+        size--;
+        compactIfNeeded();
+    }
+
+    // ==================== OKUMA ====================
+
+    /**
+     * Ordinal'deki ürünü Product nesnesi olarak yeniden oluşturur
+     *
+     * @param ordinal Okunacak ordinal
+     * @return Yeni Product nesnesi, kayıt yoksa null
+     */
+    public Product get(int ordinal) {
+        if (!contains(ordinal)) {
+            return null;
+        }
+        RecordReader reader = new RecordReader(recordOffsets[ordinal]);
+        Product product = new Product();
+        product.setId(reader.readText(reader.readVarint()));
+        product.setName(reader.readNullableText());
+        product.setDescription(reader.readNullableText());
+        product.setTags(reader.readTags());
+        product.setCategory(category(ordinal));
+        product.setPrice(prices[ordinal] == NO_PRICE ? null : PriceUnits.fromMinor(prices[ordinal]));
+        product.setStock(stocks[ordinal] == NO_STOCK ? null : stocks[ordinal]);
+        product.setCreatedAt(createdAts[ordinal] == NO_TIME ? null : Instant.ofEpochMilli(createdAts[ordinal]));
+        product.setIsActive(getBit(activeKnown, ordinal) ? getBit(activeValues, ordinal) : null);
+        return product;
+    }
+
+    /**
+     * ID'ye göre ordinal arama
+     *
+     * @param productId Ürün ID'si
+     * @return Ordinal, kayıt yoksa -1
+     */
+    public int ordinalOf(String productId) {
+        byte[] id = productId.getBytes(StandardCharsets.UTF_8);
+        int mask = idTable.length - 1;
+        for (int slot = mix(Arrays.hashCode(id)) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            int ordinal = idTable[slot] - 1;
+            if (ordinal >= 0 && idEquals(recordOffsets[ordinal], id)) {
+                return ordinal;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Ordinal dolu mu?
+     *
+     * @param ordinal Ordinal
+     * @return Kayıt varsa true
+     */
+    public boolean contains(int ordinal) {
+        return ordinal < capacity && recordOffsets[ordinal] != NO_VALUE;
+    }
+
+    /**
+     * Depodaki ürün sayısı
+     *
+     * @return Ürün sayısı
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kuruş cinsinden fiyat
+     *
+     * @param ordinal Ordinal
+     * @return Fiyat veya NO_PRICE
+     */
+    public long price(int ordinal) {
+        return ordinal < capacity ? prices[ordinal] : NO_PRICE;
+    }
+
+    /**
+     * Stok miktarı
+     *
+     * @param ordinal Ordinal
+     * @return Stok veya NO_STOCK
+     */
+    public int stock(int ordinal) {
+        return contains(ordinal) ? stocks[ordinal] : NO_STOCK;
+    }
+
+    /**
+     * Oluşturulma zamanı (epoch milisaniye)
+     *
+     * @param ordinal Ordinal
+     * @return Zaman veya NO_TIME
+     */
+    public long createdAt(int ordinal) {
+        return contains(ordinal) ? createdAts[ordinal] : NO_TIME;
+    }
+
+    /**
+     * Ürün adı (diğer alanlar okunmaz)
+     *
+     * @param ordinal Ordinal
+     * @return İsim veya null
+     */
+    public String name(int ordinal) {
+        if (!contains(ordinal)) {
+            return null;
+        }
+        RecordReader reader = new RecordReader(recordOffsets[ordinal]);
+        reader.skip(reader.readVarint());
+        return reader.readNullableText();
+    }
+
+    /**
+     * Kategori adı
+     *
+     * @param ordinal Ordinal
+     * @return Kategori veya null
+     */
+    public String category(int ordinal) {
+        return !contains(ordinal) || categoryIds[ordinal] == NO_VALUE ? null : categoryDictionary.decode(categoryIds[ordinal]);
+    }
+
+    /**
+     * Tag listesi
+     *
+     * @param ordinal Ordinal
+     * @return Tag'ler veya null
+     */
+    public List<String> tags(int ordinal) {
+        if (!contains(ordinal)) {
+            return null;
+        }
+        RecordReader reader = new RecordReader(recordOffsets[ordinal]);
+        reader.skip(reader.readVarint());
+        reader.skipNullableText();
+        reader.skipNullableText();
+        return reader.readTags();
+    }
+
+    // ==================== BELLEK TAHMİNİ ====================
+
+    /**
+     * Deponun yaklaşık heap kullanımı (byte)
+     * Ayrılmış kapasite ve ID tablosu dahildir, sözlükteki string'ler bir kez sayılır
+     *
+     * @return Yaklaşık byte sayısı
+     */
+    public long estimatedBytes() {
+        return capacity * (4L + 8 + 4 + 8 + 4) // Sabit genişlikli kolonlar
+                + activeKnown.length * 16L
+                + idTable.length * 4L
+                + pool.length
+                + categoryDictionary.estimatedBytes()
+                + tagDictionary.estimatedBytes();
+    }
+
+    /**
+     * Aynı ürünler ID ile anahtarlanmış bir Map içinde Product nesneleri olarak tutulsaydı
+     * kullanılacak yaklaşık heap (byte)
+     * Nesne başlıkları, String/BigDecimal/Integer/ArrayList nesneleri ve Map girişleri hesaba katılır
+     *
+     * @return Yaklaşık byte sayısı
+     */
+    public long estimatedObjectBytes() {
+        long bytes = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (recordOffsets[i] == NO_VALUE) {
+                continue;
+            }
+            RecordReader reader = new RecordReader(recordOffsets[i]);
+            bytes += 40; // HashMap girişi ve tablo slotu
+            bytes += 56; // Product nesnesi: başlık + 10 referans
+            int idLength = reader.readVarint();
+            reader.skip(idLength);
+            bytes += stringBytes(idLength);
+            for (int field = 0; field < 2; field++) { // İsim ve açıklama
+                int length = reader.readVarint();
+                reader.skip(Math.max(length - 1, 0));
+                bytes += length == 0 ? 0 : stringBytes(length - 1);
+            }
+            bytes += categoryIds[i] == NO_VALUE ? 0 : stringBytes(categoryDictionary.decode(categoryIds[i]).length());
+            bytes += prices[i] == NO_PRICE ? 0 : 40; // BigDecimal
+            bytes += stocks[i] == NO_STOCK ? 0 : 16; // Integer
+            bytes += createdAts[i] == NO_TIME ? 0 : 24; // Instant
+            List<String> tags = reader.readTags();
+            if (tags != null) {
+                bytes += 40 + 4L * tags.size(); // ArrayList + Object[]
+                for (String tag : tags) {
+                    bytes += stringBytes(tag.length());
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // ==================== KAYIT KODLAMA ====================
+
+    private void writeNullableText(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1);
+        writeBytes(bytes);
+    }
+
+    private void writeVarint(int value) {
+        ensurePool(5);
+        while ((value & ~0x7F) != 0) {
+            pool[poolSize++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        pool[poolSize++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensurePool(bytes.length);
+        System.arraycopy(bytes, 0, pool, poolSize, bytes.length);
+        poolSize += bytes.length;
+    }
+
+    private void ensurePool(int extra) {
+        if (poolSize + extra > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length + (pool.length >>> 1), poolSize + extra));
+        }
+    }
+
+    private int recordLength(int offset) {
+        RecordReader reader = new RecordReader(offset);
+        reader.skip(reader.readVarint());
+        reader.skipNullableText();
+        reader.skipNullableText();
+        int count = reader.readVarint();
+        for (int i = 0; i < count - 1; i++) {
+            reader.readVarint();
+        }
+        return reader.position - offset;
+    }
+
+    /**
+     * Havuzun yarısından fazlası ölü veriyse canlı kayıtları yeni bir havuza taşır
+     */
+    private void compactIfNeeded() {
+        if (poolGarbage < 4096 || poolGarbage * 2 < poolSize) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max(4096, (poolSize - poolGarbage) * 5 / 4)];
+        int used = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (recordOffsets[i] != NO_VALUE) {
+                int length = recordLength(recordOffsets[i]);
+                System.arraycopy(pool, recordOffsets[i], compacted, used, length);
+                recordOffsets[i] = used;
+                used += length;
+            }
+        }
+        pool = compacted;
+        poolSize = used;
+        poolGarbage = 0;
+    }
+
+    /**
+     * Havuzdaki bir kaydı sırayla okuyan yardımcı
+     */
+    private final class RecordReader {
+        private int position;
+
+        RecordReader(int offset) {
+            this.position = offset;
+        }
+
+        int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = pool[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+
+        String readText(int length) {
+            String value = new String(pool, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        String readNullableText() {
+            int length = readVarint();
+            return length == 0 ? null : readText(length - 1);
+        }
+
+        void skipNullableText() {
+            skip(Math.max(readVarint() - 1, 0));
+        }
+
+        void skip(int length) {
+            position += length;
+        }
+
+        List<String> readTags() {
+            int count = readVarint();
+            if (count == 0) {
+                return null;
+            }
+            List<String> tags = new ArrayList<>(count - 1);
+            for (int i = 0; i < count - 1; i++) {
+                tags.add(tagDictionary.decode(readVarint()));
+            }
+            return tags;
+        }
+    }
+
+    // ==================== ID TABLOSU ====================
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Kayıttaki ID byte'larının hash'i (Arrays.hashCode ile aynı)
+     */
+    private int idHash(int offset) {
+        RecordReader reader = new RecordReader(offset);
+        int length = reader.readVarint();
+        int hash = 1;
+        for (int i = reader.position; i < reader.position + length; i++) {
+            hash = 31 * hash + pool[i];
+        }
+        return hash;
+    }
+
+    private boolean idEquals(int offset, byte[] id) {
+        RecordReader reader = new RecordReader(offset);
+        int length = reader.readVarint();
+        return length == id.length && Arrays.equals(pool, reader.position, reader.position + length, id, 0, length);
+    }
+
+    /**
+     * Ordinal'i ID tablosuna yerleştirir
+     * Çağrıldığında ordinal'in kaydı henüz recordOffsets'e yazılmamış olmalıdır
+     */
+    private void insertId(int ordinal, int hash) {
+        if ((idTableUsed + 1) * 2 > idTable.length) {
+            // Tablo çoğunlukla silinmiş slotlarla doluysa aynı boyutta, değilse iki katı boyutta yeniden kur
+            rehashIds(size * 4 > idTable.length ? idTable.length * 2 : idTable.length);
+        }
+        int mask = idTable.length - 1;
+        int slot = mix(hash) & mask;
+        while (idTable[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (idTable[slot] == 0) {
+            idTableUsed++;
+        }
+        idTable[slot] = ordinal + 1;
+    }
+
+    private void removeId(int ordinal) {
+        int mask = idTable.length - 1;
+        for (int slot = mix(idHash(recordOffsets[ordinal])) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+            if (idTable[slot] == ordinal + 1) {
+                idTable[slot] = -1; // Silinmiş işareti, arama zincirini kırmamak için
+                return;
+            }
+        }
+    }
+
+    /**
+     * ID tablosunu yeniden kurar, silinmiş slotlar temizlenir
+     */
+    private void rehashIds(int tableSize) {
+        idTable = new int[tableSize];
+        idTableUsed = 0;
+        int mask = tableSize - 1;
+        for (int i = 0; i < capacity; i++) {
+            if (recordOffsets[i] != NO_VALUE) {
+                int slot = mix(idHash(recordOffsets[i])) & mask;
+                while (idTable[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                idTable[slot] = i + 1;
+                idTableUsed++;
+            }
+        }
+    }
+
+    // ==================== YARDIMCI METODLAR ====================
+
+    private static long stringBytes(int length) {
+        return 24 + 16 + ((length + 7L) & ~7L); // String + byte[] başlıkları
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity + (capacity >>> 1));
+        recordOffsets = Arrays.copyOf(recordOffsets, newCapacity);
+        Arrays.fill(recordOffsets, capacity, newCapacity, NO_VALUE);
+        prices = Arrays.copyOf(prices, newCapacity);
+        stocks = Arrays.copyOf(stocks, newCapacity);
+        createdAts = Arrays.copyOf(createdAts, newCapacity);
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        activeKnown = Arrays.copyOf(activeKnown, (newCapacity + 63) >>> 6);
+        activeValues = Arrays.copyOf(activeValues, (newCapacity + 63) >>> 6);
+        capacity = newCapacity;
+    }
+
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * String <-> int sözlüğü
+     * Kategori ve tag sayısı düşük olduğundan kodlar hiç silinmez
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String value : values) {
+                bytes += 32 + 8 + stringBytes(value.length()); // HashMap girişi + liste referansı + String
+            }
+            return bytes;
+        }
+    }
+}
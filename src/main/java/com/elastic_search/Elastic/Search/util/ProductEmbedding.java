@@ -0,0 +1,138 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ProductEmbedding - Ürün Metninden Vektör Üretimi (Feature Hashing)
+ *
+ * Ad, açıklama ve tag'lerden sabit boyutlu bir vektör üretir; harici model
+ * veya ağ çağrısı gerektirmez, aynı metin her zaman aynı vektörü verir.
+ * - Kelimeler ve kelimelerin karakter trigram'ları özellik olarak kullanılır
+ *   (trigram'lar "telefon" / "telefonu" gibi çekimli halleri yakınlaştırır)
+ * - Her özellik hash ile bir boyuta ve işarete (+/-) düşer
+ * - Alan ağırlıkları: ad 3, tag 2, açıklama 1
+ * - Vektör birim uzunluğa normalize edilir (dot_product benzerliği için)
+ *
+ * Thread-safe'dir (durum tutmaz).
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class ProductEmbedding {
+
+    /**
+     * Vektör boyutu - mapping'deki dense_vector dims değeri
+     * Değiştirilirse ürün indeksi yeniden oluşturulmalıdır
+     */
+    public static final int DIMENSIONS = 128;
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float TRIGRAM_WEIGHT = 0.3f;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private ProductEmbedding() {
+    }
+
+    /**
+     * Ürün metninden birim uzunlukta vektör üretir
+     *
+     * @param name Ürün adı
+     * @param description Ürün açıklaması
+     * @param tags Ürün etiketleri
+     * @return float[] - DIMENSIONS boyutlu vektör, metin yoksa null
+     */
+    public static float[] embed(String name, String description, List<String> tags) {
+        float[] vector = new float[DIMENSIONS];
+        addText(vector, name, NAME_WEIGHT);
+        addText(vector, description, DESCRIPTION_WEIGHT);
+        if (tags != null) {
+            for (String tag : tags) {
+                addText(vector, tag, TAG_WEIGHT);
+            }
+        }
+        return normalize(vector);
+    }
+
+    /**
+     * İki birim vektörün benzerliği (kosinüs)
+     *
+     * @return -1 ile 1 arasında benzerlik
+     */
+    public static double similarity(float[] left, float[] right) {
+        double dot = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            dot += left[i] * right[i];
+        }
+        return dot;
+    }
+
+    // ==================== ÖZELLİKLER ====================
+
+    private static void addText(float[] vector, String text, float weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    addToken(vector, text.substring(start, i).toLowerCase(Locale.ROOT), weight);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private static void addToken(float[] vector, String token, float weight) {
+        addFeature(vector, token, weight);
+        String bounded = "#" + token + "#";
+        for (int i = 0; i + 3 <= bounded.length(); i++) {
+            addFeature(vector, bounded.substring(i, i + 3), weight * TRIGRAM_WEIGHT);
+        }
+    }
+
+    /**
+     * Özelliği hash'ine göre bir boyuta ekler
+     * İşaret hash'in ayrı bir bitinden alınır; çakışan özellikler ortalamada birbirini götürür
+     */
+    private static void addFeature(float[] vector, String feature, float weight) {
+        long hash = fnv1a(feature);
+        int index = (int) Math.floorMod(hash >>> 1, (long) DIMENSIONS);
+        vector[index] += (hash & 1L) == 0 ? weight : -weight;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Alt bitler FNV'de zayıf dağılır; son karıştırma (murmur3 fmix64)
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            // Sıfır vektör benzerlik için anlamsızdır ve Elasticsearch tarafından reddedilir
+            return null;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
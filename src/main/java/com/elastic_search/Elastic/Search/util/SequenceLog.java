@@ -0,0 +1,316 @@
+package com.elastic_search.Elastic.Search.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SequenceLog - Sıra Numaralı, Sadece Eklenen Kayıt Dosyası
+ *
+ * Her satır "sıra\tiçerik" biçimindedir; sıra numaraları artan olmalıdır.
+ * Dosya maxFileBytes'ı aşınca ".1" uzantılı dosyaya taşınır (önceki ".1" silinir),
+ * böylece disk kullanımı en fazla iki dosya ile sınırlı kalır.
+ *
+ * - Açılışta mevcut dosyalar taranır; yarım yazılmış son satır kesilir
+ * - Her 256 kayıtta bir (sıra, bayt konumu) noktası tutulur; okuma dosyanın
+ *   başından değil, istenen sıraya en yakın noktadan başlar
+ *
+ * Thread-safe'dir.
+ *
+ * @author Berat Kulcu
+ * @version 1.0
+ */
+public final class SequenceLog implements Closeable {
+
+    private static final int CHECKPOINT_INTERVAL = 256;
+
+    /**
+     * Okunan kayıt
+     *
+     * @param sequence Sıra numarası
+     * @param payload Satır içeriği
+     */
+    public record Record(long sequence, String payload) {
+    }
+
+    private final Path path;
+    private final Path previousPath;
+    private final long maxFileBytes;
+
+    private Segment previous;
+    private Segment current;
+    private OutputStream out;
+
+    /**
+     * @param path Kayıt dosyası (yoksa oluşturulur)
+     * @param maxFileBytes Dosyanın döndürülmeden önceki en büyük boyutu
+     * @throws IOException Dosya okunamaz veya oluşturulamazsa
+     */
+    public SequenceLog(Path path, long maxFileBytes) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.previousPath = Path.of(this.path + ".1");
+        this.maxFileBytes = maxFileBytes;
+        Files.createDirectories(this.path.getParent());
+        if (Files.exists(previousPath)) {
+            previous = Segment.open(previousPath);
+        }
+        current = Segment.open(this.path);
+        out = new BufferedOutputStream(Files.newOutputStream(this.path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    // ==================== YAZMA ====================
+
+    /**
+     * Kayıt ekler (diske flush ile veya tampon dolunca yazılır)
+     *
+     * @param sequence Sıra numarası - son kayıttan büyük olmalı
+     * @param payload Tek satırlık içerik
+     * @throws IllegalArgumentException Sıra geriye gidiyorsa veya içerik satır sonu içeriyorsa
+     * @throws IOException Yazma hatası
+     */
+    public synchronized void append(long sequence, String payload) throws IOException {
+        if (sequence <= lastSequence()) {
+            throw new IllegalArgumentException("Sıra numarası artmalı: " + sequence + " <= " + lastSequence());
+        }
+        if (payload.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Kayıt satır sonu içeremez");
+        }
+        byte[] line = (sequence + "\t" + payload + "\n").getBytes(StandardCharsets.UTF_8);
+        out.write(line);
+        current.added(sequence, line.length);
+        if (current.bytes >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    /**
+     * Tampondaki kayıtları dosyaya yazar
+     */
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        Files.move(path, previousPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        current.path = previousPath;
+        previous = current;
+        current = new Segment(path);
+        out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    // ==================== OKUMA ====================
+
+    /**
+     * Verilen sıradan sonraki kayıtlar
+     *
+     * @param after Bu sıradan büyük kayıtlar okunur
+     * @param limit En fazla kayıt sayısı
+     * @return Sıralı kayıtlar (dosyalarda yoksa boş liste)
+     * @throws IOException Okuma hatası
+     */
+    public synchronized List<Record> readAfter(long after, int limit) throws IOException {
+        out.flush();
+        List<Record> records = new ArrayList<>();
+        for (Segment segment : previous == null ? List.of(current) : List.of(previous, current)) {
+            if (records.size() >= limit) {
+                break;
+            }
+            if (segment.lastSequence <= after) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                channel.position(segment.offsetBefore(after + 1));
+                scan(Channels.newInputStream(channel), (offset, sequence, payload) -> {
+                    if (sequence > after) {
+                        records.add(new Record(sequence, payload));
+                    }
+                    return records.size() < limit;
+                });
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Dosyalardaki en küçük sıra numarası
+     *
+     * @return Sıra numarası, kayıt yoksa -1
+     */
+    public synchronized long firstSequence() {
+        if (previous != null && previous.firstSequence >= 0) {
+            return previous.firstSequence;
+        }
+        return current.firstSequence;
+    }
+
+    /**
+     * Dosyalardaki en büyük sıra numarası
+     *
+     * @return Sıra numarası, kayıt yoksa -1
+     */
+    public synchronized long lastSequence() {
+        return current.lastSequence >= 0 ? current.lastSequence : previous == null ? -1 : previous.lastSequence;
+    }
+
+    /**
+     * Dosyaların toplam boyutu
+     */
+    public synchronized long sizeBytes() {
+        return current.bytes + (previous == null ? 0 : previous.bytes);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // ==================== DOSYA TARAMA ====================
+
+    @FunctionalInterface
+    private interface LineVisitor {
+        /**
+         * @return Taramaya devam edilecekse true
+         */
+        boolean visit(long offset, long sequence, String payload);
+    }
+
+    /**
+     * Satırları okur; bozuk satırlar atlanır, satır sonu olmayan son satır okunmaz
+     *
+     * @return Son tam satırın bittiği konum (taramanın başladığı konuma göre)
+     */
+    private static long scan(InputStream input, LineVisitor visitor) throws IOException {
+        InputStream in = new BufferedInputStream(input, 64 * 1024);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long offset = 0;
+        long lineStart = 0;
+        int b;
+        while ((b = in.read()) >= 0) {
+            offset++;
+            if (b != '\n') {
+                line.write(b);
+                continue;
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            int tab = text.indexOf('\t');
+            long start = lineStart;
+            lineStart = offset;
+            if (tab <= 0) {
+                continue;
+            }
+            long sequence;
+            try {
+                sequence = Long.parseLong(text, 0, tab, 10);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (!visitor.visit(start, sequence, text.substring(tab + 1))) {
+                break;
+            }
+        }
+        return lineStart;
+    }
+
+    /**
+     * Tek kayıt dosyası ve bellek içi konum noktaları
+     */
+    private static final class Segment {
+
+        private Path path;
+        private long firstSequence = -1;
+        private long lastSequence = -1;
+        private long bytes;
+        private int records;
+        private long[] checkpointSequences = new long[16];
+        private long[] checkpointOffsets = new long[16];
+        private int checkpoints;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Mevcut dosyayı tarar; yarım kalmış son satırı keser
+         */
+        static Segment open(Path path) throws IOException {
+            Segment segment = new Segment(path);
+            if (!Files.exists(path)) {
+                return segment;
+            }
+            long complete;
+            try (InputStream in = Files.newInputStream(path)) {
+                complete = scan(in, (offset, sequence, payload) -> {
+                    if (sequence > segment.lastSequence) {
+                        segment.bytes = offset;
+                        segment.added(sequence, 0);
+                    }
+                    return true;
+                });
+            }
+            if (Files.size(path) > complete) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(complete);
+                }
+            }
+            segment.bytes = complete;
+            return segment;
+        }
+
+        /**
+         * Eklenen kaydı işler; bytes kaydın başlangıç konumunu göstermelidir
+         */
+        void added(long sequence, int length) {
+            if (records % CHECKPOINT_INTERVAL == 0) {
+                if (checkpoints == checkpointSequences.length) {
+                    checkpointSequences = Arrays.copyOf(checkpointSequences, checkpoints * 2);
+                    checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoints * 2);
+                }
+                checkpointSequences[checkpoints] = sequence;
+                checkpointOffsets[checkpoints] = bytes;
+                checkpoints++;
+            }
+            if (firstSequence < 0) {
+                firstSequence = sequence;
+            }
+            lastSequence = sequence;
+            bytes += length;
+            records++;
+        }
+
+        /**
+         * Sırası verilen değerden küçük veya eşit olan son konum noktası
+         */
+        long offsetBefore(long sequence) {
+            int low = 0;
+            int high = checkpoints - 1;
+            long offset = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (checkpointSequences[mid] <= sequence) {
+                    offset = checkpointOffsets[mid];
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return offset;
+        }
+    }
+}
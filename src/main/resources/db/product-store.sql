@@ -0,0 +1,37 @@
+-- ==================== ÜRÜN DEPOSU ŞEMASI ====================
+-- Uygulama açılışta (product.store.enabled=true) bu dosyayı çalıştırır; tüm ifadeler tekrar çalıştırılabilir.
+
+-- Ürünlerin asıl kaydı
+-- version her değişiklikte artar ve Elasticsearch'e external versiyon olarak yazılır
+-- Silinen ürünler tombstone olarak kalır; aynı ID tekrar oluşturulursa versiyon geriye gitmez
+CREATE TABLE IF NOT EXISTS products (
+    id          VARCHAR(64)    PRIMARY KEY,
+    version     BIGINT         NOT NULL,
+    deleted     BOOLEAN        NOT NULL DEFAULT FALSE,
+    name        TEXT,
+    description TEXT,
+    category    VARCHAR(255),
+    price       NUMERIC(19, 2),
+    stock       INTEGER,
+    tags        TEXT[],
+    is_active   BOOLEAN,
+    updated_at  TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+-- Ürünün ilk oluşturulma zamanı ("en yeniler" listeleri); sonradan eklendi
+ALTER TABLE products ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ;
+
+-- Transactional outbox: ürünle aynı transaction'da yazılır, indeksleyici sırayla boşaltır
+-- Kayıt sadece ürün ID'sini taşır; indeksleyici ürünün o anki halini okur
+-- previous_category: kategori değiştiyse eski değer (kategori routing'inde eski shard'daki kopya silinir)
+CREATE TABLE IF NOT EXISTS product_outbox (
+    seq               BIGSERIAL      PRIMARY KEY,
+    product_id        VARCHAR(64)    NOT NULL,
+    previous_category VARCHAR(255),
+    created_at        TIMESTAMPTZ    NOT NULL DEFAULT now(),
+    attempts          INTEGER        NOT NULL DEFAULT 0,
+    next_attempt_at   TIMESTAMPTZ    NOT NULL DEFAULT now(),
+    last_error        TEXT
+);
+
+CREATE INDEX IF NOT EXISTS product_outbox_due_idx ON product_outbox (next_attempt_at, seq);
@@ -0,0 +1,186 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ResilienceProperties;
+import com.elastic_search.Elastic.Search.config.TopListingsProperties;
+import com.elastic_search.Elastic.Search.config.TracingProperties;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.SearchSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryTopListingsTest {
+
+    private final TopListingsProperties properties = new TopListingsProperties();
+    private final Map<String, Product> catalog = new ConcurrentHashMap<>();
+    private ElasticsearchGuard guard;
+    private CategoryTopListings listings;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSize(2);
+        properties.setSlack(1);
+        properties.setSorts(EnumSet.of(SearchSort.PRICE_ASC));
+        properties.setReconcileInterval(Duration.ofHours(1));
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        TracingProperties tracing = new TracingProperties();
+        guard = new ElasticsearchGuard(resilience, new Tracer(tracing, new InMemorySpanExporter(tracing)));
+        listings = new CategoryTopListings(operations(), guard, mock(CategoryRoutingResolver.class), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listings.shutdown();
+        guard.shutdown();
+    }
+
+    @Test
+    void listingIsRefilledWhenSlackRunsOut() {
+        add("p1", 1, "kitap");
+        add("p2", 2, "kitap");
+        add("p3", 3, "kitap");
+        add("p4", 4, "kitap");
+        add("p5", 5, "kitap");
+        listings.reconcile();
+
+        delete("p1");
+        // Yedek ürün sırayı tamamlar, yeniden doldurma gerekmez
+        assertThat(ids(listings.top(null, SearchSort.PRICE_ASC, 2).orElseThrow())).containsExactly("p2", "p3");
+        assertThat(listings.stats()).containsEntry("refills", 0L);
+
+        delete("p2");
+        // Tek ürün kaldı ve liste tam değil: Elasticsearch'ten doldurulana kadar liste cevap vermez
+        awaitTop(null, "p3", "p4");
+        assertThat(listings.stats().get("refills")).isEqualTo(1L);
+    }
+
+    @Test
+    void completeListingIsNotRefilled() {
+        add("p1", 1, "kitap");
+        add("p2", 2, "kitap");
+        listings.reconcile();
+
+        delete("p1");
+
+        assertThat(ids(listings.top(null, SearchSort.PRICE_ASC, 2).orElseThrow())).containsExactly("p2");
+        assertThat(listings.stats()).containsEntry("refills", 0L).containsEntry("pendingRefills", 0);
+    }
+
+    @Test
+    void cheaperProductPushesTheTailOut() {
+        add("p1", 1, "kitap");
+        add("p2", 2, "kitap");
+        add("p3", 3, "kitap");
+        add("p4", 4, "kitap");
+        listings.reconcile();
+
+        save(product("p0", 0, "kitap"));
+
+        assertThat(ids(listings.top(null, SearchSort.PRICE_ASC, 2).orElseThrow())).containsExactly("p0", "p1");
+        // p3 kapasiteden (N + slack) taştı; yedekler tükenince Elasticsearch'ten geri gelir
+        delete("p0");
+        delete("p1");
+        awaitTop(null, "p2", "p3");
+    }
+
+    @Test
+    void catalogRefillKeepsCategoryMembership() {
+        // Son yazmalar yeniden uygulanmaz; kategori kaydı sadece doldurmadan gelir
+        properties.setReplayWindow(Duration.ofMillis(1));
+        add("p1", 1, "kitap");
+        add("p2", 2, "kitap");
+        add("p3", 3, "kitap");
+        add("p4", 4, "kitap");
+        listings.reconcile();
+        // Yeni kategori arka planda Elasticsearch'ten doldurulur
+        save(product("m1", 9, "müzik"));
+        awaitTop("müzik", "m1");
+        delete("p1");
+        delete("p2");
+        awaitTop(null, "p3", "p4");
+
+        save(product("m1", 9, "film"));
+
+        assertThat(listings.top("müzik", SearchSort.PRICE_ASC, 2).orElseThrow()).isEmpty();
+    }
+
+    private ElasticsearchOperations operations() {
+        ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+        when(operations.search(any(Query.class), eq(Product.class))).thenAnswer(call -> {
+            NativeQuery query = call.getArgument(0);
+            String category = query.getQuery().bool().filter().stream()
+                    .filter(filter -> filter.isTerm() && filter.term().field().equals("category"))
+                    .map(filter -> filter.term().value().stringValue())
+                    .findFirst()
+                    .orElse(null);
+            List<SearchHit<Product>> hits = catalog.values().stream()
+                    .filter(product -> category == null || category.equals(product.getCategory()))
+                    .sorted(SearchSort.PRICE_ASC.getComparator())
+                    .limit(query.getMaxResults())
+                    .map(product -> new SearchHit<>("products", product.getId(), null, 1.0f, null, null, null, null, null, null, product))
+                    .toList();
+            return new SearchHitsImpl<>(hits.size(), TotalHitsRelation.EQUAL_TO, 1.0f, null, null, hits, null, null);
+        });
+        return operations;
+    }
+
+    private void add(String id, int price, String category) {
+        catalog.put(id, product(id, price, category));
+    }
+
+    private void save(Product product) {
+        catalog.put(product.getId(), product);
+        listings.onProductChange(ProductChangeEvent.saved(product, false));
+    }
+
+    private void delete(String id) {
+        catalog.remove(id);
+        listings.onProductChange(ProductChangeEvent.deleted(id));
+    }
+
+    private void awaitTop(String category, String... expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!listings.top(category, SearchSort.PRICE_ASC, expected.length).map(CategoryTopListingsTest::ids)
+                .equals(Optional.of(List.of(expected))) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(listings.top(category, SearchSort.PRICE_ASC, expected.length).map(CategoryTopListingsTest::ids))
+                .contains(List.of(expected));
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(String id, int price, String category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ürün " + id);
+        product.setCategory(category);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,128 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ChangeFeedProperties;
+import com.elastic_search.Elastic.Search.dto.ChangeFeedEntry;
+import com.elastic_search.Elastic.Search.dto.ChangeFeedResponse;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeFeedServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ChangeFeedProperties properties = new ChangeFeedProperties();
+    private final List<ChangeFeedService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setLogFile(directory.resolve("change-feed.log").toString());
+        properties.setBufferSize(4);
+        properties.setSequenceReserve(100);
+        // Dosya sadece kapatılırken diske yazılır; çökme testi bunu kullanır
+        properties.setFlushInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ChangeFeedService::shutdown);
+    }
+
+    @Test
+    void cursorResumesAfterLastSeenSequenceInPages() {
+        ChangeFeedService feed = start();
+        publish(feed, "a", "b", "c");
+
+        ChangeFeedResponse first = feed.read(0L, 2);
+        ChangeFeedResponse second = feed.read(first.getNextAfter(), 2);
+        ChangeFeedResponse caughtUp = feed.read(second.getNextAfter(), 2);
+
+        assertThat(first.getEntries()).extracting(ChangeFeedEntry::getProductId).containsExactly("a", "b");
+        assertThat(second.getEntries()).extracting(ChangeFeedEntry::getProductId).containsExactly("c");
+        assertThat(caughtUp.getEntries()).isEmpty();
+        assertThat(caughtUp.getNextAfter()).isEqualTo(3);
+        assertThat(caughtUp.isResetRequired()).isFalse();
+    }
+
+    @Test
+    void clientsBehindTheBufferReadFromLog() {
+        ChangeFeedService feed = start();
+        publish(feed, "a", "b", "c", "d", "e", "f");
+
+        ChangeFeedResponse response = feed.read(1L, 10);
+
+        assertThat(response.getEntries()).extracting(ChangeFeedEntry::getSequence).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(feed.stats()).containsEntry("logReads", 1L);
+    }
+
+    @Test
+    void unknownCursorRequiresReset() {
+        ChangeFeedService feed = start();
+        publish(feed, "a");
+
+        ChangeFeedResponse response = feed.read(5L, 10);
+
+        assertThat(response.isResetRequired()).isTrue();
+        assertThat(response.getLastSequence()).isEqualTo(1);
+        assertThatThrownBy(() -> feed.read(-1L, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cleanRestartContinuesWithoutResettingClients() {
+        ChangeFeedService before = start();
+        publish(before, "a", "b");
+        before.shutdown();
+        services.remove(before);
+
+        ChangeFeedService after = start();
+        publish(after, "c");
+
+        ChangeFeedResponse response = after.read(1L, 10);
+        assertThat(response.isResetRequired()).isFalse();
+        assertThat(response.getEntries()).extracting(ChangeFeedEntry::getSequence).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void crashDoesNotReuseSequencesGivenToClients() {
+        ChangeFeedService crashed = start();
+        publish(crashed, "a", "b");
+        services.remove(crashed); // Kapatılmaz: tampondaki kayıtlar dosyaya hiç yazılmaz
+        ChangeFeedResponse seen = crashed.read(0L, 10);
+
+        ChangeFeedService restarted = start();
+        publish(restarted, "c", "d", "e");
+
+        // Çökmeden önce verilen sıralar yeni değişikliklere verilmez
+        assertThat(restarted.read(null, null).getLastSequence()).isGreaterThan(100);
+        ChangeFeedResponse resumed = restarted.read(seen.getNextAfter(), 10);
+        assertThat(resumed.isResetRequired()).isTrue();
+        assertThat(resumed.getEntries()).isEmpty();
+    }
+
+    private ChangeFeedService start() {
+        ChangeFeedService feed = new ChangeFeedService(properties, new ObjectMapper().findAndRegisterModules());
+        services.add(feed);
+        return feed;
+    }
+
+    private static void publish(ChangeFeedService feed, String... ids) {
+        for (String id : ids) {
+            Product product = new Product();
+            product.setId(id);
+            feed.onProductChange(ProductChangeEvent.saved(product, true));
+        }
+    }
+}
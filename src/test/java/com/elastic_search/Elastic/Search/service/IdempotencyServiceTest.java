@@ -0,0 +1,181 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.IdempotencyProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.IdempotencyService.Outcome;
+import com.elastic_search.Elastic.Search.service.IdempotencyService.Written;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final Map<String, Product> stored = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setJournalFile(directory.resolve("idempotency.log").toString());
+        service = new IdempotencyService(properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void replayReturnsStoredProductsWithoutWriting() {
+        Outcome first = service.execute("bulk", "k1", List.of("a", "b"), create(2), this::load);
+        stored.get(first.products().get(0).getId()).setName("güncellendi");
+
+        Outcome second = service.execute("bulk", "k1", List.of("a", "b"), create(2), this::load);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(writes).hasValue(1);
+        assertThat(second.products()).extracting(Product::getId)
+                .containsExactlyElementsOf(first.products().stream().map(Product::getId).toList());
+        assertThat(second.products().get(0).getName()).isEqualTo("güncellendi");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        service.execute("create", "k1", "a", create(1), this::load);
+
+        assertThatThrownBy(() -> service.execute("create", "k1", "b", create(1), this::load))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.execute("bulk", "k1", "b", create(1), this::load).replayed()).isFalse();
+    }
+
+    @Test
+    void documentIdsAreDerivedFromKeyAndBody() {
+        Outcome first = service.execute("create", "k1", "a", create(1), this::load);
+        service.shutdown();
+        // Anahtar kaydı kaybolsa da aynı istek aynı ID'yi üretir
+        properties.setJournalFile(directory.resolve("other.log").toString());
+        service = new IdempotencyService(properties, new ObjectMapper());
+
+        Outcome retry = service.execute("create", "k1", "a", create(1), this::load);
+
+        assertThat(retry.products()).extracting(Product::getId)
+                .containsExactly(first.products().get(0).getId());
+        assertThat(retry.replayed()).isTrue();
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void journalRestoresKeysAfterRestart() {
+        Outcome first = service.execute("create", "k1", "a", create(1), this::load);
+        service.shutdown();
+        service = new IdempotencyService(properties, new ObjectMapper());
+
+        Outcome retry = service.execute("create", "k1", "a", create(1), this::load);
+
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.products()).extracting(Product::getId)
+                .containsExactly(first.products().get(0).getId());
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyWriteOnce() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<IntFunction<String>, Written> slow = ids -> {
+            writing.countDown();
+            await(release);
+            return create(1).apply(ids);
+        };
+
+        CompletableFuture<Outcome> first = CompletableFuture.supplyAsync(
+                () -> service.execute("create", "k1", "a", slow, this::load));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Outcome> second = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> second.complete(service.execute("create", "k1", "a", slow, this::load)));
+        waiter.start();
+        // Farklı anahtar devam eden yazmayı beklemez
+        Outcome other = service.execute("create", "k2", "a", create(1), this::load);
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(other.replayed()).isFalse();
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(second.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(writes).hasValue(2);
+        assertThat(service.stats()).containsEntry("concurrentReplays", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void failedWriteIsNotRecorded() {
+        Function<IntFunction<String>, Written> failing = ids -> {
+            throw new IllegalStateException("yazılamadı");
+        };
+
+        assertThatThrownBy(() -> service.execute("create", "k1", "a", failing, this::load))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.execute("create", "k1", "a", create(1), this::load).replayed()).isFalse();
+    }
+
+    /**
+     * ProductService'in op_type=create davranışı: var olan ID'ler yazılmaz, mevcut hali döner
+     */
+    private Function<IntFunction<String>, Written> create(int count) {
+        return ids -> {
+            List<String> all = new ArrayList<>();
+            List<Product> products = new ArrayList<>();
+            boolean createdAny = false;
+            for (int i = 0; i < count; i++) {
+                String id = ids.apply(i);
+                all.add(id);
+                Product product = new Product();
+                product.setId(id);
+                product.setName("Ürün " + i);
+                Product existing = stored.putIfAbsent(id, product);
+                createdAny |= existing == null;
+                products.add(existing != null ? existing : product);
+            }
+            if (createdAny) {
+                writes.incrementAndGet();
+            }
+            return new Written(products, all, !createdAny);
+        };
+    }
+
+    private List<Product> load(List<String> ids) {
+        return ids.stream().map(stored::get).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ProductStoreProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ProductStore.DrainResult;
+import com.elastic_search.Elastic.Search.service.ProductStore.StoredProduct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProductStore'un SQL davranışı gerçek PostgreSQL üzerinde
+ * Sadece PRODUCT_STORE_TEST_URL verildiğinde çalışır (ör. jdbc:postgresql://localhost:5433/elasticsearch_demo);
+ * kullanıcı adı ve şifre PRODUCT_STORE_TEST_USER / PRODUCT_STORE_TEST_PASSWORD ile değiştirilebilir.
+ * Dikkat: products ve product_outbox tabloları her testten önce boşaltılır.
+ */
+@EnabledIfEnvironmentVariable(named = "PRODUCT_STORE_TEST_URL", matches = ".+")
+class ProductStorePostgresTest {
+
+    private final ProductStoreProperties properties = new ProductStoreProperties();
+    private ProductStore store;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties.setEnabled(true);
+        properties.setUrl(System.getenv("PRODUCT_STORE_TEST_URL"));
+        Optional.ofNullable(System.getenv("PRODUCT_STORE_TEST_USER")).ifPresent(properties::setUsername);
+        Optional.ofNullable(System.getenv("PRODUCT_STORE_TEST_PASSWORD")).ifPresent(properties::setPassword);
+        store = new ProductStore(properties);
+        // İlk çağrı şemayı oluşturur
+        store.outboxStats();
+        try (Connection connection = store.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE products, product_outbox RESTART IDENTITY");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void versionGrowsAcrossUpdatesTombstoneAndRecreate() {
+        store.save(product("a", "kitap"));
+        store.update(product("a", "müzik"), "kitap");
+        assertThat(store.delete("a")).isTrue();
+        assertThat(store.delete("a")).isFalse();
+        assertThat(store.findById("a")).isEmpty();
+
+        store.save(product("a", "kitap"));
+
+        List<StoredProduct> changes = drainAll();
+        assertThat(changes).singleElement().satisfies(change -> {
+            assertThat(change.version()).isEqualTo(4);
+            assertThat(change.deleted()).isFalse();
+            assertThat(change.product().getCategory()).isEqualTo("kitap");
+        });
+    }
+
+    @Test
+    void concurrentDrainsSkipLockedRecords() throws Exception {
+        store.save(product("a", "kitap"));
+        store.save(product("b", "kitap"));
+        List<String> inner = new ArrayList<>();
+
+        DrainResult outer = store.drainOutbox(1, (changes, previousCategories) -> {
+            // İlk turun kaydı kilitliyken ikinci tur sadece kalan kaydı almalı
+            DrainResult result = CompletableFuture.supplyAsync(() -> store.drainOutbox(10, (others, previous) -> {
+                others.forEach(change -> inner.add(change.product().getId()));
+                return Map.of();
+            })).orTimeout(10, TimeUnit.SECONDS).join();
+            assertThat(result.claimed()).isEqualTo(1);
+            return Map.of();
+        });
+
+        assertThat(outer.claimed()).isEqualTo(1);
+        assertThat(inner).containsExactly("b");
+        assertThat(store.drainOutbox(10, (changes, previousCategories) -> Map.of()).claimed()).isZero();
+    }
+
+    @Test
+    void failedDrainIsRetriedOnlyAfterBackoff() {
+        store.save(product("a", "kitap"));
+
+        DrainResult failed = store.drainOutbox(10, (changes, previousCategories) -> Map.of("a", "timeout"));
+        DrainResult early = store.drainOutbox(10, (changes, previousCategories) -> Map.of());
+
+        assertThat(failed.failed()).isEqualTo(1);
+        assertThat(early.claimed()).isZero();
+        assertThat(store.outboxStats()).containsEntry("pending", 1L).containsEntry("maxAttempts", 1);
+    }
+
+    @Test
+    void importIfAbsentKeepsExistingRowsAndSkipsOutbox() {
+        store.save(product("a", "kitap"));
+        drainAll();
+
+        assertThat(store.importIfAbsent(List.of(product("a", "müzik"), product("b", "kitap")))).isEqualTo(1);
+
+        assertThat(store.findById("a")).get().extracting(Product::getCategory).isEqualTo("kitap");
+        assertThat(store.outboxStats()).containsEntry("pending", 0L);
+    }
+
+    @Test
+    void createIfAbsentLeavesExistingAndDeletedRowsUntouched() {
+        store.save(product("a", "kitap"));
+        store.save(product("b", "kitap"));
+        store.delete("b");
+        drainAll();
+
+        assertThat(store.createIfAbsent(List.of(product("a", "müzik"), product("b", "müzik"), product("c", "müzik"))))
+                .containsExactly("c");
+
+        assertThat(store.findById("a")).get().extracting(Product::getCategory).isEqualTo("kitap");
+        assertThat(store.findById("b")).isEmpty();
+        assertThat(drainAll()).extracting(change -> change.product().getId()).containsExactly("c");
+    }
+
+    @Test
+    void forEachBatchPagesInIdOrderWithoutTombstones() {
+        for (String id : List.of("e", "a", "d", "b", "c")) {
+            store.save(product(id, "kitap"));
+        }
+        store.delete("c");
+        List<List<String>> pages = new ArrayList<>();
+
+        long total = store.forEachBatch(2, page -> pages.add(page.stream().map(change -> change.product().getId()).toList()));
+
+        assertThat(total).isEqualTo(4);
+        assertThat(pages).containsExactly(List.of("a", "b"), List.of("d", "e"));
+    }
+
+    private List<StoredProduct> drainAll() {
+        List<StoredProduct> all = new ArrayList<>();
+        store.drainOutbox(100, (changes, previousCategories) -> {
+            all.addAll(changes);
+            return Map.of();
+        });
+        return all;
+    }
+
+    private static Product product(String id, String category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ürün " + id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCreatedAt(Instant.now());
+        return product;
+    }
+}
@@ -0,0 +1,355 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.ProductStoreProperties;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.service.ProductStore.DrainResult;
+import com.elastic_search.Elastic.Search.service.ProductStore.StoredProduct;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ProductStore'un SQL çevresindeki Java mantığı: outbox kayıtlarının indirgenmesi, geri deneme beklemesi,
+ * transaction geri alma, outbox'a yazılan önceki kategori ve sayfalama parametreleri.
+ * Sahte bağlantı SQL yorumlamaz; sorgu sonuçlarını ve etkilenen satır sayılarını test verir,
+ * çalıştırılan ifadeleri kaydeder. SQL davranışı (versiyon artışı, tombstone, SKIP LOCKED, vade)
+ * ProductStorePostgresTest'tedir.
+ */
+class ProductStoreTest {
+
+    /**
+     * Çalıştırılan ifade ve bağlanan parametreler (diziler liste olarak)
+     */
+    private record Executed(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Önceden verilen sonuçları döndüren, çalıştırılan ifadeleri kaydeden sahte veritabanı
+     */
+    private static final class ScriptedDatabase {
+        final Map<String, Deque<List<Map<String, Object>>>> results = new LinkedHashMap<>();
+        final List<Executed> executed = new ArrayList<>();
+        ToIntFunction<Executed> updateCount = statement -> 1;
+        int rollbacks;
+
+        /**
+         * SQL'inde fragment geçen bir sonraki sorgunun sonucu
+         */
+        void returns(String fragment, List<Map<String, Object>> rows) {
+            results.computeIfAbsent(fragment, key -> new ArrayDeque<>()).add(rows);
+        }
+
+        List<Executed> executed(String prefix) {
+            return executed.stream().filter(statement -> statement.sql().startsWith(prefix)).toList();
+        }
+
+        Connection connection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (target, method, args) -> switch (method.getName()) {
+                        case "prepareStatement" -> statement((String) args[0]);
+                        case "createStatement" -> schemaStatement();
+                        case "createArrayOf" -> array((Object[]) args[1]);
+                        case "rollback" -> {
+                            rollbacks++;
+                            yield null;
+                        }
+                        case "isValid" -> true;
+                        case "isClosed" -> false;
+                        default -> null;
+                    });
+        }
+
+        private Statement schemaStatement() {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                    (target, method, args) -> method.getName().equals("execute") ? false : null);
+        }
+
+        private PreparedStatement statement(String sql) {
+            Map<Integer, Object> parameters = new HashMap<>();
+            List<Executed> batch = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (target, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set")) {
+                            Object value = name.equals("setNull") ? null : args[1];
+                            parameters.put((Integer) args[0], value instanceof Array array ? List.of((Object[]) array.getArray()) : value);
+                            return null;
+                        }
+                        return switch (name) {
+                            case "addBatch" -> {
+                                batch.add(new Executed(sql, new HashMap<>(parameters)));
+                                yield null;
+                            }
+                            case "executeBatch" -> {
+                                int[] counts = batch.stream().mapToInt(this::update).toArray();
+                                batch.clear();
+                                yield counts;
+                            }
+                            case "executeUpdate" -> update(new Executed(sql, new HashMap<>(parameters)));
+                            case "executeQuery" -> {
+                                executed.add(new Executed(sql, new HashMap<>(parameters)));
+                                yield resultSet(next(sql));
+                            }
+                            default -> null;
+                        };
+                    });
+        }
+
+        private int update(Executed statement) {
+            executed.add(statement);
+            return updateCount.applyAsInt(statement);
+        }
+
+        private List<Map<String, Object>> next(String sql) {
+            for (Map.Entry<String, Deque<List<Map<String, Object>>>> entry : results.entrySet()) {
+                if (sql.contains(entry.getKey()) && !entry.getValue().isEmpty()) {
+                    return entry.getValue().poll();
+                }
+            }
+            return List.of();
+        }
+
+        private static ResultSet resultSet(List<Map<String, Object>> rows) {
+            int[] position = {-1};
+            return (ResultSet) Proxy.newProxyInstance(ScriptedDatabase.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (target, method, args) -> {
+                        if (method.getName().equals("next")) {
+                            return ++position[0] < rows.size();
+                        }
+                        if (method.getName().equals("close")) {
+                            return null;
+                        }
+                        Object value = rows.get(position[0]).get((String) args[0]);
+                        return switch (method.getName()) {
+                            case "getLong" -> value == null ? 0L : value;
+                            case "getInt" -> value == null ? 0 : value;
+                            case "getBoolean" -> value != null && (Boolean) value;
+                            default -> value;
+                        };
+                    });
+        }
+
+        private static Array array(Object[] values) {
+            return (Array) Proxy.newProxyInstance(ScriptedDatabase.class.getClassLoader(), new Class<?>[]{Array.class},
+                    (target, method, args) -> values);
+        }
+    }
+
+    private final ScriptedDatabase database = new ScriptedDatabase();
+    private final ProductStoreProperties properties = new ProductStoreProperties();
+    private final ProductStore store = new ProductStore(properties) {
+        @Override
+        Connection connect() {
+            return database.connection();
+        }
+    };
+
+    {
+        properties.setEnabled(true);
+        properties.setRetryBackoff(Duration.ofSeconds(5));
+        properties.setMaxRetryBackoff(Duration.ofSeconds(12));
+    }
+
+    // ==================== OUTBOX ====================
+
+    @Test
+    void drainCollapsesClaimedRecordsToOneChangePerProduct() {
+        Instant now = Instant.now();
+        database.returns("FROM product_outbox", List.of(
+                outboxRow(1, "a", "elektronik", now.minusSeconds(30), 0),
+                outboxRow(2, "b", null, now.minusSeconds(20), 0),
+                outboxRow(3, "a", "müzik", now.minusSeconds(10), 0),
+                outboxRow(4, "c", null, now.minusSeconds(5), 0)));
+        database.returns("FROM products", List.of(
+                productRow("a", "kitap", 3, false),
+                productRow("b", "oyuncak", 1, false),
+                productRow("c", "kitap", 2, true)));
+        List<List<StoredProduct>> calls = new ArrayList<>();
+        List<Map<String, Set<String>>> previous = new ArrayList<>();
+
+        DrainResult result = store.drainOutbox(10, (changes, previousCategories) -> {
+            calls.add(changes);
+            previous.add(previousCategories);
+            return Map.of();
+        });
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).extracting(change -> change.product().getId()).containsExactly("a", "b", "c");
+        assertThat(calls.get(0).get(2)).satisfies(change -> {
+            assertThat(change.deleted()).isTrue();
+            assertThat(change.version()).isEqualTo(2);
+        });
+        assertThat(previous.get(0)).containsOnlyKeys("a");
+        assertThat(previous.get(0).get("a")).containsExactly("elektronik", "müzik");
+        assertThat(result).isEqualTo(new DrainResult(4, 3, 0, now.minusSeconds(30)));
+        // Ürünler ID listesiyle tek sorguda okunur, tüm kayıtlar silinir
+        assertThat(database.executed("SELECT id").get(0).parameters().get(1)).isEqualTo(List.of("a", "b", "c"));
+        assertThat(database.executed("DELETE FROM product_outbox")).singleElement()
+                .satisfies(delete -> assertThat(delete.parameters().get(1)).isEqualTo(List.of(1L, 3L, 2L, 4L)));
+        assertThat(database.executed("UPDATE product_outbox")).isEmpty();
+    }
+
+    @Test
+    void failedProductsStayInOutboxWithGrowingCappedBackoff() {
+        Instant now = Instant.now();
+        database.returns("FROM product_outbox", List.of(
+                outboxRow(1, "a", null, now, 0),
+                outboxRow(2, "b", null, now, 0),
+                outboxRow(3, "b", null, now, 2)));
+        database.returns("FROM products", List.of(productRow("a", "kitap", 1, false), productRow("b", "kitap", 1, false)));
+
+        Instant before = Instant.now();
+        DrainResult result = store.drainOutbox(10, (changes, previousCategories) -> Map.of("b", "es_rejected_execution_exception"));
+        Instant after = Instant.now();
+
+        assertThat(result).extracting(DrainResult::claimed, DrainResult::products, DrainResult::failed).containsExactly(3, 1, 1);
+        assertThat(database.executed("DELETE FROM product_outbox")).singleElement()
+                .satisfies(delete -> assertThat(delete.parameters().get(1)).isEqualTo(List.of(1L)));
+        assertThat(database.executed("UPDATE product_outbox")).singleElement().satisfies(retry -> {
+            assertThat(retry.parameters().get(1)).isEqualTo("es_rejected_execution_exception");
+            // En yüksek deneme sayısı (2) + 1 = 3 -> 15 sn, üst sınır 12 sn
+            assertThat(((Timestamp) retry.parameters().get(2)).toInstant()).isBetween(before.plusSeconds(12), after.plusSeconds(12));
+            assertThat(retry.parameters().get(3)).isEqualTo(List.of(2L, 3L));
+        });
+    }
+
+    @Test
+    void firstRetryWaitsOneBackoffStep() {
+        Instant now = Instant.now();
+        database.returns("FROM product_outbox", List.of(outboxRow(1, "a", null, now, 0)));
+        database.returns("FROM products", List.of(productRow("a", "kitap", 1, false)));
+
+        Instant before = Instant.now();
+        store.drainOutbox(10, (changes, previousCategories) -> Map.of("a", "timeout"));
+
+        assertThat(database.executed("UPDATE product_outbox")).singleElement()
+                .satisfies(retry -> assertThat(((Timestamp) retry.parameters().get(2)).toInstant())
+                        .isBetween(before.plusSeconds(5), Instant.now().plusSeconds(5)));
+    }
+
+    @Test
+    void handlerExceptionRollsBackWithoutTouchingRecords() {
+        database.returns("FROM product_outbox", List.of(outboxRow(1, "a", null, Instant.now(), 0)));
+        database.returns("FROM products", List.of(productRow("a", "kitap", 1, false)));
+
+        assertThatThrownBy(() -> store.drainOutbox(10, (changes, previousCategories) -> {
+            throw new IllegalStateException("küme erişilemez");
+        })).hasMessage("küme erişilemez");
+
+        assertThat(database.rollbacks).isEqualTo(1);
+        assertThat(database.executed("DELETE FROM product_outbox")).isEmpty();
+        assertThat(database.executed("UPDATE product_outbox")).isEmpty();
+    }
+
+    @Test
+    void emptyOutboxDoesNotCallHandler() {
+        DrainResult result = store.drainOutbox(10, (changes, previousCategories) -> {
+            throw new AssertionError("çağrılmamalı");
+        });
+
+        assertThat(result).isEqualTo(new DrainResult(0, 0, 0, null));
+        assertThat(database.executed("DELETE FROM product_outbox")).isEmpty();
+    }
+
+    // ==================== YAZMA ====================
+
+    @Test
+    void previousCategoryIsQueuedOnlyWhenCategoryChanged() {
+        store.save(product("a", "kitap"));
+        store.update(product("a", "kitap"), "kitap");
+        store.update(product("a", "müzik"), "kitap");
+
+        assertThat(database.executed("INSERT INTO product_outbox")).extracting(insert -> insert.parameters().get(2))
+                .containsExactly(null, null, "kitap");
+    }
+
+    @Test
+    void deleteQueuesTombstoneOnlyWhenRowChanged() {
+        database.updateCount = statement -> statement.sql().startsWith("UPDATE products")
+                && statement.parameters().get(1).equals("missing") ? 0 : 1;
+
+        assertThat(store.delete("a")).isTrue();
+        assertThat(store.delete("missing")).isFalse();
+
+        assertThat(database.executed("INSERT INTO product_outbox")).extracting(insert -> insert.parameters().get(1))
+                .containsExactly("a");
+    }
+
+    @Test
+    void createIfAbsentQueuesOnlyInsertedProducts() {
+        database.updateCount = statement -> statement.sql().startsWith("INSERT INTO products")
+                && statement.parameters().get(1).equals("a") ? 0 : 1;
+
+        Set<String> created = store.createIfAbsent(List.of(product("a", "kitap"), product("b", "kitap"), product("c", "müzik")));
+
+        assertThat(created).containsExactly("b", "c");
+        assertThat(database.executed("INSERT INTO product_outbox")).extracting(insert -> insert.parameters().get(1))
+                .containsExactly("b", "c");
+    }
+
+    // ==================== YENİDEN İNŞA ====================
+
+    @Test
+    void forEachBatchContinuesAfterLastIdOfEachPage() {
+        database.returns("FROM products", List.of(productRow("a", "kitap", 1, false), productRow("b", "kitap", 1, false)));
+        database.returns("FROM products", List.of(productRow("d", "kitap", 1, false)));
+        List<List<String>> pages = new ArrayList<>();
+
+        long total = store.forEachBatch(2, page -> pages.add(page.stream().map(change -> change.product().getId()).toList()));
+
+        assertThat(total).isEqualTo(3);
+        assertThat(pages).containsExactly(List.of("a", "b"), List.of("d"));
+        assertThat(database.executed("SELECT id")).extracting(query -> query.parameters().get(1))
+                .containsExactly("", "b", "d");
+    }
+
+    private static Map<String, Object> outboxRow(long seq, String productId, String previousCategory, Instant createdAt, int attempts) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("seq", seq);
+        row.put("product_id", productId);
+        row.put("previous_category", previousCategory);
+        row.put("created_at", Timestamp.from(createdAt));
+        row.put("attempts", attempts);
+        return row;
+    }
+
+    private static Map<String, Object> productRow(String id, String category, long version, boolean deleted) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", "Ürün " + id);
+        row.put("category", category);
+        row.put("version", version);
+        row.put("deleted", deleted);
+        return row;
+    }
+
+    private static Product product(String id, String category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ürün " + id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal("10.00"));
+        return product;
+    }
+}
@@ -0,0 +1,229 @@
+package com.elastic_search.Elastic.Search.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import com.elastic_search.Elastic.Search.config.IndexProperties;
+import com.elastic_search.Elastic.Search.config.ResilienceProperties;
+import com.elastic_search.Elastic.Search.config.RoutingProperties;
+import com.elastic_search.Elastic.Search.config.SimilarityProperties;
+import com.elastic_search.Elastic.Search.config.TieringProperties;
+import com.elastic_search.Elastic.Search.config.TracingProperties;
+import com.elastic_search.Elastic.Search.event.ProductChangeEvent;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductTieringServiceTest {
+
+    private final IndexProperties indexProperties = new IndexProperties();
+    private final TieringProperties properties = new TieringProperties();
+    private final Map<String, Map<String, JsonObject>> indices = new ConcurrentHashMap<>();
+    private final List<Object> requests = new CopyOnWriteArrayList<>();
+    private final List<ProductTieringService> services = new ArrayList<>();
+    private ElasticsearchGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMoveDelay(Duration.ofMillis(10));
+        properties.setSweepInterval(Duration.ofHours(1));
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        guard = new ElasticsearchGuard(resilience, tracer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ProductTieringService::shutdown);
+        guard.shutdown();
+    }
+
+    @Test
+    void deactivatedProductMovesToColdIndex() {
+        ProductTieringService tiering = start();
+        hot().put("a", document("a", false));
+
+        tiering.onProductChange(ProductChangeEvent.updated(product("a", false), true));
+
+        awaitStat(tiering, "moved", 1L);
+        assertThat(hot()).doesNotContainKey("a");
+        assertThat(cold()).containsKey("a");
+        assertThat(cold().get("a").getBoolean("isActive")).isFalse();
+    }
+
+    @Test
+    void reactivatedProductLosesItsColdCopy() {
+        ProductTieringService tiering = start();
+        hot().put("a", document("a", true));
+        cold().put("a", document("a", false));
+
+        tiering.onProductChange(ProductChangeEvent.updated(product("a", true), false));
+
+        awaitStat(tiering, "coldRemoved", 1L);
+        assertThat(cold()).isEmpty();
+        assertThat(hot()).containsKey("a");
+    }
+
+    @Test
+    void productsThatStayActiveAreNotQueued() {
+        ProductTieringService tiering = start();
+
+        tiering.onProductChange(ProductChangeEvent.saved(product("a", true), true));
+        tiering.onProductChange(ProductChangeEvent.updated(product("b", true), true));
+
+        assertThat(tiering.stats()).containsEntry("pending", 0);
+        assertThat(requests).noneMatch(request -> request instanceof MgetRequest || request instanceof BulkRequest);
+    }
+
+    @Test
+    void pendingDeleteHidesColdCopyUntilRemoved() {
+        properties.setMoveDelay(Duration.ofHours(1));
+        ProductTieringService tiering = start();
+        cold().put("a", document("a", false));
+
+        tiering.onProductChange(ProductChangeEvent.deleted("a"));
+
+        // Soğuk indekse gidilmeden boş döner (sahte ElasticsearchOperations her çağrıda hata verir)
+        assertThat(tiering.findCold("a")).isEmpty();
+        assertThat(tiering.stats()).containsEntry("pending", 1);
+    }
+
+    private ProductTieringService start() {
+        ElasticsearchClient client = new ElasticsearchClient(transport());
+        ElasticsearchOperations operations = (ElasticsearchOperations) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ElasticsearchOperations.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        IndexManagementService indexManagement = new IndexManagementService(client, operations, indexProperties,
+                new RoutingProperties(), new SimilarityProperties(), new ObjectMapper(), tracer());
+        ProductTieringService tiering = new ProductTieringService(client, operations, guard, indexManagement,
+                indexProperties, properties);
+        services.add(tiering);
+        return tiering;
+    }
+
+    /**
+     * Sıcak ve soğuk indeksi bellekte tutan sahte küme
+     * Sadece taşımanın kullandığı istekler desteklenir: indeks varlığı, mget ve bulk
+     */
+    private ElasticsearchTransport transport() {
+        JacksonJsonpMapper mapper = new JacksonJsonpMapper();
+        return (ElasticsearchTransport) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ElasticsearchTransport.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "jsonpMapper":
+                            return mapper;
+                        case "options":
+                            return null;
+                        case "close":
+                            return null;
+                        case "performRequest":
+                            requests.add(args[0]);
+                            return perform(args[0]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private Object perform(Object request) throws IOException {
+        if (request instanceof ExistsRequest) {
+            return new BooleanResponse(true);
+        }
+        if (request instanceof MgetRequest mget) {
+            Map<String, JsonObject> index = indices.getOrDefault(mget.index(), Map.of());
+            List<MultiGetResponseItem<JsonData>> docs = mget.docs().stream()
+                    .map(doc -> MultiGetResponseItem.<JsonData>of(item -> item.result(result -> {
+                        JsonObject source = index.get(doc.id());
+                        result.index(mget.index()).id(doc.id()).found(source != null);
+                        if (source != null) {
+                            result.version(1L).source(JsonData.of(source));
+                        }
+                        return result;
+                    })))
+                    .toList();
+            return MgetResponse.<JsonData>of(response -> response.docs(docs));
+        }
+        if (request instanceof BulkRequest bulk) {
+            List<BulkResponseItem> items = new ArrayList<>();
+            for (BulkOperation operation : bulk.operations()) {
+                if (operation.isIndex()) {
+                    String index = operation.index().index();
+                    String id = operation.index().id();
+                    indices.computeIfAbsent(index, name -> new ConcurrentHashMap<>())
+                            .put(id, ((JsonData) operation.index().document()).toJson().asJsonObject());
+                    items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index).index(index).id(id).status(201)));
+                } else {
+                    String index = operation.delete().index();
+                    String id = operation.delete().id();
+                    boolean found = indices.getOrDefault(index, new ConcurrentHashMap<>()).remove(id) != null;
+                    items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Delete).index(index).id(id)
+                            .status(found ? 200 : 404)));
+                }
+            }
+            return BulkResponse.of(response -> response.errors(false).took(1).items(items));
+        }
+        // Routing ayarı okunamazsa routing kullanılmaz
+        throw new IOException("Desteklenmeyen istek: " + request.getClass().getSimpleName());
+    }
+
+    private Map<String, JsonObject> hot() {
+        return indices.computeIfAbsent(indexProperties.getWriteAlias(), name -> new ConcurrentHashMap<>());
+    }
+
+    private Map<String, JsonObject> cold() {
+        return indices.computeIfAbsent(properties.getColdIndex(), name -> new ConcurrentHashMap<>());
+    }
+
+    private static void awaitStat(ProductTieringService tiering, String stat, long expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!Long.valueOf(expected).equals(tiering.stats().get(stat)) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(tiering.stats()).containsEntry(stat, expected);
+    }
+
+    private static Tracer tracer() {
+        TracingProperties tracing = new TracingProperties();
+        return new Tracer(tracing, new InMemorySpanExporter(tracing));
+    }
+
+    private static JsonObject document(String id, boolean active) {
+        return Json.createObjectBuilder().add("id", id).add("name", "Ürün " + id).add("isActive", active).build();
+    }
+
+    private static Product product(String id, boolean active) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ürün " + id);
+        product.setIsActive(active);
+        return product;
+    }
+}
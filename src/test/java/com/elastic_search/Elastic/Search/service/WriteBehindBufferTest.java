@@ -0,0 +1,118 @@
+package com.elastic_search.Elastic.Search.service;
+
+import com.elastic_search.Elastic.Search.config.TracingProperties;
+import com.elastic_search.Elastic.Search.config.WriteBehindProperties;
+import com.elastic_search.Elastic.Search.dto.ProductRequest;
+import com.elastic_search.Elastic.Search.exception.ServiceUnavailableException;
+import com.elastic_search.Elastic.Search.model.Product;
+import com.elastic_search.Elastic.Search.model.WriteMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteBehindBufferTest {
+
+    private final WriteBehindProperties properties = new WriteBehindProperties();
+    private final ProductService productService = mock(ProductService.class);
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxPending(2);
+        // Boşaltma sadece testin çağırdığı anda yapılır
+        properties.setWindow(Duration.ofHours(1));
+        properties.setDrainTimeout(Duration.ZERO);
+        when(productService.getProductById(anyString())).thenAnswer(call -> Optional.of(product(call.getArgument(0))));
+        TracingProperties tracing = new TracingProperties();
+        buffer = new WriteBehindBuffer(productService, properties, new Tracer(tracing, new InMemorySpanExporter(tracing)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.drain();
+    }
+
+    @Test
+    void fullBufferRejectsNewProductsButCoalescesPendingOnes() {
+        buffer.enqueue("a", request("10"));
+        buffer.enqueue("b", request("10"));
+
+        assertThatThrownBy(() -> buffer.enqueue("c", request("10")))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(buffer.enqueue("a", request("12"))).contains(2);
+        assertThat(buffer.stats())
+                .containsEntry("queueDepth", 2)
+                .containsEntry("rejected", 1L)
+                .containsEntry("coalesced", 1L);
+    }
+
+    @Test
+    void unknownProductsDoNotTakeASlot() {
+        when(productService.getProductById("missing")).thenReturn(Optional.empty());
+        buffer.enqueue("a", request("10"));
+
+        assertThat(buffer.enqueue("missing", request("10"))).isEmpty();
+        assertThat(buffer.enqueue("b", request("10"))).contains(2);
+        assertThat(buffer.stats()).containsEntry("unknown", 1L).containsEntry("rejected", 0L);
+    }
+
+    @Test
+    void flushFreesSlotsAndWritesLatestRequest() {
+        when(productService.updateProducts(anyMap(), eq(WriteMode.NONE))).thenAnswer(call -> {
+            Map<String, ProductRequest> batch = call.getArgument(0);
+            return batch.keySet().stream().map(WriteBehindBufferTest::product).toList();
+        });
+        buffer.enqueue("a", request("10"));
+        buffer.enqueue("b", request("10"));
+        buffer.enqueue("a", request("12"));
+
+        assertThat(buffer.flush()).isEqualTo(2);
+
+        assertThat(buffer.enqueue("c", request("10"))).contains(1);
+        assertThat(buffer.stats()).containsEntry("written", 2L).containsEntry("batches", 1L);
+    }
+
+    @Test
+    void failedFlushRequeuesWithinTheCap() {
+        when(productService.updateProducts(anyMap(), any())).thenThrow(new ServiceUnavailableException("kapalı", Duration.ofSeconds(1)));
+        buffer.enqueue("a", request("10"));
+        buffer.enqueue("b", request("10"));
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(ServiceUnavailableException.class);
+
+        // Tekrar kuyruğa alınan güncellemeler yer kaplamaya devam eder
+        assertThat(buffer.stats()).containsEntry("queueDepth", 2).containsEntry("failures", 1L);
+        assertThatThrownBy(() -> buffer.enqueue("c", request("10")))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private static ProductRequest request(String price) {
+        ProductRequest request = new ProductRequest();
+        request.setName("Ürün");
+        request.setPrice(new BigDecimal(price));
+        request.setTags(List.of("etiket"));
+        return request;
+    }
+
+    private static Product product(String id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Ürün " + id);
+        return product;
+    }
+}
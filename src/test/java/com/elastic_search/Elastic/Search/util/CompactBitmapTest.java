@@ -0,0 +1,80 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactBitmapTest {
+
+    @Test
+    void addRemoveAndContains() {
+        CompactBitmap bitmap = new CompactBitmap();
+        bitmap.add(3);
+        bitmap.add(70_000);
+        bitmap.add(3);
+
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+
+        bitmap.remove(3);
+        bitmap.remove(70_000);
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void setOperationsMatchBitSetAcrossContainerTypes() {
+        Random random = new Random(42);
+        CompactBitmap left = new CompactBitmap();
+        CompactBitmap right = new CompactBitmap();
+        BitSet expectedLeft = new BitSet();
+        BitSet expectedRight = new BitSet();
+
+        // İlk chunk yoğun (bitmap container), diğerleri seyrek (dizi container)
+        for (int i = 0; i < 30_000; i++) {
+            int value = random.nextInt(65_536);
+            left.add(value);
+            expectedLeft.set(value);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(300_000);
+            right.add(value);
+            expectedRight.set(value);
+        }
+
+        BitSet expectedAnd = (BitSet) expectedLeft.clone();
+        expectedAnd.and(expectedRight);
+        BitSet expectedAndNot = (BitSet) expectedLeft.clone();
+        expectedAndNot.andNot(expectedRight);
+
+        assertThat(values(left.and(right))).isEqualTo(expectedAnd.stream().boxed().toList());
+        assertThat(values(left.andNot(right))).isEqualTo(expectedAndNot.stream().boxed().toList());
+        assertThat(left.cardinality()).isEqualTo(expectedLeft.cardinality());
+    }
+
+    @Test
+    void denseChunkShrinksBackAfterRemovals() {
+        CompactBitmap bitmap = new CompactBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i);
+        }
+        for (int i = 0; i < 9_990; i++) {
+            bitmap.remove(i);
+        }
+
+        assertThat(values(bitmap)).containsExactly(9_990, 9_991, 9_992, 9_993, 9_994, 9_995, 9_996, 9_997, 9_998, 9_999);
+        assertThat(bitmap.estimatedBytes()).isLessThan(1_024);
+    }
+
+    private static List<Integer> values(CompactBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
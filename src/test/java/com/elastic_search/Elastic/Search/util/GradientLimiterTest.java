@@ -0,0 +1,50 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+
+    private static final long WINDOW = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final GradientLimiter limiter = new GradientLimiter(20, 5, 200, 0.5, WINDOW, 5, now::get);
+
+    @Test
+    void lowerPrioritySharesAreRejectedFirst() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1.0)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(0.5)).isFalse();
+        assertThat(limiter.tryAcquire(1.0)).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyIsStableAndShrinksWhenItRises() {
+        runWindows(10, 10_000_000L);
+        int grown = limiter.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        runWindows(5, 50_000_000L);
+
+        assertThat(limiter.getLimit()).isLessThan(grown);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(5);
+    }
+
+    private void runWindows(int windows, long rttNanos) {
+        for (int w = 0; w < windows; w++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(1.0)) {
+                acquired++;
+            }
+            now.addAndGet(WINDOW);
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, true);
+            }
+        }
+    }
+}
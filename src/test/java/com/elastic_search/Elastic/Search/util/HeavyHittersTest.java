@@ -0,0 +1,42 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void findsHottestKeysAmongLongTail() {
+        HeavyHitters hitters = new HeavyHitters(4, 1024, 5);
+        for (int i = 0; i < 20_000; i++) {
+            hitters.add("tail-" + i);
+            if (i % 4 == 0) {
+                hitters.add("hot-a");
+            }
+            if (i % 10 == 0) {
+                hitters.add("hot-b");
+            }
+        }
+
+        assertThat(hitters.top(2)).extracting(Map.Entry::getKey).containsExactly("hot-a", "hot-b");
+        assertThat(hitters.estimate("hot-a")).isGreaterThanOrEqualTo(5_000);
+        assertThat(hitters.top(10)).hasSize(5);
+    }
+
+    @Test
+    void decayHalvesCounts() {
+        HeavyHitters hitters = new HeavyHitters(4, 256, 3);
+        for (int i = 0; i < 100; i++) {
+            hitters.add("p-1");
+        }
+
+        hitters.decay();
+
+        assertThat(hitters.estimate("p-1")).isEqualTo(50);
+        assertThat(hitters.top(1).get(0).getValue()).isEqualTo(50);
+        assertThat(hitters.total()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,98 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcConnectionPoolTest {
+
+    /**
+     * Çağrılan metodları kaydeden sahte bağlantı
+     */
+    private static final class FakeConnection {
+        final List<String> calls = new ArrayList<>();
+        boolean valid = true;
+        boolean closed;
+        final Connection proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (target, method, args) -> {
+                    calls.add(method.getName());
+                    return switch (method.getName()) {
+                        case "isValid" -> valid;
+                        case "isClosed" -> closed;
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        default -> null;
+                    };
+                });
+    }
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private final JdbcConnectionPool pool = new JdbcConnectionPool(() -> {
+        FakeConnection connection = new FakeConnection();
+        opened.add(connection);
+        return connection.proxy;
+    }, 1, Duration.ofMillis(50));
+
+    @Test
+    void reusesHealthyConnection() throws SQLException {
+        pool.execute(connection -> null);
+        pool.execute(connection -> null);
+
+        assertThat(opened).hasSize(1);
+        assertThat(pool.idleCount()).isEqualTo(1);
+        assertThat(pool.inUse()).isZero();
+    }
+
+    @Test
+    void replacesConnectionThatFailedValidation() throws SQLException {
+        pool.execute(connection -> null);
+        opened.get(0).valid = false;
+
+        pool.execute(connection -> null);
+
+        assertThat(opened).hasSize(2);
+        assertThat(opened.get(0).closed).isTrue();
+    }
+
+    @Test
+    void discardsConnectionAfterError() {
+        assertThatThrownBy(() -> pool.execute(connection -> {
+            throw new SQLException("boom");
+        })).hasMessage("boom");
+
+        assertThat(opened.get(0).closed).isTrue();
+        assertThat(pool.idleCount()).isZero();
+        assertThat(pool.inUse()).isZero();
+    }
+
+    @Test
+    void commitsOrRollsBackTransaction() throws SQLException {
+        pool.inTransaction(connection -> null);
+        assertThat(opened.get(0).calls).containsSubsequence("setAutoCommit", "commit", "setAutoCommit");
+
+        assertThatThrownBy(() -> pool.inTransaction(connection -> {
+            throw new IllegalStateException("fail");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(opened.get(0).calls).contains("rollback");
+    }
+
+    @Test
+    void timesOutWhenPoolIsExhausted() throws SQLException {
+        pool.execute(connection -> {
+            assertThatThrownBy(() -> pool.execute(inner -> null)).isInstanceOf(SQLTimeoutException.class);
+            return null;
+        });
+        assertThat(pool.inUse()).isZero();
+    }
+}
@@ -0,0 +1,25 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceUnitsTest {
+
+    @Test
+    void roundsSubMinorRangeBoundsInward() {
+        assertThat(PriceUnits.lowerBoundMinor(new BigDecimal("10.005"))).isEqualTo(1001L);
+        assertThat(PriceUnits.upperBoundMinor(new BigDecimal("10.005"))).isEqualTo(1000L);
+        assertThat(PriceUnits.upperBoundMinor(new BigDecimal("10.009"))).isEqualTo(1000L);
+        assertThat(PriceUnits.lowerBoundMinor(new BigDecimal("-0.001"))).isZero();
+    }
+
+    @Test
+    void keepsExactBoundsUnchanged() {
+        assertThat(PriceUnits.lowerBoundMinor(new BigDecimal("10.00"))).isEqualTo(1000L);
+        assertThat(PriceUnits.upperBoundMinor(new BigDecimal("10"))).isEqualTo(1000L);
+        assertThat(PriceUnits.toMinor(new BigDecimal("10.005"))).isEqualTo(1001L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.elastic_search.Elastic.Search.util;
+
+import com.elastic_search.Elastic.Search.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductColumnStoreTest {
+
+    @Test
+    void rehydratesStoredProduct() {
+        ProductColumnStore store = new ProductColumnStore(16);
+        Product product = product("p-1", "Çay Makinesi", new BigDecimal("1299.90"), List.of("mutfak", "çay"));
+        product.setCreatedAt(Instant.parse("2024-03-01T10:15:30.123Z"));
+
+        store.put(0, product);
+
+        assertThat(store.get(0)).isEqualTo(product);
+        assertThat(store.price(0)).isEqualTo(129_990L);
+        assertThat(store.get(0).getPriceMinor()).isEqualTo(129_990L);
+        assertThat(store.name(0)).isEqualTo("Çay Makinesi");
+        assertThat(store.createdAt(0)).isEqualTo(product.getCreatedAt().toEpochMilli());
+        assertThat(store.ordinalOf("p-1")).isZero();
+        assertThat(store.ordinalOf("p-2")).isEqualTo(-1);
+    }
+
+    @Test
+    void keepsNullsAndReusesOrdinalsAfterClear() {
+        ProductColumnStore store = new ProductColumnStore(16);
+        store.put(3, new Product("p-null", null, null, null, null, null, null, null));
+
+        Product restored = store.get(3);
+        assertThat(restored.getId()).isEqualTo("p-null");
+        assertThat(restored.getPrice()).isNull();
+        assertThat(restored.getTags()).isNull();
+        assertThat(restored.getIsActive()).isNull();
+        assertThat(restored.getCreatedAt()).isNull();
+
+        store.clear(3);
+        assertThat(store.get(3)).isNull();
+        assertThat(store.ordinalOf("p-null")).isEqualTo(-1);
+
+        Product replacement = product("p-2", "Kettle", new BigDecimal("450"), List.of());
+        store.put(3, replacement);
+        assertThat(store.get(3).getName()).isEqualTo("Kettle");
+        assertThat(store.get(3).getPrice()).isEqualByComparingTo("450");
+    }
+
+    @Test
+    void survivesPoolCompactionAfterManyUpdates() {
+        ProductColumnStore store = new ProductColumnStore(16);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                store.put(i, product("p-" + i, "Ürün " + i + " v" + round, BigDecimal.valueOf(i), List.of("tag-" + i % 7)));
+            }
+        }
+
+        assertThat(store.get(42).getName()).isEqualTo("Ürün 42 v49");
+        assertThat(store.get(42).getTags()).containsExactly("tag-0");
+        assertThat(store.ordinalOf("p-42")).isEqualTo(42);
+        assertThat(store.size()).isEqualTo(100);
+    }
+
+    @Test
+    void usesMuchLessMemoryThanProductObjects() {
+        ProductColumnStore store = new ProductColumnStore(16);
+        for (int i = 0; i < 10_000; i++) {
+            store.put(i, product("id-" + i, "Ürün " + i, BigDecimal.valueOf(1000 + i),
+                    List.of("telefon", "apple", "akıllı")));
+        }
+
+        assertThat(store.estimatedObjectBytes()).isGreaterThan(store.estimatedBytes() * 5);
+    }
+
+    private static Product product(String id, String name, BigDecimal price, List<String> tags) {
+        return new Product(id, name, "Açıklama metni", "Elektronik", price, 10, tags, true);
+    }
+}
@@ -0,0 +1,36 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProductEmbeddingTest {
+
+    @Test
+    void producesDeterministicUnitVectors() {
+        float[] first = ProductEmbedding.embed("iPhone 15 Pro", "Apple akıllı telefon", List.of("telefon", "apple"));
+        float[] second = ProductEmbedding.embed("iPhone 15 Pro", "Apple akıllı telefon", List.of("telefon", "apple"));
+
+        assertThat(first).hasSize(ProductEmbedding.DIMENSIONS).containsExactly(second);
+        assertThat(ProductEmbedding.similarity(first, first)).isCloseTo(1.0, within(1e-5));
+    }
+
+    @Test
+    void ranksRelatedProductsAboveUnrelatedOnes() {
+        float[] phone = ProductEmbedding.embed("Samsung Galaxy S24", "Android akıllı telefon, 5G", List.of("telefon", "samsung"));
+        float[] otherPhone = ProductEmbedding.embed("Google Pixel 8", "Android telefonu, 5G destekli", List.of("telefon", "google"));
+        float[] vacuum = ProductEmbedding.embed("Dyson V15", "Kablosuz dikey süpürge", List.of("süpürge", "ev aletleri"));
+
+        assertThat(ProductEmbedding.similarity(phone, otherPhone))
+                .isGreaterThan(ProductEmbedding.similarity(phone, vacuum));
+    }
+
+    @Test
+    void returnsNullWithoutText() {
+        assertThat(ProductEmbedding.embed(null, "  ", List.of())).isNull();
+        assertThat(ProductEmbedding.embed("a", null, null)).isNull();
+    }
+}
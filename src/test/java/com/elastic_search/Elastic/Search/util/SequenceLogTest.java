@@ -0,0 +1,70 @@
+package com.elastic_search.Elastic.Search.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SequenceLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRecordsAfterSequence() throws Exception {
+        try (SequenceLog log = new SequenceLog(directory.resolve("feed.log"), 1 << 20)) {
+            for (long sequence = 1; sequence <= 1000; sequence++) {
+                log.append(sequence, "{\"n\":" + sequence + "}");
+            }
+
+            List<SequenceLog.Record> records = log.readAfter(700, 3);
+            assertThat(records).extracting(SequenceLog.Record::sequence).containsExactly(701L, 702L, 703L);
+            assertThat(records.get(0).payload()).isEqualTo("{\"n\":701}");
+            assertThat(log.readAfter(1000, 10)).isEmpty();
+            assertThat(log.firstSequence()).isEqualTo(1);
+            assertThat(log.lastSequence()).isEqualTo(1000);
+            assertThatThrownBy(() -> log.append(1000, "x")).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rotatesAndKeepsPreviousFile() throws Exception {
+        try (SequenceLog log = new SequenceLog(directory.resolve("feed.log"), 200)) {
+            for (long sequence = 1; sequence <= 100; sequence++) {
+                log.append(sequence, "kayit-" + sequence);
+            }
+
+            assertThat(log.sizeBytes()).isLessThanOrEqualTo(2 * 200 + 20);
+            long first = log.firstSequence();
+            assertThat(first).isGreaterThan(1);
+            assertThat(log.readAfter(0, 5).get(0).sequence()).isEqualTo(first);
+            assertThat(log.readAfter(first, 1000)).extracting(SequenceLog.Record::sequence)
+                    .startsWith(first + 1)
+                    .endsWith(100L)
+                    .isSorted();
+        }
+    }
+
+    @Test
+    void reopensAndDropsPartialLastLine() throws Exception {
+        Path file = directory.resolve("feed.log");
+        try (SequenceLog log = new SequenceLog(file, 1 << 20)) {
+            log.append(5, "a");
+            log.append(6, "b");
+        }
+        Files.write(file, "7\tyar".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (SequenceLog log = new SequenceLog(file, 1 << 20)) {
+            assertThat(log.lastSequence()).isEqualTo(6);
+            log.append(7, "c");
+            assertThat(log.readAfter(4, 10)).extracting(SequenceLog.Record::payload).containsExactly("a", "b", "c");
+        }
+    }
+}